@@ -17,6 +17,7 @@
 package org.geotools.xsd;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -26,11 +27,13 @@
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.xml.namespace.QName;
 import org.eclipse.xsd.util.XSDSchemaLocationResolver;
 import org.eclipse.xsd.util.XSDSchemaLocator;
 import org.geotools.util.Utilities;
 import org.geotools.xs.XSConfiguration;
+import org.geotools.xsd.impl.BindingLoader;
 import org.geotools.xsd.impl.PicoMap;
 import org.picocontainer.ComponentAdapter;
 import org.picocontainer.MutablePicoContainer;
@@ -202,6 +205,17 @@ public abstract class Configuration {
     /** Internal context */
     private final MutablePicoContainer context;
 
+    /** Number of changes to the registered bindings, see {@link #bindingsChanged()} */
+    private final AtomicInteger bindingChanges = new AtomicInteger();
+
+    /** Binding loader shared by the encoders, see {@link #getBindingLoader()} */
+    private BindingLoader bindingLoader;
+
+    /** The dependencies, and their binding changes, the shared binding loader was set up with */
+    private List<Configuration> bindingLoaderDependencies;
+
+    private int[] bindingLoaderChanges;
+
     /**
      * Creates a new configuration.
      *
@@ -356,6 +370,7 @@ protected void addDependency(Configuration dependency) {
         }
 
         dependencies.add(dependency);
+        bindingsChanged();
     }
 
     /** @return The namespace of the configuration schema. */
@@ -405,6 +420,53 @@ public final Map<QName, Object> setupBindings() {
         return bindings;
     }
 
+    /**
+     * Returns a loader for the bindings created by {@link #setupBindings()}, set up once and shared
+     * by all the encoders using this configuration, along with the binding lookups it caches.
+     *
+     * <p>The loader is set up again if the dependencies change, or if any of them calls {@link
+     * #bindingsChanged()}.
+     */
+    final BindingLoader getBindingLoader() {
+        List<Configuration> dependencies = allDependencies();
+        int[] changes = new int[dependencies.size()];
+        for (int i = 0; i < changes.length; i++) {
+            changes[i] = dependencies.get(i).bindingChanges.get();
+        }
+
+        synchronized (bindingChanges) {
+            if (bindingLoader == null
+                    || !Arrays.equals(changes, bindingLoaderChanges)
+                    || !sameInstances(dependencies, bindingLoaderDependencies)) {
+                bindingLoader = new BindingLoader(setupBindings());
+                bindingLoaderDependencies = dependencies;
+                bindingLoaderChanges = changes;
+            }
+            return bindingLoader;
+        }
+    }
+
+    private static boolean sameInstances(List<Configuration> l1, List<Configuration> l2) {
+        if (l1.size() != l2.size()) {
+            return false;
+        }
+        for (int i = 0; i < l1.size(); i++) {
+            if (l1.get(i) != l2.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Signals the bindings registered by this configuration changed after construction, for
+     * example because they depend on a flag that has been toggled, so that the ones shared by the
+     * encoders are set up again.
+     */
+    protected void bindingsChanged() {
+        bindingChanges.incrementAndGet();
+    }
+
     /**
      * Prepares a parser instance for use with this Configuration instance and all of its
      * dependencies.
@@ -230,9 +230,11 @@ public Encoder(Configuration configuration, XSDSchema schema) {
         this.configuration = configuration;
         this.schema = schema;
 
-        index = new SchemaIndexImpl(new XSDSchema[] {schema});
+        // the index and the bindings are shared by all the encoders, so that schema lookups and
+        // binding resolutions are performed once and not for every document
+        index = SchemaIndexImpl.getSharedIndex(schema);
 
-        bindingLoader = new BindingLoader(configuration.setupBindings());
+        bindingLoader = configuration.getBindingLoader();
         bindingWalker = new BindingWalker(bindingLoader);
 
         // create the context
@@ -668,7 +670,7 @@ public void encode(Object object, QName name, ContentHandler handler)
             }
 
         } finally {
-            // cleanup
+            // cleanup, does nothing on the shared index
             index.destroy();
 
             // close any iterators still present in the stack, this will only occur in an exception
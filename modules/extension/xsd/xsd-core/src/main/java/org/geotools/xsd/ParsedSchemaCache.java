@@ -0,0 +1,280 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.xsd;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.emf.ecore.resource.URIHandler;
+import org.eclipse.xsd.XSDSchema;
+import org.eclipse.xsd.util.XSDSchemaLocationResolver;
+import org.eclipse.xsd.util.XSDSchemaLocator;
+import org.geotools.util.URLs;
+import org.geotools.xsd.impl.HTTPURIHandler;
+
+/**
+ * Caches the schemas the {@link Parser} loads from the schema locations of the instance documents.
+ * Documents referring to the same schemas, such as the responses of a remote WFS or application
+ * schema documents, reuse the schema parsed for the first one instead of parsing it again.
+ *
+ * <p>The schemas are keyed by the parser configuration, the schema location and the schema
+ * locators, location resolvers and uri handlers used to parse them, since these decide how the
+ * imports and includes get resolved. The locators and resolvers set up by the configurations are
+ * compared by the {@link XSD} they wrap, other ones by identity. Schemas read from files are parsed
+ * again when the file modification time changes (only the main file is checked, not the imported or
+ * included ones).
+ *
+ * <p>The cache is disabled by default, its size is set by the {@link #MAX_SIZE_KEY} system property
+ * or {@link #setMaxSize(int)}. Applications changing the schemas behind a location should call
+ * {@link #remove(String)} or {@link #clear()} to have them parsed again.
+ */
+public class ParsedSchemaCache {
+
+    /** System property setting the maximum number of schemas kept by the shared cache */
+    public static final String MAX_SIZE_KEY = "org.geotools.xsd.schemaCacheSize";
+
+    static final int DEFAULT_MAX_SIZE = 0;
+
+    private static final ParsedSchemaCache INSTANCE =
+            new ParsedSchemaCache(Integer.getInteger(MAX_SIZE_KEY, DEFAULT_MAX_SIZE));
+
+    /** Loads a schema missing from the cache */
+    @FunctionalInterface
+    public interface SchemaLoader {
+        XSDSchema load() throws IOException;
+    }
+
+    /** A cached schema, with the modification time of its file if any */
+    private static final class Entry {
+        final XSDSchema schema;
+
+        final long lastModified;
+
+        Entry(XSDSchema schema, long lastModified) {
+            this.schema = schema;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private volatile int maxSize;
+
+    private final Map<List<Object>, Entry> schemas;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /** @param maxSize The maximum number of schemas kept, least recently used ones are evicted */
+    public ParsedSchemaCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.schemas =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<List<Object>, Entry>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(
+                                    Map.Entry<List<Object>, Entry> eldest) {
+                                return size() > ParsedSchemaCache.this.maxSize;
+                            }
+                        });
+    }
+
+    /** Returns the cache shared by all the parsers */
+    public static ParsedSchemaCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the maximum number of schemas kept, 0 disabling the cache. Schemas in excess are
+     * evicted when the next one is added.
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        if (maxSize <= 0) {
+            clear();
+        }
+    }
+
+    /** The maximum number of schemas kept */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the schema cached for the configuration, location and resolution strategy, using the
+     * loader to parse it if missing.
+     *
+     * @param configuration The configuration of the parser.
+     * @param location The location of the schema, after any override.
+     * @param locators The schema locators used to parse the imports and includes.
+     * @param resolvers The schema location resolvers used to parse the imports and includes.
+     * @param uriHandlers The uri handlers used to read the schema documents.
+     * @param loader Parses the schema when not found in the cache.
+     * @return The schema, or null if the loader did not return one.
+     */
+    public XSDSchema getSchema(
+            Configuration configuration,
+            String location,
+            List<XSDSchemaLocator> locators,
+            List<XSDSchemaLocationResolver> resolvers,
+            List<URIHandler> uriHandlers,
+            SchemaLoader loader)
+            throws IOException {
+        if (maxSize <= 0) {
+            return loader.load();
+        }
+
+        List<Object> key = key(configuration, location, locators, resolvers, uriHandlers);
+        long lastModified = lastModified(location);
+        Entry entry = schemas.get(key);
+        if (entry != null && entry.lastModified == lastModified) {
+            hits.increment();
+            return entry.schema;
+        }
+
+        // parse outside of the lock, in case of concurrent misses the first schema stored wins,
+        // unless it replaces one whose file got modified
+        misses.increment();
+        XSDSchema schema = loader.load();
+        if (schema != null) {
+            Entry loaded = new Entry(schema, lastModified);
+            synchronized (schemas) {
+                Entry previous = schemas.get(key);
+                if (previous == null || previous == entry) {
+                    schemas.put(key, loaded);
+                } else if (previous.lastModified == lastModified) {
+                    schema = previous.schema;
+                }
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Builds the key of a schema. Configurations are compared by class and namespace, as their
+     * instances are often created for each request, and have the same schema locators when equal.
+     */
+    static List<Object> key(
+            Configuration configuration,
+            String location,
+            List<XSDSchemaLocator> locators,
+            List<XSDSchemaLocationResolver> resolvers,
+            List<URIHandler> uriHandlers) {
+        return Arrays.asList(
+                configuration.getClass(),
+                configuration.getNamespaceURI(),
+                location,
+                keys(locators),
+                keys(resolvers),
+                keys(uriHandlers));
+    }
+
+    private static List<Object> keys(List<?> components) {
+        if (components == null) {
+            return Collections.emptyList();
+        }
+        List<Object> keys = new ArrayList<>(components.size());
+        for (Object component : components) {
+            keys.add(componentKey(component));
+        }
+        return keys;
+    }
+
+    /**
+     * The locators and resolvers created by the configurations for each parse are compared by the
+     * XSD they wrap, and the default HTTP handler, only differing by its timeouts, by class. Any
+     * other component is compared by identity, as it may resolve the same location differently.
+     */
+    private static Object componentKey(Object component) {
+        Class<?> type = component.getClass();
+        if (type == SchemaLocator.class) {
+            return Arrays.asList(type, ((SchemaLocator) component).xsd);
+        } else if (type == SchemaLocationResolver.class) {
+            SchemaLocationResolver resolver = (SchemaLocationResolver) component;
+            return Arrays.asList(type, resolver.xsd, Arrays.asList(resolver.lookupDirectories));
+        } else if (type == HTTPURIHandler.class) {
+            return type;
+        }
+        return new IdentityKey(component);
+    }
+
+    /** Compares a component by identity, regardless of its equals method */
+    private static final class IdentityKey {
+        final Object component;
+
+        IdentityKey(Object component) {
+            this.component = component;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey) obj).component == component;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(component);
+        }
+    }
+
+    /** Returns the modification time of the schema file, or 0 if not a file */
+    static long lastModified(String location) {
+        if (location == null || !location.startsWith("file:")) {
+            return 0;
+        }
+        try {
+            File file = URLs.urlToFile(new URL(location));
+            return file != null ? file.lastModified() : 0;
+        } catch (MalformedURLException e) {
+            return 0;
+        }
+    }
+
+    /** Removes the schemas loaded from the specified location, for all the configurations */
+    public void remove(String location) {
+        synchronized (schemas) {
+            schemas.keySet().removeIf(key -> location.equals(key.get(2)));
+        }
+    }
+
+    /** Removes all the cached schemas */
+    public void clear() {
+        schemas.clear();
+    }
+
+    /** The number of schemas in the cache */
+    public int size() {
+        return schemas.size();
+    }
+
+    /** The number of schemas found in the cache */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** The number of schemas that had to be parsed */
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -16,8 +16,12 @@
  */
 package org.geotools.xsd.impl;
 
+import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 import javax.xml.namespace.QName;
+import org.eclipse.xsd.XSDFeature;
+import org.eclipse.xsd.XSDTypeDefinition;
 import org.geotools.xsd.Binding;
 import org.picocontainer.ComponentAdapter;
 import org.picocontainer.PicoContainer;
@@ -33,11 +37,17 @@
  * <p>It uses a Context (otherwise known as PicoContainer) to instantiate the relevant object and
  * understand the dependencies that should also be loaded. The Context is required to be passed in
  * by the caller
+ *
+ * <p>The names of the bindings attached to schema components by {@link BindingWalker} are cached
+ * here as well, so that they are resolved only once by all the walkers sharing the same loader.
  */
 public class BindingLoader {
 
     Map<QName, Object> bindings;
 
+    /** Binding names resolved for each component, by containing type (weak keys on both levels) */
+    Map<XSDFeature, Map<XSDTypeDefinition, List<QName>>> resolved = new WeakHashMap<>();
+
     public BindingLoader(Map<QName, Object> bindings) {
         this.bindings = bindings;
     }
@@ -102,4 +112,22 @@ protected ComponentAdapter getBinding(QName type) {
 
         return new InstanceComponentAdapter(null, o);
     }
+
+    /**
+     * Returns the names of the bindings previously resolved for the component, or null if not
+     * resolved yet.
+     */
+    List<QName> getResolvedBindings(XSDFeature component, XSDTypeDefinition container) {
+        synchronized (resolved) {
+            Map<XSDTypeDefinition, List<QName>> byContainer = resolved.get(component);
+            return byContainer != null ? byContainer.get(container) : null;
+        }
+    }
+
+    /** Stores the names of the bindings resolved for the component. */
+    void putResolvedBindings(XSDFeature component, XSDTypeDefinition container, List<QName> names) {
+        synchronized (resolved) {
+            resolved.computeIfAbsent(component, c -> new WeakHashMap<>()).put(container, names);
+        }
+    }
 }
@@ -40,6 +40,7 @@ public class BindingWalker implements TypeWalker.Visitor {
     TypeWalker typeWalker;
     MutablePicoContainer context;
     List<Binding> bindings;
+    List<QName> names;
     XSDFeature component;
     XSDTypeDefinition container;
 
@@ -132,6 +133,7 @@ public boolean visit(XSDTypeDefinition type) {
         if (binding != null) {
             // add the binding
             bindings.add(binding);
+            names.add(bindingName);
 
             // check execution mode, if override break out
             if (binding.getExecutionMode() == Binding.OVERRIDE) {
@@ -150,31 +152,53 @@ public void walk(
         BindingExecutionChain chain = chains.get(component);
 
         if (chain == null) {
-            this.container = container;
-            this.component = component;
-            this.context = context;
-            this.bindings = new ArrayList<>();
-
-            // first walk the type hierarchy to get the binding objects
-            typeWalker.walk(component.getType(), this);
-
-            // also look up a binding to the instance itself, if found it will go
-            // at the bottom of the binding hierarchy
-            if (component.getName() != null) {
-                QName qName = new QName(component.getTargetNamespace(), component.getName());
-                Binding binding = loader.loadBinding(qName, context);
-
-                if (binding != null) {
-                    // check for override
-                    if (binding.getExecutionMode() == Binding.OVERRIDE) {
-                        // override, clear the binding list
-                        bindings.clear();
+            // the binding names are resolved once for all the walkers sharing the loader
+            List<QName> resolved = loader.getResolvedBindings(component, container);
+
+            if (resolved != null) {
+                this.context = context;
+                this.bindings = new ArrayList<>(resolved.size());
+
+                for (QName name : resolved) {
+                    Binding binding = loader.loadBinding(name, context);
+
+                    if (binding != null) {
                         bindings.add(binding);
-                    } else {
-                        // not override, add as first
-                        bindings.add(0, binding);
                     }
                 }
+            } else {
+                this.container = container;
+                this.component = component;
+                this.context = context;
+                this.bindings = new ArrayList<>();
+                this.names = new ArrayList<>();
+
+                // first walk the type hierarchy to get the binding objects
+                typeWalker.walk(component.getType(), this);
+
+                // also look up a binding to the instance itself, if found it will go
+                // at the bottom of the binding hierarchy
+                if (component.getName() != null) {
+                    QName qName = new QName(component.getTargetNamespace(), component.getName());
+                    Binding binding = loader.loadBinding(qName, context);
+
+                    if (binding != null) {
+                        // check for override
+                        if (binding.getExecutionMode() == Binding.OVERRIDE) {
+                            // override, clear the binding list
+                            bindings.clear();
+                            bindings.add(binding);
+                            names.clear();
+                            names.add(qName);
+                        } else {
+                            // not override, add as first
+                            bindings.add(0, binding);
+                            names.add(0, qName);
+                        }
+                    }
+                }
+
+                loader.putResolvedBindings(component, container, names);
             }
 
             chain = new BindingExecutionChain(bindings);
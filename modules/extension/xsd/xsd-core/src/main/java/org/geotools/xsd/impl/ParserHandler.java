@@ -41,6 +41,7 @@
 import org.geotools.xsd.BindingFactory;
 import org.geotools.xsd.Configuration;
 import org.geotools.xsd.ElementInstance;
+import org.geotools.xsd.ParsedSchemaCache;
 import org.geotools.xsd.ParserDelegate;
 import org.geotools.xsd.ParserNamespaceSupport;
 import org.geotools.xsd.SchemaIndex;
@@ -614,8 +615,7 @@ private boolean loadSchemas(String uri, Attributes attributes) throws SAXExcepti
 
                         // parse the document
                         try {
-                            schemas[i / 2] =
-                                    Schemas.parse(location, locators, resolvers, uriHandlers);
+                            schemas[i / 2] = parseSchema(location, locators, resolvers);
                         } catch (Exception e) {
                             String msg =
                                     "Error loading schema for namespace: "
@@ -736,7 +736,10 @@ private boolean loadSchemas(String uri, Attributes attributes) throws SAXExcepti
                 }
             }
 
-            index = new SchemaIndexImpl(schemas);
+            index =
+                    schemas.length == 1
+                            ? SchemaIndexImpl.getSharedIndex(schemas[0])
+                            : new SchemaIndexImpl(schemas);
             context.registerComponentInstance(index);
 
             // if no default prefix is set in this namespace context, then
@@ -748,6 +751,22 @@ private boolean loadSchemas(String uri, Attributes attributes) throws SAXExcepti
         return root;
     }
 
+    /** Parses the schema at the location, reusing the one cached for previous documents, if any */
+    private XSDSchema parseSchema(
+            String location,
+            List<XSDSchemaLocator> locators,
+            List<XSDSchemaLocationResolver> resolvers)
+            throws IOException {
+        return ParsedSchemaCache.getInstance()
+                .getSchema(
+                        config,
+                        location,
+                        locators,
+                        resolvers,
+                        uriHandlers,
+                        () -> Schemas.parse(location, locators, resolvers, uriHandlers));
+    }
+
     private String[] getSchemaLocations(Attributes attributes) {
         String[] locations = null;
 
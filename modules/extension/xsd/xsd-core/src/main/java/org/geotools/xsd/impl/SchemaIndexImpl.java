@@ -22,6 +22,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.namespace.QName;
 import org.apache.commons.collections4.OrderedMap;
 import org.apache.commons.collections4.map.ListOrderedMap;
@@ -50,24 +51,27 @@ public class SchemaIndexImpl implements SchemaIndex {
     XSDSchema[] schemas;
 
     /** Indexes */
-    HashMap<QName, XSDElementDeclaration> elementIndex;
+    volatile HashMap<QName, XSDElementDeclaration> elementIndex;
 
-    HashMap<QName, XSDAttributeDeclaration> attributeIndex;
-    HashMap<QName, XSDAttributeGroupDefinition> attributeGroupIndex;
-    HashMap<QName, XSDComplexTypeDefinition> complexTypeIndex;
-    HashMap<QName, XSDSimpleTypeDefinition> simpleTypeIndex;
+    volatile HashMap<QName, XSDAttributeDeclaration> attributeIndex;
+    volatile HashMap<QName, XSDAttributeGroupDefinition> attributeGroupIndex;
+    volatile HashMap<QName, XSDComplexTypeDefinition> complexTypeIndex;
+    volatile HashMap<QName, XSDSimpleTypeDefinition> simpleTypeIndex;
 
     /** Cache of elements to children */
     SoftValueHashMap<XSDElementDeclaration, OrderedMap<QName, XSDParticle>> element2children =
             new SoftValueHashMap<>(1000);
 
     /** Cache of elements to attributes */
-    HashMap<XSDElementDeclaration, List<XSDAttributeDeclaration>> element2attributes =
-            new HashMap<>();
+    Map<XSDElementDeclaration, List<XSDAttributeDeclaration>> element2attributes =
+            new ConcurrentHashMap<>();
 
     /** Adapter for tracking changes to schemas. */
     SchemaAdapter adapter;
 
+    /** Whether the index is shared, see {@link #getSharedIndex(XSDSchema)} */
+    boolean shared;
+
     public SchemaIndexImpl(XSDSchema[] schemas) {
         this.schemas = new XSDSchema[schemas.length + 1];
         adapter = new SchemaAdapter();
@@ -84,10 +88,29 @@ public SchemaIndexImpl(XSDSchema[] schemas) {
         this.schemas[schemas.length] = schemas[0].getSchemaForSchema();
     }
 
+    /**
+     * Returns an index of the schema shared by all the callers, attached to the schema itself so
+     * that it lives as long as the schema does. The shared index is safe for concurrent use and
+     * ignores calls to {@link #destroy()}.
+     */
+    public static SchemaIndexImpl getSharedIndex(XSDSchema schema) {
+        synchronized (schema.eAdapters()) {
+            for (Adapter adapter : schema.eAdapters()) {
+                if (adapter instanceof SchemaAdapter && ((SchemaAdapter) adapter).isShared()) {
+                    return ((SchemaAdapter) adapter).getIndex();
+                }
+            }
+
+            SchemaIndexImpl index = new SchemaIndexImpl(new XSDSchema[] {schema});
+            index.shared = true;
+            return index;
+        }
+    }
+
     @Override
     public void destroy() {
         // remove the adapter from the schemas
-        if (schemas == null) {
+        if (schemas == null || shared) {
             return;
         }
         for (XSDSchema schema : schemas) {
@@ -309,128 +332,156 @@ protected <T> Collection<T> find(Class<?> c) {
     }
 
     protected HashMap getElementIndex() {
-        if (elementIndex == null) {
+        HashMap index = elementIndex;
+        if (index == null) {
             synchronized (this) {
                 if (elementIndex == null) {
                     buildElementIndex();
                 }
+                index = elementIndex;
             }
         }
 
-        return elementIndex;
+        return index;
     }
 
     protected HashMap getAttributeIndex() {
-        if (attributeIndex == null) {
+        HashMap index = attributeIndex;
+        if (index == null) {
             synchronized (this) {
                 if (attributeIndex == null) {
                     buildAttriubuteIndex();
                 }
+                index = attributeIndex;
             }
         }
 
-        return attributeIndex;
+        return index;
     }
 
     protected HashMap getAttributeGroupIndex() {
-        if (attributeGroupIndex == null) {
+        HashMap index = attributeGroupIndex;
+        if (index == null) {
             synchronized (this) {
                 if (attributeGroupIndex == null) {
                     buildAttributeGroupIndex();
                 }
+                index = attributeGroupIndex;
             }
         }
 
-        return attributeGroupIndex;
+        return index;
     }
 
     protected HashMap getComplexTypeIndex() {
-        if (complexTypeIndex == null) {
+        HashMap index = complexTypeIndex;
+        if (index == null) {
             synchronized (this) {
                 if (complexTypeIndex == null) {
                     buildComplexTypeIndex();
                 }
+                index = complexTypeIndex;
             }
         }
 
-        return complexTypeIndex;
+        return index;
     }
 
     protected HashMap getSimpleTypeIndex() {
-        if (simpleTypeIndex == null) {
+        HashMap index = simpleTypeIndex;
+        if (index == null) {
             synchronized (this) {
                 if (simpleTypeIndex == null) {
                     buildSimpleTypeIndex();
                 }
+                index = simpleTypeIndex;
             }
         }
 
-        return simpleTypeIndex;
+        return index;
     }
 
     protected void buildElementIndex() {
-        elementIndex = new HashMap<>();
+        HashMap<QName, XSDElementDeclaration> index = new HashMap<>();
 
         for (XSDSchema schema : schemas) {
             for (XSDElementDeclaration element : schema.getElementDeclarations()) {
                 QName qName = new QName(element.getTargetNamespace(), element.getName());
-                elementIndex.put(qName, element);
+                index.put(qName, element);
             }
         }
+
+        elementIndex = index;
     }
 
     protected void buildAttriubuteIndex() {
-        attributeIndex = new HashMap<>();
+        HashMap<QName, XSDAttributeDeclaration> index = new HashMap<>();
 
         for (XSDSchema schema : schemas) {
             for (XSDAttributeDeclaration attribute : schema.getAttributeDeclarations()) {
                 QName qName = new QName(attribute.getTargetNamespace(), attribute.getName());
-                attributeIndex.put(qName, attribute);
+                index.put(qName, attribute);
             }
         }
+
+        attributeIndex = index;
     }
 
     protected void buildAttributeGroupIndex() {
-        attributeGroupIndex = new HashMap<>();
+        HashMap<QName, XSDAttributeGroupDefinition> index = new HashMap<>();
 
         for (XSDSchema schema : schemas) {
             for (XSDAttributeGroupDefinition group : schema.getAttributeGroupDefinitions()) {
                 QName qName = new QName(group.getTargetNamespace(), group.getName());
-                attributeGroupIndex.put(qName, group);
+                index.put(qName, group);
             }
         }
+
+        attributeGroupIndex = index;
     }
 
     protected void buildComplexTypeIndex() {
-        complexTypeIndex = new HashMap<>();
+        HashMap<QName, XSDComplexTypeDefinition> index = new HashMap<>();
 
         for (XSDSchema schema : schemas) {
             for (XSDTypeDefinition type : schema.getTypeDefinitions()) {
                 if (type instanceof XSDComplexTypeDefinition) {
                     QName qName = new QName(type.getTargetNamespace(), type.getName());
-                    complexTypeIndex.put(qName, (XSDComplexTypeDefinition) type);
+                    index.put(qName, (XSDComplexTypeDefinition) type);
                 }
             }
         }
+
+        complexTypeIndex = index;
     }
 
     protected void buildSimpleTypeIndex() {
-        simpleTypeIndex = new HashMap<>();
+        HashMap<QName, XSDSimpleTypeDefinition> index = new HashMap<>();
 
         for (XSDSchema schema : schemas) {
             for (XSDTypeDefinition type : schema.getTypeDefinitions()) {
                 if (type instanceof XSDSimpleTypeDefinition) {
                     QName qName = new QName(type.getTargetNamespace(), type.getName());
-                    simpleTypeIndex.put(qName, (XSDSimpleTypeDefinition) type);
+                    index.put(qName, (XSDSimpleTypeDefinition) type);
                 }
             }
         }
+
+        simpleTypeIndex = index;
     }
 
     class SchemaAdapter implements Adapter {
         Notifier target;
         Notification last;
 
+        SchemaIndexImpl getIndex() {
+            return SchemaIndexImpl.this;
+        }
+
+        boolean isShared() {
+            return shared;
+        }
+
         @Override
         public Notifier getTarget() {
             return target;
@@ -1,6 +1,9 @@
 package org.geotools.xsd;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.math.BigInteger;
 import java.util.Calendar;
@@ -9,6 +12,7 @@
 import org.geotools.ml.MLConfiguration;
 import org.geotools.ml.Mail;
 import org.geotools.ml.bindings.ML;
+import org.geotools.xsd.impl.BindingLoader;
 import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -61,4 +65,38 @@ public void testSetIndenting() {
         encoder.setIndenting(true);
         Assert.assertTrue(encoder.isIndenting());
     }
+
+    @Test
+    public void testSharedBindingsAndIndex() throws Exception {
+        Mail ml =
+                new Mail(
+                        BigInteger.valueOf(10),
+                        "hi",
+                        new Envelope(
+                                "me@me.org", "you@you.org", Calendar.getInstance(), "hey", null),
+                        null);
+        QName mails = new QName(ML.NAMESPACE, "mails");
+        String expected = new Encoder(new MLConfiguration()).encodeAsString(ml, mails);
+
+        MLConfiguration configuration = new MLConfiguration();
+        Encoder e1 = new Encoder(configuration);
+        Encoder e2 = new Encoder(configuration);
+        assertSame(e1.getBindingLoader(), e2.getBindingLoader());
+        assertSame(e1.getSchemaIndex(), e2.getSchemaIndex());
+
+        assertEquals(expected, e1.encodeAsString(ml, mails));
+        assertEquals(expected, e2.encodeAsString(ml, mails));
+        // the shared index is not destroyed at the end of the encoding
+        assertNotNull(e1.getSchemaIndex().getSchemas());
+    }
+
+    @Test
+    public void testBindingsChanged() {
+        MLConfiguration configuration = new MLConfiguration();
+        BindingLoader loader = new Encoder(configuration).getBindingLoader();
+        assertSame(loader, new Encoder(configuration).getBindingLoader());
+
+        configuration.bindingsChanged();
+        assertNotSame(loader, new Encoder(configuration).getBindingLoader());
+    }
 }
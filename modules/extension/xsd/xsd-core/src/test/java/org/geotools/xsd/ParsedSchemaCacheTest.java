@@ -0,0 +1,263 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.xsd;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.xsd.XSDElementDeclaration;
+import org.eclipse.xsd.XSDFactory;
+import org.eclipse.xsd.XSDSchema;
+import org.eclipse.xsd.util.XSDSchemaLocationResolver;
+import org.geotools.ml.MLConfiguration;
+import org.geotools.ml.bindings.ML;
+import org.geotools.xs.XSConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParsedSchemaCacheTest {
+
+    static final String LOCATION_A = "http://localhost/a.xsd";
+
+    static final String LOCATION_B = "http://localhost/b.xsd";
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    AtomicInteger loads = new AtomicInteger();
+
+    private XSDSchema load() {
+        loads.incrementAndGet();
+        return XSDFactory.eINSTANCE.createXSDSchema();
+    }
+
+    private XSDSchema get(ParsedSchemaCache cache, Configuration configuration, String location)
+            throws IOException {
+        return cache.getSchema(configuration, location, null, null, null, this::load);
+    }
+
+    private XSDSchema get(
+            ParsedSchemaCache cache,
+            Configuration configuration,
+            String location,
+            List<XSDSchemaLocationResolver> resolvers)
+            throws IOException {
+        return cache.getSchema(configuration, location, null, resolvers, null, this::load);
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        ParsedSchemaCache cache = new ParsedSchemaCache(10);
+        MLConfiguration configuration = new MLConfiguration();
+
+        XSDSchema schema = get(cache, configuration, LOCATION_A);
+        assertSame(schema, get(cache, configuration, LOCATION_A));
+        // configurations are created per request, equal ones share the schemas
+        assertSame(schema, get(cache, new MLConfiguration(), LOCATION_A));
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // a different location or configuration loads again
+        assertNotSame(schema, get(cache, configuration, LOCATION_B));
+        assertNotSame(schema, get(cache, new XSConfiguration(), LOCATION_A));
+        assertEquals(3, loads.get());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testResolvers() throws Exception {
+        ParsedSchemaCache cache = new ParsedSchemaCache(10);
+        MLConfiguration configuration = new MLConfiguration();
+
+        // the resolvers set up by the configurations for each parse are equivalent
+        XSDSchema schema =
+                get(
+                        cache,
+                        configuration,
+                        LOCATION_A,
+                        List.of(new SchemaLocationResolver(ML.getInstance())));
+        assertSame(
+                schema,
+                get(
+                        cache,
+                        configuration,
+                        LOCATION_A,
+                        List.of(new SchemaLocationResolver(ML.getInstance()))));
+
+        // others may resolve the imports differently
+        XSDSchemaLocationResolver resolver = (schema1, namespace, location) -> null;
+        XSDSchema resolved = get(cache, configuration, LOCATION_A, List.of(resolver));
+        assertNotSame(schema, resolved);
+        assertSame(resolved, get(cache, configuration, LOCATION_A, List.of(resolver)));
+        assertNotSame(
+                resolved,
+                get(
+                        cache,
+                        configuration,
+                        LOCATION_A,
+                        List.of((schema1, namespace, location) -> null)));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testModifiedFile() throws Exception {
+        ParsedSchemaCache cache = new ParsedSchemaCache(10);
+        MLConfiguration configuration = new MLConfiguration();
+        File file = folder.newFile("schema.xsd");
+        String location = file.toURI().toString();
+
+        XSDSchema schema = get(cache, configuration, location);
+        assertSame(schema, get(cache, configuration, location));
+        assertTrue(file.setLastModified(file.lastModified() - 10000));
+        XSDSchema modified = get(cache, configuration, location);
+        assertNotSame(schema, modified);
+        assertSame(modified, get(cache, configuration, location));
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    /** Parses documents referring to the same schema, whose import is resolved differently */
+    @Test
+    public void testParseWithDifferentResolvers() throws Exception {
+        File main = folder.newFile("main.xsd");
+        write(
+                main,
+                "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' targetNamespace='urn:main'>"
+                        + "<xs:import namespace='urn:imported' schemaLocation='imported.xsd'/>"
+                        + "</xs:schema>");
+        write(folder.newFile("a.xsd"), importedSchema("a"));
+        write(folder.newFile("b.xsd"), importedSchema("b"));
+        String document =
+                "<m:root xmlns:m='urn:main'"
+                        + " xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'"
+                        + " xsi:schemaLocation='urn:main "
+                        + main.toURI()
+                        + "'/>";
+
+        ParsedSchemaCache cache = ParsedSchemaCache.getInstance();
+        int maxSize = cache.getMaxSize();
+        cache.setMaxSize(10);
+        try {
+            XSDSchema a = parse(document, "a.xsd");
+            XSDSchema b = parse(document, "b.xsd");
+            assertNotSame(a, b);
+            assertNotNull(resolveElement(a, "a"));
+            assertNull(resolveElement(a, "b"));
+            assertNotNull(resolveElement(b, "b"));
+            assertNull(resolveElement(b, "a"));
+        } finally {
+            cache.setMaxSize(maxSize);
+            cache.clear();
+        }
+    }
+
+    private static String importedSchema(String element) {
+        return "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'"
+                + " targetNamespace='urn:imported'>"
+                + "<xs:element name='"
+                + element
+                + "' type='xs:string'/>"
+                + "</xs:schema>";
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Parses the document with a resolver mapping the imported schema to the specified file */
+    private XSDSchema parse(String document, String imported) throws Exception {
+        File target = new File(folder.getRoot(), imported);
+        XSDSchemaLocationResolver resolver =
+                (schema, namespace, location) ->
+                        schema != null && "urn:imported".equals(namespace)
+                                ? target.toURI().toString()
+                                : null;
+        MLConfiguration configuration = new MLConfiguration();
+        configuration.getContext().registerComponentInstance(resolver);
+        Parser parser = new Parser(configuration);
+        parser.parse(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)));
+        return parser.getSchemas()[0];
+    }
+
+    private static XSDElementDeclaration resolveElement(XSDSchema schema, String name) {
+        XSDElementDeclaration element = schema.resolveElementDeclaration("urn:imported", name);
+        return element.getContainer() != null ? element : null;
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        ParsedSchemaCache cache = new ParsedSchemaCache(1);
+        MLConfiguration configuration = new MLConfiguration();
+
+        XSDSchema schema = get(cache, configuration, LOCATION_A);
+        get(cache, configuration, LOCATION_B);
+        assertEquals(1, cache.size());
+        assertNotSame(schema, get(cache, configuration, LOCATION_A));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        ParsedSchemaCache cache = new ParsedSchemaCache(10);
+        MLConfiguration configuration = new MLConfiguration();
+
+        XSDSchema a = get(cache, configuration, LOCATION_A);
+        XSDSchema b = get(cache, configuration, LOCATION_B);
+        get(cache, new XSConfiguration(), LOCATION_A);
+
+        cache.remove(LOCATION_A);
+        assertEquals(1, cache.size());
+        assertSame(b, get(cache, configuration, LOCATION_B));
+        assertNotSame(a, get(cache, configuration, LOCATION_A));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        // disabled by default
+        assertEquals(0, ParsedSchemaCache.DEFAULT_MAX_SIZE);
+
+        ParsedSchemaCache cache = new ParsedSchemaCache(0);
+        MLConfiguration configuration = new MLConfiguration();
+
+        XSDSchema schema = get(cache, configuration, LOCATION_A);
+        assertNotSame(schema, get(cache, configuration, LOCATION_A));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testNotFound() throws Exception {
+        ParsedSchemaCache cache = new ParsedSchemaCache(10);
+        assertNull(
+                cache.getSchema(new MLConfiguration(), LOCATION_A, null, null, null, () -> null));
+        assertEquals(0, cache.size());
+    }
+}
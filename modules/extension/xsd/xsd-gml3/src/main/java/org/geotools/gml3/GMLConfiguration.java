@@ -175,6 +175,7 @@ public SrsSyntax getSrsSyntax() {
     /** Flag that when set triggers extended support for arcs and surfaces. */
     public void setExtendedArcSurfaceSupport(boolean arcSurfaceSupport) {
         this.extArcSurfaceSupport = arcSurfaceSupport;
+        bindingsChanged();
     }
 
     public boolean isExtendedArcSurfaceSupport() {
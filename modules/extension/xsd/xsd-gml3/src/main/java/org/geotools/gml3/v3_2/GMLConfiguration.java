@@ -116,6 +116,7 @@ public GMLConfiguration(boolean arcSurfaceSupport) {
     /** Flag that when set triggers extended support for arcs and surfaces. */
     public void setExtendedArcSurfaceSupport(boolean extArcSurfaceSupport) {
         delegate.setExtendedArcSurfaceSupport(extArcSurfaceSupport);
+        bindingsChanged();
     }
 
     public boolean isExtendedArcSurfaceSupport() {
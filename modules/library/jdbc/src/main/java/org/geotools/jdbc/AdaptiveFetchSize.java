@@ -0,0 +1,144 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.lang.reflect.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Adapts the fetch size of a streaming result set to the observed size of the rows, so that each
+ * fetch uses about the same amount of memory, regardless of how large the rows are. The row size is
+ * estimated on a sample of the features read.
+ */
+class AdaptiveFetchSize {
+
+    static final Logger LOGGER = Logging.getLogger(AdaptiveFetchSize.class);
+
+    /** Fetch size used to start with, when none is configured */
+    static final int DEFAULT_FETCH_SIZE = 1000;
+
+    static final int MIN_FETCH_SIZE = 10;
+
+    static final int MAX_FETCH_SIZE = 100000;
+
+    /** One feature every SAMPLE_INTERVAL is used to estimate the row size */
+    static final int SAMPLE_INTERVAL = 16;
+
+    private final long bufferSize;
+
+    private int fetchSize;
+
+    private long rows;
+
+    private int batchRows;
+
+    private long sampledBytes;
+
+    private int sampledRows;
+
+    /**
+     * @param bufferSize The target memory usage of a fetch, in bytes
+     * @param fetchSize The initial fetch size, if not positive a default is used
+     */
+    AdaptiveFetchSize(long bufferSize, int fetchSize) {
+        this.bufferSize = bufferSize;
+        this.fetchSize = fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE;
+    }
+
+    int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Accounts for a feature read from the result set, adapting the fetch size at the end of each
+     * batch of rows
+     */
+    void featureRead(SimpleFeature feature, ResultSet rs) throws SQLException {
+        if (feature != null && rows++ % SAMPLE_INTERVAL == 0) {
+            sampledBytes += estimateSize(feature);
+            sampledRows++;
+        }
+        if (++batchRows < fetchSize || sampledRows == 0) {
+            return;
+        }
+        batchRows = 0;
+        long average = Math.max(1, sampledBytes / sampledRows);
+        int target = (int) Math.max(MIN_FETCH_SIZE, Math.min(MAX_FETCH_SIZE, bufferSize / average));
+        // avoid bouncing around, only react to significant changes
+        if (Math.abs(target - fetchSize) > fetchSize / 4) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine(
+                        "Average row size is "
+                                + average
+                                + " bytes, changing fetch size from "
+                                + fetchSize
+                                + " to "
+                                + target);
+            }
+            fetchSize = target;
+            rs.setFetchSize(target);
+        }
+        // let the older samples fade out
+        sampledBytes /= 2;
+        sampledRows = Math.max(1, sampledRows / 2);
+    }
+
+    /** Rough estimate of the memory used by the feature values */
+    static long estimateSize(SimpleFeature feature) {
+        long size = 64;
+        for (Object value : feature.getAttributes()) {
+            size += estimateSize(value);
+        }
+        return size;
+    }
+
+    static long estimateSize(Object value) {
+        if (value == null) {
+            return 8;
+        } else if (value instanceof Geometry) {
+            Geometry g = (Geometry) value;
+            return 64 + 32L * g.getNumGeometries() + 24L * g.getNumPoints();
+        } else if (value instanceof CharSequence) {
+            return 40 + 2L * ((CharSequence) value).length();
+        } else if (value instanceof byte[]) {
+            return 16 + ((byte[]) value).length;
+        } else if (value instanceof Collection) {
+            long size = 32;
+            for (Object o : (Collection<?>) value) {
+                size += estimateSize(o);
+            }
+            return size;
+        } else if (value instanceof Map) {
+            long size = 48;
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                size += estimateSize(e.getKey()) + estimateSize(e.getValue());
+            }
+            return size;
+        } else if (value.getClass().isArray()) {
+            return 16 + 16L * Array.getLength(value);
+        }
+        return 24;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Streams rows into a table using a native bulk loading mechanism, bypassing INSERT statements.
+ * Created by {@link SQLDialect#createBulkLoader}, values are set row by row, in the column order
+ * the loader was created with.
+ *
+ * <p>The loader works in the transaction of the connection it was created with. Closing it before
+ * {@link #finish()} is called aborts the load.
+ */
+public interface BulkLoader extends AutoCloseable {
+
+    /** Starts a new row */
+    void startRow() throws IOException;
+
+    /**
+     * Sets the next column value of the current row
+     *
+     * @param value The value, might be null
+     * @param binding The value binding
+     * @param att The attribute descriptor, or null if the column is a primary key column not
+     *     exposed as an attribute
+     */
+    void setValue(Object value, Class<?> binding, AttributeDescriptor att) throws IOException;
+
+    /**
+     * Sets the next column value of the current row, for a geometry column
+     *
+     * @param g The geometry, might be null
+     * @param dimension The geometry dimension
+     * @param srid The geometry srid
+     * @param att The attribute descriptor
+     */
+    void setGeometryValue(Geometry g, int dimension, int srid, AttributeDescriptor att)
+            throws IOException;
+
+    /** Ends the current row */
+    void endRow() throws IOException;
+
+    /**
+     * Completes the load
+     *
+     * @return the number of rows inserted
+     */
+    long finish() throws IOException, SQLException;
+
+    /** Releases the resources, aborting the load if it was not finished */
+    @Override
+    void close() throws IOException, SQLException;
+}
@@ -0,0 +1,183 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.BinaryLogicOperator;
+import org.geotools.api.filter.ExcludeFilter;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.IncludeFilter;
+import org.geotools.api.filter.MultiValuedFilter;
+import org.geotools.api.filter.NativeFilter;
+import org.geotools.api.filter.Not;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.api.filter.PropertyIsNil;
+import org.geotools.api.filter.PropertyIsNull;
+import org.geotools.api.filter.expression.BinaryExpression;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Function;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.NilExpression;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.spatial.BinarySpatialOperator;
+import org.geotools.api.filter.spatial.DistanceBufferOperator;
+import org.geotools.api.filter.temporal.BinaryTemporalOperator;
+
+/**
+ * The structure of a filter, that is, the filter with its literal values left out, used to look up
+ * SQL templates in a {@link SQLTemplateCache}. The literals are collected in traversal order, to be
+ * bound to the template parameters.
+ *
+ * <p>The type of each literal value is part of the structure, as it may affect the encoding. Id
+ * filters and unknown filter types are not supported.
+ */
+class FilterSignature {
+
+    private final String key;
+
+    private final List<Literal> literals;
+
+    private FilterSignature(String key, List<Literal> literals) {
+        this.key = key;
+        this.literals = literals;
+    }
+
+    /** Returns the signature of the filter, or null if the filter is not supported */
+    static FilterSignature of(Filter filter) {
+        Builder builder = new Builder();
+        if (!builder.append(filter)) {
+            return null;
+        }
+        return new FilterSignature(builder.sb.toString(), builder.literals);
+    }
+
+    /** The structure of the filter, suitable for use as a cache key */
+    String getKey() {
+        return key;
+    }
+
+    /** The literals of the filter, in traversal order */
+    List<Literal> getLiterals() {
+        return literals;
+    }
+
+    /** Returns the position of the literal in the filter, comparing by identity */
+    int indexOf(Literal literal) {
+        for (int i = 0; i < literals.size(); i++) {
+            if (literals.get(i) == literal) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static class Builder {
+        StringBuilder sb = new StringBuilder();
+        List<Literal> literals = new ArrayList<>();
+
+        boolean append(Object node) {
+            if (node == null) {
+                sb.append("null");
+                return true;
+            }
+            sb.append(node.getClass().getName());
+            if (node instanceof MultiValuedFilter) {
+                sb.append('|').append(((MultiValuedFilter) node).getMatchAction());
+            }
+            sb.append('(');
+            boolean supported = appendContents(node);
+            sb.append(')');
+            return supported;
+        }
+
+        private boolean appendContents(Object node) {
+            if (node instanceof Literal) {
+                Object value = ((Literal) node).getValue();
+                sb.append(value == null ? "null" : value.getClass().getName());
+                literals.add((Literal) node);
+                return true;
+            } else if (node instanceof PropertyName) {
+                sb.append(((PropertyName) node).getPropertyName());
+                return true;
+            } else if (node instanceof Function) {
+                Function function = (Function) node;
+                sb.append(function.getName());
+                for (Expression parameter : function.getParameters()) {
+                    if (!append(parameter)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (node instanceof BinaryExpression) {
+                BinaryExpression expression = (BinaryExpression) node;
+                return append(expression.getExpression1()) && append(expression.getExpression2());
+            } else if (node instanceof NilExpression
+                    || node instanceof IncludeFilter
+                    || node instanceof ExcludeFilter) {
+                return true;
+            } else if (node instanceof BinaryLogicOperator) {
+                for (Filter child : ((BinaryLogicOperator) node).getChildren()) {
+                    if (!append(child)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (node instanceof Not) {
+                return append(((Not) node).getFilter());
+            } else if (node instanceof BinaryComparisonOperator) {
+                BinaryComparisonOperator filter = (BinaryComparisonOperator) node;
+                sb.append(filter.isMatchingCase());
+                return append(filter.getExpression1()) && append(filter.getExpression2());
+            } else if (node instanceof PropertyIsLike) {
+                PropertyIsLike like = (PropertyIsLike) node;
+                sb.append(like.getLiteral()).append('|').append(like.getWildCard());
+                sb.append('|').append(like.getSingleChar()).append('|').append(like.getEscape());
+                sb.append('|').append(like.isMatchingCase());
+                return append(like.getExpression());
+            } else if (node instanceof PropertyIsBetween) {
+                PropertyIsBetween between = (PropertyIsBetween) node;
+                return append(between.getExpression())
+                        && append(between.getLowerBoundary())
+                        && append(between.getUpperBoundary());
+            } else if (node instanceof PropertyIsNull) {
+                return append(((PropertyIsNull) node).getExpression());
+            } else if (node instanceof PropertyIsNil) {
+                PropertyIsNil nil = (PropertyIsNil) node;
+                sb.append(nil.getNilReason());
+                return append(nil.getExpression());
+            } else if (node instanceof BinarySpatialOperator) {
+                BinarySpatialOperator filter = (BinarySpatialOperator) node;
+                if (filter instanceof DistanceBufferOperator) {
+                    DistanceBufferOperator distance = (DistanceBufferOperator) filter;
+                    sb.append(distance.getDistance()).append(distance.getDistanceUnits());
+                }
+                return append(filter.getExpression1()) && append(filter.getExpression2());
+            } else if (node instanceof BinaryTemporalOperator) {
+                BinaryTemporalOperator filter = (BinaryTemporalOperator) node;
+                return append(filter.getExpression1()) && append(filter.getExpression2());
+            } else if (node instanceof NativeFilter) {
+                sb.append(((NativeFilter) node).getNative());
+                return true;
+            }
+            // id filters, and whatever we don't know about
+            return false;
+        }
+    }
+}
@@ -45,6 +45,11 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import javax.sql.DataSource;
 import org.apache.commons.lang3.ArrayUtils;
@@ -191,6 +196,32 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
     /** Contains a {@link EnumMapper} to support enums mapped from integer values */
     public static final String JDBC_ENUM_MAP = "org.geotools.jdbc.enumMap";
 
+    /**
+     * Query hint, an Integer, asking to read the features with as many parallel queries, each one
+     * reading a range of the primary key computed by {@link
+     * SQLDialect#getPartitionSplitPoints(SimpleFeatureType, PrimaryKeyColumn, int, Connection)},
+     * over a separate pooled connection. Only honored for auto commit reads of tables with a single
+     * column primary key, without joins or paging. The features are returned in no particular
+     * order, unless the query specifies a sort. Sorted queries are only partitioned when sorting on
+     * the primary key, or on not nillable numeric and date attributes, whose order in memory
+     * matches the one of the database. The number of partitions is capped by {@link
+     * #MAX_PARTITIONS_KEY}.
+     */
+    public static final Hints.Key PARTITIONS = new Hints.Key(Integer.class);
+
+    /**
+     * System property setting the maximum number of partitions of a partitioned read, which is
+     * also the maximum number of threads reading them for a data store. Defaults to the number of
+     * available processors.
+     */
+    public static final String MAX_PARTITIONS_KEY = "org.geotools.jdbc.maxPartitions";
+
+    static final int MAX_PARTITIONS =
+            Math.max(
+                    1,
+                    Integer.getInteger(
+                            MAX_PARTITIONS_KEY, Runtime.getRuntime().availableProcessors()));
+
     /** name of table to use to store geometries when {@link #associations} is set. */
     protected static final String GEOMETRY_TABLE = "geometry";
 
@@ -267,6 +298,21 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
      */
     public int fetchSize;
 
+    /**
+     * Whether read queries should stream their results using server side cursors, with a fetch size
+     * adapted to the size of the rows read
+     */
+    protected boolean streaming = false;
+
+    /** The target amount of memory, in bytes, used by a batch of rows fetched while streaming */
+    protected long streamingBufferSize = 8 * 1024 * 1024;
+
+    /** Runs the queries of partitioned reads, see {@link #PARTITIONS} */
+    private ExecutorService partitionExecutor;
+
+    /** Caches the SQL of prepared statement queries, null if disabled */
+    protected SQLTemplateCache sqlTemplateCache;
+
     /**
      * The number of features to bufferize while inserting in order to do batch inserts.
      *
@@ -381,6 +427,78 @@ public void setFetchSize(int fetchSize) {
         this.fetchSize = fetchSize;
     }
 
+    /**
+     * Returns true if read queries stream their results using server side cursors, with a fetch
+     * size adapted to the observed row size, so that the memory used is bounded regardless of the
+     * result size.
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Enables/disables streaming of the read queries results.
+     *
+     * @see SQLDialect#initializeStreaming(Statement, Connection)
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /** The target amount of memory, in bytes, used by a batch of rows fetched while streaming */
+    public long getStreamingBufferSize() {
+        return streamingBufferSize;
+    }
+
+    /**
+     * Sets the target amount of memory, in bytes, used by a batch of rows fetched while streaming
+     */
+    public void setStreamingBufferSize(long streamingBufferSize) {
+        this.streamingBufferSize = streamingBufferSize;
+    }
+
+    /**
+     * Returns the cache of the SQL generated for prepared statement queries, or null if disabled.
+     * The cache exposes its hit and miss statistics.
+     */
+    public SQLTemplateCache getSQLTemplateCache() {
+        return sqlTemplateCache;
+    }
+
+    /**
+     * Sets the cache of the SQL generated for prepared statement queries, null disables it. Only
+     * used with a {@link PreparedStatementSQLDialect}.
+     */
+    public void setSQLTemplateCache(SQLTemplateCache sqlTemplateCache) {
+        this.sqlTemplateCache = sqlTemplateCache;
+    }
+
+    /**
+     * Returns the executor running the queries of partitioned reads, creating it on demand. It runs
+     * at most {@link #MAX_PARTITIONS} tasks and rejects the others, which are then read by the
+     * consumer thread.
+     */
+    synchronized ExecutorService getPartitionExecutor() {
+        if (partitionExecutor == null) {
+            AtomicInteger count = new AtomicInteger();
+            partitionExecutor =
+                    new ThreadPoolExecutor(
+                            0,
+                            MAX_PARTITIONS,
+                            60,
+                            TimeUnit.SECONDS,
+                            new SynchronousQueue<>(),
+                            r -> {
+                                Thread t =
+                                        new Thread(
+                                                r, "gt-jdbc-partition-" + count.incrementAndGet());
+                                t.setDaemon(true);
+                                return t;
+                            });
+        }
+        return partitionExecutor;
+    }
+
     /** @return the number of features to bufferize while inserting in order to do batch inserts. */
     public int getBatchInsertSize() {
         return batchInsertSize;
@@ -393,6 +511,8 @@ public int getBatchInsertSize() {
      * JDBCInsertFeatureWriter} is changed in non backward compatible ways. If your code closes the
      * writer before closing the connection, you are fine. Plus, the feature added events will be
      * delayed until a batch is actually inserted.
+     *
+     * <p>When the dialect supports bulk insert, each batch is sent as a single bulk load.
      */
     public void setBatchInsertSize(int batchInsertSize) {
         this.batchInsertSize = batchInsertSize;
@@ -1886,6 +2006,11 @@ protected void insert(
         // first to figure out what the id will be, then the insert statement
         synchronized (this) {
             try {
+                if (features.size() > 1
+                        && dialect.isBulkInsertSupported(featureType, key)
+                        && insertBulk(features, featureType, cx, key)) {
+                    return;
+                }
                 if (dialect instanceof PreparedStatementSQLDialect) {
                     Map<InsertionClassifier, Collection<SimpleFeature>> kinds =
                             InsertionClassifier.classify(featureType, features);
@@ -1909,6 +2034,111 @@ protected void insert(
         }
     }
 
+    /**
+     * Specialized insertion for dialects that support bulk loading. The key values are computed
+     * before loading the features, if that is not possible nothing is inserted and false is
+     * returned, so that the caller can fall back on regular inserts.
+     */
+    private boolean insertBulk(
+            Collection<? extends SimpleFeature> features,
+            SimpleFeatureType featureType,
+            Connection cx,
+            PrimaryKey key)
+            throws IOException, SQLException {
+        // compute the keys first, features using existing ids and the others are grouped
+        List<SimpleFeature> sorted = new ArrayList<>(features.size());
+        List<List<Object>> keyValues = new ArrayList<>(features.size());
+        for (boolean useExisting : new boolean[] {true, false}) {
+            List<SimpleFeature> group = new ArrayList<>();
+            for (SimpleFeature feature : features) {
+                if (InsertionClassifier.useExisting(feature) == useExisting) {
+                    group.add(feature);
+                }
+            }
+            if (group.isEmpty()) {
+                continue;
+            }
+            KeysFetcher keysFetcher = KeysFetcher.create(this, cx, useExisting, key);
+            List<List<Object>> groupKeys = keysFetcher.getNextValues(cx, group);
+            if (groupKeys == null) {
+                LOGGER.log(
+                        Level.FINE,
+                        "Key values cannot be computed before insert, not using bulk insert");
+                return false;
+            }
+            sorted.addAll(group);
+            keyValues.addAll(groupKeys);
+        }
+
+        Set<String> keyColumns = new HashSet<>();
+        List<String> columns = new ArrayList<>();
+        for (PrimaryKeyColumn col : key.getColumns()) {
+            keyColumns.add(col.getName());
+        }
+        for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
+            if (!keyColumns.contains(att.getLocalName())) {
+                columns.add(att.getLocalName());
+            }
+        }
+        for (PrimaryKeyColumn col : key.getColumns()) {
+            columns.add(col.getName());
+        }
+
+        LOGGER.log(Level.FINE, "Bulk inserting {0} features", sorted.size());
+        try (BulkLoader loader = dialect.createBulkLoader(featureType, columns, cx)) {
+            for (int f = 0; f < sorted.size(); f++) {
+                SimpleFeature feature = sorted.get(f);
+                loader.startRow();
+                for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
+                    String colName = att.getLocalName();
+                    // skip the pk columns in case we have exposed them, we grab the
+                    // value from the pk itself
+                    if (keyColumns.contains(colName)) {
+                        continue;
+                    }
+
+                    Class binding = att.getType().getBinding();
+                    Object value = feature.getAttribute(colName);
+                    if (value == null && !att.isNillable()) {
+                        throw new IOException(
+                                "Cannot set a NULL value on the not null column " + colName);
+                    }
+
+                    if (Geometry.class.isAssignableFrom(binding)) {
+                        Geometry g = linearize(value, binding);
+                        int srid = getGeometrySRID(g, att);
+                        int dimension = getGeometryDimension(g, att);
+                        loader.setGeometryValue(g, dimension, srid, att);
+                    } else {
+                        EnumMapper mapper =
+                                (EnumMapper) att.getUserData().get(JDBCDataStore.JDBC_ENUM_MAP);
+                        if (mapper != null) {
+                            value = mapper.fromString((String) value);
+                            binding = Integer.class;
+                        }
+                        loader.setValue(value, binding, att);
+                    }
+                }
+                List<Object> values = keyValues.get(f);
+                for (int i = 0; i < key.getColumns().size(); i++) {
+                    loader.setValue(values.get(i), key.getColumns().get(i).getType(), null);
+                }
+                loader.endRow();
+            }
+            long inserted = loader.finish();
+            if (inserted != sorted.size()) {
+                throw new IOException("Failed to insert some features");
+            }
+        }
+
+        // report the feature ids as user data, as for regular inserts
+        for (int f = 0; f < sorted.size(); f++) {
+            String fid = featureType.getTypeName() + "." + encodeFID(keyValues.get(f));
+            sorted.get(f).getUserData().put("fid", fid);
+        }
+        return true;
+    }
+
     /** Specialized insertion for dialects that are using prepared statements. */
     private void insertPS(
             Collection<SimpleFeature> features,
@@ -3745,6 +3975,25 @@ protected PreparedStatement selectSQLPS(
             SimpleFeatureType featureType, Query query, Connection cx)
             throws SQLException, IOException {
 
+        // reuse the SQL of a query with the same structure, if possible
+        FilterSignature signature = getFilterSignature(featureType, query);
+        List<Object> templateKey = null;
+        if (signature != null) {
+            templateKey = SQLTemplateCache.key("select", featureType, signature, query);
+            SQLTemplate template = sqlTemplateCache.get(templateKey);
+            PreparedFilterToSQL values = bindTemplate(template, signature);
+            if (values != null) {
+                String sql = template.sql;
+                LOGGER.fine(sql);
+                PreparedStatement ps =
+                        cx.prepareStatement(
+                                sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                setPreparedFilterValues(ps, values, 0, cx);
+                return ps;
+            }
+        }
+
         StringBuffer sql = new StringBuffer();
         sql.append("SELECT ");
 
@@ -3775,6 +4024,10 @@ protected PreparedStatement selectSQLPS(
         // add search hints if the dialect supports them
         applySearchHints(featureType, query, sql);
 
+        if (templateKey != null) {
+            cacheTemplate(templateKey, sql.toString(), signature, toSQL);
+        }
+
         LOGGER.fine(sql.toString());
         PreparedStatement ps =
                 cx.prepareStatement(
@@ -3959,6 +4212,22 @@ protected String selectBoundsSQL(SimpleFeatureType featureType, Query query)
     protected PreparedStatement selectBoundsSQLPS(
             SimpleFeatureType featureType, Query query, Connection cx) throws SQLException {
 
+        // reuse the SQL of a query with the same structure, if possible
+        FilterSignature signature = getFilterSignature(featureType, query);
+        List<Object> templateKey = null;
+        if (signature != null) {
+            templateKey = SQLTemplateCache.key("bounds", featureType, signature, query);
+            SQLTemplate template = sqlTemplateCache.get(templateKey);
+            PreparedFilterToSQL values = bindTemplate(template, signature);
+            if (values != null) {
+                String sql = template.sql;
+                LOGGER.fine(sql);
+                PreparedStatement ps = cx.prepareStatement(sql);
+                setPreparedFilterValues(ps, values, 0, cx);
+                return ps;
+            }
+        }
+
         StringBuffer sql = new StringBuffer();
 
         boolean offsetLimit = checkLimitOffset(query.getStartIndex(), query.getMaxFeatures());
@@ -4014,6 +4283,10 @@ protected PreparedStatement selectBoundsSQLPS(
         // add search hints if the dialect supports them
         applySearchHints(featureType, query, sql);
 
+        if (templateKey != null) {
+            cacheTemplate(templateKey, sql.toString(), signature, toSQL);
+        }
+
         LOGGER.fine(sql.toString());
         PreparedStatement ps = cx.prepareStatement(sql.toString());
 
@@ -4024,6 +4297,45 @@ protected PreparedStatement selectBoundsSQLPS(
         return ps;
     }
 
+    /**
+     * Returns the signature of the query filter, or null if the SQL template cache is disabled or
+     * does not apply to the query
+     */
+    private FilterSignature getFilterSignature(SimpleFeatureType featureType, Query query) {
+        if (sqlTemplateCache == null
+                || !(dialect instanceof PreparedStatementSQLDialect)
+                || virtualTables.containsKey(featureType.getTypeName())) {
+            return null;
+        }
+        Filter filter = query.getFilter() != null ? query.getFilter() : Filter.INCLUDE;
+        return FilterSignature.of(filter);
+    }
+
+    /**
+     * Evaluates the query literals as the parameters of a cached template, returns null if there is
+     * no template, or it does not match the literals
+     */
+    private PreparedFilterToSQL bindTemplate(SQLTemplate template, FilterSignature signature) {
+        PreparedFilterToSQL values = null;
+        if (template != null) {
+            values = template.bind(signature, (PreparedStatementSQLDialect) dialect);
+        }
+        if (values != null) {
+            sqlTemplateCache.recordHit();
+        } else {
+            sqlTemplateCache.recordMiss();
+        }
+        return values;
+    }
+
+    private void cacheTemplate(
+            List<Object> key, String sql, FilterSignature signature, PreparedFilterToSQL toSQL) {
+        SQLTemplate template = SQLTemplate.create(sql, signature, toSQL);
+        if (template != null) {
+            sqlTemplateCache.put(key, template);
+        }
+    }
+
     /**
      * Builds a list of the aggregate function calls necesary to compute each geometry column bounds
      */
@@ -5048,6 +5360,12 @@ protected void finalize() throws Throwable {
     @Override
     public void dispose() {
         super.dispose();
+        synchronized (this) {
+            if (partitionExecutor != null) {
+                partitionExecutor.shutdownNow();
+                partitionExecutor = null;
+            }
+        }
         if (dataSource != null && dataSource instanceof ManageableDataSource) {
             try {
                 @SuppressWarnings("PMD.CloseResource") // actually closing it here
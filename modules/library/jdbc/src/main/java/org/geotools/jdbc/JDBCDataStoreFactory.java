@@ -125,6 +125,42 @@ public abstract class JDBCDataStoreFactory implements DataStoreFactorySpi {
                     false,
                     1000);
 
+    /** Enables streaming of query results with server side cursors */
+    public static final Param STREAMING =
+            new Param(
+                    "Streaming",
+                    Boolean.class,
+                    "Stream query results using server side cursors, adapting the fetch size to the "
+                            + "size of the rows read, so that memory usage is bounded regardless of the "
+                            + "result size",
+                    false,
+                    Boolean.FALSE,
+                    Collections.singletonMap(Parameter.LEVEL, "advanced"));
+
+    /** The memory target of each fetch when streaming */
+    public static final Param STREAMING_BUFFER_SIZE =
+            new Param(
+                    "Streaming buffer size",
+                    Integer.class,
+                    "Target memory, in kilobytes, used by each batch of rows fetched when streaming",
+                    false,
+                    8192,
+                    Collections.singletonMap(Parameter.LEVEL, "advanced"));
+
+    /**
+     * Number of SQL templates cached for queries differing only in their literal values, zero
+     * disables the cache
+     */
+    public static final Param SQL_TEMPLATE_CACHE_SIZE =
+            new Param(
+                    "SQL template cache size",
+                    Integer.class,
+                    "Number of query SQL templates cached, reused by queries differing only in "
+                            + "their literal values (prepared statements only, 0 to disable)",
+                    false,
+                    0,
+                    Collections.singletonMap(Parameter.LEVEL, "advanced"));
+
     /**
      * If different from one, the JDBCInsertFeatureWriter will buffer the features and insert them
      * in batches
@@ -314,6 +350,19 @@ public final JDBCDataStore createDataStore(Map<String, ?> params) throws IOExcep
         if (fetchSize != null && fetchSize > 0) dataStore.setFetchSize(fetchSize);
         else dataStore.setFetchSize((Integer) FETCHSIZE.sample);
 
+        // streaming
+        Boolean streaming = (Boolean) STREAMING.lookUp(params);
+        dataStore.setStreaming(Boolean.TRUE.equals(streaming));
+        Integer streamingBufferSize = (Integer) STREAMING_BUFFER_SIZE.lookUp(params);
+        if (streamingBufferSize != null && streamingBufferSize > 0) {
+            dataStore.setStreamingBufferSize(streamingBufferSize * 1024L);
+        }
+
+        Integer sqlTemplateCacheSize = (Integer) SQL_TEMPLATE_CACHE_SIZE.lookUp(params);
+        if (sqlTemplateCacheSize != null && sqlTemplateCacheSize > 0) {
+            dataStore.setSQLTemplateCache(new SQLTemplateCache(sqlTemplateCacheSize));
+        }
+
         Integer batchInsertSize = (Integer) BATCH_INSERT_SIZE.lookUp(params);
         if (batchInsertSize != null && batchInsertSize > 0) {
             dataStore.setBatchInsertSize(batchInsertSize);
@@ -468,6 +517,9 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(MINCONN.key, MINCONN);
         parameters.put(FETCHSIZE.key, FETCHSIZE);
         parameters.put(BATCH_INSERT_SIZE.key, BATCH_INSERT_SIZE);
+        parameters.put(STREAMING.key, STREAMING);
+        parameters.put(STREAMING_BUFFER_SIZE.key, STREAMING_BUFFER_SIZE);
+        parameters.put(SQL_TEMPLATE_CACHE_SIZE.key, SQL_TEMPLATE_CACHE_SIZE);
         parameters.put(MAXWAIT.key, MAXWAIT);
         if (getValidationQuery() != null) parameters.put(VALIDATECONN.key, VALIDATECONN);
         parameters.put(TEST_WHILE_IDLE.key, TEST_WHILE_IDLE);
@@ -127,6 +127,9 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
     /** enum support */
     EnumMapper[] enumMappers;
 
+    /** adapts the fetch size to the row size when streaming, null otherwise */
+    AdaptiveFetchSize adaptiveFetchSize;
+
     public JDBCFeatureReader(
             String sql,
             Connection cx,
@@ -149,6 +152,7 @@ public JDBCFeatureReader(
             ((PreparedStatementSQLDialect) sqlDialect)
                     .onSelect((PreparedStatement) st, cx, featureType);
         }
+        initializeStreaming();
 
         runQuery(() -> st.executeQuery(sql), st);
     }
@@ -169,6 +173,7 @@ public JDBCFeatureReader(
 
         ((PreparedStatementSQLDialect) featureSource.getDataStore().getSQLDialect())
                 .onSelect(st, cx, featureType);
+        initializeStreaming();
         runQuery(st::executeQuery, st);
     }
 
@@ -260,6 +265,17 @@ protected void init(
         }
     }
 
+    /** Sets up the statement for streaming, if enabled in the store */
+    void initializeStreaming() throws SQLException {
+        if (dataStore.isStreaming()) {
+            adaptiveFetchSize =
+                    new AdaptiveFetchSize(
+                            dataStore.getStreamingBufferSize(), dataStore.getFetchSize());
+            st.setFetchSize(adaptiveFetchSize.getFetchSize());
+            dataStore.getSQLDialect().initializeStreaming(st, cx);
+        }
+    }
+
     @FunctionalInterface
     interface QueryRunner {
         ResultSet run() throws Exception;
@@ -295,6 +311,7 @@ public JDBCFeatureReader(JDBCFeatureReader other) {
         this.rs = other.rs;
         this.md = other.md;
         this.enumMappers = other.enumMappers;
+        this.adaptiveFetchSize = other.adaptiveFetchSize;
     }
 
     public void setNext(Boolean next) {
@@ -330,6 +347,9 @@ public boolean hasNext() throws IOException {
 
                     if (next) {
                         nextFeature = readNextFeature();
+                        if (adaptiveFetchSize != null) {
+                            adaptiveFetchSize.featureRead(nextFeature, rs);
+                        }
                     }
                 }
 
@@ -27,6 +27,9 @@
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
@@ -45,10 +48,13 @@
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.expression.Expression;
 import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.data.FilteringFeatureReader;
 import org.geotools.data.MaxFeatureReader;
 import org.geotools.data.ReTypeFeatureReader;
+import org.geotools.data.sort.SortedFeatureReader;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.feature.AttributeTypeBuilder;
@@ -70,6 +76,9 @@ public class JDBCFeatureSource extends ContentFeatureSource {
     private static final Logger LOGGER = Logging.getLogger(JDBCFeatureSource.class);
     private static final String REMARKS = "REMARKS";
 
+    /** Hint carrying the primary key range filter of a partition, see {@link #getPartitions} */
+    static final Hints.Key PARTITION_FILTER = new Hints.Key(Filter.class);
+
     /** primary key of the table */
     PrimaryKey primaryKey;
 
@@ -105,6 +114,7 @@ protected void addHints(Set<Key> hints) {
         // mark the features as detached, that is, the user can directly alter them
         // without altering the state of the datastore
         hints.add(Hints.FEATURE_DETACHED);
+        hints.add(JDBCDataStore.PARTITIONS);
         getDataStore().getSQLDialect().addSupportedHints(hints);
     }
 
@@ -571,12 +581,33 @@ protected boolean canTransact() {
     @SuppressWarnings("PMD.CloseResource") // the cx is passed to the reader which will close it
     protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query)
             throws IOException {
+        // parallel read of the primary key ranges, if requested and possible
+        Integer partitions = (Integer) query.getHints().get(JDBCDataStore.PARTITIONS);
+        if (partitions != null && Math.min(partitions, JDBCDataStore.MAX_PARTITIONS) > 1) {
+            FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                    getPartitionedReader(
+                            query, Math.min(partitions, JDBCDataStore.MAX_PARTITIONS));
+            if (reader != null) {
+                return reader;
+            }
+        }
+
         // split the filter
         Filter[] split = splitFilter(query.getFilter());
         Filter preFilter = split[0];
         Filter postFilter = split[1];
         boolean postFilterRequired = postFilter != null && postFilter != Filter.INCLUDE;
 
+        // restrict to the key range when reading a partition (added after the split, as the
+        // key column might not be exposed as an attribute)
+        Filter partitionFilter = (Filter) query.getHints().get(PARTITION_FILTER);
+        if (partitionFilter != null) {
+            preFilter =
+                    Filter.INCLUDE.equals(preFilter)
+                            ? partitionFilter
+                            : getDataStore().getFilterFactory().and(preFilter, partitionFilter);
+        }
+
         // rebuild a new query with the same params, but just the pre-filter
         Query preQuery = new Query(query);
         preQuery.setFilter(preFilter);
@@ -676,6 +707,134 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         return reader;
     }
 
+    /**
+     * Returns a reader running the query as parallel primary key range queries, or null if the
+     * query cannot be partitioned.
+     */
+    private FeatureReader<SimpleFeatureType, SimpleFeature> getPartitionedReader(
+            Query query, int partitions) throws IOException {
+        // each partition needs its own connection, and paging needs a single ordered result
+        if (getState().getTransaction() != Transaction.AUTO_COMMIT
+                || !query.getJoins().isEmpty()
+                || (query.getStartIndex() != null && query.getStartIndex() > 0)
+                || !query.isMaxFeaturesUnlimited()
+                || primaryKey.getColumns().size() != 1
+                || getDataStore().getVirtualTables().containsKey(getSchema().getTypeName())) {
+            return null;
+        }
+
+        SimpleFeatureType returnedSchema =
+                buildQueryAndReturnFeatureTypes(getSchema(), query.getPropertyNames(), null)[1];
+
+        // the partitions are consecutive key ranges, sorted by the database when the query is
+        SortBy[] sortBy = query.getSortBy();
+        String key = primaryKey.getColumns().get(0).getName();
+        Comparator<SimpleFeature> comparator = null;
+        boolean reverse = false;
+        if (sortBy != null && sortBy.length > 0) {
+            if (sortBy.length == 1 && isKeySort(sortBy[0], key)) {
+                // concatenate the ranges in key order
+                comparator = (f1, f2) -> 0;
+                reverse = sortBy[0].getSortOrder() == SortOrder.DESCENDING;
+            } else if (isMergeable(sortBy, returnedSchema)) {
+                comparator = SortedFeatureReader.getComparator(sortBy, returnedSchema);
+            } else {
+                // the database order might not match the one of the comparator
+                return null;
+            }
+        }
+
+        List<Query> queries = getPartitions(query, partitions);
+        if (queries == null) {
+            return null;
+        }
+        if (reverse) {
+            Collections.reverse(queries);
+        }
+        return new PartitionedFeatureReader(
+                getDataStore().getPartitionExecutor(),
+                this::getReaderInternal,
+                returnedSchema,
+                queries,
+                comparator);
+    }
+
+    /** Returns true if the sort is the natural order, or on the primary key column */
+    static boolean isKeySort(SortBy sortBy, String key) {
+        return sortBy == SortBy.NATURAL_ORDER
+                || sortBy == SortBy.REVERSE_ORDER
+                || (sortBy.getPropertyName() != null
+                        && key.equals(sortBy.getPropertyName().getPropertyName()));
+    }
+
+    /**
+     * Returns true if partitions sorted by the database can be merged by comparing the features in
+     * memory. Collations and the position of nulls vary among databases, so the sort properties
+     * must be returned, not nillable, and either numbers or dates.
+     */
+    static boolean isMergeable(SortBy[] sortBy, SimpleFeatureType schema) {
+        for (SortBy sb : sortBy) {
+            if (sb.getPropertyName() == null) {
+                return false;
+            }
+            AttributeDescriptor descriptor =
+                    schema.getDescriptor(sb.getPropertyName().getPropertyName());
+            if (descriptor == null || descriptor.isNillable()) {
+                return false;
+            }
+            Class<?> binding = descriptor.getType().getBinding();
+            if (!Number.class.isAssignableFrom(binding)
+                    && !Date.class.isAssignableFrom(binding)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Splits the query in primary key range queries, returns null if the key cannot be split */
+    List<Query> getPartitions(Query query, int partitions) throws IOException {
+        PrimaryKeyColumn column = primaryKey.getColumns().get(0);
+        List<Object> splits;
+        Connection cx = getDataStore().getConnection(getState());
+        try {
+            splits =
+                    getDataStore()
+                            .getSQLDialect()
+                            .getPartitionSplitPoints(getSchema(), column, partitions, cx);
+        } catch (SQLException e) {
+            throw new IOException("Failed to compute the partitions of " + getSchema(), e);
+        } finally {
+            getDataStore().releaseConnection(cx, getState());
+        }
+        if (splits == null || splits.isEmpty()) {
+            return null;
+        }
+
+        FilterFactory ff = getDataStore().getFilterFactory();
+        PropertyName key = ff.property(column.getName());
+        List<Query> queries = new ArrayList<>();
+        for (int i = 0; i <= splits.size(); i++) {
+            Filter filter;
+            if (i == 0) {
+                filter = ff.less(key, ff.literal(splits.get(0)));
+            } else if (i == splits.size()) {
+                filter = ff.greaterOrEqual(key, ff.literal(splits.get(i - 1)));
+            } else {
+                filter =
+                        ff.and(
+                                ff.greaterOrEqual(key, ff.literal(splits.get(i - 1))),
+                                ff.less(key, ff.literal(splits.get(i))));
+            }
+            Hints hints = new Hints(query.getHints());
+            hints.remove(JDBCDataStore.PARTITIONS);
+            hints.put(PARTITION_FILTER, filter);
+            Query partition = new Query(query);
+            partition.setHints(hints);
+            queries.add(partition);
+        }
+        return queries;
+    }
+
     SimpleFeatureType[] buildQueryAndReturnFeatureTypes(
             SimpleFeatureType featureType, String[] propertyNames, Filter filter) {
 
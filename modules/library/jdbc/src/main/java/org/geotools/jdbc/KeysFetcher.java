@@ -152,6 +152,16 @@ public boolean hasAutoGeneratedKeys() {
     protected abstract List<Object> getNextValues(Connection cx, SimpleFeature feature)
             throws IOException, SQLException;
 
+    /**
+     * Computes the key values of a group of features before they get inserted, used for bulk
+     * inserts.
+     *
+     * @return the key values, one list per feature, or null if some key values can only be known
+     *     after the insert
+     */
+    public abstract List<List<Object>> getNextValues(Connection cx, List<SimpleFeature> features)
+            throws IOException, SQLException;
+
     /** @return true if the given field is part of the primary key. */
     public boolean isKey(String name) {
         return columnNames.contains(name);
@@ -216,6 +226,15 @@ public boolean isPostInsert() {
         public List<Object> getNextValues(Connection cx, SimpleFeature feature) {
             return JDBCDataStore.decodeFID(key, feature.getID(), true);
         }
+
+        @Override
+        public List<List<Object>> getNextValues(Connection cx, List<SimpleFeature> features) {
+            List<List<Object>> result = new ArrayList<>(features.size());
+            for (SimpleFeature feature : features) {
+                result.add(getNextValues(cx, feature));
+            }
+            return result;
+        }
     }
 
     /** Class for a PK that has its value computed from the database. */
@@ -344,6 +363,28 @@ public List<Object> getNextValues(Connection cx, SimpleFeature feature)
             return ret;
         }
 
+        @Override
+        public List<List<Object>> getNextValues(Connection cx, List<SimpleFeature> features)
+                throws IOException, SQLException {
+            List<List<Object>> columns = new ArrayList<>(fetchers.size());
+            for (KeyFetcher fetcher : fetchers) {
+                List<Object> values = fetcher.getNext(cx, features.size());
+                if (values == null) {
+                    return null;
+                }
+                columns.add(values);
+            }
+            List<List<Object>> result = new ArrayList<>(features.size());
+            for (int i = 0; i < features.size(); i++) {
+                List<Object> row = new ArrayList<>(columns.size());
+                for (List<Object> column : columns) {
+                    row.add(column.get(i));
+                }
+                result.add(row);
+            }
+            return result;
+        }
+
         @Override
         public boolean hasAutoGeneratedKeys() {
             for (KeyFetcher fetcher : fetchers) {
@@ -362,6 +403,21 @@ private abstract static class KeyFetcher {
 
         public abstract Object getNext(Connection cx) throws IOException, SQLException;
 
+        /**
+         * Returns the next count values, without reserving a row for them, or null if the values
+         * are only known after insert
+         */
+        public List<Object> getNext(Connection cx, int count) throws IOException, SQLException {
+            if (isPostInsert()) {
+                return null;
+            }
+            List<Object> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(getNext(cx));
+            }
+            return result;
+        }
+
         KeyFetcher(JDBCDataStore ds, PrimaryKeyColumn col) {
             this.col = col;
             StringBuffer colName = new StringBuffer();
@@ -529,6 +585,23 @@ public Object getNext(Connection cx) throws IOException, SQLException {
             }
         }
 
+        @Override
+        public List<Object> getNext(Connection cx, int count) throws IOException, SQLException {
+            // fetch the whole block at once if possible, one value at a time otherwise
+            List<Object> values =
+                    ds.getSQLDialect()
+                            .getNextAutoGeneratedValues(
+                                    ds.getDatabaseSchema(),
+                                    key.getTableName(),
+                                    col.getName(),
+                                    count,
+                                    cx);
+            if (values != null || isPostInsert()) {
+                return values;
+            }
+            return super.getNext(cx, count);
+        }
+
         @Override
         public void addKeyColumn(StringBuffer sql) {
             if (!isPostInsert()) {
@@ -603,5 +676,18 @@ public Object getNext(Connection cx) throws IOException, SQLException {
                         .getNextSequenceValue(ds.getDatabaseSchema(), sequenceName, cx);
             }
         }
+
+        @Override
+        public List<Object> getNext(Connection cx, int count) throws IOException, SQLException {
+            // fetch the whole block at once if possible, one value at a time otherwise
+            String sequenceName = ((SequencedPrimaryKeyColumn) col).getSequenceName();
+            List<Object> values =
+                    ds.getSQLDialect()
+                            .getNextSequenceValues(ds.getDatabaseSchema(), sequenceName, count, cx);
+            if (values != null || isPostInsert()) {
+                return values;
+            }
+            return super.getNext(cx, count);
+        }
     }
 }
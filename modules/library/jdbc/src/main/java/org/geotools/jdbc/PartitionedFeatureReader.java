@@ -0,0 +1,359 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Reads the partitions of a query in parallel, each partition being read by a separate task, over
+ * its own connection, and handing over features through a bounded queue.
+ *
+ * <p>When no comparator is provided features are returned in the order they are read. Otherwise
+ * each partition is assumed to be sorted already, and the partitions are merged according to the
+ * comparator, ties being resolved in favour of the earlier partition (so a comparator considering
+ * all features equal returns the partitions one after the other).
+ *
+ * <p>The executor is expected to be bounded and to reject the tasks it cannot start right away. The
+ * partitions it rejects are read by the consuming thread itself, so that a busy executor never
+ * blocks a read.
+ */
+class PartitionedFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    static final Logger LOGGER = Logging.getLogger(PartitionedFeatureReader.class);
+
+    /** Number of features buffered for each partition */
+    static final int QUEUE_SIZE = 512;
+
+    /** Marks the end of a partition */
+    static final Object END = new Object();
+
+    /** Opens the reader of a partition query */
+    @FunctionalInterface
+    interface PartitionSource {
+        FeatureReader<SimpleFeatureType, SimpleFeature> getReader(Query query) throws IOException;
+    }
+
+    PartitionSource source;
+
+    SimpleFeatureType featureType;
+
+    List<Query> partitions;
+
+    Comparator<SimpleFeature> comparator;
+
+    /**
+     * One queue per partition when merging, a shared queue otherwise. When merging, the queue of a
+     * partition is set to null once fully read.
+     */
+    List<BlockingQueue<Object>> queues = new ArrayList<>();
+
+    /** The partitions the executor did not accept, to be read by the consumer */
+    boolean[] deferred;
+
+    /** The first partition that might be deferred, when not merging */
+    int nextDeferred;
+
+    /** The readers of the deferred partitions being read by the consumer, by partition */
+    List<FeatureReader<SimpleFeatureType, SimpleFeature>> inline = new ArrayList<>();
+
+    /** The head of each partition, when merging */
+    SimpleFeature[] heads;
+
+    /** Partitions not fully read yet */
+    int running;
+
+    SimpleFeature next;
+
+    volatile boolean closed;
+
+    PartitionedFeatureReader(
+            ExecutorService executor,
+            PartitionSource source,
+            SimpleFeatureType featureType,
+            List<Query> partitions,
+            Comparator<SimpleFeature> comparator) {
+        this.source = source;
+        this.featureType = featureType;
+        this.partitions = partitions;
+        this.comparator = comparator;
+        this.running = partitions.size();
+        this.deferred = new boolean[partitions.size()];
+        if (comparator != null) {
+            heads = new SimpleFeature[partitions.size()];
+            for (int i = 0; i < partitions.size(); i++) {
+                queues.add(new ArrayBlockingQueue<>(QUEUE_SIZE));
+            }
+        } else {
+            queues.add(new ArrayBlockingQueue<>(QUEUE_SIZE * partitions.size()));
+        }
+        for (int i = 0; i < partitions.size(); i++) {
+            inline.add(null);
+        }
+
+        for (int i = 0; i < partitions.size(); i++) {
+            Query query = partitions.get(i);
+            BlockingQueue<Object> queue = queues.get(comparator != null ? i : 0);
+            try {
+                executor.execute(() -> readPartition(query, queue));
+            } catch (RejectedExecutionException e) {
+                deferred[i] = true;
+            }
+        }
+    }
+
+    void readPartition(Query query, BlockingQueue<Object> queue) {
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader = source.getReader(query)) {
+            while (!closed && reader.hasNext()) {
+                if (!put(queue, reader.next())) {
+                    return;
+                }
+            }
+            put(queue, END);
+        } catch (Throwable t) { // NOSONAR
+            // the error ends the partition, the consumer accounts for it as it would for END
+            if (!closed) {
+                put(queue, t);
+            } else {
+                LOGGER.log(Level.FINE, "Error reading partition after close", t);
+            }
+        }
+    }
+
+    /** Puts the item in the queue, giving up if the reader gets closed meanwhile */
+    private boolean put(BlockingQueue<Object> queue, Object item) {
+        try {
+            while (!closed) {
+                if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (closed) {
+            return false;
+        }
+        if (next == null) {
+            next = comparator != null ? nextMerged() : nextUnordered();
+        }
+        return next != null;
+    }
+
+    private SimpleFeature nextUnordered() throws IOException {
+        BlockingQueue<Object> queue = queues.get(0);
+        while (running > 0) {
+            // keep reading the deferred partition started, if any
+            for (int i = 0; i < nextDeferred; i++) {
+                if (inline.get(i) != null) {
+                    Object item = readInline(i);
+                    if (item != END) {
+                        return (SimpleFeature) item;
+                    }
+                    running--;
+                }
+            }
+
+            Object item = queue.poll();
+            if (item == null && startDeferred()) {
+                continue;
+            }
+            if (item == null) {
+                item = take(queue);
+            }
+            if (item != END) {
+                return (SimpleFeature) checkError(item, -1);
+            }
+            running--;
+        }
+        return null;
+    }
+
+    /** Starts reading the next deferred partition inline, if any, when not merging */
+    private boolean startDeferred() throws IOException {
+        while (nextDeferred < deferred.length && !deferred[nextDeferred]) {
+            nextDeferred++;
+        }
+        if (nextDeferred == deferred.length) {
+            return false;
+        }
+        int partition = nextDeferred++;
+        try {
+            inline.set(partition, source.getReader(partitions.get(partition)));
+        } catch (IOException | RuntimeException e) {
+            running--;
+            throw e;
+        }
+        return true;
+    }
+
+    private SimpleFeature nextMerged() throws IOException {
+        // make sure every partition that is still running has a head
+        int selected = -1;
+        for (int i = 0; i < heads.length; i++) {
+            if (heads[i] == null && queues.get(i) != null) {
+                Object item = deferred[i] ? readDeferred(i) : take(queues.get(i));
+                if (item == END) {
+                    queues.set(i, null);
+                    running--;
+                    continue;
+                }
+                heads[i] = (SimpleFeature) checkError(item, i);
+            }
+            if (heads[i] != null
+                    && (selected == -1 || comparator.compare(heads[i], heads[selected]) < 0)) {
+                selected = i;
+            }
+        }
+        if (selected == -1) {
+            return null;
+        }
+        SimpleFeature result = heads[selected];
+        heads[selected] = null;
+        return result;
+    }
+
+    /** Reads the next feature of a deferred partition, opening it first if needed */
+    private Object readDeferred(int partition) throws IOException {
+        if (inline.get(partition) == null) {
+            try {
+                inline.set(partition, source.getReader(partitions.get(partition)));
+            } catch (IOException | RuntimeException e) {
+                queues.set(partition, null);
+                running--;
+                throw e;
+            }
+        }
+        try {
+            return readInline(partition);
+        } catch (IOException | RuntimeException e) {
+            queues.set(partition, null);
+            running--;
+            throw e;
+        }
+    }
+
+    /** Returns the next feature of an inline partition, or END after closing it */
+    private Object readInline(int partition) throws IOException {
+        FeatureReader<SimpleFeatureType, SimpleFeature> reader = inline.get(partition);
+        try {
+            if (reader.hasNext()) {
+                return reader.next();
+            }
+        } catch (IOException | RuntimeException e) {
+            closeInline(partition);
+            if (comparator == null) {
+                running--;
+            }
+            throw e;
+        }
+        closeInline(partition);
+        return END;
+    }
+
+    private void closeInline(int partition) {
+        try {
+            inline.get(partition).close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error closing partition reader", e);
+        }
+        inline.set(partition, null);
+    }
+
+    private Object take(BlockingQueue<Object> queue) throws IOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for partition features");
+        }
+    }
+
+    /**
+     * Throws the error read from a partition queue, after accounting for the end of the failed
+     * partition (the one specified, when merging), so that the consumer does not wait on it if
+     * going on after the error.
+     */
+    private Object checkError(Object item, int partition) throws IOException {
+        if (!(item instanceof Throwable)) {
+            return item;
+        }
+        if (partition >= 0) {
+            queues.set(partition, null);
+        }
+        running--;
+        Throwable t = (Throwable) item;
+        if (t instanceof IOException) {
+            throw (IOException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new IOException("Failed to read partition", t);
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more features");
+        }
+        SimpleFeature result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // the partition tasks notice the flag, stop reading and close their own readers
+        closed = true;
+        for (BlockingQueue<Object> queue : queues) {
+            if (queue != null) {
+                queue.clear();
+            }
+        }
+        for (int i = 0; i < inline.size(); i++) {
+            if (inline.get(i) != null) {
+                closeInline(i);
+            }
+        }
+    }
+}
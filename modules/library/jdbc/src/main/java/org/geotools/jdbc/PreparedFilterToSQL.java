@@ -53,6 +53,13 @@ public class PreparedFilterToSQL extends FilterToSQL {
     protected PreparedStatementSQLDialect dialect;
     boolean prepareEnabled = true;
 
+    /** the literals that produced each value, and the type they were evaluated to */
+    List<Literal> literalExpressions = new ArrayList<>();
+
+    List<Class> literalTargets = new ArrayList<>();
+
+    boolean reusable = true;
+
     /**
      * Contructor taking a reference to the SQL dialect, will use it to encode geometry placeholders
      */
@@ -72,6 +79,24 @@ public void setPrepareEnabled(boolean prepareEnabled) {
         this.prepareEnabled = prepareEnabled;
     }
 
+    /**
+     * Returns true (default) if the SQL generated depends only on the structure of the filter, and
+     * can thus be reused, binding different literal values, for filters having the same structure.
+     *
+     * @see SQLTemplateCache
+     */
+    public boolean isReusable() {
+        return reusable;
+    }
+
+    /**
+     * Subclasses and helpers encoding SQL that depends on the literal values (e.g., skipping a
+     * condition for some values) should set this flag to false.
+     */
+    public void setReusable(boolean reusable) {
+        this.reusable = reusable;
+    }
+
     public PreparedFilterToSQL(Writer out) {
         super(out);
     }
@@ -81,6 +106,8 @@ public Object visit(Literal expression, Object context) throws RuntimeException
         if (!prepareEnabled) return super.visit(expression, context);
 
         Class clazz = getTargetClassFromContext(context);
+        literalExpressions.add(expression);
+        literalTargets.add(clazz);
 
         // evaluate the literal and store it for later
         Object literalValue = evaluateLiteral(expression, clazz);
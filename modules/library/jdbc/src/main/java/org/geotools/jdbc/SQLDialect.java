@@ -18,6 +18,7 @@
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.Date;
@@ -1107,6 +1108,77 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
         return null;
     }
 
+    /**
+     * Obtains the next values of a sequence in a single call, incrementing the sequence in the
+     * process. Used to compute the keys of features before a bulk insert.
+     *
+     * <p>This method is given a direct connection to the database, but this connection should never
+     * be closed. However any statements or result sets instantiated from the connection must be
+     * closed.
+     *
+     * @param schemaName The schema name, this might be <code>null</code>.
+     * @param sequenceName The name of the sequence.
+     * @param count The number of values to fetch
+     * @param cx The database connection.
+     * @return The next values of the sequence, or <code>null</code> if not supported.
+     */
+    public List<Object> getNextSequenceValues(
+            String schemaName, String sequenceName, int count, Connection cx) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Obtains the next values of an auto generated column in a single call. Used to compute the
+     * keys of features before a bulk insert, dialects should return <code>null</code> if the
+     * column does not accept explicit values.
+     *
+     * <p>This method is given a direct connection to the database, but this connection should never
+     * be closed. However any statements or result sets instantiated from the connection must be
+     * closed.
+     *
+     * @param schemaName The schema name, this might be <code>null</code>.
+     * @param tableName The name of the table.
+     * @param columnName The column.
+     * @param count The number of values to fetch
+     * @param cx The database connection.
+     * @return The next values of the column, or <code>null</code> if not supported.
+     */
+    public List<Object> getNextAutoGeneratedValues(
+            String schemaName, String tableName, String columnName, int count, Connection cx)
+            throws SQLException {
+        return null;
+    }
+
+    /**
+     * Returns true if this dialect can bulk insert features of the given type with a {@link
+     * BulkLoader}, a mechanism faster than batched INSERT statements. Implementations should check
+     * that all the columns can be handled by the loader, as there is no way to fall back on regular
+     * inserts once the bulk load started.
+     *
+     * @param featureType The feature type
+     * @param key The primary key of the table
+     */
+    public boolean isBulkInsertSupported(SimpleFeatureType featureType, PrimaryKey key) {
+        return false;
+    }
+
+    /**
+     * Creates a {@link BulkLoader} inserting rows in the table of the given feature type. Called
+     * only if {@link #isBulkInsertSupported(SimpleFeatureType, PrimaryKey)} returned true.
+     *
+     * <p>This method is given a direct connection to the database, but this connection should never
+     * be closed, the loader must run in the current transaction.
+     *
+     * @param featureType The feature type
+     * @param columns The columns that will be set, in order, for each row
+     * @param cx The database connection.
+     */
+    public BulkLoader createBulkLoader(
+            SimpleFeatureType featureType, List<String> columns, Connection cx)
+            throws SQLException, IOException {
+        throw new UnsupportedOperationException("Bulk insert is not supported by this dialect");
+    }
+
     /**
      * Encodes how to get the next sequence value from the DB.
      *
@@ -1180,6 +1252,86 @@ public boolean isAutoCommitQuery() {
         return false;
     }
 
+    /**
+     * Prepares a read statement so that the query results are streamed from a server side cursor
+     * instead of being materialized on the client. Called before the query is executed, only when
+     * {@link JDBCDataStore#isStreaming()} is enabled, and after the fetch size has been set.
+     * Implementations should only change the statement, the connection auto commit mode is set by
+     * the caller according to {@link #isAutoCommitQuery()}.
+     *
+     * <p>The default implementation does nothing, relying on the driver honoring the fetch size.
+     *
+     * @param st The statement that is about to be executed
+     * @param cx The connection the statement was created from
+     */
+    public void initializeStreaming(Statement st, Connection cx) throws SQLException {
+        // nothing to do by default
+    }
+
+    /**
+     * Computes the values splitting a primary key column in ranges holding roughly the same number
+     * of rows, used to read a table with parallel queries when the {@link JDBCDataStore#PARTITIONS}
+     * query hint is set. Partition <code>i</code> will read the rows whose key is greater or equal
+     * than split point <code>i - 1</code> and lower than split point <code>i</code>, the first and
+     * last partition being open ended.
+     *
+     * <p>The default implementation handles integral columns, evenly dividing the range between the
+     * minimum and maximum key value. Subclasses can override to use the database statistics, or to
+     * support other column types.
+     *
+     * <p>This method is given a direct connection to the database, but this connection should never
+     * be closed. However any statements or result sets instantiated from the connection must be
+     * closed.
+     *
+     * @param featureType The feature type being read
+     * @param column The primary key column to split
+     * @param partitions The desired number of partitions
+     * @param cx The database connection.
+     * @return The split points in ascending order, which might be less than <code>partitions - 1
+     *     </code>, or <code>null</code> if the column cannot be split.
+     */
+    public List<Object> getPartitionSplitPoints(
+            SimpleFeatureType featureType, PrimaryKeyColumn column, int partitions, Connection cx)
+            throws SQLException {
+        Class<?> binding = column.getType();
+        if (!Integer.class.equals(binding)
+                && !Long.class.equals(binding)
+                && !Short.class.equals(binding)
+                && !BigInteger.class.equals(binding)) {
+            return null;
+        }
+
+        StringBuffer sql = new StringBuffer("SELECT MIN(");
+        encodeColumnName(null, column.getName(), sql);
+        sql.append("), MAX(");
+        encodeColumnName(null, column.getName(), sql);
+        sql.append(") FROM ");
+        dataStore.encodeTableName(featureType.getTypeName(), sql, null);
+        dataStore.getLogger().fine(sql.toString());
+
+        try (Statement st = cx.createStatement();
+                ResultSet rs = st.executeQuery(sql.toString())) {
+            if (!rs.next() || rs.getObject(1) == null) {
+                return null;
+            }
+            long min = rs.getLong(1);
+            long max = rs.getLong(2);
+
+            List<Object> splits = new ArrayList<>();
+            double step = ((double) max - min + 1) / partitions;
+            long previous = min;
+            for (int i = 1; i < partitions; i++) {
+                long split = min + (long) (step * i);
+                // small ranges cannot be split in as many partitions
+                if (split > previous) {
+                    splits.add(split);
+                    previous = split;
+                }
+            }
+            return splits;
+        }
+    }
+
     /**
      * Return <code>true</code> if the database supports individual schemas for indices.
      *
@@ -0,0 +1,134 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.List;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.geometry.jts.JTS;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * A SQL statement generated from a filter, along with the information needed to bind the literals
+ * of another filter having the same {@link FilterSignature}.
+ */
+class SQLTemplate {
+
+    final String sql;
+
+    /** For each statement parameter, the position of the literal in the filter signature */
+    final int[] literals;
+
+    /** For each statement parameter, the type the literal was evaluated to */
+    final Class[] targets;
+
+    final Class[] types;
+
+    /** For each statement parameter, the class of the value bound when the template was created */
+    final Class[] valueClasses;
+
+    final Integer[] srids;
+
+    final Integer[] dimensions;
+
+    final AttributeDescriptor[] descriptors;
+
+    private SQLTemplate(String sql, int parameters) {
+        this.sql = sql;
+        this.literals = new int[parameters];
+        this.targets = new Class[parameters];
+        this.types = new Class[parameters];
+        this.valueClasses = new Class[parameters];
+        this.srids = new Integer[parameters];
+        this.dimensions = new Integer[parameters];
+        this.descriptors = new AttributeDescriptor[parameters];
+    }
+
+    /**
+     * Builds a template from a statement and the encoder that generated its filter, returns null if
+     * the encoding cannot be reused for other literal values
+     *
+     * @param toSQL The filter encoder, or null if the statement has no filter
+     */
+    static SQLTemplate create(String sql, FilterSignature signature, PreparedFilterToSQL toSQL) {
+        if (toSQL == null) {
+            return new SQLTemplate(sql, 0);
+        }
+
+        // all parameters must come from the filter literals
+        List<Object> values = toSQL.getLiteralValues();
+        if (!toSQL.isReusable()
+                || !toSQL.isPrepareEnabled()
+                || toSQL.literalExpressions.size() != values.size()) {
+            return null;
+        }
+
+        SQLTemplate template = new SQLTemplate(sql, values.size());
+        boolean[] encoded = new boolean[signature.getLiterals().size()];
+        for (int i = 0; i < values.size(); i++) {
+            int index = signature.indexOf(toSQL.literalExpressions.get(i));
+            if (index == -1) {
+                return null;
+            }
+            encoded[index] = true;
+            Object value = values.get(i);
+            template.literals[i] = index;
+            template.targets[i] = toSQL.literalTargets.get(i);
+            template.types[i] = toSQL.getLiteralTypes().get(i);
+            template.valueClasses[i] = value != null ? value.getClass() : null;
+            template.srids[i] = toSQL.getSRIDs().get(i);
+            template.dimensions[i] = toSQL.getDimensions().get(i);
+            template.descriptors[i] = toSQL.getDescriptors().get(i);
+        }
+        // literals that did not become parameters were inlined in the SQL
+        for (boolean e : encoded) {
+            if (!e) {
+                return null;
+            }
+        }
+
+        return template;
+    }
+
+    /**
+     * Evaluates the literals of a filter into the statement parameter values, returns null if the
+     * values do not match the types the template was built with.
+     */
+    PreparedFilterToSQL bind(FilterSignature signature, PreparedStatementSQLDialect dialect) {
+        PreparedFilterToSQL values = new PreparedFilterToSQL(dialect);
+        List<Literal> filterLiterals = signature.getLiterals();
+        for (int i = 0; i < literals.length; i++) {
+            Object value = values.evaluateLiteral(filterLiterals.get(literals[i]), targets[i]);
+            if (value instanceof Envelope
+                    && valueClasses[i] != null
+                    && Polygon.class.isAssignableFrom(valueClasses[i])) {
+                value = JTS.toGeometry((Envelope) value);
+            }
+            Class valueClass = value != null ? value.getClass() : null;
+            if (valueClass != valueClasses[i]) {
+                return null;
+            }
+            values.literalValues.add(value);
+            values.literalTypes.add(types[i]);
+            values.SRIDs.add(srids[i]);
+            values.dimensions.add(dimensions[i]);
+            values.descriptors.add(descriptors[i]);
+        }
+        return values;
+    }
+}
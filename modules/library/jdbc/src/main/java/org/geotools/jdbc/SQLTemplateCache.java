@@ -0,0 +1,157 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.util.factory.Hints;
+
+/**
+ * Caches the SQL generated for prepared statement queries, keyed by the structure of the query,
+ * that is, its filter with the literal values left out, the feature type, sorting, paging and the
+ * hints affecting the SQL. Queries differing only in their literals, such as the bounding boxes of
+ * map tile requests, skip the SQL generation and bind the new literals to the cached statement.
+ *
+ * <p>Filter encodings that depend on the literal values, or that inline them in the SQL, are
+ * detected and not cached. Encoders making other choices based on literal values should call {@link
+ * PreparedFilterToSQL#setReusable(boolean)}.
+ *
+ * <p>Since the SQL text of a template is stable, the statement pool of the data source (see {@link
+ * JDBCDataStoreFactory#MAX_OPEN_PREPARED_STATEMENTS}) can reuse the prepared statements as well.
+ */
+public class SQLTemplateCache {
+
+    /** The query hints that affect the generated SQL */
+    static final List<Hints.Key> SQL_HINTS =
+            Arrays.asList(
+                    Hints.GEOMETRY_GENERALIZATION,
+                    Hints.GEOMETRY_SIMPLIFICATION,
+                    Hints.GEOMETRY_DISTANCE,
+                    Hints.FEATURE_2D);
+
+    private final int maxSize;
+
+    private final Map<List<Object>, SQLTemplate> templates;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /** @param maxSize The maximum number of templates kept, least recently used ones are evicted */
+    public SQLTemplateCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.templates =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<List<Object>, SQLTemplate>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(
+                                    Map.Entry<List<Object>, SQLTemplate> eldest) {
+                                return size() > SQLTemplateCache.this.maxSize;
+                            }
+                        });
+    }
+
+    /** Builds the key of a query template */
+    static List<Object> key(
+            String statement,
+            SimpleFeatureType featureType,
+            FilterSignature signature,
+            Query query) {
+        List<Object> key = new ArrayList<>();
+        key.add(statement);
+        key.add(featureType);
+        key.add(signature.getKey());
+        key.add(query.getSortBy() != null ? Arrays.asList(query.getSortBy()) : null);
+        key.add(query.getStartIndex());
+        key.add(query.getMaxFeatures());
+        Hints hints = query.getHints();
+        for (Hints.Key hint : SQL_HINTS) {
+            key.add(hints.get(hint));
+        }
+        return key;
+    }
+
+    SQLTemplate get(List<Object> key) {
+        return templates.get(key);
+    }
+
+    void put(List<Object> key, SQLTemplate template) {
+        templates.put(key, template);
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    /** The number of queries that reused a cached template */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** The number of queries that had to generate their SQL */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /** The ratio of queries that reused a cached template, between 0 and 1 */
+    public double getHitRatio() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /** The number of templates currently cached */
+    public int size() {
+        return templates.size();
+    }
+
+    /** The maximum number of templates kept */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** Removes all the cached templates, and resets the statistics */
+    public void clear() {
+        templates.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "SQLTemplateCache[size="
+                + size()
+                + ", maxSize="
+                + maxSize
+                + ", hits="
+                + getHits()
+                + ", misses="
+                + getMisses()
+                + "]";
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class AdaptiveFetchSizeTest {
+
+    static final GeometryFactory GF = new GeometryFactory();
+
+    private SimpleFeature feature(int points) throws Exception {
+        Coordinate[] coordinates = new Coordinate[points];
+        for (int i = 0; i < points; i++) {
+            coordinates[i] = new Coordinate(i, i);
+        }
+        SimpleFeature feature = mock(SimpleFeature.class);
+        when(feature.getAttributes())
+                .thenReturn(Arrays.asList(GF.createLineString(coordinates), "name"));
+        return feature;
+    }
+
+    @Test
+    public void testDefaultFetchSize() {
+        assertEquals(
+                AdaptiveFetchSize.DEFAULT_FETCH_SIZE,
+                new AdaptiveFetchSize(1024, 0).getFetchSize());
+        assertEquals(50, new AdaptiveFetchSize(1024, 50).getFetchSize());
+    }
+
+    @Test
+    public void testLargeRowsShrinkFetchSize() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        // 10k points, about 240kb per row, 1MB target
+        AdaptiveFetchSize fetchSize = new AdaptiveFetchSize(1024 * 1024, 100);
+        SimpleFeature feature = feature(10000);
+        for (int i = 0; i < 100; i++) {
+            fetchSize.featureRead(feature, rs);
+        }
+        assertEquals(AdaptiveFetchSize.MIN_FETCH_SIZE, fetchSize.getFetchSize());
+        verify(rs).setFetchSize(AdaptiveFetchSize.MIN_FETCH_SIZE);
+    }
+
+    @Test
+    public void testSmallRowsGrowFetchSize() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        AdaptiveFetchSize fetchSize = new AdaptiveFetchSize(8 * 1024 * 1024, 100);
+        SimpleFeature feature = feature(2);
+        for (int i = 0; i < 100; i++) {
+            fetchSize.featureRead(feature, rs);
+        }
+        assertTrue(fetchSize.getFetchSize() > 10000);
+        verify(rs).setFetchSize(fetchSize.getFetchSize());
+    }
+
+    @Test
+    public void testStableFetchSize() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        SimpleFeature feature = feature(100);
+        long size = AdaptiveFetchSize.estimateSize(feature);
+        // target matches the current fetch size already
+        AdaptiveFetchSize fetchSize = new AdaptiveFetchSize(size * 1000, 1000);
+        for (int i = 0; i < 5000; i++) {
+            fetchSize.featureRead(feature, rs);
+        }
+        assertEquals(1000, fetchSize.getFetchSize());
+        verify(rs, never()).setFetchSize(anyInt());
+    }
+}
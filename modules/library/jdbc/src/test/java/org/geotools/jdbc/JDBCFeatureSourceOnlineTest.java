@@ -480,6 +480,39 @@ public void testNaturalSortingdesc() throws Exception {
         }
     }
 
+    @Test
+    public void testPartitionedRead() throws Exception {
+        Query q = new Query(featureSource.getSchema().getTypeName());
+        q.setHints(new Hints(JDBCDataStore.PARTITIONS, 3));
+        List<SimpleFeature> features = DataUtilities.list(featureSource.getFeatures(q));
+        assertEquals(3, features.size());
+
+        FilterFactory ff = dataStore.getFilterFactory();
+        q.setFilter(ff.greater(ff.property(aname("intProperty")), ff.literal(0)));
+        features = DataUtilities.list(featureSource.getFeatures(q));
+        assertEquals(2, features.size());
+    }
+
+    @Test
+    public void testPartitionedReadSorted() throws Exception {
+        FilterFactory ff = dataStore.getFilterFactory();
+        Query q = new Query(featureSource.getSchema().getTypeName());
+        q.setHints(new Hints(JDBCDataStore.PARTITIONS, 3));
+        q.setSortBy(ff.sort(aname("stringProperty"), SortOrder.ASCENDING));
+        List<SimpleFeature> features = DataUtilities.list(featureSource.getFeatures(q));
+        assertEquals(3, features.size());
+        assertEquals("one", features.get(0).getAttribute(aname("stringProperty")));
+        assertEquals("two", features.get(1).getAttribute(aname("stringProperty")));
+        assertEquals("zero", features.get(2).getAttribute(aname("stringProperty")));
+
+        q.setSortBy(SortBy.REVERSE_ORDER);
+        String prevId = null;
+        for (SimpleFeature f : DataUtilities.list(featureSource.getFeatures(q))) {
+            if (prevId != null) assertTrue(prevId.compareTo(f.getID()) >= 0);
+            prevId = f.getID();
+        }
+    }
+
     @Test
     public void testFeatureIteratorNextContract() throws Exception {
         try (SimpleFeatureIterator features = featureSource.getFeatures().features()) {
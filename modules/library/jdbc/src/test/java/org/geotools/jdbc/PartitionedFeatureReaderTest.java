@@ -0,0 +1,255 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.sort.SortedFeatureReader;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PartitionedFeatureReaderTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType type;
+
+    ExecutorService executor;
+
+    /** An executor that cannot start any task, the consumer reads the partitions itself */
+    ExecutorService busy;
+
+    @Before
+    public void setUp() {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("test");
+        tb.nillable(false).add("id", Integer.class);
+        tb.nillable(false).add("value", Double.class);
+        tb.nillable(true).add("nillable", Double.class);
+        tb.nillable(false).add("name", String.class);
+        tb.nillable(false).add("date", Date.class);
+        type = tb.buildFeatureType();
+
+        executor = Executors.newFixedThreadPool(2);
+        busy = Executors.newSingleThreadExecutor();
+        busy.shutdown();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private SimpleFeature feature(int id, double value) {
+        return SimpleFeatureBuilder.build(
+                type, new Object[] {id, value, null, "f" + id, new Date()}, "test." + id);
+    }
+
+    /** Builds partitions of consecutive ids, each one sorted by the specified values */
+    private List<List<SimpleFeature>> partitions(double[][] values) {
+        List<List<SimpleFeature>> partitions = new ArrayList<>();
+        int id = 0;
+        for (double[] partition : values) {
+            List<SimpleFeature> features = new ArrayList<>();
+            for (double value : partition) {
+                features.add(feature(id++, value));
+            }
+            partitions.add(features);
+        }
+        return partitions;
+    }
+
+    /** Returns the queries of the partitions, identified by their handle */
+    private List<Query> queries(List<List<SimpleFeature>> partitions) {
+        List<Query> queries = new ArrayList<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            Query query = new Query(type.getTypeName());
+            query.setHandle(String.valueOf(i));
+            queries.add(query);
+        }
+        return queries;
+    }
+
+    private PartitionedFeatureReader.PartitionSource source(
+            List<List<SimpleFeature>> partitions, int failing) {
+        return query -> {
+            int partition = Integer.parseInt(query.getHandle());
+            if (partition == failing) {
+                throw new IOException("Failed partition");
+            }
+            return DataUtilities.reader(partitions.get(partition));
+        };
+    }
+
+    /** Reads the feature ids, going on after read failures */
+    private List<String> read(FeatureReader<SimpleFeatureType, SimpleFeature> reader)
+            throws IOException {
+        List<String> ids = new ArrayList<>();
+        try (reader) {
+            while (true) {
+                try {
+                    if (!reader.hasNext()) {
+                        return ids;
+                    }
+                    ids.add(reader.next().getID());
+                } catch (IOException e) {
+                    assertEquals("Failed partition", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<String> ids(List<List<SimpleFeature>> partitions, int... skipped) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            final int partition = i;
+            if (Arrays.stream(skipped).noneMatch(s -> s == partition)) {
+                partitions.get(i).forEach(f -> ids.add(f.getID()));
+            }
+        }
+        return ids;
+    }
+
+    @Test(timeout = 60000)
+    public void testMergedOrder() throws Exception {
+        List<List<SimpleFeature>> partitions =
+                partitions(new double[][] {{1, 4, 4, 9}, {2, 3, 8}, {0, 4, 10, 11}});
+        SortBy[] sortBy = {FF.sort("value", SortOrder.ASCENDING)};
+        assertTrue(JDBCFeatureSource.isMergeable(sortBy, type));
+
+        for (ExecutorService e : Arrays.asList(executor, busy)) {
+            List<String> ids =
+                    read(
+                            new PartitionedFeatureReader(
+                                    e,
+                                    source(partitions, -1),
+                                    type,
+                                    queries(partitions),
+                                    SortedFeatureReader.getComparator(sortBy, type)));
+            // ties are resolved in favour of the earlier partition
+            assertEquals(
+                    Arrays.asList(
+                            "test.7", "test.0", "test.4", "test.5", "test.1", "test.2", "test.8",
+                            "test.6", "test.3", "test.9", "test.10"),
+                    ids);
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testConcatenatedOrder() throws Exception {
+        List<List<SimpleFeature>> partitions =
+                partitions(new double[][] {{5, 1}, {3}, {4, 0, 2}, {6}});
+        for (ExecutorService e : Arrays.asList(executor, busy)) {
+            assertEquals(
+                    ids(partitions),
+                    read(
+                            new PartitionedFeatureReader(
+                                    e,
+                                    source(partitions, -1),
+                                    type,
+                                    queries(partitions),
+                                    (f1, f2) -> 0)));
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testUnordered() throws Exception {
+        List<List<SimpleFeature>> partitions =
+                partitions(new double[][] {{5, 1}, {3}, {4, 0, 2}, {6}});
+        for (ExecutorService e : Arrays.asList(executor, busy)) {
+            List<String> ids =
+                    read(
+                            new PartitionedFeatureReader(
+                                    e, source(partitions, -1), type, queries(partitions), null));
+            assertEquals(ids(partitions).size(), ids.size());
+            assertTrue(ids.containsAll(ids(partitions)));
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testFailedPartition() throws Exception {
+        List<List<SimpleFeature>> partitions =
+                partitions(new double[][] {{0, 1}, {2, 3}, {4, 5}});
+        for (ExecutorService e : Arrays.asList(executor, busy)) {
+            // the reader can still be consumed after the failure, without waiting on it
+            assertEquals(
+                    ids(partitions, 1),
+                    read(
+                            new PartitionedFeatureReader(
+                                    e,
+                                    source(partitions, 1),
+                                    type,
+                                    queries(partitions),
+                                    (f1, f2) -> 0)));
+            List<String> ids =
+                    read(
+                            new PartitionedFeatureReader(
+                                    e, source(partitions, 1), type, queries(partitions), null));
+            assertEquals(ids(partitions, 1).size(), ids.size());
+            assertTrue(ids.containsAll(ids(partitions, 1)));
+        }
+    }
+
+    @Test
+    public void testMergeable() throws Exception {
+        assertTrue(
+                JDBCFeatureSource.isMergeable(
+                        new SortBy[] {
+                            FF.sort("value", SortOrder.DESCENDING),
+                            FF.sort("date", SortOrder.ASCENDING)
+                        },
+                        type));
+        // nulls and collations are ordered differently by databases
+        assertFalse(
+                JDBCFeatureSource.isMergeable(
+                        new SortBy[] {FF.sort("nillable", SortOrder.ASCENDING)}, type));
+        assertFalse(
+                JDBCFeatureSource.isMergeable(
+                        new SortBy[] {FF.sort("name", SortOrder.ASCENDING)}, type));
+        assertFalse(
+                JDBCFeatureSource.isMergeable(
+                        new SortBy[] {FF.sort("missing", SortOrder.ASCENDING)}, type));
+        assertFalse(JDBCFeatureSource.isMergeable(new SortBy[] {SortBy.NATURAL_ORDER}, type));
+
+        // the key ranges are concatenated when sorting by key
+        assertTrue(JDBCFeatureSource.isKeySort(SortBy.NATURAL_ORDER, "fid"));
+        assertTrue(JDBCFeatureSource.isKeySort(SortBy.REVERSE_ORDER, "fid"));
+        assertTrue(JDBCFeatureSource.isKeySort(FF.sort("fid", SortOrder.DESCENDING), "fid"));
+        assertFalse(JDBCFeatureSource.isKeySort(FF.sort("name", SortOrder.ASCENDING), "fid"));
+    }
+}
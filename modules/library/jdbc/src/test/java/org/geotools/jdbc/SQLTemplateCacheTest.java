@@ -0,0 +1,107 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.Test;
+
+public class SQLTemplateCacheTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    private Filter filter(Object number, Object string) {
+        return FF.and(
+                FF.greater(FF.property("a"), FF.literal(number)),
+                FF.equals(FF.property("b"), FF.literal(string)));
+    }
+
+    @Test
+    public void testSignature() {
+        FilterSignature s1 = FilterSignature.of(filter(10, "x"));
+        FilterSignature s2 = FilterSignature.of(filter(20, "y"));
+        assertEquals(s1.getKey(), s2.getKey());
+        assertEquals(2, s2.getLiterals().size());
+
+        // different literal types, different structure
+        assertNotEquals(s1.getKey(), FilterSignature.of(filter(10.5, "x")).getKey());
+        assertNotEquals(
+                s1.getKey(),
+                FilterSignature.of(FF.less(FF.property("a"), FF.literal(10))).getKey());
+
+        // ids are not supported
+        assertNull(FilterSignature.of(FF.id(FF.featureId("ft.1"))));
+    }
+
+    @Test
+    public void testTemplateBind() throws Exception {
+        Filter filter = filter(10, "x");
+        PreparedFilterToSQL toSQL = new PreparedFilterToSQL((PreparedStatementSQLDialect) null);
+        String sql = toSQL.encodeToString(filter);
+        SQLTemplate template = SQLTemplate.create(sql, FilterSignature.of(filter), toSQL);
+        assertNotNull(template);
+        assertEquals(sql, template.sql);
+
+        PreparedFilterToSQL values = template.bind(FilterSignature.of(filter(20, "y")), null);
+        assertNotNull(values);
+        assertEquals(Arrays.asList(20, "y"), values.getLiteralValues());
+        assertEquals(toSQL.getLiteralTypes(), values.getLiteralTypes());
+    }
+
+    @Test
+    public void testNotReusable() throws Exception {
+        Filter filter = filter(10, "x");
+        PreparedFilterToSQL toSQL = new PreparedFilterToSQL((PreparedStatementSQLDialect) null);
+        String sql = toSQL.encodeToString(filter);
+        toSQL.setReusable(false);
+        assertNull(SQLTemplate.create(sql, FilterSignature.of(filter), toSQL));
+
+        // inlined literals cannot be bound
+        toSQL = new PreparedFilterToSQL((PreparedStatementSQLDialect) null);
+        toSQL.setPrepareEnabled(false);
+        sql = toSQL.encodeToString(filter);
+        assertNull(SQLTemplate.create(sql, FilterSignature.of(filter), toSQL));
+    }
+
+    @Test
+    public void testCacheEviction() {
+        SQLTemplateCache cache = new SQLTemplateCache(2);
+        FilterSignature signature = FilterSignature.of(Filter.INCLUDE);
+        for (int i = 0; i < 3; i++) {
+            cache.put(Arrays.asList(i), SQLTemplate.create("SELECT " + i, signature, null));
+        }
+        assertEquals(2, cache.size());
+        assertNull(cache.get(Arrays.asList(0)));
+        assertEquals("SELECT 2", cache.get(Arrays.asList(2)).sql);
+
+        cache.recordHit();
+        cache.recordHit();
+        cache.recordHit();
+        cache.recordMiss();
+        assertEquals(0.75, cache.getHitRatio(), 0d);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+}
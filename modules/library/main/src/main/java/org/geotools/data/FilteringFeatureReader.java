@@ -25,6 +25,7 @@
 import org.geotools.api.feature.IllegalAttributeException;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.filter.Filter;
+import org.geotools.filter.FilterCompiler;
 import org.geotools.filter.visitor.BindingFilterVisitor;
 
 /**
@@ -57,10 +58,10 @@
      */
     public FilteringFeatureReader(FeatureReader<T, F> featureReader, Filter filter) {
         this.featureReader = featureReader;
-        this.filter =
-                (Filter)
-                        filter.accept(
-                                new BindingFilterVisitor(featureReader.getFeatureType()), null);
+        T schema = featureReader.getFeatureType();
+        Filter bound = (Filter) filter.accept(new BindingFilterVisitor(schema), null);
+        // resolve attributes and literal conversions once, rather than for each feature
+        this.filter = FilterCompiler.compile(bound, schema);
         next = null;
     }
 
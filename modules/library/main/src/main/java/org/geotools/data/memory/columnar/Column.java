@@ -0,0 +1,539 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory.columnar;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+
+/**
+ * Storage for the values of a single attribute, kept in primitive arrays where the attribute
+ * binding allows it.
+ *
+ * <p>Columns are append only. Appends are expected to be serialized by the owning {@link
+ * ColumnarTable}, while reads may happen concurrently for any row below the size observed (under
+ * the table lock) by the reader. To make that safe the backing arrays are published through
+ * volatile fields whenever they are grown.
+ */
+abstract class Column {
+
+    /** Comparison operators that can be evaluated directly against the column content. */
+    enum Comparison {
+        EQUAL,
+        LESS,
+        LESS_EQUAL,
+        GREATER,
+        GREATER_EQUAL;
+
+        /** Operator to use when the literal is on the left hand side of the comparison. */
+        Comparison flip() {
+            switch (this) {
+                case LESS:
+                    return GREATER;
+                case LESS_EQUAL:
+                    return GREATER_EQUAL;
+                case GREATER:
+                    return LESS;
+                case GREATER_EQUAL:
+                    return LESS_EQUAL;
+                default:
+                    return this;
+            }
+        }
+
+        /**
+         * Compares two doubles the same way {@code CompareFilterImpl} compares numbers, so that the
+         * column evaluation matches the filter evaluation (including NaN handling).
+         */
+        boolean test(double value, double literal) {
+            int compare = value > literal ? 1 : (value == literal ? 0 : -1);
+            switch (this) {
+                case EQUAL:
+                    return compare == 0;
+                case LESS:
+                    return compare < 0;
+                case LESS_EQUAL:
+                    return compare <= 0;
+                case GREATER:
+                    return compare > 0;
+                default:
+                    return compare >= 0;
+            }
+        }
+    }
+
+    /** Initial capacity of the column arrays. */
+    static final int INITIAL_CAPACITY = 16;
+
+    final String name;
+
+    final Class<?> binding;
+
+    /** Null flags, only used by the columns that cannot encode a null in their values array */
+    private volatile int[] nulls = new int[1];
+
+    Column(String name, Class<?> binding) {
+        this.name = name;
+        this.binding = binding;
+    }
+
+    /** Stores the value of the provided row, which is always the next row of the column. */
+    abstract void add(int row, Object value);
+
+    /** Returns the value of the provided row, converted back to the attribute binding. */
+    abstract Object get(int row);
+
+    /**
+     * Clears from {@code rows} the ones not matching {@code value <op> literal}.
+     *
+     * @return false if the comparison cannot be evaluated by this column, in which case {@code
+     *     rows} is left untouched
+     */
+    boolean select(Comparison op, Object literal, boolean matchCase, BitSet rows, int size) {
+        return false;
+    }
+
+    /**
+     * Clears from {@code rows} the ones not included between {@code lower} and {@code upper}.
+     *
+     * @return false if the comparison cannot be evaluated by this column, in which case {@code
+     *     rows} is left untouched
+     */
+    boolean selectBetween(Object lower, Object upper, BitSet rows, int size) {
+        return false;
+    }
+
+    final void setNull(int row) {
+        int word = row >>> 5;
+        int[] flags = nulls;
+        if (word >= flags.length) {
+            flags = Arrays.copyOf(flags, Math.max(word + 1, flags.length * 2));
+            nulls = flags;
+        }
+        flags[word] |= 1 << row;
+    }
+
+    final boolean isNull(int row) {
+        int word = row >>> 5;
+        int[] flags = nulls;
+        return word < flags.length && (flags[word] & (1 << row)) != 0;
+    }
+
+    static int capacity(int length, int row) {
+        return Math.max(row + 1, Math.max(INITIAL_CAPACITY, length + (length >> 1)));
+    }
+
+    static boolean isIntegral(Object value) {
+        return value instanceof Integer
+                || value instanceof Long
+                || value instanceof Short
+                || value instanceof Byte;
+    }
+
+    /** Creates a column suitable for the provided attribute. */
+    static Column create(AttributeDescriptor descriptor) {
+        String name = descriptor.getLocalName();
+        Class<?> binding = descriptor.getType().getBinding();
+        if (descriptor instanceof GeometryDescriptor) {
+            return new GeometryColumn(name, binding);
+        } else if (binding == Integer.class || binding == Short.class || binding == Byte.class) {
+            return new IntColumn(name, binding);
+        } else if (binding == Long.class) {
+            return new LongColumn(name, binding);
+        } else if (binding == Double.class || binding == Float.class) {
+            return new DoubleColumn(name, binding);
+        } else if (binding == Boolean.class) {
+            return new BooleanColumn(name, binding);
+        } else if (binding == String.class) {
+            return new StringColumn(name, binding);
+        }
+        return new ObjectColumn(name, binding);
+    }
+
+    /** Integer, Short and Byte values stored in an int array. */
+    static class IntColumn extends Column {
+        private volatile int[] values = new int[INITIAL_CAPACITY];
+
+        IntColumn(String name, Class<?> binding) {
+            super(name, binding);
+        }
+
+        @Override
+        void add(int row, Object value) {
+            int[] array = values;
+            if (row >= array.length) {
+                array = Arrays.copyOf(array, capacity(array.length, row));
+                values = array;
+            }
+            if (value == null) {
+                setNull(row);
+            } else {
+                array[row] = ((Number) value).intValue();
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            int value = values[row];
+            if (binding == Short.class) {
+                return (short) value;
+            } else if (binding == Byte.class) {
+                return (byte) value;
+            }
+            return value;
+        }
+
+        @Override
+        boolean select(Comparison op, Object literal, boolean matchCase, BitSet rows, int size) {
+            if (!(literal instanceof Number)) {
+                return false;
+            }
+            int[] array = values;
+            if (op == Comparison.EQUAL) {
+                // equality is only numeric if the literal is integral, otherwise the filter
+                // converts the literal to the attribute binding first
+                if (!isIntegral(literal)) {
+                    return false;
+                }
+                long value = ((Number) literal).longValue();
+                for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                    if (array[i] != value || isNull(i)) {
+                        rows.clear(i);
+                    }
+                }
+            } else {
+                double value = ((Number) literal).doubleValue();
+                for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                    if (!op.test(array[i], value) || isNull(i)) {
+                        rows.clear(i);
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        boolean selectBetween(Object lower, Object upper, BitSet rows, int size) {
+            if (lower == null
+                    || upper == null
+                    || lower.getClass() != binding
+                    || upper.getClass() != binding) {
+                return false;
+            }
+            int min = ((Number) lower).intValue();
+            int max = ((Number) upper).intValue();
+            int[] array = values;
+            for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                if (array[i] < min || array[i] > max || isNull(i)) {
+                    rows.clear(i);
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Long values stored in a long array. */
+    static class LongColumn extends Column {
+        private volatile long[] values = new long[INITIAL_CAPACITY];
+
+        LongColumn(String name, Class<?> binding) {
+            super(name, binding);
+        }
+
+        @Override
+        void add(int row, Object value) {
+            long[] array = values;
+            if (row >= array.length) {
+                array = Arrays.copyOf(array, capacity(array.length, row));
+                values = array;
+            }
+            if (value == null) {
+                setNull(row);
+            } else {
+                array[row] = ((Number) value).longValue();
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            return isNull(row) ? null : values[row];
+        }
+
+        @Override
+        boolean select(Comparison op, Object literal, boolean matchCase, BitSet rows, int size) {
+            if (!(literal instanceof Number)) {
+                return false;
+            }
+            long[] array = values;
+            if (op == Comparison.EQUAL) {
+                if (!isIntegral(literal)) {
+                    return false;
+                }
+                long value = ((Number) literal).longValue();
+                for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                    if (array[i] != value || isNull(i)) {
+                        rows.clear(i);
+                    }
+                }
+            } else {
+                double value = ((Number) literal).doubleValue();
+                for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                    if (!op.test(array[i], value) || isNull(i)) {
+                        rows.clear(i);
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        boolean selectBetween(Object lower, Object upper, BitSet rows, int size) {
+            if (!(lower instanceof Long) || !(upper instanceof Long)) {
+                return false;
+            }
+            long min = (Long) lower;
+            long max = (Long) upper;
+            long[] array = values;
+            for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                if (array[i] < min || array[i] > max || isNull(i)) {
+                    rows.clear(i);
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Double and Float values stored in a double array. */
+    static class DoubleColumn extends Column {
+        private volatile double[] values = new double[INITIAL_CAPACITY];
+
+        DoubleColumn(String name, Class<?> binding) {
+            super(name, binding);
+        }
+
+        @Override
+        void add(int row, Object value) {
+            double[] array = values;
+            if (row >= array.length) {
+                array = Arrays.copyOf(array, capacity(array.length, row));
+                values = array;
+            }
+            if (value == null) {
+                setNull(row);
+            } else {
+                array[row] = ((Number) value).doubleValue();
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            double value = values[row];
+            return binding == Float.class ? (Object) (float) value : (Object) value;
+        }
+
+        @Override
+        boolean select(Comparison op, Object literal, boolean matchCase, BitSet rows, int size) {
+            // float attributes are compared after converting the literal to float, leave them to
+            // the filter evaluation
+            if (binding != Double.class || !(literal instanceof Number)) {
+                return false;
+            }
+            double[] array = values;
+            if (op == Comparison.EQUAL) {
+                // same class equality is Double.equals, other numbers go through conversions
+                if (!(literal instanceof Double)) {
+                    return false;
+                }
+                long bits = Double.doubleToLongBits((Double) literal);
+                for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                    if (Double.doubleToLongBits(array[i]) != bits || isNull(i)) {
+                        rows.clear(i);
+                    }
+                }
+            } else {
+                double value = ((Number) literal).doubleValue();
+                for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                    if (!op.test(array[i], value) || isNull(i)) {
+                        rows.clear(i);
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        boolean selectBetween(Object lower, Object upper, BitSet rows, int size) {
+            if (binding != Double.class
+                    || !(lower instanceof Double)
+                    || !(upper instanceof Double)) {
+                return false;
+            }
+            double min = (Double) lower;
+            double max = (Double) upper;
+            double[] array = values;
+            for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                double value = array[i];
+                if (!(Double.compare(value, min) >= 0 && Double.compare(value, max) <= 0)
+                        || isNull(i)) {
+                    rows.clear(i);
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Boolean values stored as a bit set. */
+    static class BooleanColumn extends Column {
+        private volatile int[] values = new int[1];
+
+        BooleanColumn(String name, Class<?> binding) {
+            super(name, binding);
+        }
+
+        @Override
+        void add(int row, Object value) {
+            int word = row >>> 5;
+            int[] array = values;
+            if (word >= array.length) {
+                array = Arrays.copyOf(array, Math.max(word + 1, array.length * 2));
+                values = array;
+            }
+            if (value == null) {
+                setNull(row);
+            } else if ((Boolean) value) {
+                array[word] |= 1 << row;
+            }
+        }
+
+        @Override
+        Object get(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            return (values[row >>> 5] & (1 << row)) != 0;
+        }
+    }
+
+    /**
+     * Dictionary encoded strings: each distinct value is stored once, rows only hold the index of
+     * their value in the dictionary (-1 for null).
+     */
+    static class StringColumn extends Column {
+        private volatile int[] values = new int[INITIAL_CAPACITY];
+
+        private volatile String[] dictionary = new String[INITIAL_CAPACITY];
+
+        /** Dictionary lookup, only used while appending */
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        StringColumn(String name, Class<?> binding) {
+            super(name, binding);
+        }
+
+        @Override
+        void add(int row, Object value) {
+            int[] array = values;
+            if (row >= array.length) {
+                array = Arrays.copyOf(array, capacity(array.length, row));
+                values = array;
+            }
+            array[row] = value == null ? -1 : encode((String) value);
+        }
+
+        private int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = codes.size();
+                String[] entries = dictionary;
+                if (code >= entries.length) {
+                    entries = Arrays.copyOf(entries, capacity(entries.length, code));
+                }
+                entries[code] = value;
+                dictionary = entries;
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        @Override
+        Object get(int row) {
+            int code = values[row];
+            return code < 0 ? null : dictionary[code];
+        }
+
+        @Override
+        boolean select(Comparison op, Object literal, boolean matchCase, BitSet rows, int size) {
+            // ordering comparisons might turn into numeric ones, leave them to the filter
+            if (op != Comparison.EQUAL || !(literal instanceof String)) {
+                return false;
+            }
+            String value = (String) literal;
+            String[] entries = dictionary;
+            // evaluate the comparison once per distinct value, then just look up the codes
+            boolean[] matches = new boolean[entries.length];
+            for (int code = 0; code < entries.length; code++) {
+                String entry = entries[code];
+                matches[code] =
+                        entry != null
+                                && (matchCase
+                                        ? entry.equals(value)
+                                        : entry.equalsIgnoreCase(value));
+            }
+            int[] array = values;
+            for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                int code = array[i];
+                if (code < 0 || !matches[code]) {
+                    rows.clear(i);
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Values of any other binding, stored as is. */
+    static class ObjectColumn extends Column {
+        private volatile Object[] values = new Object[INITIAL_CAPACITY];
+
+        ObjectColumn(String name, Class<?> binding) {
+            super(name, binding);
+        }
+
+        @Override
+        void add(int row, Object value) {
+            Object[] array = values;
+            if (row >= array.length) {
+                array = Arrays.copyOf(array, capacity(array.length, row));
+                values = array;
+            }
+            array[row] = value;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory.columnar;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.Name;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.ContentDataStore;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.feature.FeatureTypes;
+
+/**
+ * Read only, memory resident DataStore storing feature content by column.
+ *
+ * <p>Compared to {@link org.geotools.data.memory.MemoryDataStore}, which keeps a {@link
+ * SimpleFeature} object for each feature, this store is meant for large reference layers that need
+ * to be kept in memory:
+ *
+ * <ul>
+ *   <li>numeric and boolean attributes are stored in primitive arrays
+ *   <li>strings are dictionary encoded, each distinct value being stored once
+ *   <li>geometries are stored as packed ordinate arrays, and rebuilt on access
+ *   <li>feature ids in the usual {@code typeName.number} form are stored as numbers
+ * </ul>
+ *
+ * <p>A spatial index of the default geometry is built on demand to resolve bounding box filters,
+ * and simple comparisons between attributes and literals are evaluated directly against the
+ * columns. Features are built only for the rows being returned.
+ *
+ * <p>Content can only be appended, using the {@code addFeatures} methods.
+ */
+public class ColumnarDataStore extends ContentDataStore {
+
+    public ColumnarDataStore() {
+        super();
+    }
+
+    /**
+     * Construct a ColumnarDataStore around an empty content of the provided SimpleFeatureType
+     *
+     * @param featureType The initial feature type for the data store
+     */
+    public ColumnarDataStore(SimpleFeatureType featureType) throws IOException {
+        createSchema(featureType);
+    }
+
+    public ColumnarDataStore(SimpleFeatureCollection collection) throws IOException {
+        addFeatures(collection);
+    }
+
+    public ColumnarDataStore(SimpleFeature... array) throws IOException {
+        addFeatures(array);
+    }
+
+    /**
+     * Adds the features of the collection, creating the feature type entry if needed.
+     *
+     * @param collection Collection of features to add
+     * @throws IOException If the collection schema conflicts with an existing entry
+     */
+    public void addFeatures(SimpleFeatureCollection collection) throws IOException {
+        if (collection == null) {
+            throw new IllegalArgumentException("Provided FeatureCollection is empty");
+        }
+        ColumnarEntry entry = entry(collection.getSchema());
+        try (SimpleFeatureIterator iterator = collection.features()) {
+            while (iterator.hasNext()) {
+                entry.addFeature(iterator.next());
+            }
+        }
+    }
+
+    /**
+     * Adds the features returned by the reader, and closes it.
+     *
+     * @param reader New contents to add
+     * @throws IOException If problems are encountered while reading
+     */
+    public void addFeatures(FeatureReader<SimpleFeatureType, SimpleFeature> reader)
+            throws IOException {
+        try {
+            ColumnarEntry entry = entry(reader.getFeatureType());
+            while (reader.hasNext()) {
+                entry.addFeature(reader.next());
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Adds the features, creating the feature type entries if needed.
+     *
+     * @param features Array of features to add
+     * @throws IOException If a feature schema conflicts with an existing entry
+     */
+    public void addFeatures(SimpleFeature... features) throws IOException {
+        if ((features == null) || (features.length == 0)) {
+            throw new IllegalArgumentException("Provided features are empty");
+        }
+        for (SimpleFeature feature : features) {
+            if (feature == null) {
+                throw new IllegalArgumentException("Provided Feature is empty");
+            }
+            entry(feature.getFeatureType()).addFeature(feature);
+        }
+    }
+
+    /**
+     * Access to entry to store content of the provided schema, will create new entry if needed.
+     *
+     * @throws IOException If new entry could not be created due to typeName conflict
+     */
+    protected ColumnarEntry entry(SimpleFeatureType schema) throws IOException {
+        Name typeName = schema.getName();
+        synchronized (entries) {
+            ColumnarEntry entry = (ColumnarEntry) entries.get(typeName);
+            if (entry == null) {
+                entry = new ColumnarEntry(this, schema);
+                entries.put(typeName, entry);
+            } else if (!FeatureTypes.equals(entry.getSchema(), schema)) {
+                throw new IOException(
+                        "Entry "
+                                + typeName
+                                + " schema "
+                                + entry.getSchema()
+                                + " incompatible with provided "
+                                + schema);
+            }
+            return entry;
+        }
+    }
+
+    @Override
+    protected List<Name> createTypeNames() {
+        List<Name> names = new ArrayList<>(this.entries.keySet());
+        Collections.sort(names, (n1, n2) -> n1.toString().compareTo(n2.toString()));
+        return names;
+    }
+
+    @Override
+    protected ContentFeatureSource createFeatureSource(ContentEntry entry) {
+        return new ColumnarFeatureSource(entry, Query.ALL);
+    }
+
+    /**
+     * Adds support for a new featureType.
+     *
+     * @param featureType SimpleFeatureType to be added
+     * @throws IOException If featureType already exists
+     */
+    @Override
+    public void createSchema(SimpleFeatureType featureType) throws IOException {
+        Name typeName = featureType.getName();
+        synchronized (entries) {
+            if (entries.containsKey(typeName)) {
+                throw new IOException(typeName + " already exists");
+            }
+            entries.put(typeName, new ColumnarEntry(this, featureType));
+        }
+    }
+
+    @Override
+    public void removeSchema(String typeName) throws IOException {
+        for (Name name : entries.keySet()) {
+            if (name.getLocalPart().equals(typeName)) {
+                removeSchema(name);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void removeSchema(Name typeName) throws IOException {
+        if (typeName != null) {
+            synchronized (entries) {
+                entries.remove(typeName);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory.columnar;
+
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.store.ContentEntry;
+
+/** Entry holding the columnar storage of a single feature type. */
+public class ColumnarEntry extends ContentEntry {
+
+    /** Columnar storage of the feature content */
+    final ColumnarTable table;
+
+    ColumnarEntry(ColumnarDataStore store, SimpleFeatureType schema) {
+        super(store, schema.getName());
+        this.table = new ColumnarTable(schema);
+    }
+
+    /** Schema of the stored content */
+    public SimpleFeatureType getSchema() {
+        return table.schema;
+    }
+
+    /** Number of features stored */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Appends a feature to the storage.
+     *
+     * <p>Feature is required to be non-null, and of the expected schema.
+     */
+    void addFeature(SimpleFeature feature) {
+        if (feature == null) {
+            throw new IllegalArgumentException("Provided Feature is empty");
+        } else if (!feature.getFeatureType().equals(table.schema)) {
+            throw new IllegalArgumentException(
+                    "addFeatures expected "
+                            + table.schema.getTypeName()
+                            + "(but was "
+                            + feature.getFeatureType().getTypeName()
+                            + ")");
+        }
+        table.add(feature);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarEntry '" + getTypeName() + "': " + size() + " features";
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory.columnar;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+
+/** Reads the selected rows of a {@link ColumnarTable}, building features on demand. */
+class ColumnarFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    private final SimpleFeatureType featureType;
+
+    private ColumnarTable table;
+
+    private final ColumnarSelection selection;
+
+    private final Filter residual;
+
+    /** Number of matching features still to skip */
+    private int offset;
+
+    /** Number of features still to return */
+    private int remaining;
+
+    /** Last row examined */
+    private int row = -1;
+
+    private SimpleFeature next;
+
+    ColumnarFeatureReader(ColumnarTable table, ColumnarSelection selection, int offset, int max) {
+        this.featureType = table.schema;
+        this.table = table;
+        this.selection = selection;
+        this.residual = selection.getResidual();
+        this.offset = offset;
+        this.remaining = max;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (next != null) {
+            return true;
+        }
+        if (table == null || remaining <= 0) {
+            return false;
+        }
+        while (true) {
+            row = selection.rows.nextSetBit(row + 1);
+            if (row < 0 || row >= selection.size) {
+                return false;
+            }
+            if (residual == Filter.INCLUDE && offset > 0) {
+                // no need to build the features being skipped
+                offset--;
+                continue;
+            }
+            SimpleFeature feature = table.getFeature(row);
+            if (residual == Filter.INCLUDE || residual.evaluate(feature)) {
+                if (offset > 0) {
+                    offset--;
+                } else {
+                    next = feature;
+                    remaining--;
+                    return true;
+                }
+            }
+        }
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, NoSuchElementException {
+        if (table == null) {
+            throw new IOException("Feature Reader has been closed");
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException("There are no more Features");
+        }
+        SimpleFeature feature = next;
+        next = null;
+        return feature;
+    }
+
+    @Override
+    public void close() {
+        table = null;
+        next = null;
+    }
+}
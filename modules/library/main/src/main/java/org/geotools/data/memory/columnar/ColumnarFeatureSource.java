@@ -0,0 +1,148 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory.columnar;
+
+import java.io.IOException;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+
+/**
+ * Read access to feature content held in a {@link ColumnarDataStore}.
+ *
+ * <p>Filtering is handled natively: bounding box restrictions are resolved against the spatial
+ * index, simple comparisons against the column arrays, and only what remains is evaluated on the
+ * features. Counts and bounds are computed without building features whenever the filter can be
+ * fully resolved against the columns.
+ */
+public class ColumnarFeatureSource extends ContentFeatureSource {
+
+    public ColumnarFeatureSource(ContentEntry entry) {
+        this(entry, Query.ALL);
+    }
+
+    public ColumnarFeatureSource(ContentEntry entry, Query query) {
+        super(entry, query);
+    }
+
+    /** Access parent ColumnarDataStore. */
+    @Override
+    public ColumnarDataStore getDataStore() {
+        return (ColumnarDataStore) super.getDataStore();
+    }
+
+    /** The entry for the feature source. */
+    @Override
+    public ColumnarEntry getEntry() {
+        return (ColumnarEntry) super.getEntry();
+    }
+
+    @Override
+    protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
+        ColumnarTable table = getEntry().table;
+        // with multiple geometries feature bounds cover all of them, scan the features instead
+        if (isPaging(query) || table.geometry == null || countGeometries(table) > 1) {
+            return null;
+        }
+        ColumnarSelection selection = select(table, query);
+        if (!selection.isExact()) {
+            return null; // feature by feature scan required
+        }
+        return selection.getBounds(table);
+    }
+
+    private int countGeometries(ColumnarTable table) {
+        int count = 0;
+        for (Column column : table.columns) {
+            if (column instanceof GeometryColumn) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    protected int getCountInternal(Query query) throws IOException {
+        ColumnarTable table = getEntry().table;
+        ColumnarSelection selection = select(table, query);
+        if (!selection.isExact()) {
+            return -1; // feature by feature count required
+        }
+        int count = selection.count();
+        if (query.getStartIndex() != null) {
+            count = Math.max(0, count - query.getStartIndex());
+        }
+        return query.isMaxFeaturesUnlimited() ? count : Math.min(count, query.getMaxFeatures());
+    }
+
+    @Override
+    protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query)
+            throws IOException {
+        ColumnarTable table = getEntry().table;
+        int offset = query.getStartIndex() != null ? query.getStartIndex() : 0;
+        int max = query.isMaxFeaturesUnlimited() ? Integer.MAX_VALUE : query.getMaxFeatures();
+        return new ColumnarFeatureReader(table, select(table, query), offset, max);
+    }
+
+    private ColumnarSelection select(ColumnarTable table, Query query) {
+        return ColumnarSelection.select(table, table.size(), query.getFilter());
+    }
+
+    private boolean isPaging(Query query) {
+        return query.getStartIndex() != null || !query.isMaxFeaturesUnlimited();
+    }
+
+    @Override
+    protected SimpleFeatureType buildFeatureType() {
+        return getEntry().getSchema();
+    }
+
+    @Override
+    protected boolean canFilter(Query query) {
+        return true;
+    }
+
+    /** Features are returned in insertion order, only natural order is supported. */
+    @Override
+    protected boolean canSort(Query query) {
+        SortBy[] sortBy = query.getSortBy();
+        if (sortBy != null) {
+            for (SortBy sort : sortBy) {
+                if (sort != SortBy.NATURAL_ORDER) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Paging is handled natively as long as no sorting is required. */
+    @Override
+    protected boolean canOffset(Query query) {
+        return canSort(query);
+    }
+
+    @Override
+    protected boolean canLimit(Query query) {
+        return canSort(query);
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory.columnar;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsGreaterThan;
+import org.geotools.api.filter.PropertyIsGreaterThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsLessThan;
+import org.geotools.api.filter.PropertyIsLessThanOrEqualTo;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.data.memory.columnar.Column.Comparison;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.filter.FilterAttributeExtractor;
+import org.geotools.filter.visitor.BindingFilterVisitor;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * The rows of a {@link ColumnarTable} matching a filter.
+ *
+ * <p>The selection is computed in two steps: the bounds of the filter are used to pick candidate
+ * rows out of the table spatial index, then the simple comparisons between a property and a literal
+ * found at the top level of the filter are evaluated directly against the column arrays. Whatever
+ * could not be evaluated this way is returned as the {@link #getResidual() residual} filter, to be
+ * evaluated against the features built out of the selected rows.
+ */
+class ColumnarSelection {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory(null);
+
+    /** The selected rows */
+    final BitSet rows;
+
+    /** Number of table rows considered while building the selection */
+    final int size;
+
+    /** The part of the filter that still needs to be evaluated on the selected features */
+    final Filter residual;
+
+    private ColumnarSelection(BitSet rows, int size, Filter residual) {
+        this.rows = rows;
+        this.size = size;
+        this.residual = residual;
+    }
+
+    /** The part of the filter that still needs to be evaluated on the selected features */
+    Filter getResidual() {
+        return residual;
+    }
+
+    /** Returns true if the selected rows match the filter exactly. */
+    boolean isExact() {
+        return residual == Filter.INCLUDE;
+    }
+
+    /** Number of selected rows. */
+    int count() {
+        return rows.cardinality();
+    }
+
+    /** Selects the rows of the table, among the first {@code size} ones, matching the filter. */
+    static ColumnarSelection select(ColumnarTable table, int size, Filter filter) {
+        if (filter == null) {
+            filter = Filter.INCLUDE;
+        }
+        if (filter == Filter.EXCLUDE) {
+            return new ColumnarSelection(new BitSet(), size, Filter.INCLUDE);
+        }
+        // align literals with the attribute bindings, as FilteringFeatureReader would do
+        filter = (Filter) filter.accept(new BindingFilterVisitor(table.schema), null);
+
+        BitSet rows = candidates(table, size, filter);
+
+        List<Filter> conjuncts = new ArrayList<>();
+        if (filter instanceof And) {
+            conjuncts.addAll(((And) filter).getChildren());
+        } else if (filter != Filter.INCLUDE) {
+            conjuncts.add(filter);
+        }
+        List<Filter> remaining = new ArrayList<>();
+        for (Filter conjunct : conjuncts) {
+            if (!select(table, conjunct, rows, size)) {
+                remaining.add(conjunct);
+            }
+        }
+
+        Filter residual;
+        if (remaining.isEmpty()) {
+            residual = Filter.INCLUDE;
+        } else if (remaining.size() == 1) {
+            residual = remaining.get(0);
+        } else {
+            residual = FF.and(remaining);
+        }
+        return new ColumnarSelection(rows, size, residual);
+    }
+
+    /** Candidate rows, using the spatial index if the filter has finite bounds. */
+    private static BitSet candidates(ColumnarTable table, int size, Filter filter) {
+        BitSet rows = new BitSet(size);
+        Envelope bbox = null;
+        if (table.geometry != null && usesDefaultGeometryOnly(table, filter)) {
+            bbox = (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, null);
+        }
+        if (bbox == null
+                || bbox.isNull()
+                || Double.isInfinite(bbox.getWidth())
+                || Double.isInfinite(bbox.getHeight())) {
+            rows.set(0, size);
+            return rows;
+        }
+        for (Object row : table.getIndex(size).query(bbox)) {
+            int index = (Integer) row;
+            if (index < size) {
+                rows.set(index);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Checks the filter does not reference other geometries than the default one, the bounds
+     * extracted from the filter would not apply to the spatial index otherwise.
+     */
+    private static boolean usesDefaultGeometryOnly(ColumnarTable table, Filter filter) {
+        FilterAttributeExtractor extractor = new FilterAttributeExtractor(table.schema);
+        filter.accept(extractor, null);
+        String defaultGeometry = table.schema.getGeometryDescriptor().getLocalName();
+        for (String name : extractor.getAttributeNameSet()) {
+            AttributeDescriptor descriptor = table.schema.getDescriptor(name);
+            if ((descriptor == null || descriptor instanceof GeometryDescriptor)
+                    && !defaultGeometry.equals(name)
+                    && !"".equals(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the filter against the column arrays, clearing the rows not matching it.
+     *
+     * @return false if the filter cannot be evaluated against the columns
+     */
+    private static boolean select(ColumnarTable table, Filter filter, BitSet rows, int size) {
+        if (filter instanceof PropertyIsBetween) {
+            PropertyIsBetween between = (PropertyIsBetween) filter;
+            Column column = column(table, between.getExpression());
+            if (column == null
+                    || !(between.getLowerBoundary() instanceof Literal)
+                    || !(between.getUpperBoundary() instanceof Literal)) {
+                return false;
+            }
+            return column.selectBetween(
+                    ((Literal) between.getLowerBoundary()).getValue(),
+                    ((Literal) between.getUpperBoundary()).getValue(),
+                    rows,
+                    size);
+        } else if (filter instanceof BinaryComparisonOperator) {
+            BinaryComparisonOperator comparison = (BinaryComparisonOperator) filter;
+            Comparison op = comparison(comparison);
+            if (op == null) {
+                return false;
+            }
+            Expression left = comparison.getExpression1();
+            Expression right = comparison.getExpression2();
+            if (left instanceof Literal && right instanceof PropertyName) {
+                Expression swap = left;
+                left = right;
+                right = swap;
+                op = op.flip();
+            }
+            Column column = column(table, left);
+            if (column == null || !(right instanceof Literal)) {
+                return false;
+            }
+            Object literal = ((Literal) right).getValue();
+            return column.select(op, literal, comparison.isMatchingCase(), rows, size);
+        }
+        return false;
+    }
+
+    private static Comparison comparison(BinaryComparisonOperator filter) {
+        if (filter instanceof PropertyIsEqualTo) {
+            return Comparison.EQUAL;
+        } else if (filter instanceof PropertyIsLessThan) {
+            return Comparison.LESS;
+        } else if (filter instanceof PropertyIsLessThanOrEqualTo) {
+            return Comparison.LESS_EQUAL;
+        } else if (filter instanceof PropertyIsGreaterThan) {
+            return Comparison.GREATER;
+        } else if (filter instanceof PropertyIsGreaterThanOrEqualTo) {
+            return Comparison.GREATER_EQUAL;
+        }
+        return null;
+    }
+
+    /** The column of a plain property name, or null if the expression is anything else */
+    private static Column column(ColumnarTable table, Expression expression) {
+        if (!(expression instanceof PropertyName)) {
+            return null;
+        }
+        int index = table.schema.indexOf(((PropertyName) expression).getPropertyName());
+        return index < 0 ? null : table.columns[index];
+    }
+
+    /** Bounds of the default geometry over the selected rows */
+    ReferencedEnvelope getBounds(ColumnarTable table) {
+        ReferencedEnvelope bounds =
+                ReferencedEnvelope.create(table.schema.getCoordinateReferenceSystem());
+        if (table.geometry != null) {
+            for (int i = rows.nextSetBit(0); i >= 0 && i < size; i = rows.nextSetBit(i + 1)) {
+                table.geometry.expand(bounds, i);
+            }
+        }
+        return bounds;
+    }
+}
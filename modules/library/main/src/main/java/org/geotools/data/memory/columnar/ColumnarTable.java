@@ -0,0 +1,182 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory.columnar;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * Columnar storage for the features of a single feature type.
+ *
+ * <p>Features are appended under the table lock, readers grab the current {@link #size()} once and
+ * can then access all rows below it without further synchronization.
+ */
+class ColumnarTable {
+
+    /** Marks a feature id that is not in the {@code typeName.number} form */
+    private static final long CUSTOM_ID = Long.MIN_VALUE;
+
+    final SimpleFeatureType schema;
+
+    final Column[] columns;
+
+    /** The column of the default geometry, or null if the schema has none */
+    final GeometryColumn geometry;
+
+    /** Prefix of the feature ids that can be stored as a number */
+    private final String idPrefix;
+
+    /** Numeric part of the feature ids, or {@link #CUSTOM_ID} */
+    private volatile long[] ids = new long[Column.INITIAL_CAPACITY];
+
+    /** Feature ids that could not be stored as a number, by row */
+    private final Map<Integer, String> customIds = new ConcurrentHashMap<>();
+
+    private int size;
+
+    /** Spatial index of the default geometry envelopes, holding the row numbers */
+    private STRtree index;
+
+    /** Number of rows covered by {@link #index} */
+    private int indexSize;
+
+    ColumnarTable(SimpleFeatureType schema) {
+        this.schema = schema;
+        this.idPrefix = schema.getTypeName() + ".";
+        List<AttributeDescriptor> descriptors = schema.getAttributeDescriptors();
+        this.columns = new Column[descriptors.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Column.create(descriptors.get(i));
+        }
+        int geometryIndex =
+                schema.getGeometryDescriptor() == null
+                        ? -1
+                        : schema.indexOf(schema.getGeometryDescriptor().getLocalName());
+        this.geometry = geometryIndex < 0 ? null : (GeometryColumn) columns[geometryIndex];
+    }
+
+    /** Number of rows currently stored. */
+    synchronized int size() {
+        return size;
+    }
+
+    /** Appends a feature, which is required to be of the table schema. */
+    synchronized void add(SimpleFeature feature) {
+        int row = size;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].add(row, value(columns[i], feature.getAttribute(i)));
+        }
+        long[] array = ids;
+        if (row >= array.length) {
+            array = Arrays.copyOf(array, Column.capacity(array.length, row));
+            ids = array;
+        }
+        String id = feature.getID();
+        long number = number(id);
+        array[row] = number;
+        if (number == CUSTOM_ID) {
+            customIds.put(row, id);
+        }
+        size++;
+    }
+
+    private Object value(Column column, Object value) {
+        if (value == null || column.binding.isInstance(value)) {
+            return value;
+        }
+        Object converted = Converters.convert(value, column.binding);
+        if (converted == null) {
+            throw new IllegalArgumentException(
+                    "Value " + value + " of " + column.name + " is not a " + column.binding);
+        }
+        return converted;
+    }
+
+    private long number(String id) {
+        if (id == null
+                || !id.startsWith(idPrefix)
+                || id.length() == idPrefix.length()
+                || id.length() > idPrefix.length() + 19) {
+            return CUSTOM_ID;
+        }
+        String suffix = id.substring(idPrefix.length());
+        try {
+            long number = Long.parseLong(suffix);
+            // only canonical forms can be rebuilt identically
+            if (number != CUSTOM_ID && Long.toString(number).equals(suffix)) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // not a numeric id
+        }
+        return CUSTOM_ID;
+    }
+
+    /** Feature id of the provided row. */
+    String getID(int row) {
+        long number = ids[row];
+        if (number == CUSTOM_ID) {
+            return customIds.get(row);
+        }
+        return idPrefix + number;
+    }
+
+    /** Builds the feature stored in the provided row. */
+    SimpleFeature getFeature(int row) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].get(row);
+        }
+        return SimpleFeatureBuilder.build(schema, values, getID(row));
+    }
+
+    /**
+     * Returns the spatial index of the default geometry, built on demand.
+     *
+     * <p>The index covers at least {@code size} rows, rows added after the index has been built are
+     * picked up the next time it is requested.
+     */
+    synchronized STRtree getIndex(int size) {
+        if (index == null || indexSize < size) {
+            STRtree tree = new STRtree();
+            for (int row = 0; row < this.size; row++) {
+                Envelope envelope = geometry.getEnvelope(row);
+                if (envelope != null) {
+                    tree.insert(envelope, row);
+                }
+            }
+            tree.build();
+            index = tree;
+            indexSize = this.size;
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarTable '" + schema.getTypeName() + "': " + size() + " features";
+    }
+}
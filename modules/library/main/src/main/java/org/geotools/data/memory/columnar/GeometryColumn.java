@@ -0,0 +1,296 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory.columnar;
+
+import java.util.Arrays;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+
+/**
+ * Geometries stored as two flat arrays: the ordinates of all coordinates, and a structure stream
+ * describing how they are assembled into geometries.
+ *
+ * <p>The structure of each geometry is written depth first, a geometry is encoded as its type
+ * followed by either a coordinate sequence header ({@code dimension, measures, size}) or, for
+ * polygons and collections, the number of components followed by the components themselves. Each
+ * row also keeps its envelope, used for bounds computation and for the spatial index.
+ *
+ * <p>Geometries are rebuilt on access using {@link PackedCoordinateSequence}, the user data and
+ * SRID of the original geometries are not preserved.
+ */
+class GeometryColumn extends Column {
+
+    static final int POINT = 1;
+    static final int LINESTRING = 2;
+    static final int LINEARRING = 3;
+    static final int POLYGON = 4;
+    static final int MULTIPOINT = 5;
+    static final int MULTILINESTRING = 6;
+    static final int MULTIPOLYGON = 7;
+    static final int COLLECTION = 8;
+
+    static final GeometryFactory FACTORY =
+            new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+
+    /** Start of each row in the structure stream, -1 for null geometries */
+    private volatile int[] offsets = new int[INITIAL_CAPACITY];
+
+    /** Start of each row in the ordinates array */
+    private volatile int[] starts = new int[INITIAL_CAPACITY];
+
+    /** Envelope of each row, as minx, miny, maxx, maxy (NaN for null or empty geometries) */
+    private volatile double[] envelopes = new double[INITIAL_CAPACITY * 4];
+
+    private volatile int[] structure = new int[INITIAL_CAPACITY * 4];
+
+    private volatile double[] ordinates = new double[INITIAL_CAPACITY * 4];
+
+    /** Used length of {@link #structure}, only accessed while appending */
+    private int structureLength;
+
+    /** Used length of {@link #ordinates}, only accessed while appending */
+    private int ordinatesLength;
+
+    GeometryColumn(String name, Class<?> binding) {
+        super(name, binding);
+    }
+
+    @Override
+    void add(int row, Object value) {
+        int[] rowOffsets = offsets;
+        int[] rowStarts = starts;
+        double[] rowEnvelopes = envelopes;
+        if (row >= rowOffsets.length) {
+            int capacity = capacity(rowOffsets.length, row);
+            rowOffsets = Arrays.copyOf(rowOffsets, capacity);
+            rowStarts = Arrays.copyOf(rowStarts, capacity);
+            rowEnvelopes = Arrays.copyOf(rowEnvelopes, capacity * 4);
+        }
+        Geometry geometry = (Geometry) value;
+        if (geometry == null) {
+            rowOffsets[row] = -1;
+        } else {
+            rowOffsets[row] = structureLength;
+            rowStarts[row] = ordinatesLength;
+            encode(geometry);
+        }
+        Envelope envelope = geometry == null ? null : geometry.getEnvelopeInternal();
+        if (envelope == null || envelope.isNull()) {
+            Arrays.fill(rowEnvelopes, row * 4, row * 4 + 4, Double.NaN);
+        } else {
+            rowEnvelopes[row * 4] = envelope.getMinX();
+            rowEnvelopes[row * 4 + 1] = envelope.getMinY();
+            rowEnvelopes[row * 4 + 2] = envelope.getMaxX();
+            rowEnvelopes[row * 4 + 3] = envelope.getMaxY();
+        }
+        offsets = rowOffsets;
+        starts = rowStarts;
+        envelopes = rowEnvelopes;
+    }
+
+    private void encode(Geometry geometry) {
+        if (geometry instanceof Point) {
+            write(POINT);
+            encode(((Point) geometry).getCoordinateSequence());
+        } else if (geometry instanceof LinearRing) {
+            write(LINEARRING);
+            encode(((LinearRing) geometry).getCoordinateSequence());
+        } else if (geometry instanceof LineString) {
+            write(LINESTRING);
+            encode(((LineString) geometry).getCoordinateSequence());
+        } else if (geometry instanceof Polygon) {
+            Polygon polygon = (Polygon) geometry;
+            write(POLYGON);
+            write(polygon.getNumInteriorRing() + 1);
+            encode(polygon.getExteriorRing().getCoordinateSequence());
+            for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                encode(polygon.getInteriorRingN(i).getCoordinateSequence());
+            }
+        } else if (geometry instanceof GeometryCollection) {
+            if (geometry instanceof MultiPoint) {
+                write(MULTIPOINT);
+            } else if (geometry instanceof MultiLineString) {
+                write(MULTILINESTRING);
+            } else if (geometry instanceof MultiPolygon) {
+                write(MULTIPOLYGON);
+            } else {
+                write(COLLECTION);
+            }
+            write(geometry.getNumGeometries());
+            for (int i = 0; i < geometry.getNumGeometries(); i++) {
+                encode(geometry.getGeometryN(i));
+            }
+        } else {
+            throw new IllegalArgumentException(
+                    "Unsupported geometry type " + geometry.getGeometryType());
+        }
+    }
+
+    private void encode(CoordinateSequence sequence) {
+        int dimension = sequence.getDimension();
+        int size = sequence.size();
+        write(dimension);
+        write(sequence.getMeasures());
+        write(size);
+
+        double[] array = ordinates;
+        int length = ordinatesLength + size * dimension;
+        if (length > array.length) {
+            array = Arrays.copyOf(array, capacity(array.length, length));
+        }
+        int index = ordinatesLength;
+        for (int i = 0; i < size; i++) {
+            for (int d = 0; d < dimension; d++) {
+                array[index++] = sequence.getOrdinate(i, d);
+            }
+        }
+        ordinatesLength = length;
+        ordinates = array;
+    }
+
+    private void write(int value) {
+        int[] array = structure;
+        if (structureLength >= array.length) {
+            array = Arrays.copyOf(array, capacity(array.length, structureLength));
+            structure = array;
+        }
+        array[structureLength++] = value;
+    }
+
+    @Override
+    Object get(int row) {
+        int offset = offsets[row];
+        if (offset < 0) {
+            return null;
+        }
+        return new Decoder(offset, starts[row]).geometry();
+    }
+
+    /** Returns the row envelope, or null if the geometry is null or empty. */
+    Envelope getEnvelope(int row) {
+        double[] array = envelopes;
+        double minX = array[row * 4];
+        if (Double.isNaN(minX)) {
+            return null;
+        }
+        return new Envelope(minX, array[row * 4 + 2], array[row * 4 + 1], array[row * 4 + 3]);
+    }
+
+    /** Expands the provided envelope to include the row geometry. */
+    void expand(Envelope target, int row) {
+        double[] array = envelopes;
+        double minX = array[row * 4];
+        if (!Double.isNaN(minX)) {
+            target.expandToInclude(minX, array[row * 4 + 1]);
+            target.expandToInclude(array[row * 4 + 2], array[row * 4 + 3]);
+        }
+    }
+
+    /** Cursor rebuilding a geometry out of the structure and ordinates streams. */
+    private final class Decoder {
+        private final int[] structure = GeometryColumn.this.structure;
+
+        private final double[] ordinates = GeometryColumn.this.ordinates;
+
+        private int position;
+
+        private int start;
+
+        Decoder(int position, int start) {
+            this.position = position;
+            this.start = start;
+        }
+
+        Geometry geometry() {
+            int type = structure[position++];
+            switch (type) {
+                case POINT:
+                    return FACTORY.createPoint(sequence());
+                case LINESTRING:
+                    return FACTORY.createLineString(sequence());
+                case LINEARRING:
+                    return FACTORY.createLinearRing(sequence());
+                case POLYGON:
+                    {
+                        int count = structure[position++];
+                        LinearRing shell = FACTORY.createLinearRing(sequence());
+                        LinearRing[] holes = new LinearRing[count - 1];
+                        for (int i = 0; i < holes.length; i++) {
+                            holes[i] = FACTORY.createLinearRing(sequence());
+                        }
+                        return FACTORY.createPolygon(shell, holes);
+                    }
+                case MULTIPOINT:
+                    {
+                        Point[] points = new Point[structure[position++]];
+                        for (int i = 0; i < points.length; i++) {
+                            points[i] = (Point) geometry();
+                        }
+                        return FACTORY.createMultiPoint(points);
+                    }
+                case MULTILINESTRING:
+                    {
+                        LineString[] lines = new LineString[structure[position++]];
+                        for (int i = 0; i < lines.length; i++) {
+                            lines[i] = (LineString) geometry();
+                        }
+                        return FACTORY.createMultiLineString(lines);
+                    }
+                case MULTIPOLYGON:
+                    {
+                        Polygon[] polygons = new Polygon[structure[position++]];
+                        for (int i = 0; i < polygons.length; i++) {
+                            polygons[i] = (Polygon) geometry();
+                        }
+                        return FACTORY.createMultiPolygon(polygons);
+                    }
+                case COLLECTION:
+                    {
+                        Geometry[] geometries = new Geometry[structure[position++]];
+                        for (int i = 0; i < geometries.length; i++) {
+                            geometries[i] = geometry();
+                        }
+                        return FACTORY.createGeometryCollection(geometries);
+                    }
+                default:
+                    throw new IllegalStateException("Unexpected geometry type code " + type);
+            }
+        }
+
+        private CoordinateSequence sequence() {
+            int dimension = structure[position++];
+            int measures = structure[position++];
+            int size = structure[position++];
+            int end = start + size * dimension;
+            double[] coords = Arrays.copyOfRange(ordinates, start, end);
+            start = end;
+            return new PackedCoordinateSequence.Double(coords, dimension, measures);
+        }
+    }
+}
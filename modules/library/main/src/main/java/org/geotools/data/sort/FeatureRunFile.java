@@ -0,0 +1,125 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * A sorted run of features stored in its own temporary file, using the {@link SimpleFeatureIO}
+ * encoding written and read sequentially through buffered file channels.
+ */
+class FeatureRunFile {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    final SimpleFeatureType schema;
+
+    final Path path;
+
+    final int count;
+
+    private FeatureRunFile(SimpleFeatureType schema, Path path, int count) {
+        this.schema = schema;
+        this.path = path;
+        this.count = count;
+    }
+
+    /** Writes the (already sorted) features to a new temporary file */
+    static FeatureRunFile write(SimpleFeatureType schema, List<SimpleFeature> features)
+            throws IOException {
+        Path path = Files.createTempFile("sorted", ".features");
+        SimpleFeatureIO io = new SimpleFeatureIO(schema);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+                DataOutputStream out =
+                        new DataOutputStream(
+                                new BufferedOutputStream(
+                                        Channels.newOutputStream(channel), BUFFER_SIZE))) {
+            for (SimpleFeature feature : features) {
+                io.write(feature, out);
+            }
+        } catch (Throwable t) {
+            // remove the partially written run, whatever the failure
+            deleteQuietly(path, t);
+            throw t;
+        }
+        return new FeatureRunFile(schema, path, features.size());
+    }
+
+    /** Opens a sequential reader over the run contents */
+    Reader open() throws IOException {
+        return new Reader();
+    }
+
+    /** Deletes the backing file */
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /** Deletes the backing file on an error path, recording a failure as suppressed */
+    void deleteQuietly(Throwable error) {
+        deleteQuietly(path, error);
+    }
+
+    private static void deleteQuietly(Path path, Throwable error) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException | RuntimeException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    /** Sequential reader of the run, not thread safe */
+    class Reader implements AutoCloseable {
+
+        private final DataInputStream in;
+
+        private final SimpleFeatureIO io = new SimpleFeatureIO(schema);
+
+        private int remaining = count;
+
+        Reader() throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.in =
+                    new DataInputStream(
+                            new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+        }
+
+        /** Reads up to {@code max} features into the target list, none at the end of the run */
+        void read(List<SimpleFeature> target, int max) throws IOException {
+            for (int i = 0; i < max && remaining > 0; i++, remaining--) {
+                target.add(io.read(in));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
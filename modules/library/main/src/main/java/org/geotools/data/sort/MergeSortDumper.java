@@ -73,8 +73,9 @@ static final boolean canSort(SimpleFeatureType schema, SortBy... sortBy) {
     static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, Query query)
             throws IOException {
         int maxFeatures = getMaxFeatures(query);
+        int parallelism = getParallelism(query);
 
-        return getDelegateReader(reader, query.getSortBy(), maxFeatures);
+        return getDelegateReader(reader, query.getSortBy(), maxFeatures, parallelism);
     }
 
     /** Gets the max amount amount of features to keep in memory from the query and system hints */
@@ -92,8 +93,29 @@ static int getMaxFeatures(Query query) {
         return maxFeatures;
     }
 
+    /** Gets the number of threads to use when sorting from the query and system hints */
+    static int getParallelism(Query query) {
+        Hints hints = null;
+        if (query != null) {
+            hints = query.getHints();
+        }
+        int parallelism = 1;
+        if (hints != null && hints.get(Hints.SORT_PARALLELISM) != null) {
+            parallelism = (Integer) hints.get(Hints.SORT_PARALLELISM);
+        } else if (Hints.getSystemDefault(Hints.SORT_PARALLELISM) != null) {
+            parallelism = (Integer) Hints.getSystemDefault(Hints.SORT_PARALLELISM);
+        }
+        return parallelism;
+    }
+
     static SimpleFeatureReader getDelegateReader(
             SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures) throws IOException {
+        return getDelegateReader(reader, sortBy, maxFeatures, getParallelism(null));
+    }
+
+    static SimpleFeatureReader getDelegateReader(
+            SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures, int parallelism)
+            throws IOException {
         if (maxFeatures < 0) {
             maxFeatures = getMaxFeatures(Query.ALL);
         }
@@ -123,6 +145,11 @@ static SimpleFeatureReader getDelegateReader(
         List<FeatureBlockReader> readers = new ArrayList<>();
         boolean cleanFile = true;
         try {
+            if (parallelism > 1) {
+                return ParallelMergeSortDumper.getDelegateReader(
+                        reader, comparator, maxFeatures, parallelism);
+            }
+
             // read and store into files as necessary
             while (reader.hasNext()) {
                 SimpleFeature f = reader.next();
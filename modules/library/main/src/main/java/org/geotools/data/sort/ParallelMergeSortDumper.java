@@ -0,0 +1,150 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.SimpleFeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.DelegateSimpleFeatureReader;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Parallel version of the {@link MergeSortDumper} external sort.
+ *
+ * <p>The source reader is consumed on the calling thread, while each block of {@code maxFeatures}
+ * features is sorted and written to its own file by a task running on a fork-join pool. At most
+ * {@code parallelism} blocks are pending at any time, so that the features held in memory stay
+ * bounded to {@code (parallelism + 1) * maxFeatures}. The resulting runs are then merged by a
+ * {@link ParallelMergeSortReader}, which reads them ahead in background.
+ */
+class ParallelMergeSortDumper {
+
+    static final Logger LOGGER = Logging.getLogger(ParallelMergeSortDumper.class);
+
+    /** Maximum number of features read ahead for each run while merging */
+    static final int MAX_BATCH_SIZE = 1024;
+
+    /** Shared pool for the sorting, writing and prefetching tasks (uses daemon threads) */
+    static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    static SimpleFeatureReader getDelegateReader(
+            SimpleFeatureReader reader,
+            Comparator<SimpleFeature> comparator,
+            int maxFeatures,
+            int parallelism)
+            throws IOException {
+        SimpleFeatureType schema = reader.getFeatureType();
+        List<SimpleFeature> features = new ArrayList<>();
+        List<Future<FeatureRunFile>> runs = new ArrayList<>();
+        boolean success = false;
+        try {
+            while (reader.hasNext()) {
+                features.add(reader.next());
+
+                if (features.size() > maxFeatures) {
+                    // bound the amount of blocks waiting to be sorted and written
+                    if (runs.size() >= parallelism) {
+                        ParallelMergeSortReader.await(runs.get(runs.size() - parallelism));
+                    }
+                    List<SimpleFeature> block = features;
+                    runs.add(
+                            POOL.submit(
+                                    () -> {
+                                        block.sort(comparator);
+                                        return FeatureRunFile.write(schema, block);
+                                    }));
+                    features = new ArrayList<>();
+                }
+            }
+
+            features.sort(comparator);
+            if (runs.isEmpty()) {
+                // simple case, we managed to keep everything in memory
+                success = true;
+                @SuppressWarnings("PMD.CloseResource") // returned in wrapper
+                SimpleFeatureIterator fi = new ListFeatureCollection(schema, features).features();
+                return new DelegateSimpleFeatureReader(schema, fi);
+            }
+
+            // merge the files with the residual features, which are kept in memory
+            List<FeatureRunFile> files = new ArrayList<>();
+            for (Future<FeatureRunFile> run : runs) {
+                files.add(ParallelMergeSortReader.await(run));
+            }
+            int batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, maxFeatures / runs.size()));
+            SimpleFeatureReader result =
+                    new ParallelMergeSortReader(
+                            schema, comparator, files, features, batchSize, POOL);
+            success = true;
+            return result;
+        } finally {
+            if (!success) {
+                cleanup(runs);
+            }
+        }
+    }
+
+    /**
+     * Waits for all the pending runs and removes their files. Runs that failed have already
+     * removed their partial file, the others are deleted even if an earlier one failed, or the
+     * thread got interrupted.
+     */
+    private static void cleanup(List<Future<FeatureRunFile>> runs) {
+        boolean interrupted = false;
+        for (Future<FeatureRunFile> run : runs) {
+            while (true) {
+                try {
+                    ParallelMergeSortReader.await(run).delete();
+                    break;
+                } catch (InterruptedIOException e) {
+                    // keep waiting, the file would be left behind otherwise
+                    interrupted |= Thread.interrupted();
+                    if (run.isDone()) {
+                        // either the run failed on its own, or it just completed
+                        deleteQuietly(run);
+                        break;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.FINE, "Failed to clean up sorted run", e);
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void deleteQuietly(Future<FeatureRunFile> run) {
+        try {
+            ParallelMergeSortReader.await(run).delete();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Failed to clean up sorted run", e);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.geotools.api.data.SimpleFeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * K-way merge of sorted runs, using a priority queue over the run heads. File runs are read in
+ * batches, the next batch of each run being decoded in background while the current one is
+ * consumed.
+ */
+class ParallelMergeSortReader implements SimpleFeatureReader {
+
+    SimpleFeatureType schema;
+
+    List<Run> runs;
+
+    PriorityQueue<Run> queue;
+
+    ParallelMergeSortReader(
+            SimpleFeatureType schema,
+            Comparator<SimpleFeature> comparator,
+            List<FeatureRunFile> files,
+            List<SimpleFeature> memory,
+            int batchSize,
+            ExecutorService executor)
+            throws IOException {
+        this.schema = schema;
+        this.runs = new ArrayList<>();
+        // ties are resolved in favour of the run read first, keeping the sort stable
+        this.queue =
+                new PriorityQueue<>(
+                        files.size() + 1,
+                        (r1, r2) -> {
+                            int result = comparator.compare(r1.head, r2.head);
+                            return result != 0 ? result : Integer.compare(r1.index, r2.index);
+                        });
+        try {
+            for (FeatureRunFile file : files) {
+                runs.add(new FileRun(runs.size(), file, batchSize, executor));
+            }
+            if (!memory.isEmpty()) {
+                runs.add(new MemoryRun(runs.size(), memory));
+            }
+            for (Run run : runs) {
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+        } catch (Throwable t) {
+            // the runs not wrapped yet, or whose reader failed to open, have to go too
+            try {
+                close();
+            } catch (IOException | RuntimeException e) {
+                t.addSuppressed(e);
+            }
+            for (FeatureRunFile file : files) {
+                file.deleteQuietly(t);
+            }
+            throw t;
+        }
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return schema;
+    }
+
+    @Override
+    public SimpleFeature next()
+            throws IOException, IllegalArgumentException, NoSuchElementException {
+        Run run = queue.poll();
+        if (run == null) {
+            throw new NoSuchElementException();
+        }
+        SimpleFeature feature = run.head;
+        if (run.advance()) {
+            queue.add(run);
+        } else {
+            run.close();
+        }
+        return feature;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        return !queue.isEmpty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException error = null;
+        for (Run run : runs) {
+            try {
+                run.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        queue.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /** A sorted run, exposing its current feature as the head */
+    abstract static class Run {
+        final int index;
+
+        SimpleFeature head;
+
+        Run(int index) {
+            this.index = index;
+        }
+
+        /** Moves to the next feature, returns false if the run is exhausted */
+        abstract boolean advance() throws IOException;
+
+        abstract void close() throws IOException;
+    }
+
+    /** The last, partial run, which never needs to hit the disk */
+    static class MemoryRun extends Run {
+        List<SimpleFeature> features;
+
+        int position;
+
+        MemoryRun(int index, List<SimpleFeature> features) {
+            super(index);
+            this.features = features;
+        }
+
+        @Override
+        boolean advance() {
+            if (position < features.size()) {
+                head = features.get(position++);
+                return true;
+            }
+            head = null;
+            return false;
+        }
+
+        @Override
+        void close() {
+            features = Collections.emptyList();
+        }
+    }
+
+    /** A run stored on disk, read ahead one batch at a time */
+    static class FileRun extends Run {
+        final FeatureRunFile file;
+
+        final int batchSize;
+
+        final ExecutorService executor;
+
+        FeatureRunFile.Reader reader;
+
+        List<SimpleFeature> batch = Collections.emptyList();
+
+        int position;
+
+        Future<List<SimpleFeature>> prefetch;
+
+        boolean closed;
+
+        FileRun(int index, FeatureRunFile file, int batchSize, ExecutorService executor)
+                throws IOException {
+            super(index);
+            this.file = file;
+            this.batchSize = batchSize;
+            this.executor = executor;
+            this.reader = file.open();
+            try {
+                this.prefetch = executor.submit(this::readBatch);
+            } catch (RuntimeException e) {
+                reader.close();
+                throw e;
+            }
+        }
+
+        private List<SimpleFeature> readBatch() throws IOException {
+            List<SimpleFeature> features = new ArrayList<>(batchSize);
+            reader.read(features, batchSize);
+            return features;
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (position >= batch.size()) {
+                if (prefetch == null) {
+                    head = null;
+                    return false;
+                }
+                batch = await(prefetch);
+                position = 0;
+                // schedule the next batch, unless the run is over
+                prefetch = batch.size() < batchSize ? null : executor.submit(this::readBatch);
+                if (batch.isEmpty()) {
+                    head = null;
+                    return false;
+                }
+            }
+            head = batch.get(position++);
+            return true;
+        }
+
+        @Override
+        void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            batch = Collections.emptyList();
+            try {
+                // let the pending read complete before closing the stream under it
+                if (prefetch != null) {
+                    try {
+                        await(prefetch);
+                    } catch (IOException | RuntimeException e) {
+                        // we are closing, not interested in the contents anymore
+                    }
+                }
+                reader.close();
+            } finally {
+                file.delete();
+            }
+        }
+    }
+
+    /** Waits for the task, unwrapping execution errors */
+    static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while sorting features");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
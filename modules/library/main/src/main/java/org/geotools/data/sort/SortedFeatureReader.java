@@ -54,12 +54,20 @@ public static int getMaxFeaturesInMemory(Query q) {
         return MergeSortDumper.getMaxFeatures(q);
     }
 
+    /**
+     * Gets the number of threads to use while sorting from the query and system hints, see {@link
+     * Hints#SORT_PARALLELISM}
+     */
+    public static int getSortParallelism(Query q) {
+        return MergeSortDumper.getParallelism(q);
+    }
+
     /**
      * Builds a new sorting feature reader
      *
      * @param reader The reader to be sorted
      * @param query The query holding the SortBy directives, and the eventual max features in memory
-     *     hint {@link Hints#MAX_MEMORY_SORT}
+     *     hint {@link Hints#MAX_MEMORY_SORT} and sorting parallelism {@link Hints#SORT_PARALLELISM}
      */
     public SortedFeatureReader(SimpleFeatureReader reader, Query query) throws IOException {
         this.delegate = MergeSortDumper.getDelegateReader(reader, query);
@@ -77,6 +85,21 @@ public SortedFeatureReader(SimpleFeatureReader reader, SortBy[] sortBy, int maxF
         this.delegate = MergeSortDumper.getDelegateReader(reader, sortBy, maxFeatures);
     }
 
+    /**
+     * Builds a new sorting feature reader
+     *
+     * @param reader The reader to be sorted
+     * @param sortBy The sorting directives
+     * @param maxFeatures The maximum number of features to keep in memory
+     * @param parallelism The number of threads used to sort and merge the features, when they do
+     *     not fit in memory
+     */
+    public SortedFeatureReader(
+            SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures, int parallelism)
+            throws IOException {
+        this.delegate = MergeSortDumper.getDelegateReader(reader, sortBy, maxFeatures, parallelism);
+    }
+
     @Override
     public SimpleFeatureType getFeatureType() {
         return delegate.getFeatureType();
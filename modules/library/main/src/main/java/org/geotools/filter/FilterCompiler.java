@@ -0,0 +1,586 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterVisitor;
+import org.geotools.api.filter.Not;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.util.ConverterFactory;
+import org.geotools.util.Converters;
+import org.geotools.util.factory.Hints;
+
+/**
+ * Turns a {@link Filter} into an evaluator specialized for a known {@link SimpleFeatureType}.
+ *
+ * <p>The compiled filter is a tree of closures, in which property names are resolved to attribute
+ * indexes once, literals are converted to the attribute binding once, and comparisons between an
+ * attribute and a literal run on primitives whenever the attribute value has the expected type.
+ * The results are the same as the ones of the original filter: whenever a value does not match
+ * the expectations (a different type, a multi valued attribute, a feature of a different type) the
+ * evaluation is delegated to the original filter nodes. Filters that cannot be compiled (spatial,
+ * temporal, functions and the like) are evaluated as is.
+ *
+ * <p>The compiled filter delegates visitor support, equality and string conversion to the original
+ * filter, so it can be used in its place wherever only evaluation is of interest, as in feature
+ * readers or renderers.
+ */
+public class FilterCompiler {
+
+    static final Hints SAFE_CONVERSION_HINTS =
+            new Hints(ConverterFactory.SAFE_CONVERSION, Boolean.TRUE);
+
+    /** Comparison operators with ordering semantics */
+    private enum Operator {
+        LESS,
+        LESS_OR_EQUAL,
+        GREATER,
+        GREATER_OR_EQUAL;
+
+        boolean test(int comparison) {
+            switch (this) {
+                case LESS:
+                    return comparison < 0;
+                case LESS_OR_EQUAL:
+                    return comparison <= 0;
+                case GREATER:
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+    }
+
+    private final SimpleFeatureType schema;
+
+    /** Whether at least a node of the filter has been specialized */
+    private boolean specialized;
+
+    private FilterCompiler(SimpleFeatureType schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Compiles the filter against the specified schema. Returns the filter itself if the schema
+     * is not a {@link SimpleFeatureType}, or if none of the filter nodes can be specialized.
+     *
+     * @param filter the filter to be compiled, may be null
+     * @param schema the type of the features the filter will be evaluated against, may be null
+     * @return the compiled filter, or the original one
+     */
+    public static Filter compile(Filter filter, FeatureType schema) {
+        if (filter == null
+                || filter == Filter.INCLUDE
+                || filter == Filter.EXCLUDE
+                || filter instanceof CompiledFilter
+                || !(schema instanceof SimpleFeatureType)) {
+            return filter;
+        }
+        SimpleFeatureType simpleSchema = (SimpleFeatureType) schema;
+        FilterCompiler compiler = new FilterCompiler(simpleSchema);
+        Predicate<SimpleFeature> evaluator = compiler.compile(filter);
+        if (!compiler.specialized) {
+            return filter;
+        }
+        return new CompiledFilter(filter, simpleSchema, evaluator);
+    }
+
+    private Predicate<SimpleFeature> compile(Filter filter) {
+        if (filter == Filter.INCLUDE) {
+            return f -> true;
+        } else if (filter == Filter.EXCLUDE) {
+            return f -> false;
+        } else if (filter instanceof And) {
+            Predicate<SimpleFeature>[] children = compile(((And) filter).getChildren());
+            return f -> {
+                for (Predicate<SimpleFeature> child : children) {
+                    if (!child.test(f)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        } else if (filter instanceof Or) {
+            Predicate<SimpleFeature>[] children = compile(((Or) filter).getChildren());
+            return f -> {
+                for (Predicate<SimpleFeature> child : children) {
+                    if (child.test(f)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else if (filter instanceof Not) {
+            Predicate<SimpleFeature> child = compile(((Not) filter).getFilter());
+            return f -> !child.test(f);
+        } else if (filter.getClass() == IsNullImpl.class) {
+            int index = getAttributeIndex(((IsNullImpl) filter).getExpression());
+            if (index >= 0) {
+                specialized = true;
+                return f -> f.getAttribute(index) == null;
+            }
+        } else if (filter.getClass() == IsBetweenImpl.class) {
+            Predicate<SimpleFeature> between = compileBetween((IsBetweenImpl) filter);
+            if (between != null) {
+                return between;
+            }
+        } else if (filter instanceof MultiCompareFilterImpl) {
+            Predicate<SimpleFeature> comparison =
+                    compileComparison((MultiCompareFilterImpl) filter);
+            if (comparison != null) {
+                return comparison;
+            }
+        }
+        return filter::evaluate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate<SimpleFeature>[] compile(List<Filter> filters) {
+        Predicate<SimpleFeature>[] result = new Predicate[filters.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = compile(filters.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the attribute referenced by the expression, or -1 if the expression is
+     * not a plain reference to an attribute of the schema
+     */
+    private int getAttributeIndex(Expression expression) {
+        if (expression == null || expression.getClass() != AttributeExpressionImpl.class) {
+            return -1;
+        }
+        String name = ((AttributeExpressionImpl) expression).getPropertyName();
+        if (name == null || name.isEmpty()) {
+            return -1;
+        }
+        return schema.indexOf(name);
+    }
+
+    /** Returns true if the literal value can be handled without multi valued semantics */
+    private static boolean isSingleValued(Object value) {
+        return !(value instanceof Collection) && (value == null || !value.getClass().isArray());
+    }
+
+    private Predicate<SimpleFeature> compileComparison(MultiCompareFilterImpl filter) {
+        Class<?> type = filter.getClass();
+        if (type != IsEqualsToImpl.class
+                && type != IsNotEqualToImpl.class
+                && type != IsLessThenImpl.class
+                && type != IsLessThenOrEqualToImpl.class
+                && type != IsGreaterThanImpl.class
+                && type != IsGreaterThanOrEqualToImpl.class) {
+            return null;
+        }
+
+        // look for an attribute compared to a literal, in any order
+        Expression e1 = filter.getExpression1();
+        Expression e2 = filter.getExpression2();
+        int index = getAttributeIndex(e1);
+        boolean attributeFirst = true;
+        Expression literal = e2;
+        if (index < 0) {
+            index = getAttributeIndex(e2);
+            attributeFirst = false;
+            literal = e1;
+        }
+        if (index < 0 || !(literal instanceof Literal)) {
+            return null;
+        }
+        Object value = ((Literal) literal).getValue();
+        if (!isSingleValued(value)) {
+            return null;
+        }
+
+        specialized = true;
+        Class<?> binding = schema.getDescriptor(index).getType().getBinding();
+        Predicate<Object> typed = null;
+        if (value != null) {
+            boolean matchCase = filter.isMatchingCase();
+            if (type == IsEqualsToImpl.class) {
+                typed =
+                        compileEquals(
+                                binding, value, attributeFirst, matchCase, (IsEqualsToImpl) filter);
+            } else if (type == IsNotEqualToImpl.class) {
+                IsEqualsToImpl equals = new IsEqualsToImpl(e1, e2, matchCase);
+                Predicate<Object> eq =
+                        compileEquals(binding, value, attributeFirst, matchCase, equals);
+                typed = eq != null ? eq.negate() : null;
+            } else if (type == IsLessThenImpl.class) {
+                typed = compileOrder(binding, value, attributeFirst, Operator.LESS);
+            } else if (type == IsLessThenOrEqualToImpl.class) {
+                typed = compileOrder(binding, value, attributeFirst, Operator.LESS_OR_EQUAL);
+            } else if (type == IsGreaterThanImpl.class) {
+                typed = compileOrder(binding, value, attributeFirst, Operator.GREATER);
+            } else {
+                typed = compileOrder(binding, value, attributeFirst, Operator.GREATER_OR_EQUAL);
+            }
+        }
+        return new ComparisonEvaluator(filter, index, value, attributeFirst, binding, typed);
+    }
+
+    /**
+     * Builds an equality test for values of the attribute binding, following the same steps as
+     * {@link IsEqualsToImpl#evaluateInternal(Object, Object)} with the literal conversions
+     * performed upfront. Returns null if the outcome depends on conversions of the attribute value.
+     */
+    private static Predicate<Object> compileEquals(
+            Class<?> binding,
+            Object literal,
+            boolean attributeFirst,
+            boolean matchCase,
+            IsEqualsToImpl filter) {
+        if (literal.getClass() == binding) {
+            if (binding == String.class && !matchCase) {
+                String s = (String) literal;
+                return v -> ((String) v).equalsIgnoreCase(s);
+            } else if (binding == Integer.class
+                    || binding == Long.class
+                    || binding == Short.class
+                    || binding == Byte.class) {
+                long l = ((Number) literal).longValue();
+                return v -> ((Number) v).longValue() == l;
+            } else if (binding == Double.class) {
+                long bits = Double.doubleToLongBits((Double) literal);
+                return v -> Double.doubleToLongBits((Double) v) == bits;
+            } else if (binding == Float.class) {
+                int bits = Float.floatToIntBits((Float) literal);
+                return v -> Float.floatToIntBits((Float) v) == bits;
+            }
+            return attributeFirst ? v -> v.equals(literal) : literal::equals;
+        }
+        if (CharSequence.class.isAssignableFrom(binding)) {
+            // the string conversion would happen on the attribute value
+            return null;
+        }
+
+        Object converted = Converters.convert(literal, binding);
+        Object safeConverted =
+                literal instanceof String
+                        ? Converters.convert(literal, binding, SAFE_CONVERSION_HINTS)
+                        : null;
+        boolean numeric =
+                Number.class.isAssignableFrom(binding)
+                        && (literal instanceof Number || literal instanceof CharSequence);
+        Number number = numeric ? toNumber(literal) : null;
+        double fp2 = number != null ? number.doubleValue() : Double.NaN;
+        long lg2 = number != null ? number.longValue() : 0;
+        boolean integral = number != null && fp2 == (double) lg2;
+
+        return v -> {
+            if (attributeFirst ? v.equals(literal) : literal.equals(v)) {
+                return true;
+            }
+            if (converted != null && converted.equals(v)) {
+                return true;
+            }
+            if (safeConverted != null && safeConverted.equals(v)) {
+                return true;
+            }
+            if (numeric) {
+                if (number == null) {
+                    return false;
+                }
+                Number n1 = (Number) v;
+                double fp1 = n1.doubleValue();
+                long lg1 = n1.longValue();
+                if (integral && fp1 == (double) lg1) {
+                    return lg1 == lg2;
+                }
+                return (fp1 == fp2) || (Double.isNaN(fp1) && Double.isNaN(fp2));
+            }
+            if (!matchCase) {
+                return attributeFirst
+                        ? filter.evaluateInternal(v, literal)
+                        : filter.evaluateInternal(literal, v);
+            }
+            return false;
+        };
+    }
+
+    /** Parses the value into a Long or a Double, as the equality filter does, or returns null */
+    private static Number toNumber(Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        String s = value.toString();
+        try {
+            return Long.valueOf(s);
+        } catch (NumberFormatException e) {
+            try {
+                return Double.valueOf(s);
+            } catch (NumberFormatException e2) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Builds an ordering test for values of the attribute binding, following the same steps as
+     * {@link CompareFilterImpl#compare(Comparable, Comparable)} with the literal aligned to the
+     * attribute binding upfront. Returns null if the outcome depends on conversions of the
+     * attribute value.
+     */
+    private static Predicate<Object> compileOrder(
+            Class<?> binding, Object literal, boolean attributeFirst, Operator operator) {
+        Object aligned = literal;
+        if (literal.getClass() != binding) {
+            // with the literal first the attribute value would be converted instead
+            if (!attributeFirst) {
+                return null;
+            }
+            aligned = Converters.convert(literal, binding, SAFE_CONVERSION_HINTS);
+            if (aligned == null || aligned.getClass() != binding) {
+                return null;
+            }
+        }
+        if (!(aligned instanceof Comparable)) {
+            return null;
+        }
+
+        if (aligned instanceof Number) {
+            double d = ((Number) aligned).doubleValue();
+            if (attributeFirst) {
+                return v -> operator.test(compare(((Number) v).doubleValue(), d));
+            } else {
+                return v -> operator.test(compare(d, ((Number) v).doubleValue()));
+            }
+        } else if (aligned instanceof String) {
+            // strings are compared as numbers when both can be parsed
+            String s = (String) aligned;
+            Double d = parseDouble(s);
+            return v -> {
+                Double parsed = d != null ? parseDouble((String) v) : null;
+                int comparison;
+                if (parsed == null) {
+                    comparison =
+                            attributeFirst ? ((String) v).compareTo(s) : s.compareTo((String) v);
+                } else {
+                    comparison = attributeFirst ? parsed.compareTo(d) : d.compareTo(parsed);
+                }
+                return operator.test(comparison);
+            };
+        }
+        @SuppressWarnings("unchecked")
+        Comparable<Object> c = (Comparable<Object>) aligned;
+        if (attributeFirst) {
+            return v -> {
+                @SuppressWarnings("unchecked")
+                Comparable<Object> cv = (Comparable<Object>) v;
+                return operator.test(cv.compareTo(c));
+            };
+        } else {
+            return v -> operator.test(c.compareTo(v));
+        }
+    }
+
+    /** Same as the numeric comparison in {@link CompareFilterImpl#compare} */
+    private static int compare(double left, double right) {
+        return left > right ? 1 : (left == right ? 0 : -1);
+    }
+
+    private static Double parseDouble(String s) {
+        try {
+            return Double.valueOf(Double.parseDouble(s));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private Predicate<SimpleFeature> compileBetween(IsBetweenImpl filter) {
+        int index = getAttributeIndex(filter.getExpression());
+        if (index < 0
+                || !(filter.getLowerBoundary() instanceof Literal)
+                || !(filter.getUpperBoundary() instanceof Literal)) {
+            return null;
+        }
+        Object lower = ((Literal) filter.getLowerBoundary()).getValue();
+        Object upper = ((Literal) filter.getUpperBoundary()).getValue();
+        if (lower instanceof Collection || upper instanceof Collection) {
+            return null;
+        }
+
+        specialized = true;
+        Class<?> binding = schema.getDescriptor(index).getType().getBinding();
+        Predicate<Object> typed = compileBetween(binding, lower, upper);
+        return f -> {
+            Object value = f.getAttribute(index);
+            if (value == null) {
+                return false;
+            } else if (typed != null && value.getClass() == binding) {
+                return typed.test(value);
+            } else if (value instanceof Collection) {
+                return filter.evaluate(f);
+            }
+            return filter.evaluateInternal(value, lower, upper);
+        };
+    }
+
+    /**
+     * Builds a between test for values of the attribute binding, with the bounds converted
+     * upfront, as {@link IsBetweenImpl#evaluateInternal(Object, Object, Object)} would do.
+     */
+    private static Predicate<Object> compileBetween(
+            Class<?> binding, Object lower, Object upper) {
+        Object l = Converters.convert(lower, binding);
+        Object u = Converters.convert(upper, binding);
+        if (!(l instanceof Comparable) || !(u instanceof Comparable)) {
+            return null;
+        }
+        if (l.getClass() == binding && u.getClass() == binding) {
+            if (binding == Integer.class
+                    || binding == Long.class
+                    || binding == Short.class
+                    || binding == Byte.class) {
+                long lv = ((Number) l).longValue();
+                long uv = ((Number) u).longValue();
+                return v -> {
+                    long value = ((Number) v).longValue();
+                    return lv <= value && uv >= value;
+                };
+            } else if (binding == Double.class || binding == Float.class) {
+                double lv = ((Number) l).doubleValue();
+                double uv = ((Number) u).doubleValue();
+                return v -> {
+                    double value = ((Number) v).doubleValue();
+                    return Double.compare(lv, value) <= 0 && Double.compare(uv, value) >= 0;
+                };
+            }
+        }
+        @SuppressWarnings("unchecked")
+        Comparable<Object> lc = (Comparable<Object>) l;
+        @SuppressWarnings("unchecked")
+        Comparable<Object> uc = (Comparable<Object>) u;
+        return v -> lc.compareTo(v) <= 0 && uc.compareTo(v) >= 0;
+    }
+
+    /** Evaluates a comparison between an attribute and a literal */
+    private static class ComparisonEvaluator implements Predicate<SimpleFeature> {
+
+        private final MultiCompareFilterImpl filter;
+
+        private final int index;
+
+        private final Object literal;
+
+        private final boolean attributeFirst;
+
+        private final Class<?> binding;
+
+        /** The specialized test for attribute values matching the binding, if any */
+        private final Predicate<Object> typed;
+
+        ComparisonEvaluator(
+                MultiCompareFilterImpl filter,
+                int index,
+                Object literal,
+                boolean attributeFirst,
+                Class<?> binding,
+                Predicate<Object> typed) {
+            this.filter = filter;
+            this.index = index;
+            this.literal = literal;
+            this.attributeFirst = attributeFirst;
+            this.binding = binding;
+            this.typed = typed;
+        }
+
+        @Override
+        public boolean test(SimpleFeature feature) {
+            Object value = feature.getAttribute(index);
+            if (typed != null && value != null && value.getClass() == binding) {
+                return typed.test(value);
+            }
+            if (!isSingleValued(value)) {
+                // multi valued, go through the match action logic
+                return filter.evaluate(feature);
+            }
+            return attributeFirst
+                    ? filter.evaluateInternal(value, literal)
+                    : filter.evaluateInternal(literal, value);
+        }
+    }
+
+    /** A filter evaluated through a compiled evaluator */
+    public static final class CompiledFilter implements Filter {
+
+        private final Filter filter;
+
+        private final SimpleFeatureType schema;
+
+        private final Predicate<SimpleFeature> evaluator;
+
+        CompiledFilter(
+                Filter filter, SimpleFeatureType schema, Predicate<SimpleFeature> evaluator) {
+            this.filter = filter;
+            this.schema = schema;
+            this.evaluator = evaluator;
+        }
+
+        /** Returns the original filter */
+        public Filter getFilter() {
+            return filter;
+        }
+
+        /** Returns the schema the filter has been compiled against */
+        public SimpleFeatureType getSchema() {
+            return schema;
+        }
+
+        @Override
+        public boolean evaluate(Object object) {
+            if (object instanceof SimpleFeature
+                    && ((SimpleFeature) object).getFeatureType() == schema) {
+                return evaluator.test((SimpleFeature) object);
+            }
+            return filter.evaluate(object);
+        }
+
+        @Override
+        public Object accept(FilterVisitor visitor, Object extraData) {
+            return filter.accept(visitor, extraData);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof CompiledFilter) {
+                return filter.equals(((CompiledFilter) obj).filter);
+            }
+            return filter.equals(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return filter.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return filter.toString();
+        }
+    }
+}
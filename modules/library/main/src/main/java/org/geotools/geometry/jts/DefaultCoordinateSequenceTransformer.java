@@ -23,6 +23,7 @@
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.CoordinateSequenceFactory;
 import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 
 /**
  * A default implementation of {@linkplain CoordinateSequenceTransformer coordinate sequence
@@ -39,13 +40,21 @@
  */
 public class DefaultCoordinateSequenceTransformer implements CoordinateSequenceTransformer {
     /**
-     * A buffer for coordinate transformations. We choose a length which is divisible by both 2 and
-     * 3, since JTS coordinates may be up to three-dimensional. If the number of coordinates point
-     * to transform is greater than the buffer capacity, then the buffer will be flushed to the
-     * destination array before to continue. We avoid to create a buffer as large than the number of
-     * point to transforms, because it would consume a large amount of memory for big geometries.
+     * The maximal length of the {@linkplain #buffer}. We choose a length which is divisible by both
+     * 2 and 3, since JTS coordinates may be up to three-dimensional. If the number of coordinates
+     * point to transform is greater than the buffer capacity, then the buffer will be flushed to
+     * the destination array before to continue. We avoid to create a buffer as large than the
+     * number of point to transforms, because it would consume a large amount of memory for big
+     * geometries.
      */
-    private final transient double[] buffer = new double[96];
+    private static final int MAX_BUFFER_LENGTH = 3 * 4096;
+
+    /**
+     * A buffer for coordinate transformations. It starts small and grows up to {@link
+     * #MAX_BUFFER_LENGTH} as larger sequences are transformed, so that most sequences are given to
+     * the math transform in a single call.
+     */
+    private transient double[] buffer = new double[96];
 
     /** The coordinate sequence factory to use. */
     private final CoordinateSequenceFactory csFactory;
@@ -68,10 +77,6 @@ public CoordinateSequence transform(
         final int targetDim = transform.getTargetDimensions();
         final int size = sequence.size();
         final Coordinate[] tcs = new Coordinate[size];
-        final int bufferCapacity = buffer.length / Math.max(sourceDim, targetDim);
-        int remainingBeforeFlush = Math.min(bufferCapacity, size);
-        int ib = 0; // Index in the buffer array.
-        int it = 0; // Index in the target sequence.
 
         // create a target CS so that the dimensions not contemplated in the source CS
         // are copied over (think Z or M with a 2d CRS)
@@ -79,6 +84,29 @@ public CoordinateSequence transform(
         CoordinateSequence result =
                 JTS.createCS(csFactory, sequence.size(), targetCSDim, sequence.getMeasures());
 
+        if (targetCSDim == targetDim && sequence.getDimension() == sourceDim) {
+            final double[] sourceOrdinates = getPackedOrdinates(sequence);
+            final double[] targetOrdinates = getPackedOrdinates(result);
+            if (sourceOrdinates != null && targetOrdinates != null) {
+                /*
+                 * Both sequences store their ordinates in packed arrays of exactly the dimensions
+                 * expected by the math transform: transform all points in a single call, without
+                 * going through the buffer.
+                 */
+                transform.transform(sourceOrdinates, 0, targetOrdinates, 0, size);
+                return result;
+            }
+        }
+
+        final int maxDim = Math.max(sourceDim, targetDim);
+        if (buffer.length < MAX_BUFFER_LENGTH && buffer.length < size * maxDim) {
+            buffer = new double[Math.min(MAX_BUFFER_LENGTH, size * maxDim)];
+        }
+        final int bufferCapacity = buffer.length / maxDim;
+        int remainingBeforeFlush = Math.min(bufferCapacity, size);
+        int ib = 0; // Index in the buffer array.
+        int it = 0; // Index in the target sequence.
+
         for (int i = 0; i < size; i++) {
             switch (sourceDim) {
                 default:
@@ -142,4 +170,18 @@ public CoordinateSequence transform(
 
         return result;
     }
+
+    /**
+     * Returns the array where the given sequence stores its ordinates, or {@code null} if the
+     * sequence does not store them in a packed array of doubles.
+     */
+    private static double[] getPackedOrdinates(final CoordinateSequence sequence) {
+        if (sequence instanceof LiteCoordinateSequence) {
+            return ((LiteCoordinateSequence) sequence).getArray();
+        }
+        if (sequence instanceof PackedCoordinateSequence.Double) {
+            return ((PackedCoordinateSequence.Double) sequence).getRawCoordinates();
+        }
+        return null;
+    }
 }
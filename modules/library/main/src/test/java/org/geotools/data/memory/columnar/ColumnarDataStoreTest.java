@@ -0,0 +1,306 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory.columnar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+
+public class ColumnarDataStoreTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory(null);
+
+    static final GeometryFactory GF = new GeometryFactory();
+
+    static final String[] NAMES = {"alpha", "Beta", "gamma", null};
+
+    SimpleFeatureType type;
+
+    List<SimpleFeature> features;
+
+    ColumnarDataStore columnar;
+
+    MemoryDataStore memory;
+
+    @Before
+    public void setUp() throws Exception {
+        type =
+                DataUtilities.createType(
+                        "grid",
+                        "geom:Polygon,id:Integer,code:java.lang.Long,value:Double,name:String,"
+                                + "flag:Boolean,small:Float,when:Date");
+        features = new ArrayList<>();
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        for (int i = 0; i < 400; i++) {
+            int x = i % 20;
+            int y = i / 20;
+            fb.add(i % 37 == 0 ? null : square(x, y));
+            fb.add(i % 11 == 0 ? null : i);
+            fb.add(i * 1000000000L);
+            fb.add(i % 13 == 0 ? null : i / 4d);
+            fb.add(NAMES[i % NAMES.length]);
+            fb.add(i % 2 == 0);
+            fb.add(i / 8f);
+            fb.add(new java.util.Date(i * 1000L));
+            features.add(fb.buildFeature(i == 7 ? "custom-id" : "grid." + i));
+        }
+        columnar = new ColumnarDataStore();
+        columnar.addFeatures(new ListFeatureCollection(type, features));
+        memory = new MemoryDataStore();
+        memory.addFeatures(features);
+    }
+
+    private Polygon square(int x, int y) {
+        return GF.createPolygon(
+                new Coordinate[] {
+                    new Coordinate(x, y),
+                    new Coordinate(x + 1, y),
+                    new Coordinate(x + 1, y + 1),
+                    new Coordinate(x, y + 1),
+                    new Coordinate(x, y)
+                });
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        SimpleFeatureSource source = columnar.getFeatureSource("grid");
+        assertEquals(type, source.getSchema());
+        assertEquals(features.size(), source.getCount(Query.ALL));
+        int i = 0;
+        try (SimpleFeatureIterator it = source.getFeatures().features()) {
+            while (it.hasNext()) {
+                SimpleFeature expected = features.get(i++);
+                SimpleFeature actual = it.next();
+                assertEquals(expected.getID(), actual.getID());
+                for (int a = 0; a < type.getAttributeCount(); a++) {
+                    Object value = expected.getAttribute(a);
+                    if (value instanceof Geometry) {
+                        assertTrue(
+                                ((Geometry) value).equalsExact((Geometry) actual.getAttribute(a)));
+                    } else {
+                        assertEquals(value, actual.getAttribute(a));
+                    }
+                }
+            }
+        }
+        assertEquals(features.size(), i);
+    }
+
+    @Test
+    public void testGeometryTypes() throws Exception {
+        SimpleFeatureType geometries = DataUtilities.createType("geometries", "geom:Geometry");
+        Geometry[] values = {
+            GF.createPoint(new Coordinate(1, 2, 3)),
+            GF.createPoint(),
+            GF.createLineString(new Coordinate[] {new Coordinate(0, 0), new Coordinate(5, 5)}),
+            GF.createPolygon(
+                    GF.createLinearRing(square(0, 0).getCoordinates()),
+                    new org.locationtech.jts.geom.LinearRing[] {
+                        GF.createLinearRing(
+                                new Coordinate[] {
+                                    new Coordinate(0.2, 0.2),
+                                    new Coordinate(0.8, 0.2),
+                                    new Coordinate(0.8, 0.8),
+                                    new Coordinate(0.2, 0.2)
+                                })
+                    }),
+            GF.createMultiPolygon(new Polygon[] {square(0, 0), square(3, 3)}),
+            GF.createGeometryCollection(
+                    new Geometry[] {GF.createPoint(new Coordinate(1, 1)), square(2, 2)}),
+            null
+        };
+        ColumnarDataStore store = new ColumnarDataStore(geometries);
+        for (int i = 0; i < values.length; i++) {
+            store.addFeatures(
+                    SimpleFeatureBuilder.build(geometries, new Object[] {values[i]}, null));
+        }
+        try (SimpleFeatureIterator it =
+                store.getFeatureSource("geometries").getFeatures().features()) {
+            for (Geometry expected : values) {
+                Geometry actual = (Geometry) it.next().getDefaultGeometry();
+                if (expected == null) {
+                    assertNull(actual);
+                } else {
+                    assertEquals(expected.getGeometryType(), actual.getGeometryType());
+                    assertTrue(expected.equalsExact(actual));
+                    assertEquals(
+                            expected.getCoordinate() == null
+                                    ? Double.NaN
+                                    : expected.getCoordinate().getZ(),
+                            actual.getCoordinate() == null
+                                    ? Double.NaN
+                                    : actual.getCoordinate().getZ(),
+                            0d);
+                }
+            }
+            assertFalse(it.hasNext());
+        }
+    }
+
+    @Test
+    public void testFilters() throws Exception {
+        Filter bbox = FF.bbox("geom", 2.5, 3.5, 6.5, 8.5, null);
+        Filter[] filters = {
+            Filter.INCLUDE,
+            Filter.EXCLUDE,
+            bbox,
+            FF.equals(FF.property("name"), FF.literal("alpha")),
+            FF.equal(FF.property("name"), FF.literal("beta"), false),
+            FF.equal(FF.property("name"), FF.literal("beta"), true),
+            FF.equals(FF.property("id"), FF.literal(42)),
+            FF.equals(FF.property("id"), FF.literal(42L)),
+            FF.equals(FF.literal(42), FF.property("id")),
+            FF.less(FF.property("id"), FF.literal(100)),
+            FF.lessOrEqual(FF.literal(100.5), FF.property("id")),
+            FF.greater(FF.property("code"), FF.literal(250000000000L)),
+            FF.greaterOrEqual(FF.property("value"), FF.literal(20)),
+            FF.equals(FF.property("value"), FF.literal(12.5d)),
+            FF.between(FF.property("id"), FF.literal(10), FF.literal(20)),
+            FF.between(FF.property("value"), FF.literal(10d), FF.literal(20d)),
+            FF.less(FF.property("small"), FF.literal(5.5)),
+            FF.equals(FF.property("flag"), FF.literal(true)),
+            FF.like(FF.property("name"), "%a", "%", "_", "\\"),
+            FF.and(bbox, FF.equals(FF.property("name"), FF.literal("gamma"))),
+            FF.and(
+                    Arrays.asList(
+                            bbox,
+                            FF.greater(FF.property("id"), FF.literal(70)),
+                            FF.like(FF.property("name"), "B%", "%", "_", "\\"))),
+            FF.or(bbox, FF.equals(FF.property("name"), FF.literal("alpha"))),
+            FF.not(FF.equals(FF.property("name"), FF.literal("alpha"))),
+            FF.isNull(FF.property("id")),
+            FF.id(FF.featureId("custom-id"), FF.featureId("grid.8"))
+        };
+        for (Filter filter : filters) {
+            Query query = new Query("grid", filter);
+            assertEquals(filter.toString(), ids(memory, query), ids(columnar, query));
+            assertEquals(
+                    filter.toString(),
+                    memory.getFeatureSource("grid").getFeatures(query).size(),
+                    columnar.getFeatureSource("grid").getFeatures(query).size());
+        }
+    }
+
+    @Test
+    public void testNativeCount() throws Exception {
+        ColumnarFeatureSource source = (ColumnarFeatureSource) columnar.getFeatureSource("grid");
+        Filter filter =
+                FF.and(
+                        FF.equals(FF.property("name"), FF.literal("alpha")),
+                        FF.less(FF.property("id"), FF.literal(100)));
+        // fully evaluated on the columns
+        assertEquals(22, source.getCountInternal(new Query("grid", filter)));
+        // requires a feature by feature evaluation
+        assertEquals(
+                -1,
+                source.getCountInternal(
+                        new Query("grid", FF.like(FF.property("name"), "a%", "%", "_", "\\"))));
+    }
+
+    @Test
+    public void testBounds() throws Exception {
+        assertEquals(
+                memory.getFeatureSource("grid").getBounds(),
+                columnar.getFeatureSource("grid").getBounds());
+
+        // computed out of the envelopes of the selected rows
+        Query query = new Query("grid", FF.equals(FF.property("name"), FF.literal("gamma")));
+        assertEquals(
+                memory.getFeatureSource("grid").getFeatures(query).getBounds(),
+                columnar.getFeatureSource("grid").getBounds(query));
+
+        Filter filter = FF.bbox("geom", 2.5, 3.5, 6.5, 8.5, null);
+        query = new Query("grid", filter);
+        ReferencedEnvelope expected =
+                memory.getFeatureSource("grid").getFeatures(query).getBounds();
+        ReferencedEnvelope actual =
+                columnar.getFeatureSource("grid").getFeatures(query).getBounds();
+        assertEquals(new ReferencedEnvelope(2, 7, 3, 9, null), actual);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testPaging() throws Exception {
+        // paging follows the insertion order
+        Filter filter = FF.greater(FF.property("value"), FF.literal(10));
+        Query query = new Query("grid", filter);
+        query.setStartIndex(15);
+        query.setMaxFeatures(30);
+        List<String> expected = ids(memory, new Query("grid", filter)).subList(15, 45);
+        assertEquals(expected, ids(columnar, query));
+        assertEquals(30, columnar.getFeatureSource("grid").getCount(query));
+
+        filter = FF.like(FF.property("name"), "%a", "%", "_", "\\");
+        query.setFilter(filter);
+        expected = ids(memory, new Query("grid", filter)).subList(15, 45);
+        assertEquals(expected, ids(columnar, query));
+    }
+
+    @Test
+    public void testAppendAfterIndex() throws Exception {
+        Query query = new Query("grid", FF.bbox("geom", 100, 100, 101, 101, null));
+        assertTrue(ids(columnar, query).isEmpty());
+
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        fb.set("geom", square(100, 100));
+        columnar.addFeatures(fb.buildFeature("grid.1000"));
+
+        assertEquals(Arrays.asList("grid.1000"), ids(columnar, query));
+        assertEquals(features.size() + 1, columnar.getFeatureSource("grid").getCount(Query.ALL));
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void testIncompatibleSchema() throws Exception {
+        SimpleFeatureType other = DataUtilities.createType("grid", "geom:Point,id:Integer");
+        columnar.addFeatures(SimpleFeatureBuilder.build(other, new Object[2], null));
+    }
+
+    private List<String> ids(org.geotools.api.data.DataStore store, Query query) throws Exception {
+        List<String> ids = new ArrayList<>();
+        try (SimpleFeatureIterator it =
+                store.getFeatureSource("grid").getFeatures(query).features()) {
+            while (it.hasNext()) {
+                ids.add(it.next().getID());
+            }
+        }
+        return ids;
+    }
+}
@@ -3,23 +3,37 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.geotools.api.data.Query;
 import org.geotools.api.data.SimpleFeatureReader;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.simple.DelegateSimpleFeatureReader;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.DefaultFeatureCollection;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureImpl;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.filter.identity.FeatureIdImpl;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.util.factory.Hints;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -159,6 +173,107 @@ public void testFileSortPeople() throws IOException {
         }
     }
 
+    @Test
+    public void testParallelFileSortPeople() throws IOException {
+        // make it so that we are going to hit the disk with lots of small runs
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, peopleDesc, 7, 4)) {
+            int count = 0;
+            int prev = Integer.MAX_VALUE;
+            while (sr.hasNext()) {
+                SimpleFeature f = sr.next();
+                int curr = (Integer) f.getAttribute("PERSONS");
+                assertTrue(curr <= prev);
+                prev = curr;
+                count++;
+            }
+            assertEquals(fc.size(), count);
+        }
+    }
+
+    @Test
+    public void testParallelFileSortMatchesSequential() throws IOException {
+        // sorting on a attribute with lots of duplicates, the parallel sort must be stable too
+        SortBy[] byteAsc = {ff.sort("byte", SortOrder.ASCENDING)};
+        List<SimpleFeature> expected = new ArrayList<>();
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, byteAsc, 50)) {
+            while (sr.hasNext()) {
+                expected.add(sr.next());
+            }
+        }
+        Query query = new Query("test");
+        query.setSortBy(byteAsc);
+        query.setHints(new Hints(Hints.MAX_MEMORY_SORT, 50));
+        query.getHints().put(Hints.SORT_PARALLELISM, 3);
+        assertEquals(3, SortedFeatureReader.getSortParallelism(query));
+        try (SimpleFeatureReader sr =
+                new SortedFeatureReader(
+                        new DelegateSimpleFeatureReader(schema, fc.features()), query)) {
+            for (SimpleFeature f : expected) {
+                assertTrue(sr.hasNext());
+                SimpleFeature actual = sr.next();
+                assertEquals(f.getID(), actual.getID());
+                assertEquals(f.getAttributes(), actual.getAttributes());
+            }
+            assertFalse(sr.hasNext());
+        }
+    }
+
+    @Test
+    public void testParallelFailedRunCleanup() throws IOException {
+        // one of the features cannot be written, failing its run partway
+        List<SimpleFeature> features = new ArrayList<>();
+        try (SimpleFeatureIterator it = fc.features()) {
+            while (it.hasNext()) {
+                features.add(it.next());
+            }
+        }
+        SimpleFeature original = features.get(300);
+        features.set(
+                300,
+                new SimpleFeatureImpl(
+                        original.getAttributes(), schema, new FeatureIdImpl(original.getID())) {
+                    @Override
+                    public Object getAttribute(String name) {
+                        if ("otherGeom".equals(name)) {
+                            throw new IllegalStateException("Cannot read otherGeom");
+                        }
+                        return super.getAttribute(name);
+                    }
+                });
+
+        Set<String> before = listSortFiles();
+        SimpleFeatureReader source =
+                new DelegateSimpleFeatureReader(
+                        schema, new ListFeatureCollection(schema, features).features());
+        try {
+            new SortedFeatureReader(source, peopleAsc, 7, 4).close();
+            fail("The sort should have failed");
+        } catch (IllegalStateException e) {
+            assertEquals("Cannot read otherGeom", e.getMessage());
+        } finally {
+            source.close();
+        }
+        // no run file is left behind
+        assertEquals(before, listSortFiles());
+    }
+
+    private Set<String> listSortFiles() throws IOException {
+        Path tmp = Paths.get(System.getProperty("java.io.tmpdir"));
+        try (Stream<Path> files = Files.list(tmp)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith("sorted") && n.endsWith(".features"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    @Test
+    public void testParallelMemorySort() throws IOException {
+        // everything fits in memory, no runs are written
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, peopleAsc, 1000, 4)) {
+            assertSortedOnPeopleAsc(sr);
+        }
+    }
+
     @Test
     public void testIteratorSortReduce() throws IOException {
         // make it so that we are not going to hit the disk
@@ -0,0 +1,80 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Color;
+import java.util.Date;
+import org.geotools.util.Converter;
+import org.geotools.util.Converters;
+import org.geotools.util.factory.Hints;
+import org.junit.Test;
+
+/** Tests the converters resolved and cached by {@link Converters}. */
+public class ConvertersTest {
+
+    @Test
+    public void testConverterHandle() throws Exception {
+        Converter converter = Converters.getConverter(String.class, Integer.class, null);
+        assertEquals(Integer.valueOf(12), converter.convert("12", Integer.class));
+        assertNull(converter.convert("abc", Integer.class));
+        assertNull(converter.convert(null, Integer.class));
+        // other source classes and target types go through the regular lookup
+        assertEquals(Integer.valueOf(3), converter.convert(3.0d, Integer.class));
+        assertEquals(Double.valueOf(12), converter.convert("12", Double.class));
+    }
+
+    @Test
+    public void testAssignableHandle() throws Exception {
+        Converter converter = Converters.getConverter(Integer.class, Number.class, null);
+        Integer value = 42;
+        assertSame(value, converter.convert(value, Number.class));
+    }
+
+    @Test
+    public void testConsistentWithConvert() throws Exception {
+        Object[] values = {"12", "1.5", "abc", "#FF0000", "2024-01-01", "true"};
+        Class<?>[] targets = {Integer.class, Double.class, Color.class, Date.class, Boolean.class};
+        Hints hints = new Hints();
+        for (Class<?> target : targets) {
+            Converter converter = Converters.getConverter(String.class, target, hints);
+            for (Object value : values) {
+                // twice, to go through the cache the second time
+                assertEquals(
+                        Converters.convert(value, target, hints),
+                        Converters.convert(value, target, hints));
+                assertEquals(
+                        Converters.convert(value, target, hints), converter.convert(value, target));
+            }
+        }
+    }
+
+    @Test
+    public void testNoConverter() throws Exception {
+        Converter converter = Converters.getConverter(Thread.class, Color.class, null);
+        assertNull(converter.convert(Thread.currentThread(), Color.class));
+        assertNull(Converters.convert(Thread.currentThread(), Color.class));
+        // the String fallback still applies
+        Converter toString = Converters.getConverter(Thread.class, String.class, null);
+        assertEquals(
+                Thread.currentThread().toString(),
+                toString.convert(Thread.currentThread(), String.class));
+    }
+}
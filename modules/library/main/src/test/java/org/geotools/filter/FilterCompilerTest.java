@@ -0,0 +1,281 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.FilteringFeatureReader;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureImpl;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.filter.identity.FeatureIdImpl;
+import org.geotools.filter.visitor.BindingFilterVisitor;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+
+public class FilterCompilerTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory(null);
+
+    private SimpleFeatureType schema;
+
+    private List<SimpleFeature> features;
+
+    @Before
+    public void setUp() {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("compiled");
+        tb.add("name", String.class);
+        tb.add("count", Integer.class);
+        tb.add("big", Long.class);
+        tb.add("value", Double.class);
+        tb.add("date", Date.class);
+        tb.add("geom", Point.class);
+        schema = tb.buildFeatureType();
+
+        GeometryFactory gf = new GeometryFactory();
+        Object[][] values = {
+            {"abc", 10, 10L, 10d, new Date(1000), new Coordinate(0, 0)},
+            {"ABC", 5, -3L, 10.5, new Date(2000), new Coordinate(1, 1)},
+            {"10", 15, 15L, -0d, new Date(3000), new Coordinate(2, 2)},
+            {"10.0", -1, 0L, 0d, null, new Coordinate(3, 3)},
+            {"", 0, Long.MAX_VALUE, Double.NaN, new Date(0), new Coordinate(4, 4)},
+            {"9", 20, 20L, 20d, new Date(1000), new Coordinate(5, 5)},
+            {null, null, null, null, null, null}
+        };
+        features = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            Object[] v = values[i].clone();
+            if (v[5] != null) {
+                v[5] = gf.createPoint((Coordinate) v[5]);
+            }
+            features.add(SimpleFeatureBuilder.build(schema, v, "f" + i));
+        }
+        // values not matching the declared bindings, forcing the fallback to the original nodes
+        features.add(
+                new SimpleFeatureImpl(
+                        new Object[] {10, "10", null, 10, "1970-01-01T00:00:01Z", null},
+                        schema,
+                        new FeatureIdImpl("mismatched"),
+                        false));
+        // multi valued attributes
+        features.add(
+                new SimpleFeatureImpl(
+                        new Object[] {
+                            new String[] {"abc", "def"},
+                            Arrays.asList(5, 10),
+                            null,
+                            null,
+                            null,
+                            null
+                        },
+                        schema,
+                        new FeatureIdImpl("multi"),
+                        false));
+    }
+
+    private List<Object> literals() {
+        return Arrays.asList(
+                10,
+                10L,
+                10d,
+                10.5,
+                -0d,
+                Double.NaN,
+                "10",
+                "10.0",
+                "abc",
+                "ABC",
+                "",
+                new Date(1000),
+                "1970-01-01T00:00:01Z",
+                null);
+    }
+
+    private List<Filter> comparisons(Expression e1, Expression e2) {
+        return Arrays.asList(
+                FF.equal(e1, e2, true),
+                FF.equal(e1, e2, false),
+                FF.notEqual(e1, e2, true),
+                FF.notEqual(e1, e2, false),
+                FF.less(e1, e2),
+                FF.lessOrEqual(e1, e2),
+                FF.greater(e1, e2),
+                FF.greaterOrEqual(e1, e2));
+    }
+
+    /** Checks the compiled filter gives the same results as the original, on all features */
+    private void assertSameResults(Filter filter) {
+        Filter compiled = FilterCompiler.compile(filter, schema);
+        for (SimpleFeature feature : features) {
+            boolean expected;
+            try {
+                expected = filter.evaluate(feature);
+            } catch (RuntimeException e) {
+                // the compiled filter must fail too, but the exception type is not important
+                boolean failed = false;
+                try {
+                    compiled.evaluate(feature);
+                } catch (RuntimeException e2) {
+                    failed = true;
+                }
+                assertTrue("Expected failure on " + filter + " with " + feature, failed);
+                continue;
+            }
+            assertEquals(
+                    filter + " on " + feature.getID() + " " + Arrays.toString(values(feature)),
+                    expected,
+                    compiled.evaluate(feature));
+        }
+    }
+
+    private Object[] values(SimpleFeature feature) {
+        return feature.getAttributes().toArray();
+    }
+
+    @Test
+    public void testComparisons() {
+        for (String name : Arrays.asList("name", "count", "big", "value", "date")) {
+            for (Object literal : literals()) {
+                for (Filter f : comparisons(FF.property(name), FF.literal(literal))) {
+                    assertSameResults(f);
+                }
+                for (Filter f : comparisons(FF.literal(literal), FF.property(name))) {
+                    assertSameResults(f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBoundComparisons() {
+        // literals pre-converted to the attribute binding, as the feature readers do
+        BindingFilterVisitor binder = new BindingFilterVisitor(schema);
+        for (String name : Arrays.asList("name", "count", "big", "value", "date")) {
+            for (Object literal : literals()) {
+                for (Filter f : comparisons(FF.property(name), FF.literal(literal))) {
+                    assertSameResults((Filter) f.accept(binder, null));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBetween() {
+        List<Object> literals = literals();
+        for (String name : Arrays.asList("name", "count", "big", "value", "date")) {
+            for (Object lower : literals) {
+                for (Object upper : literals) {
+                    assertSameResults(
+                            FF.between(FF.property(name), FF.literal(lower), FF.literal(upper)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNullAndLogic() {
+        Filter nameNull = FF.isNull(FF.property("name"));
+        Filter countLess = FF.less(FF.property("count"), FF.literal(12));
+        Filter valueEqual = FF.equal(FF.property("value"), FF.literal("10"), true);
+        assertSameResults(nameNull);
+        assertSameResults(FF.not(nameNull));
+        assertSameResults(FF.and(countLess, valueEqual));
+        assertSameResults(FF.or(countLess, FF.not(valueEqual)));
+        assertSameResults(FF.and(Arrays.asList(countLess, Filter.INCLUDE, FF.or(nameNull))));
+        assertSameResults(FF.or(Filter.EXCLUDE, countLess));
+        // mixed with a filter that is not compiled
+        Filter bbox = FF.bbox("geom", 0, 0, 2, 2, null);
+        assertSameResults(FF.and(bbox, countLess));
+        assertSameResults(FF.or(bbox, FF.not(countLess)));
+    }
+
+    @Test
+    public void testNotCompiled() {
+        // nothing to specialize, the original filter is returned
+        Filter bbox = FF.bbox("geom", 0, 0, 2, 2, null);
+        assertSame(bbox, FilterCompiler.compile(bbox, schema));
+        Filter missing = FF.equal(FF.property("missing"), FF.literal(1), true);
+        assertSame(missing, FilterCompiler.compile(missing, schema));
+        Filter function =
+                FF.equal(FF.function("strToUpperCase", FF.property("name")), FF.literal("ABC"));
+        assertSame(function, FilterCompiler.compile(function, schema));
+        assertSame(Filter.INCLUDE, FilterCompiler.compile(Filter.INCLUDE, schema));
+        assertSame(Filter.EXCLUDE, FilterCompiler.compile(Filter.EXCLUDE, schema));
+        assertSame(null, FilterCompiler.compile(null, schema));
+    }
+
+    @Test
+    public void testCompiledDelegates() throws Exception {
+        Filter filter = FF.equal(FF.property("count"), FF.literal(10), true);
+        Filter compiled = FilterCompiler.compile(filter, schema);
+        assertTrue(compiled instanceof FilterCompiler.CompiledFilter);
+        assertSame(filter, ((FilterCompiler.CompiledFilter) compiled).getFilter());
+        assertEquals(filter, compiled);
+        assertEquals(filter.hashCode(), compiled.hashCode());
+        assertEquals(filter.toString(), compiled.toString());
+        // compiling twice is a no-op
+        assertSame(compiled, FilterCompiler.compile(compiled, schema));
+
+        // features of a different type are evaluated by the original filter
+        SimpleFeatureType other = DataUtilities.createType("other", "count:Integer");
+        SimpleFeature feature = SimpleFeatureBuilder.build(other, new Object[] {10}, null);
+        assertTrue(compiled.evaluate(feature));
+        feature.setAttribute("count", 11);
+        assertFalse(compiled.evaluate(feature));
+
+        // visitors see the original filter
+        FilterAttributeExtractor extractor = new FilterAttributeExtractor();
+        compiled.accept(extractor, null);
+        assertEquals(1, extractor.getAttributeNameSet().size());
+        assertTrue(extractor.getAttributeNameSet().contains("count"));
+    }
+
+    @Test
+    public void testFilteringReader() throws Exception {
+        Filter filter =
+                FF.and(
+                        FF.greater(FF.property("count"), FF.literal("4")),
+                        FF.notEqual(FF.property("name"), FF.literal("abc"), false));
+        List<String> actual = new ArrayList<>();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                new FilteringFeatureReader<>(DataUtilities.reader(features), filter)) {
+            while (reader.hasNext()) {
+                actual.add(reader.next().getID());
+            }
+        }
+        assertEquals(Arrays.asList("f2", "f5", "mismatched", "multi"), actual);
+    }
+}
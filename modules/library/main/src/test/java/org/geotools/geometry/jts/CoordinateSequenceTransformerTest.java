@@ -36,6 +36,7 @@
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.CoordinateSequenceFactory;
 import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
 
 /**
  * Tests the {@link DefaultCoordinateSequenceTransformer} implementation.
@@ -124,6 +125,43 @@ public void testLiteToStandard() throws Exception {
         assertEquals(reference.getOrdinate(0, 1), transformed.getOrdinate(0, 1), 0.0);
     }
 
+    /** Tests the transformation of packed sequences, which are given to the transform in bulk. */
+    @Test
+    public void testTransformPacked() throws Exception {
+        CoordinateReferenceSystem sourceCrs = CRS.parseWKT(JTSTest.UTM_ZONE_10N);
+        MathTransform tx = CRS.findMathTransform(sourceCrs, DefaultGeographicCRS.WGS84, true);
+        final Random random = new Random(546757437746704345L);
+        final double[] ordinates = new double[2 * 5000];
+        for (int i = 0; i < ordinates.length; i += 2) {
+            ordinates[i] = 400000 + 200000 * random.nextDouble();
+            ordinates[i + 1] = 4000000 + 1000000 * random.nextDouble();
+        }
+        final CoordinateSequence reference =
+                new DefaultCoordinateSequenceTransformer()
+                        .transform(csFactory.create(new LiteCoordinateSequence(ordinates)), tx);
+
+        final PackedCoordinateSequenceFactory packedFactory =
+                PackedCoordinateSequenceFactory.DOUBLE_FACTORY;
+        final CoordinateSequence packed = packedFactory.create(ordinates, 2);
+        final CoordinateSequence transformed =
+                new DefaultCoordinateSequenceTransformer(packedFactory).transform(packed, tx);
+        assertEquals(packed.size(), transformed.size());
+        for (int i = 0; i < packed.size(); i++) {
+            assertEquals(reference.getX(i), transformed.getX(i), 0.0);
+            assertEquals(reference.getY(i), transformed.getY(i), 0.0);
+        }
+
+        final LiteCoordinateSequence lite = new LiteCoordinateSequence(ordinates.clone());
+        final CoordinateSequence liteTransformed =
+                new DefaultCoordinateSequenceTransformer(new LiteCoordinateSequenceFactory())
+                        .transform(lite, tx);
+        assertEquals(ordinates[0], lite.getX(0), 0.0);
+        for (int i = 0; i < lite.size(); i++) {
+            assertEquals(reference.getX(i), liteTransformed.getX(i), 0.0);
+            assertEquals(reference.getY(i), liteTransformed.getY(i), 0.0);
+        }
+    }
+
     /** The following is basically a copy-and-paste of a previous implementation by Andrea Aime. */
     private CoordinateSequence transform(final CoordinateSequence cs, final MathTransform transform)
             throws TransformException {
@@ -0,0 +1,322 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caching implementation for {@link ObjectCache} designed for heavily concurrent read access.
+ *
+ * <p>Lookups never block: values are stored in a {@link ConcurrentHashMap} and a cache hit only
+ * updates the access time of the entry. Up to {@code limit} values are held by strong references;
+ * when more values are cached, the least recently used ones are demoted to {@linkplain
+ * WeakReference weak} (or {@linkplain SoftReference soft}) references, so they are still returned
+ * as long as they are in use somewhere else in the virtual machine. Demotion happens in batches of
+ * a quarter of the limit, so that the cost of finding the least recently used entries is shared by
+ * many insertions. A demoted value that is requested again is promoted back to a strong reference.
+ *
+ * <p>Writers use the usual {@link #writeLock}/{@link #peek}/{@link #put}/{@link #writeUnLock}
+ * protocol, which guarantees that a value is computed once per key while allowing unrelated keys to
+ * be computed in parallel. The cache keeps track of hits, misses and of the number of times a
+ * writer had to wait for a lock held by another thread.
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ * @since 32.0
+ */
+public final class ConcurrentObjectCache<K, V> implements ObjectCache<K, V> {
+    /** Updater used to demote and promote the strong reference of an {@link Entry}. */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Entry, Object> STRONG =
+            AtomicReferenceFieldUpdater.newUpdater(Entry.class, Object.class, "strong");
+
+    /** Orders entries from the most recently used to the least recently used. */
+    private static final Comparator<Entry<?>> MOST_RECENTLY_USED =
+            Comparator.comparingLong((Entry<?> e) -> e.lastAccess).reversed();
+
+    /** An entry in the cache, holding its value by a strong reference until demoted. */
+    static final class Entry<V> {
+        /** The reference used once the value has been demoted. Never {@code null}. */
+        final Reference<V> reference;
+
+        /** The value while it is strongly referenced, or {@code null} if it has been demoted. */
+        volatile V strong;
+
+        /** Last time this entry was used, as given by {@link System#nanoTime}. */
+        volatile long lastAccess;
+
+        Entry(final V value, final boolean soft) {
+            this.reference = soft ? new SoftReference<>(value) : new WeakReference<>(value);
+            this.strong = value;
+            this.lastAccess = System.nanoTime();
+        }
+
+        /** Returns the value, or {@code null} if it has been demoted and garbage collected. */
+        V get() {
+            final V value = strong;
+            return (value != null) ? value : reference.get();
+        }
+    }
+
+    /** The cached values for each key. */
+    private final Map<K, Entry<V>> cache = new ConcurrentHashMap<>();
+
+    /** The locks for keys under construction. Locks are discarded once released. */
+    private final Map<K, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    /** The maximum number of values to hold by strong references. */
+    private final int limit;
+
+    /** The number of strong references left once the least recently used ones are demoted. */
+    private final int target;
+
+    /** {@code true} for demoting values to soft references, {@code false} for weak references. */
+    private final boolean soft;
+
+    /** The number of entries currently holding a strong reference. */
+    private final AtomicInteger strongCount = new AtomicInteger();
+
+    /** Ensures a single thread at a time demotes entries. */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder contentions = new LongAdder();
+
+    /**
+     * Creates a new cache holding at most {@code limit} values by strong references, and the
+     * remaining ones by weak references.
+     *
+     * @param limit The maximum number of values to hold by strong references.
+     */
+    public ConcurrentObjectCache(final int limit) {
+        this(limit, false);
+    }
+
+    /**
+     * Creates a new cache holding at most {@code limit} values by strong references.
+     *
+     * @param limit The maximum number of values to hold by strong references.
+     * @param soft {@code true} for holding the remaining values by soft references, {@code false}
+     *     for weak references.
+     */
+    public ConcurrentObjectCache(final int limit, final boolean soft) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Negative limit: " + limit);
+        }
+        this.limit = limit;
+        this.target = limit - limit / 4;
+        this.soft = soft;
+    }
+
+    /** Removes all entries from this cache. Locks currently held are not affected. */
+    @Override
+    public void clear() {
+        for (final K key : cache.keySet()) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Returns the object from the cache, or {@code null} if none. This method never blocks. A value
+     * that was demoted to a weak or soft reference is promoted back to a strong reference.
+     */
+    @Override
+    public V get(final K key) {
+        final Entry<V> entry = cache.get(key);
+        if (entry != null) {
+            V value = entry.strong;
+            if (value == null) {
+                value = entry.reference.get();
+                if (value == null) {
+                    cache.remove(key, entry);
+                    misses.increment();
+                    return null;
+                }
+                if (STRONG.compareAndSet(entry, null, value)) {
+                    strongCount.incrementAndGet();
+                    evict();
+                }
+            }
+            entry.lastAccess = System.nanoTime();
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns the object from the cache without updating its access time nor the statistics. This
+     * method is typically invoked while holding the {@linkplain #writeLock write lock}.
+     */
+    @Override
+    public V peek(final K key) {
+        final Entry<V> entry = cache.get(key);
+        return (entry != null) ? entry.get() : null;
+    }
+
+    /** Stores a value. A {@code null} value removes the entry. */
+    @Override
+    public void put(final K key, final V object) {
+        if (object == null) {
+            remove(key);
+            return;
+        }
+        final Entry<V> entry = new Entry<>(object, soft);
+        strongCount.incrementAndGet();
+        demote(cache.put(key, entry));
+        evict();
+    }
+
+    /** Removes the given key from the cache. */
+    @Override
+    public void remove(final K key) {
+        demote(cache.remove(key));
+    }
+
+    /** Returns a copy of the keys currently in the cache. */
+    @Override
+    public Set<K> getKeys() {
+        return new HashSet<>(cache.keySet());
+    }
+
+    /**
+     * Acquires the write lock for the given key, blocking if another thread is computing the value
+     * for the same key.
+     */
+    @Override
+    public void writeLock(final K key) {
+        for (; ; ) {
+            final ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+            if (!lock.tryLock()) {
+                contentions.increment();
+                lock.lock();
+            }
+            // The lock may have been discarded by writeUnLock between the two lines above.
+            if (locks.get(key) == lock) {
+                return;
+            }
+            lock.unlock();
+        }
+    }
+
+    /** Releases the write lock for the given key. */
+    @Override
+    public void writeUnLock(final K key) {
+        final ReentrantLock lock = locks.get(key);
+        if (lock == null || !lock.isHeldByCurrentThread()) {
+            throw new IllegalMonitorStateException("Cannot unlock prior to locking");
+        }
+        if (lock.getHoldCount() == 1 && !lock.hasQueuedThreads()) {
+            locks.remove(key, lock);
+        }
+        lock.unlock();
+    }
+
+    /** Returns the number of {@link #get} invocations that found a value. */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /** Returns the number of {@link #get} invocations that did not find a value. */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /** Returns the number of times a writer had to wait for a lock held by another thread. */
+    public long getContentionCount() {
+        return contentions.sum();
+    }
+
+    /** Returns a string representation of the cache statistics, for debugging purpose. */
+    @Override
+    public String toString() {
+        return "ConcurrentObjectCache[size="
+                + cache.size()
+                + ", strong="
+                + strongCount.get()
+                + ", hits="
+                + getHitCount()
+                + ", misses="
+                + getMissCount()
+                + ", contentions="
+                + getContentionCount()
+                + ']';
+    }
+
+    /** Releases the strong reference of the given entry, if any. */
+    private void demote(final Entry<V> entry) {
+        if (entry != null) {
+            final Object value = entry.strong;
+            if (value != null && STRONG.compareAndSet(entry, value, null)) {
+                strongCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Demotes the least recently used entries if there is more strong references than the limit,
+     * down to three quarters of the limit. Only one thread performs this work at a time; the others
+     * continue without waiting. Entries whose value has been garbage collected are removed during
+     * the same pass.
+     */
+    private void evict() {
+        if (strongCount.get() <= limit || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            final int toDemote = strongCount.get() - target;
+            if (toDemote <= 0) {
+                return;
+            }
+            // keeps the least recently used entries, the most recent one being at the head
+            final PriorityQueue<Entry<V>> candidates =
+                    new PriorityQueue<>(toDemote + 1, MOST_RECENTLY_USED);
+            for (final Map.Entry<K, Entry<V>> e : cache.entrySet()) {
+                final Entry<V> entry = e.getValue();
+                if (entry.strong != null) {
+                    candidates.add(entry);
+                    if (candidates.size() > toDemote) {
+                        candidates.poll();
+                    }
+                } else if (entry.reference.get() == null) {
+                    cache.remove(e.getKey(), entry);
+                }
+            }
+            for (final Entry<V> entry : candidates) {
+                demote(entry);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
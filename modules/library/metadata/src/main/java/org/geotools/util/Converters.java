@@ -16,10 +16,15 @@
  */
 package org.geotools.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.util.factory.FactoryCreator;
@@ -41,6 +46,15 @@ public final class Converters {
     /** Cached list of converter factories */
     static volatile ConverterFactory[] factories;
 
+    /**
+     * The converters resolved for a (source class, target class, hints) triplet, in the order they
+     * shall be tried. An empty array means that no factory can convert between the two classes.
+     */
+    private static final Map<ConverterKey, Converter[]> CONVERTERS = new ConcurrentHashMap<>();
+
+    /** Maximal number of entries in {@link #CONVERTERS} before the cache is cleared. */
+    private static final int CACHE_LIMIT = 1000;
+
     /** The service registry for this manager. Will be initialized only when first needed. */
     private static volatile FactoryRegistry registry;
 
@@ -143,27 +157,69 @@ public static <T> T convert(Object source, Class<T> target, Hints hints) {
             return target.cast(source);
         }
 
-        for (ConverterFactory factory : factories()) {
-            Converter converter = factory.createConverter(sourceClass, target, hints);
-            if (converter != null) {
-                try {
-                    T converted = converter.convert(source, target);
-                    if (converted != null) {
-                        return converted;
-                    }
-                } catch (Exception e) {
-                    if (LOGGER.isLoggable(Level.FINER))
-                        LOGGER.log(
-                                Level.FINER,
-                                "Error applying the converter "
-                                        + converter.getClass()
-                                        + " on ("
-                                        + source
-                                        + ","
-                                        + target
-                                        + ")",
-                                e);
+        return applyConverters(source, target, converters(sourceClass, target, hints));
+    }
+
+    /**
+     * Returns a reusable converter from the given source class to the given target class. The
+     * converter factories are queried only once, so this method should be preferred over {@link
+     * #convert(Object, Class, Hints)} when many values of the same class need to be converted.
+     *
+     * <p>The returned converter follows the same rules than {@link #convert(Object, Class, Hints)}:
+     * {@code null} values are returned unchanged, values already instances of the target class are
+     * returned as is, and the converters are tried in turn until one of them succeeds. Values of a
+     * class other than {@code source}, or conversions to a class other than {@code target}, are
+     * delegated to {@link #convert(Object, Class, Hints)}.
+     *
+     * @param source The class of the objects to convert.
+     * @param target The type of the converted values.
+     * @param hints Any hints for the converter factories.
+     * @return A converter from {@code source} to {@code target}, never {@code null}. Its result is
+     *     {@code null} for values that can not be converted.
+     * @since 32.0
+     */
+    public static Converter getConverter(
+            final Class<?> source, final Class<?> target, final Hints hints) {
+        final Converter[] converters =
+                target.isAssignableFrom(source) ? null : converters(source, target, hints);
+        return new Converter() {
+            @Override
+            public <T> T convert(final Object value, final Class<T> type) {
+                if (value == null) {
+                    return null;
+                }
+                if (type != target || value.getClass() != source) {
+                    return Converters.convert(value, type, hints);
+                }
+                if (converters == null) {
+                    return type.cast(value);
+                }
+                return applyConverters(value, type, converters);
+            }
+        };
+    }
+
+    /** Tries the given converters in turn, then the final fallbacks. */
+    private static <T> T applyConverters(
+            final Object source, final Class<T> target, final Converter[] converters) {
+        for (Converter converter : converters) {
+            try {
+                T converted = converter.convert(source, target);
+                if (converted != null) {
+                    return converted;
                 }
+            } catch (Exception e) {
+                if (LOGGER.isLoggable(Level.FINER))
+                    LOGGER.log(
+                            Level.FINER,
+                            "Error applying the converter "
+                                    + converter.getClass()
+                                    + " on ("
+                                    + source
+                                    + ","
+                                    + target
+                                    + ")",
+                            e);
             }
         }
 
@@ -174,6 +230,64 @@ public static <T> T convert(Object source, Class<T> target, Hints hints) {
         return null;
     }
 
+    /**
+     * Returns the converters created by the factories for the given classes and hints, in the order
+     * they shall be tried. The result is cached, including when no factory can handle the
+     * conversion.
+     */
+    private static Converter[] converters(
+            final Class<?> source, final Class<?> target, final Hints hints) {
+        Converter[] converters = CONVERTERS.get(new ConverterKey(source, target, hints));
+        if (converters == null) {
+            final List<Converter> list = new ArrayList<>();
+            for (ConverterFactory factory : factories()) {
+                Converter converter = factory.createConverter(source, target, hints);
+                if (converter != null) {
+                    list.add(converter);
+                }
+            }
+            converters = list.toArray(new Converter[list.size()]);
+            if (CONVERTERS.size() >= CACHE_LIMIT) {
+                CONVERTERS.clear();
+            }
+            // Hints are mutable, so the key keeps a copy of them.
+            final Hints copy = (hints != null) ? new Hints(hints) : null;
+            CONVERTERS.put(new ConverterKey(source, target, copy), converters);
+        }
+        return converters;
+    }
+
+    /** Key of the {@link #CONVERTERS} cache. */
+    private static final class ConverterKey {
+        private final Class<?> source;
+        private final Class<?> target;
+        private final Hints hints;
+        private final int hashCode;
+
+        ConverterKey(final Class<?> source, final Class<?> target, final Hints hints) {
+            this.source = source;
+            this.target = target;
+            this.hints = hints;
+            this.hashCode = Objects.hash(source, target, hints);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (object instanceof ConverterKey) {
+                final ConverterKey that = (ConverterKey) object;
+                return source == that.source
+                        && target == that.target
+                        && Objects.equals(hints, that.hints);
+            }
+            return false;
+        }
+    }
+
     /**
      * Processed the {@link ConverterFactory} extension point.
      *
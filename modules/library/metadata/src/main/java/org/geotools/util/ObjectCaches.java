@@ -190,7 +190,7 @@ public static <K, V> ObjectCache<K, V> create(Hints hints) throws FactoryRegistr
     /**
      * Utility method used to produce an ObjectCache.
      *
-     * @param policy One of "weak", "all", "none", "soft"
+     * @param policy One of "weak", "all", "none", "soft", "fixed", "concurrent"
      * @param size Used to indicate requested size, exact use depends on policy
      * @return A new ObjectCache
      * @see Hints.BUFFER_POLICY
@@ -208,6 +208,8 @@ public static <K, V> ObjectCache<K, V> create(String policy, int size) {
             return new FixedSizeObjectCache<>(size);
         } else if ("soft".equals(policy)) {
             return new SoftObjectCache<>(size);
+        } else if ("concurrent".equalsIgnoreCase(policy)) {
+            return new ConcurrentObjectCache<>(size);
         } else {
             return new DefaultObjectCache<>(size);
         }
@@ -573,6 +573,15 @@ public class Hints extends RenderingHints {
      */
     public static final Key MAX_MEMORY_SORT = new Key(Integer.class);
 
+    /**
+     * Key to control the number of threads used by the fallback merge-sort when the features do not
+     * fit in memory (see {@link #MAX_MEMORY_SORT}). With a value greater than one the sorted runs
+     * are built and written concurrently, and read back ahead of time while merging.
+     *
+     * @since 32.0
+     */
+    public static final Key SORT_PARALLELISM = new Key(Integer.class);
+
     /**
      * Asks a datastore having a vector pyramid (pre-generalized geometries) to return the geometry
      * version whose points have been generalized less than the specified distance (further
@@ -839,12 +848,15 @@ public class Hints extends RenderingHints {
      *       <li>{@code "all"} for holding values through strong references.</li> <li>{@code "none"}
      *       for disabling the cache.</li> <li>{@code "soft"} for holding the value
      *       throuhg(@linkplain java.lang.ref.SoftReference soft references}.
+     *   <li>{@code "concurrent"} for non-blocking lookups, holding up to {@link #CACHE_LIMIT}
+     *       values through strong references and the least recently used ones through weak
+     *       references.
      * </ul>
      *
      * @since 2.5
      */
     public static final OptionKey CACHE_POLICY =
-            new OptionKey("weak", "all", "fixed", "none", "default", "soft");
+            new OptionKey("weak", "all", "fixed", "none", "default", "soft", "concurrent");
 
     /**
      * The recommended maximum number of referencing objects to hold in a {@linkplain
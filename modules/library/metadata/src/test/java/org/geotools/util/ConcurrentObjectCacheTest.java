@@ -0,0 +1,158 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/** Tests the {@link ConcurrentObjectCache}. */
+public class ConcurrentObjectCacheTest {
+
+    @Test
+    public void testSimple() {
+        ConcurrentObjectCache<Integer, String> cache = new ConcurrentObjectCache<>(10);
+        assertNull(cache.get(1));
+
+        cache.writeLock(1);
+        cache.put(1, "value 1");
+        cache.writeUnLock(1);
+        assertEquals("value 1", cache.get(1));
+        assertNull(cache.get(2));
+
+        assertEquals(1, cache.getKeys().size());
+        assertEquals(Integer.valueOf(1), cache.getKeys().iterator().next());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+
+        cache.remove(1);
+        assertNull(cache.peek(1));
+        assertTrue(cache.getKeys().isEmpty());
+    }
+
+    @Test
+    public void testCreateFromPolicy() {
+        ObjectCache<Object, Object> cache = ObjectCaches.create("concurrent", 50);
+        assertTrue(cache instanceof ConcurrentObjectCache);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDemoted() throws Exception {
+        ConcurrentObjectCache<Integer, Object> cache = new ConcurrentObjectCache<>(2);
+        Object first = new Object();
+        cache.put(1, first);
+        Thread.sleep(1);
+        Object second = new Object();
+        cache.put(2, second);
+        Thread.sleep(1);
+        // touch the first entry, so that the second one becomes the least recently used
+        assertSame(first, cache.get(1));
+        Thread.sleep(1);
+        cache.put(3, new Object());
+        assertTrue(cache.toString(), cache.toString().contains("strong=2"));
+
+        // the demoted value is still returned while in use elsewhere, and promoted again
+        assertSame(second, cache.get(2));
+        assertTrue(cache.toString(), cache.toString().contains("strong=2"));
+        assertEquals(3, cache.getKeys().size());
+    }
+
+    @Test
+    public void testBatchDemotion() throws Exception {
+        ConcurrentObjectCache<Integer, Object> cache = new ConcurrentObjectCache<>(8);
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            values.add(new Object());
+            cache.put(i, values.get(i));
+            Thread.sleep(1);
+        }
+        assertTrue(cache.toString(), cache.toString().contains("strong=8"));
+
+        // going past the limit demotes a quarter of it at once, the least recently used first
+        values.add(new Object());
+        cache.put(8, values.get(8));
+        assertTrue(cache.toString(), cache.toString().contains("strong=6"));
+        for (int i = 0; i < 9; i++) {
+            assertSame(values.get(i), cache.peek(i));
+        }
+
+        // the next insertions do not demote anything until the limit is exceeded again
+        cache.put(9, new Object());
+        cache.put(10, new Object());
+        assertTrue(cache.toString(), cache.toString().contains("strong=8"));
+    }
+
+    @Test
+    public void testComputedOnce() throws Exception {
+        final ConcurrentObjectCache<String, Object> cache = new ConcurrentObjectCache<>(10);
+        final AtomicInteger created = new AtomicInteger();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    start.await();
+                                    Object value = cache.get("key");
+                                    if (value == null) {
+                                        try {
+                                            cache.writeLock("key");
+                                            value = cache.peek("key");
+                                            if (value == null) {
+                                                Thread.sleep(50);
+                                                created.incrementAndGet();
+                                                value = new Object();
+                                                cache.put("key", value);
+                                            }
+                                        } finally {
+                                            cache.writeUnLock("key");
+                                        }
+                                    }
+                                    return value;
+                                }));
+            }
+            start.countDown();
+            Object expected = futures.get(0).get();
+            for (Future<Object> future : futures) {
+                assertSame(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        assertEquals(1, created.get());
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void testUnlockWithoutLock() {
+        new ConcurrentObjectCache<String, String>(10).writeUnLock("key");
+    }
+}
@@ -22,8 +22,10 @@
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
@@ -79,6 +81,7 @@
 import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.geotools.referencing.cs.DefaultCoordinateSystemAxis;
 import org.geotools.referencing.cs.DefaultEllipsoidalCS;
+import org.geotools.referencing.datum.DefaultGeodeticDatum;
 import org.geotools.referencing.factory.AbstractAuthorityFactory;
 import org.geotools.referencing.factory.IdentifiedObjectFinder;
 import org.geotools.referencing.operation.AbstractCoordinateOperation;
@@ -90,9 +93,10 @@
 import org.geotools.referencing.operation.transform.IdentityTransform;
 import org.geotools.referencing.util.CRSUtilities;
 import org.geotools.referencing.wkt.Formattable;
+import org.geotools.util.ConcurrentObjectCache;
 import org.geotools.util.GenericName;
-import org.geotools.util.SoftValueHashMap;
 import org.geotools.util.UnsupportedImplementationException;
+import org.geotools.util.Utilities;
 import org.geotools.util.Version;
 import org.geotools.util.factory.Factory;
 import org.geotools.util.factory.FactoryNotFoundException;
@@ -172,16 +176,38 @@ public static enum AxisOrder {
     /** A factory for default lenient operations. */
     private static volatile CoordinateOperationFactory lenientFactory;
 
+    /** The number of coordinate reference systems to keep by strong references in each cache. */
+    private static final int CACHE_HARD_REFERENCES = 20;
+
+    /*
+     * The caches below never block on lookups. They do not lock on misses either: two threads
+     * decoding the same code at the same time both ask the authority factory, which caches the
+     * result itself, so the same instance is returned to both.
+     */
+
     /** A cache for coordinate reference systems in the default axis order */
-    private static SoftValueHashMap<String, CoordinateReferenceSystem> defaultCache =
-            new SoftValueHashMap<>();
+    private static final ConcurrentObjectCache<String, CoordinateReferenceSystem> defaultCache =
+            new ConcurrentObjectCache<>(CACHE_HARD_REFERENCES, true);
 
     /** A cache for the coordinate reference systems in the xy (east/north) axis order */
-    private static SoftValueHashMap<String, CoordinateReferenceSystem> xyCache =
-            new SoftValueHashMap<>();
+    private static final ConcurrentObjectCache<String, CoordinateReferenceSystem> xyCache =
+            new ConcurrentObjectCache<>(CACHE_HARD_REFERENCES, true);
+
+    /** A cache for the coordinate reference systems parsed from WKT */
+    private static final ConcurrentObjectCache<String, CoordinateReferenceSystem> wktCache =
+            new ConcurrentObjectCache<>(CACHE_HARD_REFERENCES, true);
+
+    /** The number of math transforms to keep by strong references. */
+    private static final int TRANSFORM_CACHE_HARD_REFERENCES = 100;
 
-    private static SoftValueHashMap<String, CoordinateReferenceSystem> wktCache =
-            new SoftValueHashMap<>();
+    /**
+     * A cache for the math transforms returned by {@link
+     * #findMathTransform(CoordinateReferenceSystem, CoordinateReferenceSystem, boolean)}. The
+     * transforms depend on the coordinate operation factories, so this cache is cleared every time
+     * those factories are reset.
+     */
+    private static final ConcurrentObjectCache<TransformKey, MathTransform> transformCache =
+            new ConcurrentObjectCache<>(TRANSFORM_CACHE_HARD_REFERENCES, true);
 
     /** Registers a listener automatically invoked when the system-wide configuration changed. */
     static {
@@ -197,6 +223,7 @@ public void stateChanged(ChangeEvent e) {
                             xyCache.clear();
                             wktCache.clear();
                             defaultCache.clear();
+                            transformCache.clear();
                         }
                     }
                 });
@@ -1325,8 +1352,126 @@ public static MathTransform findMathTransform(
             // engine.
             return IdentityTransform.create(sourceCRS.getCoordinateSystem().getDimension());
         }
-        CoordinateOperationFactory operationFactory = getCoordinateOperationFactory(lenient);
-        return operationFactory.createOperation(sourceCRS, targetCRS).getMathTransform();
+        final TransformKey key = new TransformKey(sourceCRS, targetCRS, lenient);
+        MathTransform transform = transformCache.get(key);
+        if (transform == null) {
+            CoordinateOperationFactory operationFactory = getCoordinateOperationFactory(lenient);
+            transform = operationFactory.createOperation(sourceCRS, targetCRS).getMathTransform();
+            transformCache.put(key, transform);
+        }
+        return transform;
+    }
+
+    /**
+     * Computes the math transforms between every pair of the given coordinate reference system
+     * codes, so that later calls to {@link #findMathTransform(CoordinateReferenceSystem,
+     * CoordinateReferenceSystem, boolean) findMathTransform} for those pairs are served from the
+     * cache. This method is typically invoked at application startup with the most frequently used
+     * codes, for example {@code prewarmMathTransforms(true, "EPSG:4326", "EPSG:3857")}.
+     *
+     * @param lenient {@code true} if the math transforms should be created even when there is no
+     *     information available for a datum shift.
+     * @param codes The coordinate reference system codes, decoded with {@link #decode(String)}.
+     * @throws FactoryException if a code can not be decoded, or a transform can not be created.
+     * @since 32.0
+     */
+    public static void prewarmMathTransforms(final boolean lenient, final String... codes)
+            throws FactoryException {
+        final CoordinateReferenceSystem[] crs = new CoordinateReferenceSystem[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            crs[i] = decode(codes[i]);
+        }
+        for (final CoordinateReferenceSystem source : crs) {
+            for (final CoordinateReferenceSystem target : crs) {
+                if (source != target) {
+                    findMathTransform(source, target, lenient);
+                }
+            }
+        }
+    }
+
+    /**
+     * Key for the {@linkplain #transformCache math transforms cache}. Coordinate reference systems
+     * are compared {@linkplain #equalsIgnoreMetadata ignoring metadata}, except for the metadata
+     * that may change the transform: the identifiers (used for looking up operations in authority
+     * databases) and the Bursa-Wolf parameters of geodetic datums.
+     */
+    private static final class TransformKey {
+        /** The source and target CRS. */
+        private final CoordinateReferenceSystem sourceCRS, targetCRS;
+
+        /** Whether the transform tolerates lenient datum shifts. */
+        private final boolean lenient;
+
+        /** The hash code value, computed once for ever at construction time. */
+        private final int hash;
+
+        TransformKey(
+                final CoordinateReferenceSystem sourceCRS,
+                final CoordinateReferenceSystem targetCRS,
+                final boolean lenient) {
+            this.sourceCRS = sourceCRS;
+            this.targetCRS = targetCRS;
+            this.lenient = lenient;
+            // Geotools hash codes ignore metadata, consistently with equalsIgnoreMetadata.
+            this.hash = (37 * sourceCRS.hashCode() + targetCRS.hashCode()) ^ (lenient ? 1 : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (object instanceof TransformKey) {
+                final TransformKey that = (TransformKey) object;
+                return this.lenient == that.lenient
+                        && this.hash == that.hash
+                        && sameTransformInputs(this.sourceCRS, that.sourceCRS)
+                        && sameTransformInputs(this.targetCRS, that.targetCRS);
+            }
+            return false;
+        }
+
+        /** Returns {@code true} if the two CRS would give the same transforms. */
+        private static boolean sameTransformInputs(
+                final CoordinateReferenceSystem crs1, final CoordinateReferenceSystem crs2) {
+            if (crs1 == crs2) {
+                return true;
+            }
+            if (!equalsIgnoreMetadata(crs1, crs2)
+                    || !Utilities.equals(crs1.getIdentifiers(), crs2.getIdentifiers())) {
+                return false;
+            }
+            if (crs1 instanceof CompoundCRS && crs2 instanceof CompoundCRS) {
+                final List<CoordinateReferenceSystem> components1 =
+                        ((CompoundCRS) crs1).getCoordinateReferenceSystems();
+                final List<CoordinateReferenceSystem> components2 =
+                        ((CompoundCRS) crs2).getCoordinateReferenceSystems();
+                if (components1.size() != components2.size()) {
+                    return false;
+                }
+                for (int i = 0; i < components1.size(); i++) {
+                    if (!sameTransformInputs(components1.get(i), components2.get(i))) {
+                        return false;
+                    }
+                }
+            } else if (crs1 instanceof SingleCRS && crs2 instanceof SingleCRS) {
+                final Datum datum1 = ((SingleCRS) crs1).getDatum();
+                final Datum datum2 = ((SingleCRS) crs2).getDatum();
+                if (datum1 instanceof DefaultGeodeticDatum
+                        && datum2 instanceof DefaultGeodeticDatum) {
+                    return Arrays.equals(
+                            ((DefaultGeodeticDatum) datum1).getBursaWolfParameters(),
+                            ((DefaultGeodeticDatum) datum2).getBursaWolfParameters());
+                }
+            }
+            return true;
+        }
     }
 
     /**
@@ -1739,6 +1884,7 @@ public static void reset(final String aspects) {
         }
         xyCache.clear();
         defaultCache.clear();
+        transformCache.clear();
         FORCED_LON_LAT = null;
         defaultFactory = null;
         xyFactory = null;
@@ -19,15 +19,13 @@
  */
 package org.geotools.referencing.factory;
 
-import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import javax.measure.Unit;
@@ -75,6 +73,7 @@
 import org.geotools.metadata.i18n.ErrorKeys;
 import org.geotools.metadata.i18n.LoggingKeys;
 import org.geotools.metadata.i18n.Loggings;
+import org.geotools.util.ConcurrentObjectCache;
 import org.geotools.util.Utilities;
 import org.geotools.util.factory.BufferedFactory;
 import org.geotools.util.factory.Hints;
@@ -87,17 +86,22 @@
  * result is cached in this buffered factory.
  *
  * <p>Objects are cached by strong references, up to the amount of objects specified at construction
- * time. If a greater amount of objects are cached, the oldest ones will be retained through a
- * {@linkplain WeakReference weak reference} instead of a strong one. This means that this buffered
- * factory will continue to returns them as long as they are in use somewhere else in the Java
- * virtual machine, but will be discarted (and recreated on the fly if needed) otherwise.
+ * time. If a greater amount of objects are cached, the least recently used ones will be retained
+ * through a {@linkplain WeakReference weak reference} instead of a strong one. This means that this
+ * buffered factory will continue to returns them as long as they are in use somewhere else in the
+ * Java virtual machine, but will be discarted (and recreated on the fly if needed) otherwise.
+ *
+ * <p>Cached objects are returned without locking, so concurrent lookups of the same codes do not
+ * contend with each other. The numbers of cache hits, misses and contended misses are available
+ * through {@link #getCacheHitCount}, {@link #getCacheMissCount} and {@link
+ * #getCacheContentionCount}.
  *
  * @since 2.1
  * @version $Id$
  * @author Martin Desruisseaux (IRD)
  */
 public class BufferedAuthorityFactory extends AbstractAuthorityFactory implements BufferedFactory {
-    /** The default value for {@link #maxStrongReferences}. */
+    /** The default value for the maximum number of objects to keep by strong reference. */
     static final int DEFAULT_MAX = 20;
 
     /**
@@ -111,14 +115,15 @@ public class BufferedAuthorityFactory extends AbstractAuthorityFactory implement
      */
     volatile AbstractAuthorityFactory backingStore;
 
-    /** The pool of cached objects. */
-    private final LinkedHashMap<Object, Object> pool = new LinkedHashMap<>(32, 0.75f, true);
-
     /**
-     * The maximum number of objects to keep by strong reference. If a greater amount of objects are
-     * created, then the strong references for the oldest ones are replaced by weak references.
+     * The pool of cached objects. Up to {@code maxStrongReferences} objects are kept by strong
+     * references. If a greater amount of objects are created, then the strong references for the
+     * least recently used ones are replaced by weak references.
      */
-    private final int maxStrongReferences;
+    private final ConcurrentObjectCache<Object, Object> pool;
+
+    /** The number of cache misses resolved by an other thread. */
+    private final LongAdder contentions = new LongAdder();
 
     /** The pool of objects identified by {@link #find}. */
     private final Map<IdentifiedObject, IdentifiedObject> findPool = new WeakHashMap<>();
@@ -157,7 +162,7 @@ protected BufferedAuthorityFactory(
             factory = ((BufferedAuthorityFactory) factory).backingStore;
         }
         this.backingStore = factory;
-        this.maxStrongReferences = maxStrongReferences;
+        this.pool = new ConcurrentObjectCache<>(maxStrongReferences);
         completeHints();
     }
 
@@ -173,7 +178,7 @@ protected BufferedAuthorityFactory(
      */
     BufferedAuthorityFactory(final int priority, final int maxStrongReferences) {
         super(priority);
-        this.maxStrongReferences = maxStrongReferences;
+        this.pool = new ConcurrentObjectCache<>(maxStrongReferences);
         // completeHints() will be invoked by DeferredAuthorityFactory.getBackingStore()
     }
 
@@ -360,17 +365,8 @@ public InternationalString getDescriptionText(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized IdentifiedObject createObject(final String code) throws FactoryException {
-        final IdentifiedObject object;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof IdentifiedObject) {
-            object = (IdentifiedObject) cached;
-        } else {
-            object = getBackingStore().createObject(code);
-        }
-        put(key, object);
-        return object;
+    public IdentifiedObject createObject(final String code) throws FactoryException {
+        return create(IdentifiedObject.class, code, AbstractAuthorityFactory::createObject);
     }
 
     /**
@@ -379,17 +375,8 @@ public synchronized IdentifiedObject createObject(final String code) throws Fact
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized Datum createDatum(final String code) throws FactoryException {
-        final Datum datum;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof Datum) {
-            datum = (Datum) cached;
-        } else {
-            datum = getBackingStore().createDatum(code);
-        }
-        put(key, datum);
-        return datum;
+    public Datum createDatum(final String code) throws FactoryException {
+        return create(Datum.class, code, AbstractAuthorityFactory::createDatum);
     }
 
     /**
@@ -398,18 +385,9 @@ public synchronized Datum createDatum(final String code) throws FactoryException
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized EngineeringDatum createEngineeringDatum(final String code)
-            throws FactoryException {
-        final EngineeringDatum datum;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof EngineeringDatum) {
-            datum = (EngineeringDatum) cached;
-        } else {
-            datum = getBackingStore().createEngineeringDatum(code);
-        }
-        put(key, datum);
-        return datum;
+    public EngineeringDatum createEngineeringDatum(final String code) throws FactoryException {
+        return create(
+                EngineeringDatum.class, code, AbstractAuthorityFactory::createEngineeringDatum);
     }
 
     /**
@@ -418,17 +396,8 @@ public synchronized EngineeringDatum createEngineeringDatum(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized ImageDatum createImageDatum(final String code) throws FactoryException {
-        final ImageDatum datum;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof ImageDatum) {
-            datum = (ImageDatum) cached;
-        } else {
-            datum = getBackingStore().createImageDatum(code);
-        }
-        put(key, datum);
-        return datum;
+    public ImageDatum createImageDatum(final String code) throws FactoryException {
+        return create(ImageDatum.class, code, AbstractAuthorityFactory::createImageDatum);
     }
 
     /**
@@ -437,18 +406,8 @@ public synchronized ImageDatum createImageDatum(final String code) throws Factor
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized VerticalDatum createVerticalDatum(final String code)
-            throws FactoryException {
-        final VerticalDatum datum;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof VerticalDatum) {
-            datum = (VerticalDatum) cached;
-        } else {
-            datum = getBackingStore().createVerticalDatum(code);
-        }
-        put(key, datum);
-        return datum;
+    public VerticalDatum createVerticalDatum(final String code) throws FactoryException {
+        return create(VerticalDatum.class, code, AbstractAuthorityFactory::createVerticalDatum);
     }
 
     /**
@@ -457,18 +416,8 @@ public synchronized VerticalDatum createVerticalDatum(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized TemporalDatum createTemporalDatum(final String code)
-            throws FactoryException {
-        final TemporalDatum datum;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof TemporalDatum) {
-            datum = (TemporalDatum) cached;
-        } else {
-            datum = getBackingStore().createTemporalDatum(code);
-        }
-        put(key, datum);
-        return datum;
+    public TemporalDatum createTemporalDatum(final String code) throws FactoryException {
+        return create(TemporalDatum.class, code, AbstractAuthorityFactory::createTemporalDatum);
     }
 
     /**
@@ -477,18 +426,8 @@ public synchronized TemporalDatum createTemporalDatum(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized GeodeticDatum createGeodeticDatum(final String code)
-            throws FactoryException {
-        final GeodeticDatum datum;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof GeodeticDatum) {
-            datum = (GeodeticDatum) cached;
-        } else {
-            datum = getBackingStore().createGeodeticDatum(code);
-        }
-        put(key, datum);
-        return datum;
+    public GeodeticDatum createGeodeticDatum(final String code) throws FactoryException {
+        return create(GeodeticDatum.class, code, AbstractAuthorityFactory::createGeodeticDatum);
     }
 
     /**
@@ -497,17 +436,8 @@ public synchronized GeodeticDatum createGeodeticDatum(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized Ellipsoid createEllipsoid(final String code) throws FactoryException {
-        final Ellipsoid ellipsoid;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof Ellipsoid) {
-            ellipsoid = (Ellipsoid) cached;
-        } else {
-            ellipsoid = getBackingStore().createEllipsoid(code);
-        }
-        put(key, ellipsoid);
-        return ellipsoid;
+    public Ellipsoid createEllipsoid(final String code) throws FactoryException {
+        return create(Ellipsoid.class, code, AbstractAuthorityFactory::createEllipsoid);
     }
 
     /**
@@ -516,18 +446,8 @@ public synchronized Ellipsoid createEllipsoid(final String code) throws FactoryE
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized PrimeMeridian createPrimeMeridian(final String code)
-            throws FactoryException {
-        final PrimeMeridian meridian;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof PrimeMeridian) {
-            meridian = (PrimeMeridian) cached;
-        } else {
-            meridian = getBackingStore().createPrimeMeridian(code);
-        }
-        put(key, meridian);
-        return meridian;
+    public PrimeMeridian createPrimeMeridian(final String code) throws FactoryException {
+        return create(PrimeMeridian.class, code, AbstractAuthorityFactory::createPrimeMeridian);
     }
 
     /**
@@ -536,17 +456,8 @@ public synchronized PrimeMeridian createPrimeMeridian(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized Extent createExtent(final String code) throws FactoryException {
-        final Extent extent;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof Extent) {
-            extent = (Extent) cached;
-        } else {
-            extent = getBackingStore().createExtent(code);
-        }
-        put(key, extent);
-        return extent;
+    public Extent createExtent(final String code) throws FactoryException {
+        return create(Extent.class, code, AbstractAuthorityFactory::createExtent);
     }
 
     /**
@@ -555,18 +466,9 @@ public synchronized Extent createExtent(final String code) throws FactoryExcepti
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized CoordinateSystem createCoordinateSystem(final String code)
-            throws FactoryException {
-        final CoordinateSystem cs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof CoordinateSystem) {
-            cs = (CoordinateSystem) cached;
-        } else {
-            cs = getBackingStore().createCoordinateSystem(code);
-        }
-        put(key, cs);
-        return cs;
+    public CoordinateSystem createCoordinateSystem(final String code) throws FactoryException {
+        return create(
+                CoordinateSystem.class, code, AbstractAuthorityFactory::createCoordinateSystem);
     }
 
     /**
@@ -575,17 +477,8 @@ public synchronized CoordinateSystem createCoordinateSystem(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized CartesianCS createCartesianCS(final String code) throws FactoryException {
-        final CartesianCS cs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof CartesianCS) {
-            cs = (CartesianCS) cached;
-        } else {
-            cs = getBackingStore().createCartesianCS(code);
-        }
-        put(key, cs);
-        return cs;
+    public CartesianCS createCartesianCS(final String code) throws FactoryException {
+        return create(CartesianCS.class, code, AbstractAuthorityFactory::createCartesianCS);
     }
 
     /**
@@ -594,17 +487,8 @@ public synchronized CartesianCS createCartesianCS(final String code) throws Fact
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized PolarCS createPolarCS(final String code) throws FactoryException {
-        final PolarCS cs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof PolarCS) {
-            cs = (PolarCS) cached;
-        } else {
-            cs = getBackingStore().createPolarCS(code);
-        }
-        put(key, cs);
-        return cs;
+    public PolarCS createPolarCS(final String code) throws FactoryException {
+        return create(PolarCS.class, code, AbstractAuthorityFactory::createPolarCS);
     }
 
     /**
@@ -613,18 +497,8 @@ public synchronized PolarCS createPolarCS(final String code) throws FactoryExcep
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized CylindricalCS createCylindricalCS(final String code)
-            throws FactoryException {
-        final CylindricalCS cs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof CylindricalCS) {
-            cs = (CylindricalCS) cached;
-        } else {
-            cs = getBackingStore().createCylindricalCS(code);
-        }
-        put(key, cs);
-        return cs;
+    public CylindricalCS createCylindricalCS(final String code) throws FactoryException {
+        return create(CylindricalCS.class, code, AbstractAuthorityFactory::createCylindricalCS);
     }
 
     /**
@@ -633,17 +507,8 @@ public synchronized CylindricalCS createCylindricalCS(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized SphericalCS createSphericalCS(final String code) throws FactoryException {
-        final SphericalCS cs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof SphericalCS) {
-            cs = (SphericalCS) cached;
-        } else {
-            cs = getBackingStore().createSphericalCS(code);
-        }
-        put(key, cs);
-        return cs;
+    public SphericalCS createSphericalCS(final String code) throws FactoryException {
+        return create(SphericalCS.class, code, AbstractAuthorityFactory::createSphericalCS);
     }
 
     /**
@@ -652,18 +517,8 @@ public synchronized SphericalCS createSphericalCS(final String code) throws Fact
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized EllipsoidalCS createEllipsoidalCS(final String code)
-            throws FactoryException {
-        final EllipsoidalCS cs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof EllipsoidalCS) {
-            cs = (EllipsoidalCS) cached;
-        } else {
-            cs = getBackingStore().createEllipsoidalCS(code);
-        }
-        put(key, cs);
-        return cs;
+    public EllipsoidalCS createEllipsoidalCS(final String code) throws FactoryException {
+        return create(EllipsoidalCS.class, code, AbstractAuthorityFactory::createEllipsoidalCS);
     }
 
     /**
@@ -672,17 +527,8 @@ public synchronized EllipsoidalCS createEllipsoidalCS(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized VerticalCS createVerticalCS(final String code) throws FactoryException {
-        final VerticalCS cs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof VerticalCS) {
-            cs = (VerticalCS) cached;
-        } else {
-            cs = getBackingStore().createVerticalCS(code);
-        }
-        put(key, cs);
-        return cs;
+    public VerticalCS createVerticalCS(final String code) throws FactoryException {
+        return create(VerticalCS.class, code, AbstractAuthorityFactory::createVerticalCS);
     }
 
     /**
@@ -691,17 +537,8 @@ public synchronized VerticalCS createVerticalCS(final String code) throws Factor
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized TimeCS createTimeCS(final String code) throws FactoryException {
-        final TimeCS cs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof TimeCS) {
-            cs = (TimeCS) cached;
-        } else {
-            cs = getBackingStore().createTimeCS(code);
-        }
-        put(key, cs);
-        return cs;
+    public TimeCS createTimeCS(final String code) throws FactoryException {
+        return create(TimeCS.class, code, AbstractAuthorityFactory::createTimeCS);
     }
 
     /**
@@ -710,18 +547,12 @@ public synchronized TimeCS createTimeCS(final String code) throws FactoryExcepti
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized CoordinateSystemAxis createCoordinateSystemAxis(final String code)
+    public CoordinateSystemAxis createCoordinateSystemAxis(final String code)
             throws FactoryException {
-        final CoordinateSystemAxis axis;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof CoordinateSystemAxis) {
-            axis = (CoordinateSystemAxis) cached;
-        } else {
-            axis = getBackingStore().createCoordinateSystemAxis(code);
-        }
-        put(key, axis);
-        return axis;
+        return create(
+                CoordinateSystemAxis.class,
+                code,
+                AbstractAuthorityFactory::createCoordinateSystemAxis);
     }
 
     /**
@@ -730,17 +561,8 @@ public synchronized CoordinateSystemAxis createCoordinateSystemAxis(final String
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized Unit<?> createUnit(final String code) throws FactoryException {
-        final Unit<?> unit;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof Unit) {
-            unit = (Unit) cached;
-        } else {
-            unit = getBackingStore().createUnit(code);
-        }
-        put(key, unit);
-        return unit;
+    public Unit<?> createUnit(final String code) throws FactoryException {
+        return create(Unit.class, code, AbstractAuthorityFactory::createUnit);
     }
 
     /**
@@ -749,18 +571,12 @@ public synchronized Unit<?> createUnit(final String code) throws FactoryExceptio
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized CoordinateReferenceSystem createCoordinateReferenceSystem(final String code)
+    public CoordinateReferenceSystem createCoordinateReferenceSystem(final String code)
             throws FactoryException {
-        final CoordinateReferenceSystem crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof CoordinateReferenceSystem) {
-            crs = (CoordinateReferenceSystem) cached;
-        } else {
-            crs = getBackingStore().createCoordinateReferenceSystem(code);
-        }
-        put(key, crs);
-        return crs;
+        return create(
+                CoordinateReferenceSystem.class,
+                code,
+                AbstractAuthorityFactory::createCoordinateReferenceSystem);
     }
 
     /**
@@ -769,17 +585,8 @@ public synchronized CoordinateReferenceSystem createCoordinateReferenceSystem(fi
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized CompoundCRS createCompoundCRS(final String code) throws FactoryException {
-        final CompoundCRS crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof CompoundCRS) {
-            crs = (CompoundCRS) cached;
-        } else {
-            crs = getBackingStore().createCompoundCRS(code);
-        }
-        put(key, crs);
-        return crs;
+    public CompoundCRS createCompoundCRS(final String code) throws FactoryException {
+        return create(CompoundCRS.class, code, AbstractAuthorityFactory::createCompoundCRS);
     }
 
     /**
@@ -788,17 +595,8 @@ public synchronized CompoundCRS createCompoundCRS(final String code) throws Fact
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized DerivedCRS createDerivedCRS(final String code) throws FactoryException {
-        final DerivedCRS crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof DerivedCRS) {
-            crs = (DerivedCRS) cached;
-        } else {
-            crs = getBackingStore().createDerivedCRS(code);
-        }
-        put(key, crs);
-        return crs;
+    public DerivedCRS createDerivedCRS(final String code) throws FactoryException {
+        return create(DerivedCRS.class, code, AbstractAuthorityFactory::createDerivedCRS);
     }
 
     /**
@@ -807,18 +605,8 @@ public synchronized DerivedCRS createDerivedCRS(final String code) throws Factor
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized EngineeringCRS createEngineeringCRS(final String code)
-            throws FactoryException {
-        final EngineeringCRS crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof EngineeringCRS) {
-            crs = (EngineeringCRS) cached;
-        } else {
-            crs = getBackingStore().createEngineeringCRS(code);
-        }
-        put(key, crs);
-        return crs;
+    public EngineeringCRS createEngineeringCRS(final String code) throws FactoryException {
+        return create(EngineeringCRS.class, code, AbstractAuthorityFactory::createEngineeringCRS);
     }
 
     /**
@@ -827,18 +615,8 @@ public synchronized EngineeringCRS createEngineeringCRS(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized GeographicCRS createGeographicCRS(final String code)
-            throws FactoryException {
-        final GeographicCRS crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof GeographicCRS) {
-            crs = (GeographicCRS) cached;
-        } else {
-            crs = getBackingStore().createGeographicCRS(code);
-        }
-        put(key, crs);
-        return crs;
+    public GeographicCRS createGeographicCRS(final String code) throws FactoryException {
+        return create(GeographicCRS.class, code, AbstractAuthorityFactory::createGeographicCRS);
     }
 
     /**
@@ -847,18 +625,8 @@ public synchronized GeographicCRS createGeographicCRS(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized GeocentricCRS createGeocentricCRS(final String code)
-            throws FactoryException {
-        final GeocentricCRS crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof GeocentricCRS) {
-            crs = (GeocentricCRS) cached;
-        } else {
-            crs = getBackingStore().createGeocentricCRS(code);
-        }
-        put(key, crs);
-        return crs;
+    public GeocentricCRS createGeocentricCRS(final String code) throws FactoryException {
+        return create(GeocentricCRS.class, code, AbstractAuthorityFactory::createGeocentricCRS);
     }
 
     /**
@@ -867,17 +635,8 @@ public synchronized GeocentricCRS createGeocentricCRS(final String code)
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized ImageCRS createImageCRS(final String code) throws FactoryException {
-        final ImageCRS crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof ImageCRS) {
-            crs = (ImageCRS) cached;
-        } else {
-            crs = getBackingStore().createImageCRS(code);
-        }
-        put(key, crs);
-        return crs;
+    public ImageCRS createImageCRS(final String code) throws FactoryException {
+        return create(ImageCRS.class, code, AbstractAuthorityFactory::createImageCRS);
     }
 
     /**
@@ -886,17 +645,8 @@ public synchronized ImageCRS createImageCRS(final String code) throws FactoryExc
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized ProjectedCRS createProjectedCRS(final String code) throws FactoryException {
-        final ProjectedCRS crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof ProjectedCRS) {
-            crs = (ProjectedCRS) cached;
-        } else {
-            crs = getBackingStore().createProjectedCRS(code);
-        }
-        put(key, crs);
-        return crs;
+    public ProjectedCRS createProjectedCRS(final String code) throws FactoryException {
+        return create(ProjectedCRS.class, code, AbstractAuthorityFactory::createProjectedCRS);
     }
 
     /**
@@ -905,17 +655,8 @@ public synchronized ProjectedCRS createProjectedCRS(final String code) throws Fa
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized TemporalCRS createTemporalCRS(final String code) throws FactoryException {
-        final TemporalCRS crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof TemporalCRS) {
-            crs = (TemporalCRS) cached;
-        } else {
-            crs = getBackingStore().createTemporalCRS(code);
-        }
-        put(key, crs);
-        return crs;
+    public TemporalCRS createTemporalCRS(final String code) throws FactoryException {
+        return create(TemporalCRS.class, code, AbstractAuthorityFactory::createTemporalCRS);
     }
 
     /**
@@ -924,17 +665,8 @@ public synchronized TemporalCRS createTemporalCRS(final String code) throws Fact
      * @throws FactoryException if the object creation failed.
      */
     @Override
-    public synchronized VerticalCRS createVerticalCRS(final String code) throws FactoryException {
-        final VerticalCRS crs;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof VerticalCRS) {
-            crs = (VerticalCRS) cached;
-        } else {
-            crs = getBackingStore().createVerticalCRS(code);
-        }
-        put(key, crs);
-        return crs;
+    public VerticalCRS createVerticalCRS(final String code) throws FactoryException {
+        return create(VerticalCRS.class, code, AbstractAuthorityFactory::createVerticalCRS);
     }
 
     /**
@@ -944,18 +676,12 @@ public synchronized VerticalCRS createVerticalCRS(final String code) throws Fact
      * @since 2.2
      */
     @Override
-    public synchronized ParameterDescriptor createParameterDescriptor(final String code)
+    public ParameterDescriptor createParameterDescriptor(final String code)
             throws FactoryException {
-        final ParameterDescriptor parameter;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof ParameterDescriptor) {
-            parameter = (ParameterDescriptor) cached;
-        } else {
-            parameter = getBackingStore().createParameterDescriptor(code);
-        }
-        put(key, parameter);
-        return parameter;
+        return create(
+                ParameterDescriptor.class,
+                code,
+                AbstractAuthorityFactory::createParameterDescriptor);
     }
 
     /**
@@ -965,18 +691,8 @@ public synchronized ParameterDescriptor createParameterDescriptor(final String c
      * @since 2.2
      */
     @Override
-    public synchronized OperationMethod createOperationMethod(final String code)
-            throws FactoryException {
-        final OperationMethod method;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof OperationMethod) {
-            method = (OperationMethod) cached;
-        } else {
-            method = getBackingStore().createOperationMethod(code);
-        }
-        put(key, method);
-        return method;
+    public OperationMethod createOperationMethod(final String code) throws FactoryException {
+        return create(OperationMethod.class, code, AbstractAuthorityFactory::createOperationMethod);
     }
 
     /**
@@ -986,18 +702,12 @@ public synchronized OperationMethod createOperationMethod(final String code)
      * @since 2.2
      */
     @Override
-    public synchronized CoordinateOperation createCoordinateOperation(final String code)
+    public CoordinateOperation createCoordinateOperation(final String code)
             throws FactoryException {
-        final CoordinateOperation operation;
-        final String key = trimAuthority(code);
-        final Object cached = get(key);
-        if (cached instanceof CoordinateOperation) {
-            operation = (CoordinateOperation) cached;
-        } else {
-            operation = getBackingStore().createCoordinateOperation(code);
-        }
-        put(key, operation);
-        return operation;
+        return create(
+                CoordinateOperation.class,
+                code,
+                AbstractAuthorityFactory::createCoordinateOperation);
     }
 
     /**
@@ -1007,23 +717,19 @@ public synchronized CoordinateOperation createCoordinateOperation(final String c
      * @since 2.2
      */
     @Override
-    public synchronized Set<CoordinateOperation> createFromCoordinateReferenceSystemCodes(
+    public Set<CoordinateOperation> createFromCoordinateReferenceSystemCodes(
             final String sourceCRS, final String targetCRS) throws FactoryException {
-        final Set<CoordinateOperation> operations;
         final CodePair key = new CodePair(trimAuthority(sourceCRS), trimAuthority(targetCRS));
-        final Object cached = get(key);
-        if (cached instanceof Set) {
-            @SuppressWarnings("unchecked")
-            Set<CoordinateOperation> cast = (Set<CoordinateOperation>) cached;
-            operations = cast;
-        } else {
-            operations =
-                    Collections.unmodifiableSet(
-                            getBackingStore()
-                                    .createFromCoordinateReferenceSystemCodes(
-                                            sourceCRS, targetCRS));
-        }
-        put(key, operations);
+        @SuppressWarnings("unchecked")
+        final Set<CoordinateOperation> operations =
+                create(
+                        Set.class,
+                        key,
+                        null,
+                        (factory, code) ->
+                                Collections.unmodifiableSet(
+                                        factory.createFromCoordinateReferenceSystemCodes(
+                                                sourceCRS, targetCRS)));
         return operations;
     }
 
@@ -1157,46 +863,58 @@ public synchronized void dispose() throws FactoryException {
     }
 
     /**
-     * Returns an object from the pool for the specified code. If the object was retained as a
-     * {@linkplain Reference weak reference}, the {@link Reference#get referent} is returned.
-     *
-     * @todo Consider logging a message here to the finer or finest level.
+     * Returns the object for the given code from the pool, or creates it using the backing store.
+     * Cache hits do not acquire any lock. On cache misses, the creation is synchronized on this
+     * factory as before (backing stores are usually not designed for concurrent use, and {@link
+     * DeferredAuthorityFactory} relies on this lock for disposing them), and the pool is checked
+     * again once the lock is acquired, so that an object is created only once per code.
      */
-    private Object get(final Object key) {
-        assert Thread.holdsLock(this);
-        Object object = pool.get(key);
-        if (object instanceof Reference) {
-            object = ((Reference<?>) object).get();
+    private <T> T create(final Class<T> type, final String code, final Creator<T> creator)
+            throws FactoryException {
+        return create(type, trimAuthority(code), code, creator);
+    }
+
+    /** Same as {@link #create(Class, String, Creator)}, for an already computed key. */
+    private <T> T create(
+            final Class<T> type, final Object key, final String code, final Creator<T> creator)
+            throws FactoryException {
+        final Object cached = pool.get(key);
+        if (type.isInstance(cached)) {
+            return type.cast(cached);
+        }
+        synchronized (this) {
+            final Object created = pool.peek(key);
+            if (type.isInstance(created)) {
+                contentions.increment();
+                return type.cast(created);
+            }
+            final T object = creator.create(getBackingStore(), code);
+            pool.put(key, object);
+            return object;
         }
-        return object;
+    }
+
+    /** Creates an object using the backing store, invoked on cache misses only. */
+    @FunctionalInterface
+    private interface Creator<T> {
+        T create(AbstractAuthorityFactory factory, String code) throws FactoryException;
+    }
+
+    /** Returns the number of objects found in the cache. */
+    public long getCacheHitCount() {
+        return pool.getHitCount();
+    }
+
+    /** Returns the number of objects not found in the cache. */
+    public long getCacheMissCount() {
+        return pool.getMissCount();
     }
 
     /**
-     * Put an element in the pool. This method is invoked everytime a {@code createFoo(...)} method
-     * is invoked, even if an object was already in the pool for the given code, for the following
-     * reasons: 1) Replaces weak reference by strong reference (if applicable) and 2) Alters the
-     * linked hash set order, so that this object is declared as the last one used.
+     * Returns the number of cache misses for which the object has been created by an other thread
+     * while this thread was waiting for the lock.
      */
-    private void put(final Object key, final Object object) {
-        assert Thread.holdsLock(this);
-        pool.put(key, object);
-        int toReplace = pool.size() - maxStrongReferences;
-        if (toReplace > 0) {
-            for (final Iterator<Map.Entry<Object, Object>> it = pool.entrySet().iterator();
-                    it.hasNext(); ) {
-                final Map.Entry<Object, Object> entry = it.next();
-                final Object value = entry.getValue();
-                if (value instanceof Reference) {
-                    if (((Reference) value).get() == null) {
-                        it.remove();
-                    }
-                    continue;
-                }
-                entry.setValue(new WeakReference<>(value));
-                if (--toReplace == 0) {
-                    break;
-                }
-            }
-        }
+    public long getCacheContentionCount() {
+        return contentions.sum();
     }
 }
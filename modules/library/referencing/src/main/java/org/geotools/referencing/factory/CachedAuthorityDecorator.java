@@ -71,7 +71,9 @@
  * be used for several the authority factory interfaces - but this is not a requirement. The
  * behaviour of the {@code createFoo(String)} methods first looks if a previously created object
  * exists for the given code. If such an object exists, it is returned directly. The testing of the
- * cache is synchronized and may block if the referencing object is under construction.
+ * cache is synchronized and may block if the referencing object is under construction, unless the
+ * {@code "concurrent"} {@linkplain Hints#CACHE_POLICY cache policy} is used: in that case lookups
+ * never block, and only the threads asking for the same code wait for its construction.
  *
  * <p>If the object is not yet created, the definition is delegated to the appropriate the
  * {@linkplain an AuthorityFactory authority factory} and the result is cached for next time.
@@ -206,7 +208,7 @@ public InternationalString getDescriptionText(String code) throws FactoryExcepti
     // CRSAuthority
     //
     @Override
-    public synchronized CompoundCRS createCompoundCRS(final String code) throws FactoryException {
+    public CompoundCRS createCompoundCRS(final String code) throws FactoryException {
         final String key = toKey(code);
         CompoundCRS crs = (CompoundCRS) cache.get(key);
         if (crs == null) {
@@ -766,7 +768,7 @@ public CoordinateOperation createCoordinateOperation(String code) throws Factory
 
     @Override
     @SuppressWarnings("unchecked")
-    public synchronized Set<CoordinateOperation> createFromCoordinateReferenceSystemCodes(
+    public Set<CoordinateOperation> createFromCoordinateReferenceSystemCodes(
             final String sourceCode, final String targetCode) throws FactoryException {
 
         final Object key = ObjectCaches.toKey(getAuthority(), sourceCode, targetCode);
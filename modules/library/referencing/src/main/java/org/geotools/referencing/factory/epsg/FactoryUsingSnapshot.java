@@ -0,0 +1,235 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory.epsg;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.crs.CRSAuthorityFactory;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.CoordinateOperation;
+import org.geotools.api.referencing.operation.CoordinateOperationAuthorityFactory;
+import org.geotools.metadata.i18n.ErrorKeys;
+import org.geotools.metadata.i18n.LoggingKeys;
+import org.geotools.metadata.i18n.Loggings;
+import org.geotools.referencing.ReferencingFactoryFinder;
+import org.geotools.referencing.factory.AbstractAuthorityFactory;
+import org.geotools.referencing.factory.DeferredAuthorityFactory;
+import org.geotools.referencing.factory.FactoryNotFoundException;
+import org.geotools.referencing.factory.ReferencingFactoryContainer;
+import org.geotools.util.Arguments;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Authority factory for the EPSG database backed by a precompiled binary snapshot instead of a SQL
+ * database. The snapshot contains the serialized {@linkplain CoordinateReferenceSystem Coordinate
+ * Reference Systems} and {@linkplain CoordinateOperation Coordinate Operations} of a {@link
+ * ThreadedEpsgFactory}, and is memory-mapped when first needed. Only its index is decoded at that
+ * time, so this factory starts in a few milliseconds and doesn't need any embedded database at
+ * runtime.
+ *
+ * <p>The snapshot is created at build time by the {@linkplain #main main method}, with an EPSG
+ * database factory (for example the one from the {@code gt-epsg-hsql} module) on the classpath:
+ *
+ * <blockquote>
+ *
+ * <pre>java org.geotools.referencing.factory.epsg.FactoryUsingSnapshot -write epsg.snapshot</pre>
+ *
+ * </blockquote>
+ *
+ * <p>The resulting {@value #FILENAME} file is searched in the directory given by the {@link
+ * Hints#CRS_AUTHORITY_EXTRA_DIRECTORY} hint, then in the {@code
+ * org/geotools/referencing/factory/epsg} directory on the classpath. If no snapshot is found, the
+ * factory won't be activated. When available, this factory has precedence over the SQL backed EPSG
+ * factories.
+ *
+ * <p>Since the objects are created by Java deserialization, the snapshot must come from a trusted
+ * source.
+ *
+ * @since 32.0
+ */
+public class FactoryUsingSnapshot extends DeferredAuthorityFactory
+        implements CRSAuthorityFactory, CoordinateOperationAuthorityFactory {
+    /** The default filename of the snapshot. */
+    public static final String FILENAME = "epsg.snapshot";
+
+    /** Default priority for this factory, slightly higher than the SQL backed factories. */
+    protected static final int DEFAULT_PRIORITY = ThreadedEpsgFactory.PRIORITY + 5;
+
+    /** The factories to be given to the backing store. */
+    private final ReferencingFactoryContainer factories;
+
+    /** Directory scanned for the snapshot. */
+    private final File directory;
+
+    /** Constructs an authority factory using the default set of factories. */
+    public FactoryUsingSnapshot() {
+        this(null);
+    }
+
+    /**
+     * Constructs an authority factory using a set of factories created from the specified hints.
+     * This constructor recognizes the {@link Hints#CRS_AUTHORITY_EXTRA_DIRECTORY} hint in addition
+     * of the factory hints.
+     */
+    public FactoryUsingSnapshot(final Hints userHints) {
+        this(userHints, DEFAULT_PRIORITY);
+    }
+
+    /** Constructs an authority factory using the specified hints and priority. */
+    public FactoryUsingSnapshot(final Hints userHints, final int priority) {
+        super(userHints, priority);
+        factories = ReferencingFactoryContainer.instance(userHints);
+        Object hint = null;
+        if (userHints != null) {
+            hint = userHints.get(Hints.CRS_AUTHORITY_EXTRA_DIRECTORY);
+        }
+        if (hint instanceof File) {
+            directory = (File) hint;
+        } else if (hint instanceof String) {
+            directory = new File((String) hint);
+        } else {
+            directory = null;
+        }
+        if (directory != null) hints.put(Hints.CRS_AUTHORITY_EXTRA_DIRECTORY, directory);
+        // Objects are read with the EPSG axis order, like the SQL backed factories.
+        hints.put(Hints.FORCE_LONGITUDE_FIRST_AXIS_ORDER, Boolean.FALSE);
+        hints.put(Hints.FORCE_STANDARD_AXIS_DIRECTIONS, Boolean.FALSE);
+        hints.put(Hints.FORCE_STANDARD_AXIS_UNITS, Boolean.FALSE);
+        // Unmaps the snapshot after at least 15 minutes of inactivity.
+        setTimeout(15 * 60 * 1000L);
+    }
+
+    /**
+     * Returns the URL to the snapshot. The default implementation returns the {@value #FILENAME}
+     * file in the directory given by the {@link Hints#CRS_AUTHORITY_EXTRA_DIRECTORY} hint if it
+     * exists, or the first {@value #FILENAME} resource found in any {@code
+     * org/geotools/referencing/factory/epsg} directory on the classpath otherwise.
+     *
+     * @return The URL, or {@code null} if none.
+     */
+    protected URL getSnapshotURL() {
+        try {
+            if (directory != null) {
+                final File file = new File(directory, FILENAME);
+                if (file.isFile()) {
+                    return file.toURI().toURL();
+                }
+            }
+        } catch (SecurityException | MalformedURLException exception) {
+            Logging.unexpectedException(LOGGER, exception);
+        }
+        return FactoryUsingSnapshot.class.getResource(FILENAME);
+    }
+
+    /**
+     * Creates the backing store authority factory.
+     *
+     * @return The backing store to uses in {@code createXXX(...)} methods.
+     * @throws FactoryNotFoundException if no snapshot has been found.
+     * @throws FactoryException if the snapshot can't be read. This exception usually has an {@link
+     *     IOException} as its cause.
+     */
+    @Override
+    protected AbstractAuthorityFactory createBackingStore() throws FactoryException {
+        final URL url = getSnapshotURL();
+        if (url == null) {
+            throw new FactoryNotFoundException(
+                    MessageFormat.format(ErrorKeys.FILE_DOES_NOT_EXIST_$1, FILENAME));
+        }
+        try {
+            final AbstractAuthorityFactory factory =
+                    new SnapshotAuthorityFactory(factories, url, MINIMUM_PRIORITY + 10);
+            final LogRecord record =
+                    Loggings.format(
+                            Level.CONFIG,
+                            LoggingKeys.USING_FILE_AS_FACTORY_$2,
+                            url.getPath(),
+                            "EPSG");
+            record.setLoggerName(LOGGER.getName());
+            LOGGER.log(record);
+            return factory;
+        } catch (IOException exception) {
+            throw new FactoryException(
+                    MessageFormat.format(ErrorKeys.CANT_READ_$1, FILENAME), exception);
+        }
+    }
+
+    /**
+     * Writes a snapshot of every coordinate reference systems and coordinate operations that the
+     * given factory can create, including the operations that it returns for each pair of CRS codes
+     * found in those operations. Objects that can't be created or serialized are omitted.
+     *
+     * @param source The factory to take a snapshot of, typically a {@link ThreadedEpsgFactory}.
+     * @param target The snapshot file to write.
+     * @return The codes of the omitted objects, associated to the reason.
+     * @throws FactoryException if the authority codes can't be obtained from the source factory.
+     * @throws IOException if the snapshot can't be written.
+     */
+    public static Map<String, String> createSnapshot(
+            final AbstractAuthorityFactory source, final File target)
+            throws FactoryException, IOException {
+        ensureNonNull("source", source);
+        ensureNonNull("target", target);
+        return SnapshotAuthorityFactory.write(source, target);
+    }
+
+    /**
+     * Writes a snapshot of the EPSG database factory registered in {@link
+     * ReferencingFactoryFinder}. Valid arguments are:
+     *
+     * <p>
+     *
+     * <table>
+     *   <tr><td>{@code -write} <var>file</var></td><td>The snapshot file to write.</td></tr>
+     * </table>
+     *
+     * <p>The codes of the objects that can't be included in the snapshot are printed together with
+     * the reason.
+     *
+     * @param args Command line arguments.
+     * @throws FactoryException if no EPSG database factory is available.
+     * @throws IOException if the snapshot can't be written.
+     */
+    public static void main(final String... args) throws FactoryException, IOException {
+        final Arguments arguments = new Arguments(args);
+        Locale.setDefault(arguments.locale);
+        final File target = new File(arguments.getRequiredString("-write"));
+        arguments.getRemainingArguments(0);
+        final Hints sourceHints = new Hints(Hints.CRS_AUTHORITY_FACTORY, ThreadedEpsgFactory.class);
+        sourceHints.put(Hints.FORCE_LONGITUDE_FIRST_AXIS_ORDER, Boolean.FALSE);
+        sourceHints.put(Hints.FORCE_STANDARD_AXIS_DIRECTIONS, Boolean.FALSE);
+        sourceHints.put(Hints.FORCE_STANDARD_AXIS_UNITS, Boolean.FALSE);
+        final AbstractAuthorityFactory source =
+                (AbstractAuthorityFactory)
+                        ReferencingFactoryFinder.getCRSAuthorityFactory("EPSG", sourceHints);
+        final Map<String, String> failures = createSnapshot(source, target);
+        for (final Map.Entry<String, String> entry : failures.entrySet()) {
+            arguments.out.println(entry.getKey() + ": " + entry.getValue());
+        }
+        arguments.out.flush();
+        source.dispose();
+    }
+}
@@ -132,8 +132,8 @@ public Citation getAuthority() {
     }
 
     /**
-     * Returns the factory instance (usually {@link ThreadedEpsgFactory}) to be used as the backing
-     * store.
+     * Returns the factory instance (usually {@link ThreadedEpsgFactory} or {@link
+     * FactoryUsingSnapshot}) to be used as the backing store.
      *
      * @throws FactoryException If no suitable factory instance was found.
      */
@@ -144,7 +144,8 @@ protected AbstractAuthorityFactory createBackingStore() throws FactoryException
          * org.geotools.referencing.factory.epsg.ThreadedEpsgFactory implementation; for now we are
          * making this requirement mostly as a safety in order to get an implementation that is
          * known to work, but we could relax that in a future version. AbstractAuthorityFactory
-         * is the minimal class required with current OrderedAxisAuthorityFactory API.
+         * is the minimal class required with current OrderedAxisAuthorityFactory API. A snapshot
+         * of the EPSG database is preferred when available, consistently with its priority.
          *
          * The really important hints are the FORCE_*_AXIS_* handled by this class, which MUST
          * be set to FALSE. This is especially important for FORCE_LONGITUDE_FIRST_AXIS_ORDER,
@@ -154,7 +155,9 @@ protected AbstractAuthorityFactory createBackingStore() throws FactoryException
          * and we don't want the backing store to interfer with that.
          */
         final Hints backingStoreHints =
-                new Hints(Hints.CRS_AUTHORITY_FACTORY, ThreadedEpsgFactory.class);
+                new Hints(
+                        Hints.CRS_AUTHORITY_FACTORY,
+                        new Class<?>[] {FactoryUsingSnapshot.class, ThreadedEpsgFactory.class});
         backingStoreHints.put(Hints.FORCE_LONGITUDE_FIRST_AXIS_ORDER, Boolean.FALSE);
         backingStoreHints.put(Hints.FORCE_STANDARD_AXIS_DIRECTIONS, Boolean.FALSE);
         backingStoreHints.put(Hints.FORCE_STANDARD_AXIS_UNITS, Boolean.FALSE);
@@ -0,0 +1,610 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory.epsg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.geotools.api.metadata.citation.Citation;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.IdentifiedObject;
+import org.geotools.api.referencing.NoSuchAuthorityCodeException;
+import org.geotools.api.referencing.ReferenceIdentifier;
+import org.geotools.api.referencing.crs.CRSAuthorityFactory;
+import org.geotools.api.referencing.crs.CompoundCRS;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.crs.DerivedCRS;
+import org.geotools.api.referencing.crs.EngineeringCRS;
+import org.geotools.api.referencing.crs.GeocentricCRS;
+import org.geotools.api.referencing.crs.GeographicCRS;
+import org.geotools.api.referencing.crs.ImageCRS;
+import org.geotools.api.referencing.crs.ProjectedCRS;
+import org.geotools.api.referencing.crs.TemporalCRS;
+import org.geotools.api.referencing.crs.VerticalCRS;
+import org.geotools.api.referencing.operation.ConcatenatedOperation;
+import org.geotools.api.referencing.operation.Conversion;
+import org.geotools.api.referencing.operation.CoordinateOperation;
+import org.geotools.api.referencing.operation.CoordinateOperationAuthorityFactory;
+import org.geotools.api.referencing.operation.Transformation;
+import org.geotools.api.util.InternationalString;
+import org.geotools.metadata.iso.citation.Citations;
+import org.geotools.referencing.factory.AbstractAuthorityFactory;
+import org.geotools.referencing.factory.DirectAuthorityFactory;
+import org.geotools.referencing.factory.ReferencingFactoryContainer;
+import org.geotools.util.SimpleInternationalString;
+import org.geotools.util.factory.Hints;
+
+/**
+ * An EPSG authority factory backed by a precompiled snapshot of an other EPSG factory. The snapshot
+ * is a binary file containing the serialized form of every {@linkplain CoordinateReferenceSystem
+ * coordinate reference systems} and {@linkplain CoordinateOperation coordinate operations} that the
+ * source factory can create, together with the operations returned for each pair of source and
+ * target CRS codes. It is created once at build time by {@link #write write(...)}, then
+ * memory-mapped at runtime. Only the index is decoded when the snapshot is opened; each object is
+ * deserialized when first requested, without any SQL engine.
+ *
+ * <p>The file layout is an {@code int} magic number and format version, followed by the length of
+ * the index, the index itself and the data area. The index contains the description of the source
+ * factory followed by the CRS, operation and CRS pair sections. Each index entry gives the code,
+ * the object type, the object name and the location of its deflated serialized form in the data
+ * area.
+ *
+ * <p>Since the objects are created by Java deserialization, the snapshot must come from a trusted
+ * source. As a safety net, deserialization is restricted by {@link #FILTER} to the referencing,
+ * metadata and unit classes, with limits on the graph depth and array sizes.
+ *
+ * <p>This factory doesn't cache any result. It is wrapped by {@link FactoryUsingSnapshot} for that
+ * purpose.
+ *
+ * @since 32.0
+ */
+final class SnapshotAuthorityFactory extends DirectAuthorityFactory
+        implements CRSAuthorityFactory, CoordinateOperationAuthorityFactory {
+    /** The magic number at the beginning of snapshot files ({@code "GTES"}). */
+    private static final int MAGIC = 0x47544553;
+
+    /** The version of the snapshot file format. */
+    private static final int VERSION = 1;
+
+    /** Length in bytes of the header before the index: magic number, version, index length. */
+    private static final int HEADER_LENGTH = 3 * Integer.BYTES;
+
+    /**
+     * The object types recognized in the index, from the most specific to the most general. The
+     * type of an entry is the index of the first element in this array implemented by the object.
+     */
+    private static final Class<?>[] TYPES = {
+        GeographicCRS.class,
+        ProjectedCRS.class,
+        GeocentricCRS.class,
+        VerticalCRS.class,
+        TemporalCRS.class,
+        EngineeringCRS.class,
+        ImageCRS.class,
+        DerivedCRS.class,
+        CompoundCRS.class,
+        CoordinateReferenceSystem.class,
+        Conversion.class,
+        Transformation.class,
+        ConcatenatedOperation.class,
+        CoordinateOperation.class
+    };
+
+    /** The type of entries in the CRS pairs section, which are sets of operations. */
+    private static final byte PAIR = -1;
+
+    /** The separator between the source and target codes in the keys of CRS pairs. */
+    private static final char PAIR_SEPARATOR = ' ';
+
+    /**
+     * The classes that can be deserialized from a snapshot. Arrays of primitive types are left
+     * undecided by pattern filters, hence accepted within the array size limit, and any other class
+     * is rejected.
+     */
+    static final ObjectInputFilter FILTER =
+            ObjectInputFilter.Config.createFilter(
+                    "maxdepth=200;maxarray=1000000;"
+                            + "org.geotools.referencing.**;org.geotools.metadata.**;"
+                            + "org.geotools.util.**;org.geotools.measure.**;org.geotools.api.**;"
+                            + "java.lang.*;java.util.*;java.math.*;java.net.URI;"
+                            + "javax.measure.**;tech.units.**;si.uom.**;!*");
+
+    /** The location of an object in the snapshot data area. */
+    private static final class Entry {
+        /** Index in {@link #TYPES} of the object type, or {@link #PAIR}. */
+        final byte type;
+
+        /** The object name, used as description text. */
+        final String name;
+
+        /** Position and length of the deflated serialized object in the data area. */
+        final int offset, length;
+
+        Entry(final byte type, final String name, final int offset, final int length) {
+            this.type = type;
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /** The data area, usually memory-mapped. Shall never be modified. */
+    private final ByteBuffer data;
+
+    /** The description of the factory used for creating the snapshot. */
+    private final String description;
+
+    /** The coordinate reference systems, operations and operations for CRS pairs by code. */
+    private final Map<String, Entry> crs, operations, pairs;
+
+    /** The authority codes by requested type. */
+    private final Map<Class<?>, Set<String>> codes = new HashMap<>();
+
+    /**
+     * Opens the snapshot at the given URL. Snapshots in files are memory-mapped, others are loaded
+     * in memory.
+     *
+     * @param factories The underlying factories.
+     * @param snapshot The snapshot to open.
+     * @param priority The priority for this factory.
+     * @throws IOException if the snapshot can't be read or is not a valid snapshot.
+     */
+    SnapshotAuthorityFactory(
+            final ReferencingFactoryContainer factories, final URL snapshot, final int priority)
+            throws IOException {
+        super(factories, priority);
+        hints.put(Hints.FORCE_LONGITUDE_FIRST_AXIS_ORDER, Boolean.FALSE);
+        hints.put(Hints.FORCE_STANDARD_AXIS_DIRECTIONS, Boolean.FALSE);
+        hints.put(Hints.FORCE_STANDARD_AXIS_UNITS, Boolean.FALSE);
+        final ByteBuffer buffer = open(snapshot);
+        if (buffer.remaining() < HEADER_LENGTH
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Not an EPSG snapshot (version " + VERSION + "): " + snapshot);
+        }
+        final int indexLength = buffer.getInt(2 * Integer.BYTES);
+        final ByteBuffer index = slice(buffer, HEADER_LENGTH, indexLength);
+        data =
+                slice(
+                        buffer,
+                        HEADER_LENGTH + indexLength,
+                        buffer.limit() - HEADER_LENGTH - indexLength);
+        try (DataInputStream in = new DataInputStream(new BufferInputStream(index))) {
+            description = in.readUTF();
+            crs = readSection(in);
+            operations = readSection(in);
+            pairs = readSection(in);
+        }
+    }
+
+    /** Returns the content of the given snapshot, memory-mapped if it is a file. */
+    private static ByteBuffer open(final URL snapshot) throws IOException {
+        if ("file".equalsIgnoreCase(snapshot.getProtocol())) {
+            final File file;
+            try {
+                file = new File(snapshot.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                    FileChannel channel = raf.getChannel()) {
+                // The mapping stays valid after the channel has been closed.
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream in = snapshot.openStream()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+
+    /** Returns a view of the given region of the given buffer. */
+    private static ByteBuffer slice(final ByteBuffer buffer, final int offset, final int length)
+            throws IOException {
+        if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+            throw new IOException("Truncated EPSG snapshot.");
+        }
+        final ByteBuffer view = buffer.duplicate();
+        view.position(offset).limit(offset + length);
+        return view.slice();
+    }
+
+    /** Reads a section of the index. */
+    private static Map<String, Entry> readSection(final DataInputStream in) throws IOException {
+        final int count = in.readInt();
+        final Map<String, Entry> section = new LinkedHashMap<>(Math.max(16, count * 4 / 3 + 1));
+        for (int i = 0; i < count; i++) {
+            final String code = in.readUTF();
+            final byte type = in.readByte();
+            final String name = in.readUTF();
+            final int offset = in.readInt();
+            final int length = in.readInt();
+            section.put(code, new Entry(type, name, offset, length));
+        }
+        return Collections.unmodifiableMap(section);
+    }
+
+    /** Returns the organization responsible for definition and maintenance of the database. */
+    @Override
+    public Citation getAuthority() {
+        return Citations.EPSG;
+    }
+
+    /** Returns the description of the factory used for creating the snapshot. */
+    @Override
+    public String getBackingStoreDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the set of authority codes of the given type. Only coordinate reference systems and
+     * coordinate operations are stored in snapshots; the sets for other types are empty.
+     *
+     * @param type The spatial reference objects type (may be {@code Object.class}).
+     * @return The set of authority codes for spatial reference objects of the given type.
+     */
+    @Override
+    public synchronized Set<String> getAuthorityCodes(
+            final Class<? extends IdentifiedObject> type) {
+        final Class<?> key = (type != null) ? type : IdentifiedObject.class;
+        Set<String> filtered = codes.get(key);
+        if (filtered == null) {
+            final Set<String> set = new LinkedHashSet<>();
+            for (final Map<String, Entry> section : List.of(crs, operations)) {
+                for (final Map.Entry<String, Entry> entry : section.entrySet()) {
+                    if (key.isAssignableFrom(TYPES[entry.getValue().type])) {
+                        set.add(entry.getKey());
+                    }
+                }
+            }
+            filtered = Collections.unmodifiableSet(set);
+            codes.put(key, filtered);
+        }
+        return filtered;
+    }
+
+    /**
+     * Gets a description of the object corresponding to a code.
+     *
+     * @param code Value allocated by authority.
+     * @return The name of the object.
+     * @throws NoSuchAuthorityCodeException if the specified {@code code} was not found.
+     */
+    @Override
+    public InternationalString getDescriptionText(final String code)
+            throws NoSuchAuthorityCodeException {
+        return new SimpleInternationalString(getEntry(IdentifiedObject.class, code).name);
+    }
+
+    /** Returns the index entry for the given code, searching in CRS first. */
+    private Entry getEntry(final Class<? extends IdentifiedObject> type, final String code)
+            throws NoSuchAuthorityCodeException {
+        ensureNonNull("code", code);
+        final String key = trimAuthority(code);
+        Entry entry = null;
+        if (!CoordinateOperation.class.isAssignableFrom(type)) {
+            entry = crs.get(key);
+        }
+        if (entry == null && !CoordinateReferenceSystem.class.isAssignableFrom(type)) {
+            entry = operations.get(key);
+        }
+        if (entry == null) {
+            throw noSuchAuthorityCode(type, code);
+        }
+        return entry;
+    }
+
+    /** Deserializes the object at the given entry. */
+    private Object read(final Entry entry) throws FactoryException {
+        final ByteBuffer buffer;
+        try {
+            buffer = slice(data, entry.offset, entry.length);
+        } catch (IOException e) {
+            throw new FactoryException(e);
+        }
+        try (ObjectInputStream in =
+                new SnapshotInputStream(new InflaterInputStream(new BufferInputStream(buffer)))) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new FactoryException(e);
+        }
+    }
+
+    /**
+     * Returns an arbitrary object from a code.
+     *
+     * @param code Value allocated by authority.
+     * @throws NoSuchAuthorityCodeException if the specified {@code code} was not found.
+     * @throws FactoryException if the object creation failed for some other reason.
+     */
+    @Override
+    public IdentifiedObject createObject(final String code) throws FactoryException {
+        return (IdentifiedObject) read(getEntry(IdentifiedObject.class, code));
+    }
+
+    /**
+     * Returns a coordinate reference system from a code.
+     *
+     * @param code Value allocated by authority.
+     * @throws NoSuchAuthorityCodeException if the specified {@code code} was not found.
+     * @throws FactoryException if the object creation failed for some other reason.
+     */
+    @Override
+    public CoordinateReferenceSystem createCoordinateReferenceSystem(final String code)
+            throws FactoryException {
+        return (CoordinateReferenceSystem) read(getEntry(CoordinateReferenceSystem.class, code));
+    }
+
+    /**
+     * Creates an operation from a single operation code.
+     *
+     * @param code Value allocated by authority.
+     * @throws NoSuchAuthorityCodeException if the specified {@code code} was not found.
+     * @throws FactoryException if the object creation failed for some other reason.
+     */
+    @Override
+    public CoordinateOperation createCoordinateOperation(final String code)
+            throws FactoryException {
+        return (CoordinateOperation) read(getEntry(CoordinateOperation.class, code));
+    }
+
+    /**
+     * Returns the operations that the source factory returned for the given pair of CRS codes.
+     *
+     * @param sourceCRS Coded value of source coordinate reference system.
+     * @param targetCRS Coded value of target coordinate reference system.
+     * @return The operations from {@code sourceCRS} to {@code targetCRS}.
+     * @throws FactoryException if the object creation failed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<CoordinateOperation> createFromCoordinateReferenceSystemCodes(
+            final String sourceCRS, final String targetCRS) throws FactoryException {
+        ensureNonNull("sourceCRS", sourceCRS);
+        ensureNonNull("targetCRS", targetCRS);
+        final Entry entry =
+                pairs.get(trimAuthority(sourceCRS) + PAIR_SEPARATOR + trimAuthority(targetCRS));
+        if (entry == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(
+                new LinkedHashSet<>((List<CoordinateOperation>) read(entry)));
+    }
+
+    /**
+     * Writes a snapshot of every coordinate reference systems and coordinate operations that the
+     * given factory can create. Objects that can't be created or serialized are omitted from the
+     * snapshot; their codes are returned together with the reason.
+     *
+     * @param source The factory to take a snapshot of, typically backed by the EPSG database.
+     * @param target The snapshot file to write.
+     * @return The codes of the omitted objects, associated to the reason.
+     * @throws FactoryException if the authority codes can't be obtained from the source factory.
+     * @throws IOException if the snapshot can't be written.
+     */
+    static Map<String, String> write(final AbstractAuthorityFactory source, final File target)
+            throws FactoryException, IOException {
+        final Map<String, String> failures = new TreeMap<>();
+        final ByteArrayOutputStream objects = new ByteArrayOutputStream();
+        final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(index);
+        final String description = source.getBackingStoreDescription();
+        out.writeUTF(
+                description != null ? description : source.getAuthority().getTitle().toString());
+        /*
+         * CRS and operations sections. We remember the pairs of CRS codes found in the
+         * operations, in order to ask the source factory for the operations between them.
+         */
+        final Set<String> pairCodes = new LinkedHashSet<>();
+        for (final Class<? extends IdentifiedObject> type :
+                List.of(CoordinateReferenceSystem.class, CoordinateOperation.class)) {
+            final List<Object[]> entries = new ArrayList<>();
+            for (final String code : source.getAuthorityCodes(type)) {
+                final IdentifiedObject object;
+                try {
+                    if (type == CoordinateReferenceSystem.class) {
+                        object = source.createCoordinateReferenceSystem(code);
+                    } else {
+                        object = source.createCoordinateOperation(code);
+                    }
+                    if (object instanceof CoordinateOperation) {
+                        final String sourceCode = getCode((CoordinateOperation) object, true);
+                        final String targetCode = getCode((CoordinateOperation) object, false);
+                        if (sourceCode != null && targetCode != null) {
+                            pairCodes.add(sourceCode + PAIR_SEPARATOR + targetCode);
+                            pairCodes.add(targetCode + PAIR_SEPARATOR + sourceCode);
+                        }
+                    }
+                    entries.add(append(objects, code, getType(object), object));
+                } catch (FactoryException | IOException | RuntimeException e) {
+                    failures.put(code, String.valueOf(e));
+                }
+            }
+            writeSection(out, entries);
+        }
+        final List<Object[]> entries = new ArrayList<>();
+        for (final String pair : pairCodes) {
+            final int split = pair.indexOf(PAIR_SEPARATOR);
+            try {
+                final Set<CoordinateOperation> result =
+                        source.createFromCoordinateReferenceSystemCodes(
+                                pair.substring(0, split), pair.substring(split + 1));
+                if (!result.isEmpty()) {
+                    entries.add(append(objects, pair, PAIR, new ArrayList<>(result)));
+                }
+            } catch (FactoryException | IOException | RuntimeException e) {
+                failures.put(pair, String.valueOf(e));
+            }
+        }
+        writeSection(out, entries);
+        out.flush();
+        try (OutputStream file = new FileOutputStream(target);
+                DataOutputStream header = new DataOutputStream(file)) {
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeInt(index.size());
+            index.writeTo(header);
+            objects.writeTo(header);
+        }
+        return failures;
+    }
+
+    /** Returns the code of the source or target CRS of the given operation, or {@code null}. */
+    private static String getCode(final CoordinateOperation operation, final boolean source) {
+        final CoordinateReferenceSystem crs =
+                source ? operation.getSourceCRS() : operation.getTargetCRS();
+        if (crs != null) {
+            for (final ReferenceIdentifier id : crs.getIdentifiers()) {
+                if (Citations.identifierMatches(Citations.EPSG, id.getCodeSpace())) {
+                    return id.getCode();
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Returns the index in {@link #TYPES} of the given object type. */
+    private static byte getType(final IdentifiedObject object) {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i].isInstance(object)) {
+                return (byte) i;
+            }
+        }
+        throw new IllegalArgumentException(object.getClass().getName());
+    }
+
+    /**
+     * Appends the deflated serialized form of the given object to the data area, and returns the
+     * index entry as an array of code, type, name, offset and length.
+     */
+    private static Object[] append(
+            final ByteArrayOutputStream objects,
+            final String code,
+            final byte type,
+            final Object object)
+            throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(buffer))) {
+            out.writeObject(object);
+        }
+        final String name =
+                (object instanceof IdentifiedObject)
+                        ? ((IdentifiedObject) object).getName().getCode()
+                        : code;
+        final int offset = objects.size();
+        buffer.writeTo(objects);
+        if (objects.size() < 0) {
+            throw new IOException("EPSG snapshot too large.");
+        }
+        return new Object[] {code, type, name, offset, buffer.size()};
+    }
+
+    /** Writes a section of the index. */
+    private static void writeSection(final DataOutputStream out, final List<Object[]> entries)
+            throws IOException {
+        out.writeInt(entries.size());
+        for (final Object[] entry : entries) {
+            out.writeUTF((String) entry[0]);
+            out.writeByte((Byte) entry[1]);
+            out.writeUTF((String) entry[2]);
+            out.writeInt((Integer) entry[3]);
+            out.writeInt((Integer) entry[4]);
+        }
+    }
+
+    /** An input stream reading the remaining bytes of a buffer, without copying them. */
+    private static final class BufferInputStream extends InputStream {
+        /** The buffer to read. */
+        private final ByteBuffer buffer;
+
+        BufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * An object input stream resolving classes with the class loader of GeoTools before the default
+     * one, since the default may not see GeoTools classes in container environments. Only the
+     * classes accepted by {@link #FILTER} are deserialized, unless a process-wide filter has been
+     * configured, which then takes precedence.
+     */
+    private static final class SnapshotInputStream extends ObjectInputStream {
+        SnapshotInputStream(final InputStream in) throws IOException {
+            super(in);
+            if (getObjectInputFilter() == null) {
+                setObjectInputFilter(FILTER);
+            }
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc)
+                throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(
+                        desc.getName(), false, SnapshotAuthorityFactory.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
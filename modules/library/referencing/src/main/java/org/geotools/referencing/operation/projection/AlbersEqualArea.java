@@ -264,6 +264,111 @@ protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst)
         return new Point2D.Double(x, y);
     }
 
+    /**
+     * Transforms many (<var>&lambda;</var>,<var>&phi;</var>) coordinates in place. This is the same
+     * formulas than {@link #transformNormalized(double,double,Point2D)}, inlined in a single loop.
+     */
+    @Override
+    protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        if (!isFormulaDeclaredBy(AlbersEqualArea.class, false)) {
+            super.transformNormalized(ordinates, offset, numPts);
+            return;
+        }
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            double x = ordinates[i];
+            double y = ordinates[i + 1];
+            try {
+                x *= n;
+                double rho = isSpherical ? c - n * 2 * sin(y) : c - n * qsfn(sin(y));
+                if (rho < 0.0) {
+                    if (rho > -EPSILON) {
+                        rho = 0.0;
+                    } else {
+                        throw new ProjectionException(ErrorKeys.TOLERANCE_ERROR);
+                    }
+                }
+                rho = sqrt(rho) / n;
+                y = rho0 - rho * cos(x);
+                x = rho * sin(x);
+            } catch (ProjectionException exception) {
+                x = Double.NaN;
+                y = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+            ordinates[i] = x;
+            ordinates[i + 1] = y;
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Inverse transforms many (<var>x</var>,<var>y</var>) coordinates in place. This is the same
+     * formulas than {@link #inverseTransformNormalized(double,double,Point2D)}, inlined in a single
+     * loop.
+     */
+    @Override
+    protected void inverseTransformNormalized(
+            final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        if (!isFormulaDeclaredBy(AlbersEqualArea.class, true)) {
+            super.inverseTransformNormalized(ordinates, offset, numPts);
+            return;
+        }
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            double x = ordinates[i];
+            double y = ordinates[i + 1];
+            try {
+                y = rho0 - y;
+                double rho = hypot(x, y);
+                if (rho > EPSILON) {
+                    if (n < 0.0) {
+                        rho = -rho;
+                        x = -x;
+                        y = -y;
+                    }
+                    x = atan2(x, y) / n;
+                    y = rho * n;
+                    if (isSpherical) {
+                        y = (c - y * y) / (n * 2);
+                        if (abs(y) <= 1.0) {
+                            y = asin(y);
+                        } else {
+                            y = (y < 0.0) ? -PI / 2.0 : PI / 2.0;
+                        }
+                    } else {
+                        y = (c - y * y) / n;
+                        if (abs(ec - abs(y)) > EPSILON) {
+                            y = phi1(y);
+                        } else {
+                            y = (y < 0.0) ? -PI / 2.0 : PI / 2.0;
+                        }
+                    }
+                } else {
+                    x = 0.0;
+                    y = n > 0.0 ? PI / 2.0 : -PI / 2.0;
+                }
+            } catch (ProjectionException exception) {
+                x = Double.NaN;
+                y = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+            ordinates[i] = x;
+            ordinates[i + 1] = y;
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
     /**
      * Iteratively solves equation (3-16) from Snyder.
      *
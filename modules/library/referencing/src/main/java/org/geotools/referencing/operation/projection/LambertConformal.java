@@ -276,6 +276,109 @@ protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst)
         return new Point2D.Double(x, y);
     }
 
+    /**
+     * Transforms many (<var>&lambda;</var>,<var>&phi;</var>) coordinates in place. This is the same
+     * formulas than {@link #transformNormalized(double,double,Point2D)}, inlined in a single loop.
+     */
+    @Override
+    protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        if (!isFormulaDeclaredBy(LambertConformal.class, false)) {
+            super.transformNormalized(ordinates, offset, numPts);
+            return;
+        }
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            double x = ordinates[i];
+            double y = ordinates[i + 1];
+            try {
+                final double rho;
+                if (abs(abs(y) - PI / 2) < EPSILON) {
+                    if (y * n <= 0) {
+                        throw new ProjectionException(y);
+                    }
+                    rho = 0;
+                } else if (isSpherical) {
+                    rho = F * pow(tan(PI / 4 + 0.5 * y), -n);
+                } else {
+                    rho = F * pow(tsfn(y, sin(y)), n);
+                }
+                x *= n;
+                if (belgium) {
+                    x -= BELGE_A;
+                }
+                y = rho0 - rho * cos(x);
+                x = rho * sin(x);
+            } catch (ProjectionException exception) {
+                x = Double.NaN;
+                y = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+            ordinates[i] = x;
+            ordinates[i + 1] = y;
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Inverse transforms many (<var>x</var>,<var>y</var>) coordinates in place. This is the same
+     * formulas than {@link #inverseTransformNormalized(double,double,Point2D)}, inlined in a single
+     * loop.
+     */
+    @Override
+    protected void inverseTransformNormalized(
+            final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        if (!isFormulaDeclaredBy(LambertConformal.class, true)) {
+            super.inverseTransformNormalized(ordinates, offset, numPts);
+            return;
+        }
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            double x = ordinates[i];
+            double y = ordinates[i + 1];
+            try {
+                y = rho0 - y;
+                double rho = hypot(x, y);
+                if (rho > EPSILON) {
+                    if (n < 0) {
+                        rho = -rho;
+                        x = -x;
+                        y = -y;
+                    }
+                    double theta = atan2(x, y);
+                    if (belgium) {
+                        theta += BELGE_A;
+                    }
+                    x = theta / n;
+                    if (isSpherical) {
+                        y = 2.0 * atan(pow(F / rho, 1.0 / n)) - PI / 2;
+                    } else {
+                        y = cphi2(pow(rho / F, 1.0 / n));
+                    }
+                } else {
+                    x = 0.0;
+                    y = n < 0 ? -(PI / 2) : (PI / 2);
+                }
+            } catch (ProjectionException exception) {
+                x = Double.NaN;
+                y = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+            ordinates[i] = x;
+            ordinates[i + 1] = y;
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
     /** Returns a hash value for this projection. */
     @Override
     public int hashCode() {
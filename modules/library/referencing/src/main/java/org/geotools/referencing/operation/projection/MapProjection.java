@@ -36,6 +36,7 @@
 import java.awt.geom.Point2D;
 import java.io.Serializable;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -849,6 +850,125 @@ protected abstract Point2D inverseTransformNormalized(double x, double y, final
     protected abstract Point2D transformNormalized(double lambda, double phi, final Point2D ptDst)
             throws ProjectionException;
 
+    /**
+     * Transforms many (<var>&lambda;</var>,<var>&phi;</var>) coordinates at once, in place. This
+     * method is invoked by {@link #transform(double[],int,double[],int,int)} with the same
+     * standardization than {@link #transformNormalized(double,double,Point2D)}: the ordinates are
+     * in radians, with the {@link #centralMeridian} already removed, and the results are linear
+     * distances on a unit sphere or ellipse.
+     *
+     * <p>The default implementation invokes {@link #transformNormalized(double,double,Point2D)} for
+     * each point. Subclasses can override this method with tight loops over the array, avoiding the
+     * per-point overhead. Implementations must transform every point even if some of them can't be
+     * transformed, set the non-transformable points to {@link Double#NaN} and then throw the first
+     * exception.
+     *
+     * @param ordinates The (<var>&lambda;</var>,<var>&phi;</var>) pairs to transform in place.
+     * @param offset The index of the first ordinate to transform.
+     * @param numPts The number of points to transform.
+     * @throws ProjectionException if a point can't be transformed.
+     * @since 32.0
+     */
+    protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        final Point2D.Double point = new Point2D.Double();
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            try {
+                final Point2D result = transformNormalized(ordinates[i], ordinates[i + 1], point);
+                ordinates[i] = result.getX();
+                ordinates[i + 1] = result.getY();
+            } catch (ProjectionException exception) {
+                ordinates[i] = Double.NaN;
+                ordinates[i + 1] = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Inverse transforms many (<var>x</var>,<var>y</var>) coordinates at once, in place. This is
+     * the array counterpart of {@link #inverseTransformNormalized(double,double,Point2D)}, with the
+     * same contract than {@link #transformNormalized(double[],int,int)}.
+     *
+     * @param ordinates The (<var>x</var>,<var>y</var>) pairs to transform in place.
+     * @param offset The index of the first ordinate to transform.
+     * @param numPts The number of points to transform.
+     * @throws ProjectionException if a point can't be transformed.
+     * @since 32.0
+     */
+    protected void inverseTransformNormalized(
+            final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        final Point2D.Double point = new Point2D.Double();
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            try {
+                final Point2D result =
+                        inverseTransformNormalized(ordinates[i], ordinates[i + 1], point);
+                ordinates[i] = result.getX();
+                ordinates[i + 1] = result.getY();
+            } catch (ProjectionException exception) {
+                ordinates[i] = Double.NaN;
+                ordinates[i + 1] = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the point by point formulas of this projection are the ones declared
+     * in the given class. Subclasses overriding {@link #transformNormalized(double[],int,int)} or
+     * {@link #inverseTransformNormalized(double[],int,int)} with inlined formulas use this method
+     * in order to fallback on the default implementation when a subclass (typically the spherical
+     * case) provides its own point by point formulas.
+     *
+     * @param type The class providing the inlined formulas.
+     * @param inverse {@code true} for the inverse formulas, {@code false} for the direct ones.
+     * @since 32.0
+     */
+    protected final boolean isFormulaDeclaredBy(final Class<?> type, final boolean inverse) {
+        return FORMULAS.get(getClass())[inverse ? 1 : 0] == type;
+    }
+
+    /**
+     * The classes declaring the {@code transformNormalized} and {@code inverseTransformNormalized}
+     * point by point methods, for each projection class.
+     */
+    private static final ClassValue<Class<?>[]> FORMULAS =
+            new ClassValue<Class<?>[]>() {
+                @Override
+                protected Class<?>[] computeValue(final Class<?> type) {
+                    return new Class<?>[] {
+                        getDeclaringClass(type, "transformNormalized"),
+                        getDeclaringClass(type, "inverseTransformNormalized")
+                    };
+                }
+            };
+
+    /** Returns the class declaring the given point by point method. */
+    private static Class<?> getDeclaringClass(final Class<?> type, final String method) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(method, double.class, double.class, Point2D.class);
+                return c;
+            } catch (NoSuchMethodException e) {
+                // Not declared in this class, check the super-class.
+            }
+        }
+        return null;
+    }
+
     /**
      * Transforms the specified {@code ptSrc} and stores the result in {@code ptDst}.
      *
@@ -913,39 +1033,68 @@ assert checkReciprocal(
      */
     @Override
     public final void transform(
-            final double[] srcPts, int srcOff, final double[] dstPts, int dstOff, int numPts)
+            final double[] srcPts,
+            final int srcOff,
+            final double[] dstPts,
+            final int dstOff,
+            final int numPts)
             throws ProjectionException {
+        if (numPts <= 0) {
+            return;
+        }
+        final int length = 2 * numPts;
+        final int end = dstOff + length;
+        double[] sources = null;
+        assert (sources = Arrays.copyOfRange(srcPts, srcOff, srcOff + length)) != null;
         /*
-         * Vérifie s'il faudra parcourir le tableau en sens inverse.
-         * Ce sera le cas si les tableaux source et destination se
-         * chevauchent et que la destination est après la source.
+         * Copies the points in the destination array first, which takes care of overlapping
+         * source and destination arrays. The points are then transformed in place in three
+         * passes: standardization, projection on the unit sphere or ellipse, then scaling.
+         * See transform(Point2D, Point2D) for the details of the standardization.
          */
-        final boolean reverse =
-                (srcPts == dstPts && srcOff < dstOff && srcOff + (2 * numPts) > dstOff);
-        if (reverse) {
-            srcOff += 2 * numPts;
-            dstOff += 2 * numPts;
+        System.arraycopy(srcPts, srcOff, dstPts, dstOff, length);
+        boolean verify = verifyCoordinateRanges();
+        for (int i = dstOff; i < end; i += 2) {
+            final double x = dstPts[i];
+            final double y = dstPts[i + 1];
+            if (verify && verifyGeographicRanges(this, x, y)) {
+                warningLogged();
+                verify = false;
+            }
+            dstPts[i] =
+                    centralMeridian != 0
+                            ? rollLongitude(toRadians(x) - centralMeridian)
+                            : toRadians(x);
+            dstPts[i + 1] = toRadians(y);
         }
-        final Point2D.Double point = new Point2D.Double();
         ProjectionException firstException = null;
-        while (--numPts >= 0) {
-            try {
-                point.x = srcPts[srcOff++];
-                point.y = srcPts[srcOff++];
-                transform(point, point);
-                dstPts[dstOff++] = point.x;
-                dstPts[dstOff++] = point.y;
-            } catch (ProjectionException exception) {
-                dstPts[dstOff++] = Double.NaN;
-                dstPts[dstOff++] = Double.NaN;
-                if (firstException == null) {
-                    firstException = exception;
+        try {
+            transformNormalized(dstPts, dstOff, numPts);
+        } catch (ProjectionException exception) {
+            firstException = exception;
+        }
+        for (int i = dstOff; i < end; i += 2) {
+            dstPts[i] = globalScale * dstPts[i] + falseEasting;
+            dstPts[i + 1] = globalScale * dstPts[i + 1] + falseNorthing;
+        }
+        if (sources != null && invertible) {
+            for (int i = 0; i < length; i += 2) {
+                final int j = dstOff + i;
+                if (!Double.isNaN(dstPts[j]) && !Double.isNaN(dstPts[j + 1])) {
+                    try {
+                        assert checkReciprocal(
+                                new Point2D.Double(dstPts[j], dstPts[j + 1]),
+                                new Point2D.Double(sources[i], sources[i + 1]),
+                                true);
+                    } catch (ProjectionException exception) {
+                        dstPts[j] = Double.NaN;
+                        dstPts[j + 1] = Double.NaN;
+                        if (firstException == null) {
+                            firstException = exception;
+                        }
+                    }
                 }
             }
-            if (reverse) {
-                srcOff -= 4;
-                dstOff -= 4;
-            }
         }
         if (firstException != null) {
             throw firstException;
@@ -1080,38 +1229,63 @@ assert checkReciprocal(
          */
         @Override
         public final void transform(
-                final double[] src, int srcOffset, final double[] dest, int dstOffset, int numPts)
+                final double[] src,
+                final int srcOffset,
+                final double[] dest,
+                final int dstOffset,
+                final int numPts)
                 throws TransformException {
-            /*
-             * Vérifie s'il faudra parcourir le tableau en sens inverse.
-             * Ce sera le cas si les tableaux source et destination se
-             * chevauchent et que la destination est après la source.
-             */
-            final boolean reverse =
-                    (src == dest && srcOffset < dstOffset && srcOffset + (2 * numPts) > dstOffset);
-            if (reverse) {
-                srcOffset += 2 * numPts;
-                dstOffset += 2 * numPts;
+            if (numPts <= 0) {
+                return;
+            }
+            final int length = 2 * numPts;
+            final int end = dstOffset + length;
+            double[] sources = null;
+            assert (sources = Arrays.copyOfRange(src, srcOffset, srcOffset + length)) != null;
+            // Same three passes than MapProjection.transform(double[], ...), in reverse order.
+            System.arraycopy(src, srcOffset, dest, dstOffset, length);
+            for (int i = dstOffset; i < end; i += 2) {
+                dest[i] = (dest[i] - falseEasting) / globalScale;
+                dest[i + 1] = (dest[i + 1] - falseNorthing) / globalScale;
             }
-            final Point2D.Double point = new Point2D.Double();
             ProjectionException firstException = null;
-            while (--numPts >= 0) {
-                try {
-                    point.x = src[srcOffset++];
-                    point.y = src[srcOffset++];
-                    transform(point, point);
-                    dest[dstOffset++] = point.x;
-                    dest[dstOffset++] = point.y;
-                } catch (ProjectionException exception) {
-                    dest[dstOffset++] = Double.NaN;
-                    dest[dstOffset++] = Double.NaN;
-                    if (firstException == null) {
-                        firstException = exception;
-                    }
+            try {
+                inverseTransformNormalized(dest, dstOffset, numPts);
+            } catch (ProjectionException exception) {
+                firstException = exception;
+            }
+            boolean verify = verifyCoordinateRanges();
+            for (int i = dstOffset; i < end; i += 2) {
+                final double x =
+                        toDegrees(
+                                centralMeridian != 0
+                                        ? rollLongitude(dest[i] + centralMeridian)
+                                        : dest[i]);
+                final double y = toDegrees(dest[i + 1]);
+                dest[i] = x;
+                dest[i + 1] = y;
+                if (verify && verifyGeographicRanges(this, x, y)) {
+                    warningLogged();
+                    verify = false;
                 }
-                if (reverse) {
-                    srcOffset -= 4;
-                    dstOffset -= 4;
+            }
+            if (sources != null) {
+                for (int i = 0; i < length; i += 2) {
+                    final int j = dstOffset + i;
+                    if (!Double.isNaN(dest[j]) && !Double.isNaN(dest[j + 1])) {
+                        try {
+                            assert checkReciprocal(
+                                    new Point2D.Double(dest[j], dest[j + 1]),
+                                    new Point2D.Double(sources[i], sources[i + 1]),
+                                    false);
+                        } catch (ProjectionException exception) {
+                            dest[j] = Double.NaN;
+                            dest[j + 1] = Double.NaN;
+                            if (firstException == null) {
+                                firstException = exception;
+                            }
+                        }
+                    }
                 }
             }
             if (firstException != null) {
@@ -173,6 +173,75 @@ protected Point2D inverseTransformNormalized(double x, double y, final Point2D p
         return new Point2D.Double(x, y);
     }
 
+    /**
+     * Transforms many (<var>&lambda;</var>,<var>&phi;</var>) coordinates in place. This is the same
+     * formulas than {@link #transformNormalized(double,double,Point2D)}, inlined in a single loop.
+     */
+    @Override
+    protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        if (!isFormulaDeclaredBy(Mercator.class, false)) {
+            super.transformNormalized(ordinates, offset, numPts);
+            return;
+        }
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            double x = ordinates[i];
+            double y = ordinates[i + 1];
+            try {
+                if (abs(y) > (PI / 2 - EPSILON)) {
+                    throw new ProjectionException(y);
+                }
+                y = -log(tsfn(y, sin(y)));
+            } catch (ProjectionException exception) {
+                x = Double.NaN;
+                y = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+            ordinates[i] = x;
+            ordinates[i + 1] = y;
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Inverse transforms many (<var>x</var>,<var>y</var>) coordinates in place. This is the same
+     * formulas than {@link #inverseTransformNormalized(double,double,Point2D)}, inlined in a single
+     * loop.
+     */
+    @Override
+    protected void inverseTransformNormalized(
+            final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        if (!isFormulaDeclaredBy(Mercator.class, true)) {
+            super.inverseTransformNormalized(ordinates, offset, numPts);
+            return;
+        }
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            double x = ordinates[i];
+            double y = ordinates[i + 1];
+            try {
+                y = cphi2(exp(-y));
+            } catch (ProjectionException exception) {
+                x = Double.NaN;
+                y = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+            ordinates[i] = x;
+            ordinates[i + 1] = y;
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
     /**
      * Provides the transform equations for the spherical case of the Mercator projection.
      *
@@ -226,6 +226,115 @@ protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst)
         return new Point2D.Double(x, y);
     }
 
+    /**
+     * Transforms many (<var>&lambda;</var>,<var>&phi;</var>) coordinates in place. This is the same
+     * formulas than {@link #transformNormalized(double,double,Point2D)}, inlined in a single loop.
+     */
+    @Override
+    protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        if (!isFormulaDeclaredBy(TransverseMercator.class, false)) {
+            super.transformNormalized(ordinates, offset, numPts);
+            return;
+        }
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            double x = ordinates[i];
+            double y = ordinates[i + 1];
+            try {
+                final double sinphi = sin(y);
+                final double cosphi = cos(y);
+                double t = (abs(cosphi) > EPSILON) ? sinphi / cosphi : 0;
+                t *= t;
+                double al = cosphi * x;
+                final double als = al * al;
+                al /= sqrt(1.0 - excentricitySquared * sinphi * sinphi);
+                final double n = esp * cosphi * cosphi;
+                final double ys1 = 1385.0 + t * (t * (543.0 - t) - 3111.0);
+                final double ys2 =
+                        61.0 + t * (t - 58.0) + n * (270.0 - 330.0 * t) + FC8 * als * ys1;
+                final double ys3 = 5.0 - t + n * (9.0 + 4.0 * n) + FC6 * als * ys2;
+                y = mlfn(y, sinphi, cosphi) - ml0 + sinphi * al * x * FC2 * (1.0 + FC4 * als * ys3);
+                final double xs1 = 61.0 + t * (t * (179.0 - t) - 479.0);
+                final double xs2 = 5.0 + t * (t - 18.0) + n * (14.0 - 58.0 * t) + FC7 * als * xs1;
+                x = al * (FC1 + FC3 * als * (1.0 - t + n + FC5 * als * xs2));
+            } catch (ProjectionException exception) {
+                x = Double.NaN;
+                y = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+            ordinates[i] = x;
+            ordinates[i + 1] = y;
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Inverse transforms many (<var>x</var>,<var>y</var>) coordinates in place. This is the same
+     * formulas than {@link #inverseTransformNormalized(double,double,Point2D)}, inlined in a single
+     * loop.
+     */
+    @Override
+    protected void inverseTransformNormalized(
+            final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        if (!isFormulaDeclaredBy(TransverseMercator.class, true)) {
+            super.inverseTransformNormalized(ordinates, offset, numPts);
+            return;
+        }
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            double x = ordinates[i];
+            double y = ordinates[i + 1];
+            try {
+                final double phi = inv_mlfn(ml0 + y);
+                if (abs(phi) >= PI / 2) {
+                    y = y < 0.0 ? -(PI / 2) : (PI / 2);
+                    x = 0.0;
+                } else {
+                    final double sinphi = sin(phi);
+                    final double cosphi = cos(phi);
+                    double t = (abs(cosphi) > EPSILON) ? sinphi / cosphi : 0.0;
+                    final double n = esp * cosphi * cosphi;
+                    double con = 1.0 - excentricitySquared * sinphi * sinphi;
+                    final double d = x * sqrt(con);
+                    con *= t;
+                    t *= t;
+                    final double ds = d * d;
+                    final double ys1 = 1385.0 + t * (3633.0 + t * (4095.0 + 1575.0 * t));
+                    final double ys2 =
+                            61.0 + t * (90.0 - 252.0 * n + 45.0 * t) + 46.0 * n - ds * FC8 * ys1;
+                    final double ys3 =
+                            5.0 + t * (3.0 - 9.0 * n) + n * (1.0 - 4 * n) - ds * FC6 * ys2;
+                    y =
+                            phi
+                                    - (con * ds / (1.0 - excentricitySquared))
+                                            * FC2
+                                            * (1.0 - ds * FC4 * ys3);
+                    final double xs1 = 61.0 + t * (662.0 + t * (1320.0 + 720.0 * t));
+                    final double xs2 =
+                            5.0 + t * (28.0 + 24 * t + 8.0 * n) + 6.0 * n - ds * FC7 * xs1;
+                    x = d * (FC1 - ds * FC3 * (1.0 + 2.0 * t + n - ds * FC5 * xs2)) / cosphi;
+                }
+            } catch (ProjectionException exception) {
+                x = Double.NaN;
+                y = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+            ordinates[i] = x;
+            ordinates[i + 1] = y;
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     protected double getToleranceForAssertions(final double longitude, final double latitude) {
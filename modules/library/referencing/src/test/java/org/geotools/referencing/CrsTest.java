@@ -19,7 +19,9 @@
 import static org.geotools.referencing.crs.DefaultGeographicCRS.WGS84;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -410,4 +412,47 @@ public void testReprojectAzimuthalEquidistant() throws Exception {
         assertEquals(2.57e7, transformed.getMaximum(0), 1e6);
         assertEquals(1.41e7, transformed.getMaximum(1), 1e6);
     }
+
+    @Test
+    public void testFindMathTransformCached() throws Exception {
+        String wkt =
+                "PROJCS[\"equi7_europe_nofalseXY\",GEOGCS[\"GCS_WGS_1984\",DATUM[\"D_WGS_1984\",SPHEROID[\"WGS_1984\",6378137.0,298.257223563]],PRIMEM[\"Greenwich\",0.0],UNIT[\"Degree\",0.0174532925199433]],PROJECTION[\"Azimuthal_Equidistant\"],PARAMETER[\"false_easting\",5837287.81977],PARAMETER[\"false_northing\",2121415.69617],PARAMETER[\"central_meridian\",24.0],PARAMETER[\"latitude_of_origin\",53.0],UNIT[\"Meter\",1.0]]";
+        CoordinateReferenceSystem crs1 = CRS.parseWKT(wkt);
+        CoordinateReferenceSystem crs2 = CRS.parseWKT(wkt.replace("equi7_europe", "renamed"));
+        assertNotSame(crs1, crs2);
+        assertTrue(CRS.equalsIgnoreMetadata(crs1, crs2));
+
+        MathTransform transform = CRS.findMathTransform(WGS84, crs1, true);
+        assertSame(transform, CRS.findMathTransform(WGS84, crs1, true));
+        // same CRS ignoring metadata, served from the cache
+        assertSame(transform, CRS.findMathTransform(WGS84, crs2, true));
+        assertEquals(transform.inverse(), CRS.findMathTransform(crs2, WGS84, true));
+    }
+
+    @Test
+    public void testFindMathTransformCacheBursaWolf() throws Exception {
+        String wkt =
+                "GEOGCS[\"Custom\",DATUM[\"Custom datum\","
+                        + "SPHEROID[\"Bessel 1841\",6377397.155,299.1528128],"
+                        + "TOWGS84[%s,0,0,0,0,0,0]],"
+                        + "PRIMEM[\"Greenwich\",0.0],UNIT[\"degree\",0.017453292519943295]]";
+        CoordinateReferenceSystem crs1 = CRS.parseWKT(String.format(wkt, "100"));
+        CoordinateReferenceSystem crs2 = CRS.parseWKT(String.format(wkt, "500"));
+        // Bursa-Wolf parameters are not compared by equalsIgnoreMetadata...
+        assertTrue(CRS.equalsIgnoreMetadata(crs1, crs2));
+
+        // ... but they change the transform, so the cache must not mix them up
+        MathTransform t1 = CRS.findMathTransform(WGS84, crs1, true);
+        MathTransform t2 = CRS.findMathTransform(WGS84, crs2, true);
+        assertNotEquals(t1, t2);
+    }
+
+    @Test
+    public void testPrewarmMathTransforms() throws Exception {
+        CRS.prewarmMathTransforms(true, "CRS:84", "EPSG:5684");
+        CoordinateReferenceSystem source = CRS.decode("CRS:84");
+        CoordinateReferenceSystem target = CRS.decode("EPSG:5684");
+        assertNotNull(CRS.findMathTransform(source, target, true));
+        assertNotNull(CRS.findMathTransform(target, source, true));
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory.epsg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.crs.ProjectedCRS;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.ReferencingFactoryFinder;
+import org.geotools.referencing.factory.ReferencingFactoryContainer;
+import org.geotools.util.factory.Hints;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests {@link FactoryUsingSnapshot}. */
+public final class FactoryUsingSnapshotTest {
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Creates a snapshot of the WKT factory, and compares the objects read from it. */
+    @Test
+    public void testSnapshot() throws Exception {
+        final FactoryUsingWKT source =
+                (FactoryUsingWKT)
+                        ReferencingFactoryFinder.getCRSAuthorityFactory(
+                                "EPSG",
+                                new Hints(Hints.CRS_AUTHORITY_FACTORY, FactoryUsingWKT.class));
+        final File directory = folder.getRoot();
+        final Map<String, String> failures =
+                FactoryUsingSnapshot.createSnapshot(
+                        source, new File(directory, FactoryUsingSnapshot.FILENAME));
+        assertTrue(failures.toString(), failures.isEmpty());
+
+        final FactoryUsingSnapshot factory =
+                new FactoryUsingSnapshot(new Hints(Hints.CRS_AUTHORITY_EXTRA_DIRECTORY, directory));
+        try {
+            assertTrue(factory.isAvailable());
+            final Set<String> codes = source.getAuthorityCodes(CoordinateReferenceSystem.class);
+            assertEquals(codes, factory.getAuthorityCodes(CoordinateReferenceSystem.class));
+            assertEquals(
+                    source.getAuthorityCodes(ProjectedCRS.class),
+                    factory.getAuthorityCodes(ProjectedCRS.class));
+            for (final String code : codes) {
+                final CoordinateReferenceSystem expected =
+                        source.createCoordinateReferenceSystem(code);
+                final CoordinateReferenceSystem actual =
+                        factory.createCoordinateReferenceSystem("EPSG:" + code);
+                assertTrue(code, CRS.equalsIgnoreMetadata(expected, actual));
+                assertEquals(code, expected.getIdentifiers(), actual.getIdentifiers());
+                assertEquals(
+                        code,
+                        expected.getName().getCode(),
+                        factory.getDescriptionText(code).toString());
+            }
+        } finally {
+            factory.dispose();
+        }
+    }
+
+    /** Tests that the factory is not available when there is no snapshot. */
+    @Test
+    public void testNoSnapshot() throws Exception {
+        final FactoryUsingSnapshot factory =
+                new FactoryUsingSnapshot(
+                        new Hints(Hints.CRS_AUTHORITY_EXTRA_DIRECTORY, folder.getRoot()));
+        assertFalse(factory.isAvailable());
+    }
+
+    /** Tests that a snapshot containing a class outside of the referencing ones is not loaded. */
+    @Test
+    public void testRejectedClass() throws Exception {
+        // a serializable class that has no business in a snapshot
+        final ByteArrayOutputStream object = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(object))) {
+            out.writeObject(new File("rejected"));
+        }
+        final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(index)) {
+            out.writeUTF("Rejected");
+            // CRS section with a single geographic CRS entry, empty operations and pairs
+            out.writeInt(1);
+            out.writeUTF("4326");
+            out.writeByte(0);
+            out.writeUTF("WGS 84");
+            out.writeInt(0);
+            out.writeInt(object.size());
+            out.writeInt(0);
+            out.writeInt(0);
+        }
+        final File file = new File(folder.getRoot(), FactoryUsingSnapshot.FILENAME);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(0x47544553);
+            out.writeInt(1);
+            out.writeInt(index.size());
+            index.writeTo(out);
+            object.writeTo(out);
+        }
+
+        final SnapshotAuthorityFactory factory =
+                new SnapshotAuthorityFactory(
+                        ReferencingFactoryContainer.instance(null), file.toURI().toURL(), 1);
+        assertEquals(Set.of("4326"), factory.getAuthorityCodes(CoordinateReferenceSystem.class));
+        try {
+            factory.createObject("4326");
+            fail("The snapshot should not have been loaded");
+        } catch (FactoryException e) {
+            assertTrue(e.getCause() instanceof InvalidClassException);
+        }
+    }
+}
@@ -24,6 +24,7 @@
 import java.awt.geom.Point2D;
 import org.geotools.api.parameter.ParameterValueGroup;
 import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.operation.MathTransform2D;
 import org.geotools.api.referencing.operation.MathTransformFactory;
 import org.geotools.api.referencing.operation.TransformException;
 import org.geotools.referencing.ReferencingFactoryFinder;
@@ -124,4 +125,49 @@ public void testOrthodromicDistance() throws FactoryException {
         Point2D target2 = new Point2D.Double(src.getX(), src.getY() + 0.000000000001);
         assertEquals(1.1117412E-7, mt.orthodromicDistance(src, target2), 1E-12);
     }
+
+    /**
+     * Tests that the bulk transforms on coordinate arrays give the same results than the point by
+     * point transforms, for the projections providing inlined array formulas.
+     */
+    @Test
+    public void testArrayTransformConsistency() throws TransformException, FactoryException {
+        final MathTransformFactory mtFactory =
+                ReferencingFactoryFinder.getMathTransformFactory(null);
+        final String[] methods = {
+            "Transverse_Mercator",
+            "Mercator_1SP",
+            "Lambert_Conformal_Conic_2SP",
+            "Albers_Conic_Equal_Area"
+        };
+        final double[] geographic = new double[2 * 100];
+        for (int i = 0; i < geographic.length; i += 2) {
+            geographic[i] = -5 + 0.1 * i;
+            geographic[i + 1] = 30 + 0.2 * i;
+        }
+        for (final String method : methods) {
+            final ParameterValueGroup parameters = mtFactory.getDefaultParameters(method);
+            parameters.parameter(SEMI_MAJOR.getName().getCode()).setValue(6378137.0);
+            parameters.parameter(SEMI_MINOR.getName().getCode()).setValue(6356752.314245179);
+            if (method.startsWith("Lambert") || method.startsWith("Albers")) {
+                parameters.parameter("standard_parallel_1").setValue(35.0);
+                parameters.parameter("standard_parallel_2").setValue(45.0);
+            }
+            final MapProjection mt =
+                    (MapProjection) mtFactory.createParameterizedTransform(parameters);
+            final double[] projected = new double[geographic.length];
+            mt.transform(geographic, 0, projected, 0, geographic.length / 2);
+            final double[] inverse = new double[geographic.length];
+            mt.inverse().transform(projected, 0, inverse, 0, projected.length / 2);
+            for (int i = 0; i < geographic.length; i += 2) {
+                final Point2D point =
+                        mt.transform(new Point2D.Double(geographic[i], geographic[i + 1]), null);
+                assertEquals(method, point.getX(), projected[i], 0.0);
+                assertEquals(method, point.getY(), projected[i + 1], 0.0);
+                final Point2D back = ((MathTransform2D) mt.inverse()).transform(point, null);
+                assertEquals(method, back.getX(), inverse[i], 0.0);
+                assertEquals(method, back.getY(), inverse[i + 1], 0.0);
+            }
+        }
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.geotools.TestData;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.shapefile.ShapefileDataStore;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.feature.SchemaException;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.geotools.styling.StyleBuilder;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Data and rendering helpers shared by the benchmarks. Random data is generated with a fixed seed,
+ * so that runs are reproducible, and all data is kept in memory, so that I/O does not affect the
+ * measurements.
+ */
+class BenchmarkData {
+
+    /** Seed used for all random data generation */
+    static final long SEED = 42;
+
+    /** The area random data is generated in, and rendered */
+    static final ReferencedEnvelope AREA =
+            new ReferencedEnvelope(-180, 180, -90, 90, DefaultGeographicCRS.WGS84);
+
+    static final GeometryFactory GF = new GeometryFactory();
+
+    private BenchmarkData() {}
+
+    /** Loads one of the sample-data shapefiles in memory */
+    static SimpleFeatureCollection sample(String name) throws IOException {
+        ShapefileDataStore store = new ShapefileDataStore(TestData.url("shapes/" + name + ".shp"));
+        try {
+            SimpleFeatureSource source = store.getFeatureSource();
+            return DataUtilities.collection(source.getFeatures());
+        } finally {
+            store.dispose();
+        }
+    }
+
+    /**
+     * Generates random features
+     *
+     * @param geometryType One of "point", "line", "polygon"
+     * @param count The number of features
+     * @param size The geometry size, in degrees, for lines and polygons
+     */
+    static SimpleFeatureCollection random(String geometryType, int count, double size)
+            throws SchemaException {
+        String binding = getBinding(geometryType);
+        SimpleFeatureType type =
+                DataUtilities.createType(
+                        geometryType, "geom:" + binding + ":srid=4326,name:String,value:int");
+        Random random = new Random(SEED);
+        List<SimpleFeature> features = new ArrayList<>(count);
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        for (int i = 0; i < count; i++) {
+            double x = AREA.getMinX() + random.nextDouble() * (AREA.getWidth() - size);
+            double y = AREA.getMinY() + random.nextDouble() * (AREA.getHeight() - size);
+            fb.add(randomGeometry(binding, x, y, size, random));
+            fb.add("label" + i);
+            fb.add(random.nextInt(100));
+            features.add(fb.buildFeature(geometryType + "." + i));
+        }
+        return DataUtilities.collection(features);
+    }
+
+    private static String getBinding(String geometryType) {
+        switch (geometryType) {
+            case "point":
+                return "Point";
+            case "line":
+                return "LineString";
+            case "polygon":
+                return "Polygon";
+            default:
+                throw new IllegalArgumentException("Unknown geometry type " + geometryType);
+        }
+    }
+
+    /** A random point, a random walk line, or a star shaped polygon of 16 vertices */
+    private static Geometry randomGeometry(
+            String binding, double x, double y, double size, Random random) {
+        if ("Point".equals(binding)) {
+            return GF.createPoint(new Coordinate(x, y));
+        }
+        int vertices = 16;
+        Coordinate[] coordinates =
+                new Coordinate["Polygon".equals(binding) ? vertices + 1 : vertices];
+        double cx = x + size / 2;
+        double cy = y + size / 2;
+        for (int i = 0; i < vertices; i++) {
+            if ("Polygon".equals(binding)) {
+                double angle = 2 * Math.PI * i / vertices;
+                double radius = size / 2 * (0.5 + random.nextDouble() / 2);
+                coordinates[i] =
+                        new Coordinate(
+                                cx + Math.cos(angle) * radius, cy + Math.sin(angle) * radius);
+            } else {
+                coordinates[i] =
+                        new Coordinate(
+                                x + size * i / (vertices - 1), y + size * random.nextDouble());
+            }
+        }
+        if ("Polygon".equals(binding)) {
+            coordinates[vertices] = coordinates[0];
+            return GF.createPolygon(coordinates);
+        }
+        return GF.createLineString(coordinates);
+    }
+
+    /** Returns a simple style for the given geometry type */
+    static Style style(String geometryType) {
+        StyleBuilder sb = new StyleBuilder();
+        switch (geometryType) {
+            case "point":
+                return sb.createStyle(
+                        sb.createPointSymbolizer(
+                                sb.createGraphic(
+                                        null,
+                                        sb.createMark("circle", Color.RED, Color.BLACK, 1),
+                                        null,
+                                        1,
+                                        6,
+                                        0)));
+            case "line":
+                return sb.createStyle(sb.createLineSymbolizer(Color.BLUE, 2));
+            case "polygon":
+                return sb.createStyle(sb.createPolygonSymbolizer(Color.GRAY, Color.BLACK, 1));
+            default:
+                throw new IllegalArgumentException("Unknown geometry type " + geometryType);
+        }
+    }
+
+    /** Builds a map content with a single layer */
+    static MapContent map(SimpleFeatureCollection features, Style style) {
+        MapContent content = new MapContent();
+        content.addLayer(new FeatureLayer(features, style));
+        return content;
+    }
+
+    /** Renders the map content on an antialiased image of the given size */
+    static BufferedImage render(
+            MapContent content, ReferencedEnvelope area, int width, int height, Map<?, ?> hints) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(
+                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        try {
+            StreamingRenderer renderer = new StreamingRenderer();
+            renderer.setMapContent(content);
+            if (hints != null) {
+                renderer.setRendererHints(hints);
+            }
+            renderer.paint(graphics, new Rectangle(width, height), area);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+}
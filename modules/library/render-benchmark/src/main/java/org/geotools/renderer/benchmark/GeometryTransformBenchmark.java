@@ -0,0 +1,117 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.benchmark;
+
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.MathTransform;
+import org.geotools.data.DataUtilities;
+import org.geotools.geometry.jts.Decimator;
+import org.geotools.geometry.jts.LiteShape2;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.operation.transform.ConcatenatedTransform;
+import org.geotools.referencing.operation.transform.ProjectiveTransform;
+import org.geotools.renderer.lite.RendererUtilities;
+import org.locationtech.jts.geom.Geometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the geometry preparation step of rendering: transformation to screen space, optionally
+ * with a reprojection, and decimation, down to the path iteration the painter performs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GeometryTransformBenchmark {
+
+    @Param({"line", "polygon"})
+    String geometryType;
+
+    @Param({"false", "true"})
+    boolean reproject;
+
+    @Param({"false", "true"})
+    boolean generalize;
+
+    List<Geometry> geometries;
+
+    MathTransform transform;
+
+    Decimator decimator;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        geometries =
+                DataUtilities.list(BenchmarkData.random(geometryType, 10000, 2)).stream()
+                        .map(f -> (Geometry) f.getDefaultGeometry())
+                        .collect(java.util.stream.Collectors.toList());
+
+        Rectangle paintArea = new Rectangle(768, 384);
+        ReferencedEnvelope area = BenchmarkData.AREA;
+        MathTransform crsTransform = null;
+        if (reproject) {
+            CoordinateReferenceSystem mercator = CRS.decode("EPSG:3857", true);
+            area = new ReferencedEnvelope(-180, 180, -80, 80, area.getCoordinateReferenceSystem());
+            area = area.transform(mercator, true);
+            crsTransform =
+                    CRS.findMathTransform(
+                            BenchmarkData.AREA.getCoordinateReferenceSystem(), mercator);
+        }
+        AffineTransform worldToScreen = RendererUtilities.worldToScreenTransform(area, paintArea);
+        MathTransform screenTransform = ProjectiveTransform.create(worldToScreen);
+        transform =
+                crsTransform == null
+                        ? screenTransform
+                        : ConcatenatedTransform.create(crsTransform, screenTransform);
+        decimator = new Decimator(screenTransform.inverse(), paintArea);
+    }
+
+    @Benchmark
+    public double transform() throws Exception {
+        double[] coords = new double[6];
+        double sum = 0;
+        for (Geometry geometry : geometries) {
+            LiteShape2 shape = new LiteShape2(geometry, transform, decimator, generalize);
+            PathIterator pi = shape.getPathIterator(null);
+            while (!pi.isDone()) {
+                pi.currentSegment(coords);
+                sum += coords[0];
+                pi.next();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.benchmark;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.geotools.api.style.Style;
+import org.geotools.api.style.TextSymbolizer;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.map.MapContent;
+import org.geotools.styling.StyleBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of labelling random points, with and without conflict resolution, isolating the
+ * work done by the label cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LabelingBenchmark {
+
+    @Param({"1000", "10000"})
+    int count;
+
+    @Param({"true", "false"})
+    boolean conflictResolution;
+
+    MapContent content;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        SimpleFeatureCollection features = BenchmarkData.random("point", count, 0);
+        StyleBuilder sb = new StyleBuilder();
+        TextSymbolizer ts =
+                sb.createTextSymbolizer(Color.BLACK, sb.createFont("Serif", 10), "name");
+        ts.getOptions()
+                .put(TextSymbolizer.CONFLICT_RESOLUTION_KEY, String.valueOf(conflictResolution));
+        Style style = sb.createStyle(ts);
+        content = BenchmarkData.map(features, style);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        content.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        return BenchmarkData.render(content, BenchmarkData.AREA, 768, 384, null);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.benchmark;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.geotools.api.style.Style;
+import org.geotools.api.style.TextSymbolizer;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.CRS;
+import org.geotools.styling.StyleBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering of the sample data shapefiles (loaded in memory), with labels, both in their
+ * native CRS and reprojected to web mercator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SampleDataRenderingBenchmark {
+
+    @Param({"statepop", "roads", "bugsites"})
+    String dataset;
+
+    @Param({"native", "EPSG:3857"})
+    String targetCRS;
+
+    MapContent content;
+
+    ReferencedEnvelope area;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        SimpleFeatureCollection features = BenchmarkData.sample(dataset);
+        content = BenchmarkData.map(features, style(features));
+        ReferencedEnvelope bounds = features.getBounds();
+        if ("native".equals(targetCRS)) {
+            area = bounds;
+        } else {
+            area = bounds.transform(CRS.decode(targetCRS), true);
+        }
+    }
+
+    /** A style for the dataset geometry type, labelling features with their first text attribute */
+    private Style style(SimpleFeatureCollection features) {
+        Class<?> binding = features.getSchema().getGeometryDescriptor().getType().getBinding();
+        String geometryType;
+        if (org.locationtech.jts.geom.Puntal.class.isAssignableFrom(binding)) {
+            geometryType = "point";
+        } else if (org.locationtech.jts.geom.Lineal.class.isAssignableFrom(binding)) {
+            geometryType = "line";
+        } else {
+            geometryType = "polygon";
+        }
+        Style style = BenchmarkData.style(geometryType);
+        String label =
+                features.getSchema().getAttributeDescriptors().stream()
+                        .filter(ad -> String.class.equals(ad.getType().getBinding()))
+                        .map(ad -> ad.getLocalName())
+                        .findFirst()
+                        .orElse(null);
+        if (label != null) {
+            StyleBuilder sb = new StyleBuilder();
+            TextSymbolizer ts =
+                    sb.createTextSymbolizer(Color.BLACK, sb.createFont("Serif", 10), label);
+            style.featureTypeStyles().get(0).rules().get(0).symbolizers().add(ts);
+        }
+        return style;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        content.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        return BenchmarkData.render(content, area, 768, 512, null);
+    }
+}
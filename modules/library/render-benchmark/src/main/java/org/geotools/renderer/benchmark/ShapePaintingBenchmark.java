@@ -0,0 +1,131 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.referencing.operation.MathTransform;
+import org.geotools.api.style.Symbolizer;
+import org.geotools.data.DataUtilities;
+import org.geotools.geometry.jts.Decimator;
+import org.geotools.geometry.jts.LiteShape2;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.operation.transform.ProjectiveTransform;
+import org.geotools.renderer.lite.RendererUtilities;
+import org.geotools.renderer.lite.StyledShapePainter;
+import org.geotools.renderer.style.SLDStyleFactory;
+import org.geotools.renderer.style.Style2D;
+import org.geotools.util.NumberRange;
+import org.locationtech.jts.geom.Geometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the Java2D painting step alone, with shapes and styles prepared in advance, using the
+ * {@link StyledShapePainter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ShapePaintingBenchmark {
+
+    @Param({"point", "line", "polygon"})
+    String geometryType;
+
+    @Param({"true", "false"})
+    boolean antialiasing;
+
+    List<LiteShape2> shapes;
+
+    List<Style2D> styles;
+
+    StyledShapePainter painter;
+
+    BufferedImage image;
+
+    Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        Rectangle paintArea = new Rectangle(768, 384);
+        ReferencedEnvelope area = BenchmarkData.AREA;
+        MathTransform worldToScreen =
+                ProjectiveTransform.create(
+                        RendererUtilities.worldToScreenTransform(area, paintArea));
+        Decimator decimator = new Decimator(worldToScreen.inverse(), paintArea);
+        Symbolizer symbolizer =
+                BenchmarkData.style(geometryType)
+                        .featureTypeStyles()
+                        .get(0)
+                        .rules()
+                        .get(0)
+                        .symbolizers()
+                        .get(0);
+        SLDStyleFactory styleFactory = new SLDStyleFactory();
+        NumberRange<Double> scaleRange = NumberRange.create(0d, Double.MAX_VALUE);
+
+        shapes = new ArrayList<>();
+        styles = new ArrayList<>();
+        for (SimpleFeature f : DataUtilities.list(BenchmarkData.random(geometryType, 10000, 2))) {
+            Geometry geometry = (Geometry) f.getDefaultGeometry();
+            shapes.add(new LiteShape2(geometry, worldToScreen, decimator, false));
+            styles.add(styleFactory.createStyle(f, symbolizer, scaleRange));
+        }
+        painter = new StyledShapePainter();
+
+        image = new BufferedImage(768, 384, BufferedImage.TYPE_4BYTE_ABGR);
+        graphics = image.createGraphics();
+        graphics.setRenderingHint(
+                RenderingHints.KEY_ANTIALIASING,
+                antialiasing
+                        ? RenderingHints.VALUE_ANTIALIAS_ON
+                        : RenderingHints.VALUE_ANTIALIAS_OFF);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paint() throws Exception {
+        for (int i = 0; i < shapes.size(); i++) {
+            painter.paint(graphics, shapes.get(i), styles.get(i), 1);
+        }
+        return image;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.style.Symbolizer;
+import org.geotools.data.DataUtilities;
+import org.geotools.renderer.style.SLDStyleFactory;
+import org.geotools.renderer.style.Style2D;
+import org.geotools.util.NumberRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the conversion of SLD symbolizers into {@link Style2D} objects, once per feature. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StyleFactoryBenchmark {
+
+    @Param({"point", "line", "polygon"})
+    String geometryType;
+
+    List<SimpleFeature> features;
+
+    Symbolizer symbolizer;
+
+    SLDStyleFactory styleFactory;
+
+    NumberRange<Double> scaleRange;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        features = DataUtilities.list(BenchmarkData.random(geometryType, 10000, 2));
+        symbolizer =
+                BenchmarkData.style(geometryType)
+                        .featureTypeStyles()
+                        .get(0)
+                        .rules()
+                        .get(0)
+                        .symbolizers()
+                        .get(0);
+        styleFactory = new SLDStyleFactory();
+        scaleRange = NumberRange.create(0d, Double.MAX_VALUE);
+    }
+
+    @Benchmark
+    public int createStyles() {
+        int result = 0;
+        for (SimpleFeature feature : features) {
+            Style2D style = styleFactory.createStyle(feature, symbolizer, scaleRange);
+            result += style == null ? 0 : 1;
+        }
+        return result;
+    }
+}
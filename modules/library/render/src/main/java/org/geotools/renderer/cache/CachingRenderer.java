@@ -0,0 +1,238 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.cache;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.MapContent;
+import org.geotools.renderer.GTRenderer;
+import org.geotools.renderer.RenderListener;
+import org.geotools.renderer.lite.RendererUtilities;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A {@link GTRenderer} reusing the images rendered by a delegate renderer, as long as they are
+ * found in the provided {@link RenderedTileCache}. On cache miss the delegate renders on a
+ * transparent image of the requested size, which is then cached and painted on the target graphics.
+ * Images produced by renderings with errors, or that were stopped, are not cached.
+ *
+ * <p>Map contents containing layers whose output cannot be tracked, like {@link
+ * org.geotools.map.DirectLayer}, are always rendered by the delegate directly.
+ */
+public class CachingRenderer implements GTRenderer {
+
+    GTRenderer delegate;
+
+    RenderedTileCache cache;
+
+    volatile boolean stopped;
+
+    /**
+     * Builds a caching renderer
+     *
+     * @param delegate The renderer actually painting the maps
+     * @param cache The cache of rendered images, can be shared among many renderers
+     */
+    public CachingRenderer(GTRenderer delegate, RenderedTileCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /** Returns the cache used by this renderer */
+    public RenderedTileCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public void stopRendering() {
+        stopped = true;
+        delegate.stopRendering();
+    }
+
+    @Override
+    public void addRenderListener(RenderListener listener) {
+        delegate.addRenderListener(listener);
+    }
+
+    @Override
+    public void removeRenderListener(RenderListener listener) {
+        delegate.removeRenderListener(listener);
+    }
+
+    @Override
+    public void setJava2DHints(RenderingHints hints) {
+        delegate.setJava2DHints(hints);
+    }
+
+    @Override
+    public RenderingHints getJava2DHints() {
+        return delegate.getJava2DHints();
+    }
+
+    @Override
+    public void setRendererHints(Map<?, ?> hints) {
+        delegate.setRendererHints(hints);
+    }
+
+    @Override
+    public Map<Object, Object> getRendererHints() {
+        return delegate.getRendererHints();
+    }
+
+    @Override
+    public void setMapContent(MapContent mapContent) {
+        delegate.setMapContent(mapContent);
+    }
+
+    @Override
+    public MapContent getMapContent() {
+        return delegate.getMapContent();
+    }
+
+    @Override
+    public void paint(Graphics2D graphics, Rectangle paintArea, AffineTransform worldToScreen) {
+        try {
+            Envelope mapArea = RendererUtilities.createMapEnvelope(paintArea, worldToScreen);
+            paint(graphics, paintArea, mapArea, worldToScreen);
+        } catch (NoninvertibleTransformException e) {
+            throw new IllegalArgumentException("Invalid world to screen transformation", e);
+        }
+    }
+
+    @Override
+    public void paint(Graphics2D graphics, Rectangle paintArea, Envelope mapArea) {
+        paint(
+                graphics,
+                paintArea,
+                new ReferencedEnvelope(mapArea, getMapContent().getCoordinateReferenceSystem()));
+    }
+
+    @Override
+    public void paint(Graphics2D graphics, Rectangle paintArea, ReferencedEnvelope mapArea) {
+        paint(
+                graphics,
+                paintArea,
+                mapArea,
+                RendererUtilities.worldToScreenTransform(mapArea, paintArea));
+    }
+
+    @Override
+    public void paint(
+            Graphics2D graphics,
+            Rectangle paintArea,
+            Envelope mapArea,
+            AffineTransform worldToScreen) {
+        paint(
+                graphics,
+                paintArea,
+                new ReferencedEnvelope(mapArea, getMapContent().getCoordinateReferenceSystem()),
+                worldToScreen);
+    }
+
+    @Override
+    public void paint(
+            Graphics2D graphics,
+            Rectangle paintArea,
+            ReferencedEnvelope mapArea,
+            AffineTransform worldToScreen) {
+        stopped = false;
+        RenderedTileKey key = buildKey(paintArea, mapArea, worldToScreen);
+        if (key == null) {
+            delegate.paint(graphics, paintArea, mapArea, worldToScreen);
+            return;
+        }
+
+        BufferedImage image = cache.get(key);
+        if (image == null) {
+            // track the changes before rendering, edits made meanwhile prevent caching the image
+            long generation = cache.track(key);
+            image =
+                    new BufferedImage(
+                            paintArea.width, paintArea.height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D imageGraphics = image.createGraphics();
+            AffineTransform imageTransform =
+                    AffineTransform.getTranslateInstance(-paintArea.x, -paintArea.y);
+            imageTransform.concatenate(worldToScreen);
+            ErrorTracker tracker = new ErrorTracker();
+            delegate.addRenderListener(tracker);
+            try {
+                delegate.paint(
+                        imageGraphics,
+                        new Rectangle(paintArea.width, paintArea.height),
+                        mapArea,
+                        imageTransform);
+            } finally {
+                delegate.removeRenderListener(tracker);
+                imageGraphics.dispose();
+            }
+            if (stopped) {
+                return;
+            }
+            if (!tracker.errors) {
+                cache.put(key, image, generation);
+            }
+        }
+
+        Composite composite = graphics.getComposite();
+        graphics.setComposite(AlphaComposite.SrcOver);
+        graphics.drawImage(image, paintArea.x, paintArea.y, null);
+        graphics.setComposite(composite);
+    }
+
+    private RenderedTileKey buildKey(
+            Rectangle paintArea, ReferencedEnvelope mapArea, AffineTransform worldToScreen) {
+        MapContent content = getMapContent();
+        if (content == null) {
+            throw new IllegalStateException(
+                    "Cannot call paint, you did not set a MapContent in this renderer");
+        }
+        // the label cache is a per request object, not affecting the output
+        Map<Object, Object> rendererHints = null;
+        if (getRendererHints() != null) {
+            rendererHints = new HashMap<>(getRendererHints());
+            rendererHints.remove(StreamingRenderer.LABEL_CACHE_KEY);
+        }
+        return RenderedTileKey.build(
+                content, mapArea, paintArea, worldToScreen, rendererHints, getJava2DHints());
+    }
+
+    /** Tracks if any error occurred during the rendering */
+    static class ErrorTracker implements RenderListener {
+        boolean errors;
+
+        @Override
+        public void featureRenderer(SimpleFeature feature) {
+            // nothing to do
+        }
+
+        @Override
+        public void errorOccurred(Exception e) {
+            errors = true;
+        }
+    }
+}
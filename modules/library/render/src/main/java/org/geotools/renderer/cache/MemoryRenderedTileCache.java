@@ -0,0 +1,503 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.cache;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+import org.geotools.api.data.FeatureEvent;
+import org.geotools.api.data.FeatureListener;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A {@link RenderedTileCache} keeping the images in memory, evicting the least recently used ones
+ * when either the maximum number of entries, or the maximum memory usage, is exceeded. Optionally,
+ * evicted images can be spilled to a disk directory, limited in size as well, and read back on
+ * demand.
+ *
+ * <p>The cache registers itself as a {@link FeatureListener} on the feature sources of the cached
+ * images, dropping the images touched by modifications. Since changes in the data can affect the
+ * rendering also outside of the modified area (thick strokes, labels), the images whose area,
+ * expanded by a quarter of its size in each direction, intersects the modified bounds are dropped.
+ *
+ * <p>The cache state is guarded by the cache monitor, while the disk reads and writes happen
+ * outside of it. Evicted images are handed over to the spilling thread, and can still be returned
+ * until written. Spilled images are read back once, concurrent requests for the same image waiting
+ * for the read to complete.
+ */
+public class MemoryRenderedTileCache implements RenderedTileCache {
+
+    static final Logger LOGGER = Logging.getLogger(MemoryRenderedTileCache.class);
+
+    /** Expansion factor of the image area used when checking intersection with modified bounds */
+    static final double INVALIDATION_BUFFER = 0.25;
+
+    long maxEntries;
+
+    long maxBytes;
+
+    long bytes;
+
+    LinkedHashMap<RenderedTileKey, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    File spillDirectory;
+
+    long maxSpillBytes;
+
+    long spillBytes;
+
+    /** Images evicted from memory and being written to the spill directory */
+    Map<RenderedTileKey, BufferedImage> spilling = new HashMap<>();
+
+    LinkedHashMap<RenderedTileKey, SpilledImage> spilled = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Spilled images being read back */
+    Map<RenderedTileKey, FutureTask<BufferedImage>> reading = new HashMap<>();
+
+    /** Incremented by each invalidation, images read back or rendered meanwhile are dropped */
+    long generation;
+
+    Map<FeatureSource<?, ?>, FeatureListener> listeners = new WeakHashMap<>();
+
+    long hits;
+
+    long misses;
+
+    long evictions;
+
+    long invalidations;
+
+    /** An image written to the spill directory */
+    static class SpilledImage {
+        File file;
+
+        long size;
+
+        SpilledImage(File file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Builds a new memory cache
+     *
+     * @param maxEntries The maximum number of images kept in memory
+     * @param maxBytes The maximum amount of memory used by the images, in bytes
+     */
+    public MemoryRenderedTileCache(long maxEntries, long maxBytes) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum entries and memory must be positive, got "
+                            + maxEntries
+                            + " and "
+                            + maxBytes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Enables spilling of the images evicted from memory to the given directory
+     *
+     * @param spillDirectory The directory the images are written to, as PNG files
+     * @param maxSpillBytes The maximum amount of disk space used by the spilled images
+     */
+    public void setSpillDirectory(File spillDirectory, long maxSpillBytes) throws IOException {
+        if (!spillDirectory.isDirectory() && !spillDirectory.mkdirs()) {
+            throw new IOException("Could not create spill directory " + spillDirectory);
+        }
+        List<File> deleted = new ArrayList<>();
+        synchronized (this) {
+            clearSpilled(deleted);
+            this.spillDirectory = spillDirectory;
+            this.maxSpillBytes = maxSpillBytes;
+        }
+        deleteFiles(deleted);
+    }
+
+    @Override
+    public BufferedImage get(RenderedTileKey key) {
+        BufferedImage image;
+        List<Map.Entry<RenderedTileKey, BufferedImage>> evicted = Collections.emptyList();
+        FutureTask<BufferedImage> read = null;
+        boolean reader = false;
+        long readGeneration;
+        synchronized (this) {
+            image = images.get(key);
+            if (image == null) {
+                // evicted but not written yet, take it back
+                image = spilling.remove(key);
+                if (image != null) {
+                    evicted = addImage(key, image);
+                }
+            }
+            if (image == null && spillDirectory != null) {
+                read = reading.get(key);
+                if (read == null) {
+                    SpilledImage spilledImage = spilled.remove(key);
+                    if (spilledImage != null) {
+                        spillBytes -= spilledImage.size;
+                        read = new FutureTask<>(() -> readSpilled(spilledImage.file));
+                        reading.put(key, read);
+                        reader = true;
+                    }
+                }
+            }
+            if (image != null) {
+                hits++;
+            } else if (read == null) {
+                misses++;
+            }
+            readGeneration = generation;
+        }
+        spill(evicted);
+        if (read == null) {
+            return image;
+        }
+
+        // read back from disk outside of the lock, by the first thread asking for the image
+        if (reader) {
+            read.run();
+        }
+        try {
+            image = read.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            image = null;
+        } catch (ExecutionException e) {
+            image = null;
+        }
+        synchronized (this) {
+            if (reader) {
+                reading.remove(key, read);
+            }
+            if (image != null && generation == readGeneration) {
+                if (reader && !images.containsKey(key)) {
+                    evicted = addImage(key, image);
+                }
+                hits++;
+            } else {
+                // failed, or invalidated while reading
+                image = null;
+                misses++;
+            }
+        }
+        spill(evicted);
+        return image;
+    }
+
+    @Override
+    public synchronized long track(RenderedTileKey key) {
+        for (Object source : key.getSources()) {
+            if (source instanceof FeatureSource) {
+                listen((FeatureSource<?, ?>) source);
+            }
+        }
+        return generation;
+    }
+
+    @Override
+    public void put(RenderedTileKey key, BufferedImage image, long generation) {
+        long size = getSize(image);
+        if (size > maxBytes) {
+            return;
+        }
+        List<File> deleted = new ArrayList<>();
+        List<Map.Entry<RenderedTileKey, BufferedImage>> evicted;
+        synchronized (this) {
+            if (generation != this.generation) {
+                // the data changed while rendering, or the listeners got removed by a clear
+                return;
+            }
+            removeSpilled(key, deleted);
+            BufferedImage previous = images.remove(key);
+            if (previous != null) {
+                bytes -= getSize(previous);
+            }
+            evicted = addImage(key, image);
+        }
+        deleteFiles(deleted);
+        spill(evicted);
+    }
+
+    /**
+     * Adds the image, evicting the least recently used ones as needed. Returns the evicted images
+     * to be spilled once out of the lock, they are handed over through {@link #spilling} meanwhile.
+     */
+    private List<Map.Entry<RenderedTileKey, BufferedImage>> addImage(
+            RenderedTileKey key, BufferedImage image) {
+        images.put(key, image);
+        bytes += getSize(image);
+        List<Map.Entry<RenderedTileKey, BufferedImage>> evicted = new ArrayList<>();
+        Iterator<Map.Entry<RenderedTileKey, BufferedImage>> it = images.entrySet().iterator();
+        while ((bytes > maxBytes || images.size() > maxEntries) && it.hasNext()) {
+            Map.Entry<RenderedTileKey, BufferedImage> eldest = it.next();
+            if (eldest.getKey() == key) {
+                continue;
+            }
+            it.remove();
+            bytes -= getSize(eldest.getValue());
+            evictions++;
+            if (spillDirectory != null) {
+                spilling.put(eldest.getKey(), eldest.getValue());
+                evicted.add(new AbstractMap.SimpleEntry<>(eldest.getKey(), eldest.getValue()));
+            }
+        }
+        return evicted;
+    }
+
+    private void listen(FeatureSource<?, ?> source) {
+        if (!listeners.containsKey(source)) {
+            FeatureListener listener = new InvalidatingListener(this, source);
+            source.addFeatureListener(listener);
+            listeners.put(source, listener);
+        }
+    }
+
+    @Override
+    public void invalidate(Object source, ReferencedEnvelope bounds) {
+        List<File> deleted = new ArrayList<>();
+        synchronized (this) {
+            generation++;
+            List<RenderedTileKey> keys = new ArrayList<>();
+            for (RenderedTileKey key : images.keySet()) {
+                if (isAffected(key, source, bounds)) keys.add(key);
+            }
+            for (RenderedTileKey key : keys) {
+                bytes -= getSize(images.remove(key));
+                invalidations++;
+            }
+            // the spilling thread drops the file of images removed while being written
+            Iterator<RenderedTileKey> it = spilling.keySet().iterator();
+            while (it.hasNext()) {
+                if (isAffected(it.next(), source, bounds)) {
+                    it.remove();
+                    invalidations++;
+                }
+            }
+            keys.clear();
+            for (RenderedTileKey key : spilled.keySet()) {
+                if (isAffected(key, source, bounds)) keys.add(key);
+            }
+            for (RenderedTileKey key : keys) {
+                removeSpilled(key, deleted);
+                invalidations++;
+            }
+        }
+        deleteFiles(deleted);
+    }
+
+    private boolean isAffected(RenderedTileKey key, Object source, ReferencedEnvelope bounds) {
+        if (!key.dependsOn(source)) {
+            return false;
+        }
+        if (bounds == null || bounds.isNull()) {
+            return true;
+        }
+        ReferencedEnvelope area = new ReferencedEnvelope(key.getEnvelope());
+        area.expandBy(
+                area.getWidth() * INVALIDATION_BUFFER, area.getHeight() * INVALIDATION_BUFFER);
+        try {
+            ReferencedEnvelope modified = bounds;
+            if (bounds.getCoordinateReferenceSystem() != null
+                    && area.getCoordinateReferenceSystem() != null) {
+                modified = bounds.transform(area.getCoordinateReferenceSystem(), true);
+            }
+            return area.intersects(modified.getLowerCorner(), modified.getUpperCorner());
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Could not compare modified bounds, invalidating", e);
+            return true;
+        }
+    }
+
+    @Override
+    public void clear() {
+        List<File> deleted = new ArrayList<>();
+        synchronized (this) {
+            generation++;
+            images.clear();
+            bytes = 0;
+            clearSpilled(deleted);
+            for (Map.Entry<FeatureSource<?, ?>, FeatureListener> entry : listeners.entrySet()) {
+                entry.getKey().removeFeatureListener(entry.getValue());
+            }
+            listeners.clear();
+        }
+        deleteFiles(deleted);
+    }
+
+    @Override
+    public synchronized RenderedTileCacheStatistics getStatistics() {
+        return new RenderedTileCacheStatistics(
+                hits,
+                misses,
+                evictions,
+                invalidations,
+                images.size() + spilling.size() + spilled.size(),
+                bytes);
+    }
+
+    /** Estimates the memory used by the image */
+    static long getSize(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return ((long) buffer.getSize())
+                * buffer.getNumBanks()
+                * DataBuffer.getDataTypeSize(buffer.getDataType())
+                / 8;
+    }
+
+    /**
+     * Writes the evicted images to the spill directory, outside of the lock. Images taken back or
+     * invalidated while being written are not recorded, and their file is deleted.
+     */
+    private void spill(List<Map.Entry<RenderedTileKey, BufferedImage>> evicted) {
+        for (Map.Entry<RenderedTileKey, BufferedImage> entry : evicted) {
+            RenderedTileKey key = entry.getKey();
+            BufferedImage image = entry.getValue();
+            File directory;
+            synchronized (this) {
+                directory = spillDirectory;
+                if (directory == null || spilling.get(key) != image) {
+                    continue;
+                }
+            }
+
+            File file = null;
+            long size;
+            try {
+                file = File.createTempFile("tile", ".png", directory);
+                ImageIO.write(image, "png", file);
+                size = file.length();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to spill rendered image to disk", e);
+                synchronized (this) {
+                    spilling.remove(key, image);
+                }
+                if (file != null) {
+                    deleteFile(file);
+                }
+                continue;
+            }
+
+            List<File> deleted = new ArrayList<>();
+            synchronized (this) {
+                if (directory == spillDirectory && spilling.remove(key, image)) {
+                    spilled.put(key, new SpilledImage(file, size));
+                    spillBytes += size;
+                    Iterator<SpilledImage> it = spilled.values().iterator();
+                    while (spillBytes > maxSpillBytes && it.hasNext()) {
+                        SpilledImage eldest = it.next();
+                        it.remove();
+                        spillBytes -= eldest.size;
+                        deleted.add(eldest.file);
+                    }
+                } else {
+                    deleted.add(file);
+                }
+            }
+            deleteFiles(deleted);
+        }
+    }
+
+    private BufferedImage readSpilled(File file) {
+        try {
+            return ImageIO.read(file);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read back spilled rendered image", e);
+            return null;
+        } finally {
+            deleteFile(file);
+        }
+    }
+
+    /** Removes the spilled image, if any, adding its file to the ones to be deleted */
+    private void removeSpilled(RenderedTileKey key, List<File> deleted) {
+        spilling.remove(key);
+        SpilledImage spilledImage = spilled.remove(key);
+        if (spilledImage != null) {
+            spillBytes -= spilledImage.size;
+            deleted.add(spilledImage.file);
+        }
+    }
+
+    /** Removes all the spilled images, adding their files to the ones to be deleted */
+    private void clearSpilled(List<File> deleted) {
+        for (SpilledImage spilledImage : spilled.values()) {
+            deleted.add(spilledImage.file);
+        }
+        spilling.clear();
+        spilled.clear();
+        spillBytes = 0;
+    }
+
+    private void deleteFiles(List<File> files) {
+        for (File file : files) {
+            deleteFile(file);
+        }
+    }
+
+    private void deleteFile(File file) {
+        if (!file.delete() && file.exists()) {
+            LOGGER.log(Level.FINE, "Could not delete spilled image " + file);
+        }
+    }
+
+    /**
+     * Invalidates the cached images on feature source changes. The changes might be performed by a
+     * different feature source against the same data, so the source the listener was registered on
+     * is tracked. Keeps only weak references, so that the listener does not keep alive either the
+     * cache or the source.
+     */
+    static class InvalidatingListener implements FeatureListener {
+        WeakReference<RenderedTileCache> cacheReference;
+
+        WeakReference<FeatureSource<?, ?>> sourceReference;
+
+        InvalidatingListener(RenderedTileCache cache, FeatureSource<?, ?> source) {
+            this.cacheReference = new WeakReference<>(cache);
+            this.sourceReference = new WeakReference<>(source);
+        }
+
+        @Override
+        public void changed(FeatureEvent featureEvent) {
+            RenderedTileCache cache = cacheReference.get();
+            FeatureSource<?, ?> source = sourceReference.get();
+            if (cache != null && source != null) {
+                cache.invalidate(source, featureEvent.getBounds());
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.cache;
+
+import java.awt.image.BufferedImage;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+
+/**
+ * A cache of rendered images, shared across rendering requests. Implementations must be thread
+ * safe.
+ *
+ * @see CachingRenderer
+ * @see MemoryRenderedTileCache
+ */
+public interface RenderedTileCache {
+
+    /**
+     * Returns the image rendered for the given key, or null if not found
+     *
+     * @param key The rendering request key
+     */
+    BufferedImage get(RenderedTileKey key);
+
+    /**
+     * Starts tracking the changes of the data sources of the given key, to be called before
+     * rendering the image to be stored. Returns the generation to be passed to {@link
+     * #put(RenderedTileKey, BufferedImage, long)}, so that images rendered while the data changed
+     * are not stored.
+     *
+     * @param key The rendering request key
+     * @return The current generation of the cache
+     */
+    long track(RenderedTileKey key);
+
+    /**
+     * Stores the image rendered for the given key, unless the cache has been invalidated after the
+     * given generation was returned by {@link #track(RenderedTileKey)}. The image must not be
+     * modified after being stored.
+     *
+     * @param key The rendering request key
+     * @param image The rendered image
+     * @param generation The generation returned by {@link #track(RenderedTileKey)} before rendering
+     */
+    void put(RenderedTileKey key, BufferedImage image, long generation);
+
+    /**
+     * Stores an image whose data sources are known not to have changed since it was rendered. The
+     * image must not be modified after being stored.
+     *
+     * @param key The rendering request key
+     * @param image The rendered image
+     */
+    default void put(RenderedTileKey key, BufferedImage image) {
+        put(key, image, track(key));
+    }
+
+    /**
+     * Removes the images depending on the given data source
+     *
+     * @param source The data source, as returned by {@link RenderedTileKey#getSources()}
+     * @param bounds The area that changed, or null if unknown
+     */
+    void invalidate(Object source, ReferencedEnvelope bounds);
+
+    /** Removes all the cached images */
+    void clear();
+
+    /** Returns a snapshot of the cache usage statistics */
+    RenderedTileCacheStatistics getStatistics();
+}
@@ -0,0 +1,96 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.cache;
+
+/** A snapshot of the usage statistics of a {@link RenderedTileCache} */
+public class RenderedTileCacheStatistics {
+
+    long hits;
+
+    long misses;
+
+    long evictions;
+
+    long invalidations;
+
+    long entries;
+
+    long bytes;
+
+    public RenderedTileCacheStatistics(
+            long hits, long misses, long evictions, long invalidations, long entries, long bytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.entries = entries;
+        this.bytes = bytes;
+    }
+
+    /** Number of lookups that found an image */
+    public long getHits() {
+        return hits;
+    }
+
+    /** Number of lookups that did not find an image */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Ratio between hits and total lookups, or zero if no lookup was performed */
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : ((double) hits) / requests;
+    }
+
+    /** Number of images dropped to respect the cache limits */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /** Number of images dropped because the data they depend on changed */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /** Number of images currently in the cache */
+    public long getEntries() {
+        return entries;
+    }
+
+    /** Estimated memory used by the images currently in the cache */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "RenderedTileCacheStatistics [hits="
+                + hits
+                + ", misses="
+                + misses
+                + ", evictions="
+                + evictions
+                + ", invalidations="
+                + invalidations
+                + ", entries="
+                + entries
+                + ", bytes="
+                + bytes
+                + "]";
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.cache;
+
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.geotools.api.data.Query;
+import org.geotools.api.style.Style;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.GridCoverageLayer;
+import org.geotools.map.GridReaderLayer;
+import org.geotools.map.Layer;
+import org.geotools.map.MapContent;
+
+/**
+ * Identifies a rendering request: the layers being painted (data source, style and query), the area
+ * being painted, the image size and the hints driving the rendering. Data sources are compared by
+ * identity, styles and queries by value.
+ */
+public class RenderedTileKey {
+
+    /** The contribution of a single layer to the key */
+    static class LayerKey {
+        Object source;
+
+        Object parameters;
+
+        Style style;
+
+        Query query;
+
+        LayerKey(Object source, Object parameters, Style style, Query query) {
+            this.source = source;
+            this.parameters = parameters;
+            this.style = style;
+            this.query = query;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(source), parameters, style, query);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof LayerKey)) return false;
+            LayerKey other = (LayerKey) obj;
+            return source == other.source
+                    && Objects.equals(parameters, other.parameters)
+                    && Objects.equals(style, other.style)
+                    && Objects.equals(query, other.query);
+        }
+    }
+
+    List<LayerKey> layers;
+
+    ReferencedEnvelope envelope;
+
+    int width;
+
+    int height;
+
+    double[] worldToScreen;
+
+    Map<Object, Object> hints;
+
+    int hashCode;
+
+    RenderedTileKey(
+            List<LayerKey> layers,
+            ReferencedEnvelope envelope,
+            int width,
+            int height,
+            double[] worldToScreen,
+            Map<Object, Object> hints) {
+        this.layers = layers;
+        this.envelope = envelope;
+        this.width = width;
+        this.height = height;
+        this.worldToScreen = worldToScreen;
+        this.hints = hints;
+        this.hashCode =
+                Objects.hash(
+                        layers, envelope, width, height, Arrays.hashCode(worldToScreen), hints);
+    }
+
+    /**
+     * Builds the key for the given rendering request, or returns null if the request cannot be
+     * cached (e.g., it contains a {@link org.geotools.map.DirectLayer}, whose output cannot be
+     * tracked)
+     *
+     * @param content The map content being rendered
+     * @param mapArea The area being rendered
+     * @param paintArea The area being painted
+     * @param worldToScreen The world to screen transformation
+     * @param hints The renderer and java2d hints, which also affect the output
+     */
+    public static RenderedTileKey build(
+            MapContent content,
+            ReferencedEnvelope mapArea,
+            Rectangle paintArea,
+            AffineTransform worldToScreen,
+            Map<?, ?>... hints) {
+        List<LayerKey> layers = new ArrayList<>();
+        for (Layer layer : content.layers()) {
+            if (!layer.isVisible()) {
+                continue;
+            }
+            if (layer instanceof FeatureLayer) {
+                FeatureLayer fl = (FeatureLayer) layer;
+                layers.add(new LayerKey(fl.getFeatureSource(), null, fl.getStyle(), fl.getQuery()));
+            } else if (layer instanceof GridCoverageLayer) {
+                GridCoverageLayer gl = (GridCoverageLayer) layer;
+                layers.add(new LayerKey(gl.getCoverage(), null, gl.getStyle(), null));
+            } else if (layer instanceof GridReaderLayer) {
+                GridReaderLayer gl = (GridReaderLayer) layer;
+                List<Object> params = gl.getParams() == null ? null : Arrays.asList(gl.getParams());
+                layers.add(new LayerKey(gl.getReader(), params, gl.getStyle(), null));
+            } else {
+                return null;
+            }
+        }
+
+        // the image is painted at the origin, then moved where requested
+        AffineTransform at = AffineTransform.getTranslateInstance(-paintArea.x, -paintArea.y);
+        at.concatenate(worldToScreen);
+        double[] matrix = new double[6];
+        at.getMatrix(matrix);
+
+        Map<Object, Object> allHints = new HashMap<>();
+        for (Map<?, ?> map : hints) {
+            if (map != null) {
+                allHints.putAll(map);
+            }
+        }
+
+        return new RenderedTileKey(
+                Collections.unmodifiableList(layers),
+                new ReferencedEnvelope(mapArea),
+                paintArea.width,
+                paintArea.height,
+                matrix,
+                allHints);
+    }
+
+    /**
+     * Returns the data sources the rendered image depends on, feature sources, grid coverages or
+     * grid coverage readers
+     */
+    public List<Object> getSources() {
+        List<Object> sources = new ArrayList<>();
+        for (LayerKey layer : layers) {
+            sources.add(layer.source);
+        }
+        return sources;
+    }
+
+    /** Returns true if the rendered image depends on the given data source */
+    public boolean dependsOn(Object source) {
+        for (LayerKey layer : layers) {
+            if (layer.source == source) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The rendered area */
+    public ReferencedEnvelope getEnvelope() {
+        return envelope;
+    }
+
+    /** The rendered image width */
+    public int getWidth() {
+        return width;
+    }
+
+    /** The rendered image height */
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof RenderedTileKey)) return false;
+        RenderedTileKey other = (RenderedTileKey) obj;
+        return hashCode == other.hashCode
+                && width == other.width
+                && height == other.height
+                && Arrays.equals(worldToScreen, other.worldToScreen)
+                && Objects.equals(envelope, other.envelope)
+                && Objects.equals(layers, other.layers)
+                && Objects.equals(hints, other.hints);
+    }
+
+    @Override
+    public String toString() {
+        return "RenderedTileKey [layers="
+                + layers.size()
+                + ", envelope="
+                + envelope
+                + ", width="
+                + width
+                + ", height="
+                + height
+                + "]";
+    }
+}
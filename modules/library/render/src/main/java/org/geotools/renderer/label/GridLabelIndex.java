@@ -0,0 +1,180 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.label;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link LabelIndex} based on a uniform grid covering the display area, with the label bounds
+ * packed in a primitive array and each cell referring to them by position. Checking for conflicts
+ * does not allocate any object, which makes a difference when a large number of candidate positions
+ * is tested.
+ *
+ * <p>Bounds falling outside of the display area are associated to the border cells, so the answers
+ * are the same as {@link LabelIndex}, at the cost of a slower lookup for labels far from the
+ * display area.
+ */
+public class GridLabelIndex extends LabelIndex {
+
+    /** The default cell size, in pixels */
+    static final double DEFAULT_CELL_SIZE = 64;
+
+    /** Maximum number of cells along each axis */
+    static final int MAX_CELLS = 256;
+
+    private final double minX;
+
+    private final double minY;
+
+    private final double cellSize;
+
+    private final int cols;
+
+    private final int rows;
+
+    /** The positions of the bounds overlapping each cell */
+    private final int[][] cells;
+
+    private final int[] cellCounts;
+
+    /** The label bounds, packed as minx, miny, maxx, maxy */
+    private double[] bounds = new double[64];
+
+    private int count;
+
+    /** Builds a grid index covering the specified area, using the default cell size */
+    public GridLabelIndex(Rectangle2D area) {
+        this(area, DEFAULT_CELL_SIZE);
+    }
+
+    /** Builds a grid index covering the specified area, using the specified cell size */
+    public GridLabelIndex(Rectangle2D area, double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        double size = Math.max(area.getWidth(), area.getHeight());
+        this.cellSize = Math.max(cellSize, size / MAX_CELLS);
+        this.minX = area.getMinX();
+        this.minY = area.getMinY();
+        this.cols = Math.max(1, (int) Math.ceil(area.getWidth() / this.cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(area.getHeight() / this.cellSize));
+        this.cells = new int[cols * rows][];
+        this.cellCounts = new int[cols * rows];
+    }
+
+    @Override
+    public boolean labelsWithinDistance(Rectangle2D bounds, double distance) {
+        if (distance < 0) return false;
+
+        double x1 = bounds.getMinX() - distance;
+        double y1 = bounds.getMinY() - distance;
+        double x2 = bounds.getMaxX() + distance;
+        double y2 = bounds.getMaxY() + distance;
+        int c1 = col(x1);
+        int c2 = col(x2);
+        int r1 = row(y1);
+        int r2 = row(y2);
+        final double[] packed = this.bounds;
+        for (int r = r1; r <= r2; r++) {
+            for (int c = c1; c <= c2; c++) {
+                int cell = r * cols + c;
+                int[] positions = cells[cell];
+                for (int i = 0, n = cellCounts[cell]; i < n; i++) {
+                    int p = positions[i];
+                    // same as Envelope.intersects, touching counts as interference
+                    if (packed[p] <= x2
+                            && packed[p + 2] >= x1
+                            && packed[p + 1] <= y2
+                            && packed[p + 3] >= y1) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void addLabel(LabelCacheItem item, Rectangle2D bounds) {
+        add(bounds);
+    }
+
+    @Override
+    public void reserveArea(List<Rectangle2D> reserved) {
+        for (Rectangle2D area : reserved) {
+            add(area);
+        }
+    }
+
+    /** Returns the number of bounds stored in the index */
+    public int size() {
+        return count;
+    }
+
+    private void add(Rectangle2D area) {
+        double x1 = area.getMinX();
+        double y1 = area.getMinY();
+        double x2 = area.getMaxX();
+        double y2 = area.getMaxY();
+
+        int p = count * 4;
+        if (p + 4 > bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        bounds[p] = x1;
+        bounds[p + 1] = y1;
+        bounds[p + 2] = x2;
+        bounds[p + 3] = y2;
+        count++;
+
+        int c1 = col(x1);
+        int c2 = col(x2);
+        int r1 = row(y1);
+        int r2 = row(y2);
+        for (int r = r1; r <= r2; r++) {
+            for (int c = c1; c <= c2; c++) {
+                int cell = r * cols + c;
+                int[] positions = cells[cell];
+                int n = cellCounts[cell];
+                if (positions == null) {
+                    positions = cells[cell] = new int[4];
+                } else if (n == positions.length) {
+                    positions = cells[cell] = Arrays.copyOf(positions, n * 2);
+                }
+                positions[n] = p;
+                cellCounts[cell] = n + 1;
+            }
+        }
+    }
+
+    private int col(double x) {
+        return clamp((x - minX) / cellSize, cols);
+    }
+
+    private int row(double y) {
+        return clamp((y - minY) / cellSize, rows);
+    }
+
+    private static int clamp(double ordinal, int cells) {
+        if (ordinal < 0 || Double.isNaN(ordinal)) {
+            return 0;
+        }
+        return ordinal >= cells ? cells - 1 : (int) ordinal;
+    }
+}
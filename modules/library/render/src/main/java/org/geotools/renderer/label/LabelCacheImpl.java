@@ -105,6 +105,24 @@ public class LabelCacheImpl implements LabelCache {
     public static boolean DISABLE_LETTER_LEVEL_CONFLICT =
             Boolean.getBoolean("org.geotools.labelcache.disableLetterLevelConflict");
 
+    /**
+     * When true (the default) conflicts among labels are checked using a {@link GridLabelIndex},
+     * otherwise the quadtree based {@link LabelIndex} is used
+     */
+    static boolean GRID_INDEX =
+            Boolean.parseBoolean(System.getProperty("org.geotools.labelcache.gridIndex", "true"));
+
+    /**
+     * Minimum number of labels for their representative locations (clipped and merged geometries)
+     * to be computed in parallel, before the placement starts. A negative value disables the
+     * parallel computation
+     */
+    static int PARALLEL_THRESHOLD =
+            Integer.getInteger("org.geotools.labelcache.parallelThreshold", 1000);
+
+    /** Marks a label whose representative location has been computed, and was found empty */
+    static final Object NO_LOCATION = new Object();
+
     public enum LabelRenderingMode {
         /**
          * Always uses {@link Graphics2D#drawGlyphVector(java.awt.font.GlyphVector, float, float)}
@@ -548,7 +566,7 @@ void paintLabels(Graphics2D graphics, Rectangle displayArea) {
                             + " are layers that started rendering but have not completed,"
                             + " stop() or endLayer() must be called before end() is called");
         }
-        LabelIndex glyphs = new LabelIndex();
+        LabelIndex glyphs = createLabelIndex(displayArea);
         glyphs.reserveArea(reserved);
 
         // Used to check the paintLineLabel function
@@ -580,6 +598,9 @@ void paintLabels(Graphics2D graphics, Rectangle displayArea) {
         } else {
             items = getActiveLabels();
         }
+        if (PARALLEL_THRESHOLD >= 0 && items.size() >= PARALLEL_THRESHOLD) {
+            computeRepresentativeLocations(items, displayArea);
+        }
         LabelPainter painter = constructPainter.apply(graphics, labelRenderingMode);
         for (LabelCacheItem labelItem : items) {
             if (stop) return;
@@ -594,6 +615,106 @@ void paintLabels(Graphics2D graphics, Rectangle displayArea) {
         LOGGER.log(Level.FINE, "REMAINING LINE LABELS : {0}", items.size() - paintedLineLabels);
     }
 
+    /** Builds the index used to check conflicts among the labels painted in the display area */
+    LabelIndex createLabelIndex(Rectangle displayArea) {
+        if (GRID_INDEX) {
+            return new GridLabelIndex(displayArea);
+        }
+        return new LabelIndex();
+    }
+
+    /**
+     * Computes in parallel the representative locations of the labels, which only depend on the
+     * label geometries and the display area, leaving to the placement loop the parts that depend on
+     * the labels already painted
+     */
+    void computeRepresentativeLocations(List<LabelCacheItem> items, Rectangle displayArea) {
+        // the clipping code resets the cached envelopes, which is not safe if the same geometry
+        // is shared among labels and processed concurrently, so do it upfront instead
+        for (LabelCacheItem item : items) {
+            for (Geometry g : item.getGeoms()) {
+                g.geometryChanged();
+                g.apply((GeometryComponentFilter) c -> c.getEnvelopeInternal());
+            }
+        }
+        items.parallelStream()
+                .forEach(
+                        item -> {
+                            if (stop) return;
+                            try {
+                                item.representativeLocation =
+                                        computeRepresentativeLocation(item, displayArea);
+                            } catch (Exception e) {
+                                // will be computed again, and reported, while painting
+                                LOGGER.log(
+                                        Level.FINE,
+                                        "Failed to compute the label representative location",
+                                        e);
+                            }
+                        });
+    }
+
+    /**
+     * Computes the representative location of a label, following the same logic as {@link
+     * #paintLabel}, or returns null if the label location is not computed upfront
+     */
+    private Object computeRepresentativeLocation(LabelCacheItem labelItem, Rectangle displayArea) {
+        Geometry geom = labelItem.getGeometry();
+        Object location;
+        if ((geom instanceof Point) || (geom instanceof MultiPoint)) {
+            location =
+                    getPointSetRepresentativeLocation(
+                            labelItem.getGeoms(), displayArea, labelItem.isPartialsEnabled());
+        } else if (((geom instanceof LineString) && !(geom instanceof LinearRing))
+                || (geom instanceof MultiLineString)) {
+            location =
+                    getLineSetRepresentativeLocation(
+                            labelItem.getGeoms(),
+                            displayArea,
+                            labelItem.removeGroupOverlaps(),
+                            labelItem.isPartialsEnabled(),
+                            false);
+        } else if ((geom instanceof Polygon
+                        || geom instanceof MultiPolygon
+                        || geom instanceof LinearRing)
+                && labelItem.getTextStyle().isPointPlacement()
+                && !labelItem.isFollowLineEnabled()) {
+            location =
+                    getPolySetRepresentativeLocation(
+                            labelItem.getGeoms(),
+                            displayArea,
+                            labelItem.isPartialsEnabled(),
+                            false);
+        } else {
+            return null;
+        }
+        return location != null ? location : NO_LOCATION;
+    }
+
+    /**
+     * Returns the representative location computed by {@link #computeRepresentativeLocations},
+     * null if not available, {@link #NO_LOCATION} if found empty. The location is removed from the
+     * label, as it's going to be used only once
+     */
+    private Object takeRepresentativeLocation(LabelCacheItem labelItem) {
+        Object location = labelItem.representativeLocation;
+        labelItem.representativeLocation = null;
+        return location;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LineString> getLineLocation(LabelCacheItem labelItem, Rectangle displayArea) {
+        Object location = takeRepresentativeLocation(labelItem);
+        if (location != null) {
+            return location == NO_LOCATION ? null : (List<LineString>) location;
+        }
+        return getLineSetRepresentativeLocation(
+                labelItem.getGeoms(),
+                displayArea,
+                labelItem.removeGroupOverlaps(),
+                labelItem.isPartialsEnabled());
+    }
+
     int paintLabel(
             Graphics2D graphics,
             Rectangle displayArea,
@@ -742,12 +863,7 @@ private boolean paintLineLabelsWithLetterConflict(
             LabelIndex paintedBounds)
             throws Exception {
         final LabelCacheItem labelItem = painter.getLabel();
-        List<LineString> lines =
-                getLineSetRepresentativeLocation(
-                        labelItem.getGeoms(),
-                        displayArea,
-                        labelItem.removeGroupOverlaps(),
-                        labelItem.isPartialsEnabled());
+        List<LineString> lines = getLineLocation(labelItem, displayArea);
 
         if (lines == null || lines.isEmpty()) return false;
 
@@ -963,12 +1079,7 @@ private boolean paintLineLabels(
             LabelIndex paintedBounds)
             throws Exception {
         final LabelCacheItem labelItem = painter.getLabel();
-        List<LineString> lines =
-                getLineSetRepresentativeLocation(
-                        labelItem.getGeoms(),
-                        displayArea,
-                        labelItem.removeGroupOverlaps(),
-                        labelItem.isPartialsEnabled());
+        List<LineString> lines = getLineLocation(labelItem, displayArea);
 
         if (lines == null || lines.isEmpty()) return false;
 
@@ -1339,9 +1450,12 @@ private boolean paintPointLabel(
             throws Exception {
         LabelCacheItem labelItem = painter.getLabel();
         // get the point onto the shape has to be painted
+        Object location = takeRepresentativeLocation(labelItem);
         Point point =
-                getPointSetRepresentativeLocation(
-                        labelItem.getGeoms(), displayArea, labelItem.isPartialsEnabled());
+                location != null
+                        ? (location == NO_LOCATION ? null : (Point) location)
+                        : getPointSetRepresentativeLocation(
+                                labelItem.getGeoms(), displayArea, labelItem.isPartialsEnabled());
         if (point == null) return false;
 
         // prepare for the search loop
@@ -1579,9 +1693,12 @@ private boolean paintPolygonLabel(
             LabelIndex glyphs)
             throws Exception {
         LabelCacheItem labelItem = painter.getLabel();
+        Object location = takeRepresentativeLocation(labelItem);
         Polygon geom =
-                getPolySetRepresentativeLocation(
-                        labelItem.getGeoms(), displayArea, labelItem.isPartialsEnabled());
+                location != null
+                        ? (location == NO_LOCATION ? null : (Polygon) location)
+                        : getPolySetRepresentativeLocation(
+                                labelItem.getGeoms(), displayArea, labelItem.isPartialsEnabled());
         if (geom == null) {
             return false;
         }
@@ -1830,6 +1947,16 @@ List<LineString> getLineSetRepresentativeLocation(
             Rectangle displayArea,
             boolean removeOverlaps,
             boolean partialsEnabled) {
+        return getLineSetRepresentativeLocation(
+                geoms, displayArea, removeOverlaps, partialsEnabled, true);
+    }
+
+    private List<LineString> getLineSetRepresentativeLocation(
+            List<Geometry> geoms,
+            Rectangle displayArea,
+            boolean removeOverlaps,
+            boolean partialsEnabled,
+            boolean refreshEnvelopes) {
 
         // go through each geometry in the set.
         // if its a polygon or multipolygon, get the boundary (reduce to a line)
@@ -1847,7 +1974,7 @@ List<LineString> getLineSetRepresentativeLocation(
             // If we want labels to be entirely in the display area, clip the linestring
             if (!partialsEnabled) {
                 // more robust clipper -- see its dox
-                MultiLineString ll = clipLineString(ls);
+                MultiLineString ll = clipLineString(ls, refreshEnvelopes);
                 if ((ll != null) && (!(ll.isEmpty()))) {
                     for (int t = 0; t < ll.getNumGeometries(); t++)
                         clippedLines.add((LineString) ll.getGeometryN(t));
@@ -1944,10 +2071,13 @@ private int accumulateLineStrings(Geometry g, List<LineString> lines) {
      * return the unclipped line if there's a problem!
      */
     public MultiLineString clipLineString(LineString line) {
+        return clipLineString(line, true);
+    }
 
+    private MultiLineString clipLineString(LineString line, boolean refreshEnvelope) {
         Geometry clip = line;
         // djb -- jessie should do this during generalization
-        line.geometryChanged();
+        if (refreshEnvelope) line.geometryChanged();
         if (clipper.getBounds().contains(line.getEnvelopeInternal())) {
             // shortcut -- entirely inside the display rectangle -- no clipping
             // required!
@@ -1980,6 +2110,14 @@ public MultiLineString clipLineString(LineString line) {
      */
     Polygon getPolySetRepresentativeLocation(
             List<Geometry> geoms, Rectangle displayArea, boolean partialsEnabled) {
+        return getPolySetRepresentativeLocation(geoms, displayArea, partialsEnabled, true);
+    }
+
+    private Polygon getPolySetRepresentativeLocation(
+            List<Geometry> geoms,
+            Rectangle displayArea,
+            boolean partialsEnabled,
+            boolean refreshEnvelopes) {
         List<Polygon> polys = new ArrayList<>(); // points that are
         // inside the
         Geometry displayGeometry = gf.toGeometry(toEnvelope(displayArea));
@@ -2009,7 +2147,8 @@ Polygon getPolySetRepresentativeLocation(
         for (Polygon p : polys) {
             // If we want labels to be entirely in the display area, clip polygons
             if (!partialsEnabled) {
-                MultiPolygon pp = clipPolygon(p, (Polygon) displayGeometry, displayGeomEnv);
+                MultiPolygon pp =
+                        clipPolygon(p, (Polygon) displayGeometry, displayGeomEnv, refreshEnvelopes);
                 if ((pp != null) && (!(pp.isEmpty()))) {
                     for (int t = 0; t < pp.getNumGeometries(); t++)
                         clippedPolys.add((Polygon) pp.getGeometryN(t));
@@ -2052,9 +2191,13 @@ Polygon getPolySetRepresentativeLocation(
      * @return a MutliPolygon
      */
     public MultiPolygon clipPolygon(Polygon poly, Polygon bbox, Envelope displayGeomEnv) {
+        return clipPolygon(poly, bbox, displayGeomEnv, true);
+    }
 
+    private MultiPolygon clipPolygon(
+            Polygon poly, Polygon bbox, Envelope displayGeomEnv, boolean refreshEnvelope) {
         Geometry clip = poly;
-        poly.geometryChanged(); // djb -- jessie should do this during
+        if (refreshEnvelope) poly.geometryChanged(); // djb -- jessie should do this during
         // generalization
         if (displayGeomEnv.contains(poly.getEnvelopeInternal())) {
             // shortcut -- entirely inside the display rectangle -- no clipping
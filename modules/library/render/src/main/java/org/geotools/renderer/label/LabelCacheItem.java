@@ -80,6 +80,12 @@ public enum GraphicResize {
 
     double goodnessOfFit = 0;
 
+    /**
+     * The representative location computed ahead of the label placement (a point, a polygon or a
+     * list of lines, depending on the geometry type), or null if not computed
+     */
+    Object representativeLocation;
+
     TextSymbolizer.PolygonAlignOptions polygonAlign =
             org.geotools.api.style.TextSymbolizer.PolygonAlignOptions.NONE;
 
@@ -19,10 +19,13 @@
 import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.util.List;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.expression.Expression;
 import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.style.Rule;
 import org.geotools.data.util.ScreenMap;
+import org.geotools.filter.FilterCompiler;
 import org.geotools.map.Layer;
 import org.geotools.renderer.crs.ProjectionHandler;
 
@@ -86,6 +89,9 @@ final class LiteFeatureTypeStyle {
     /** The meta buffer for the current layer */
     int metaBuffer;
 
+    /** The rule filters, compiled against the schema of the features being rendered */
+    Filter[] ruleFilters;
+
     /**
      * use this for only the 1st FTS. We don't actually create an image for it -- we just use the
      * graphics. WATCH OUT FOR THIS. NOTE: image=null in this case
@@ -102,4 +108,32 @@ public LiteFeatureTypeStyle(
         this.elseRules = elseRuleList.toArray(new Rule[elseRuleList.size()]);
         this.transformation = transformation;
     }
+
+    /**
+     * Compiles the filters of {@link #ruleList} against the specified schema, to be called once
+     * the rules are no longer going to change, before the features are processed.
+     */
+    void compileRuleFilters(FeatureType schema) {
+        Filter[] filters = new Filter[ruleList.length];
+        for (int i = 0; i < ruleList.length; i++) {
+            filters[i] = FilterCompiler.compile(ruleList[i].getFilter(), schema);
+        }
+        this.ruleFilters = filters;
+    }
+
+    /**
+     * Returns the filter of the i-th rule, compiled if the rule did not change since {@link
+     * #compileRuleFilters(FeatureType)} was called
+     */
+    Filter getRuleFilter(int i) {
+        Filter filter = ruleList[i].getFilter();
+        Filter[] filters = ruleFilters;
+        if (filters != null
+                && i < filters.length
+                && filters[i] instanceof FilterCompiler.CompiledFilter
+                && ((FilterCompiler.CompiledFilter) filters[i]).getFilter() == filter) {
+            return filters[i];
+        }
+        return filter;
+    }
 }
@@ -21,6 +21,7 @@
 import com.conversantmedia.util.concurrent.PushPullBlockingQueue;
 import com.conversantmedia.util.concurrent.SpinPolicy;
 import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Composite;
 import java.awt.Graphics2D;
@@ -35,6 +36,7 @@
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
 import java.text.NumberFormat;
@@ -50,10 +52,13 @@
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.logging.Level;
@@ -152,6 +157,7 @@
 import org.geotools.renderer.lite.gridcoverage2d.GridCoverageRenderer;
 import org.geotools.renderer.style.LineStyle2D;
 import org.geotools.renderer.style.MarkAlongLine;
+import org.geotools.renderer.style.PointStyle2D;
 import org.geotools.renderer.style.SLDStyleFactory;
 import org.geotools.renderer.style.Style2D;
 import org.geotools.renderer.style.StyleAttributeExtractor;
@@ -398,6 +404,35 @@ public class StreamingRenderer implements GTRenderer {
 
     private static boolean DATELINE_WRAPPING_HEURISTIC_DEFAULT = true;
 
+    /**
+     * Integer value controlling how many layers of a compositing group get their features queried
+     * concurrently, on the renderer thread pool, ahead of painting (the layer being painted
+     * included). Painting and labelling still happen strictly in layer order.
+     *
+     * <p>Useful when the rendering time is dominated by the data sources latency, e.g., many layers
+     * coming from remote databases. Disabled by default, values lower than 2 also disable the
+     * parallel fetching.
+     */
+    public static final String PARALLEL_FETCH_KEY = "parallelFetch";
+
+    private static int PARALLEL_FETCH_DEFAULT = 0;
+
+    /**
+     * Integer value enabling tiled painting, and setting the tile size, in pixels.
+     *
+     * <p>When enabled, the shapes painted directly on the target graphics are rasterized on a grid
+     * of tile images, each one painted by a separate thread of the renderer thread pool, and then
+     * merged back on the target graphics. This allows large maps to use multiple cores during
+     * painting, at the cost of an extra ARGB buffer as big as the area being painted. Labelling is
+     * still performed once, on the whole map.
+     *
+     * <p>Tiled painting is used only when the target graphics has no transformation other than a
+     * translation set, and the paint area is larger than a single tile. Disabled by default.
+     */
+    public static final String TILED_PAINTING_KEY = "tiledPainting";
+
+    private static int TILED_PAINTING_DEFAULT = 0;
+
     public static final String LABEL_CACHE_KEY = "labelCache";
     public static final String FORCE_EPSG_AXIS_ORDER_KEY = "ForceEPSGAxisOrder";
     public static final String DPI_KEY = "dpi";
@@ -828,7 +863,8 @@ public void paint(
 
         // Setup the secondary painting thread
         requests = getRequestsQueue();
-        painterThread = new PainterThread(requests);
+        TiledPainter tiledPainter = createTiledPainter(graphics, paintArea);
+        painterThread = new PainterThread(requests, tiledPainter);
         ExecutorService localThreadPool = threadPool;
         boolean localPool = false;
         if (localThreadPool == null) {
@@ -837,6 +873,7 @@ public void paint(
         }
         Future painterFuture = localThreadPool.submit(painterThread);
         List<CompositingGroup> compositingGroups = null;
+        ParallelFeatureFetcher fetcher = null;
         try {
             if (mapContent == null) {
                 throw new IllegalStateException(
@@ -871,7 +908,13 @@ public void paint(
                                     LabelRenderingMode.valueOf(getTextRenderingMethod()));
                 }
 
-                for (Layer layer : currentMapContent.layers()) {
+                List<Layer> layers = currentMapContent.layers();
+                if (fetcher != null) {
+                    fetcher.dispose();
+                }
+                fetcher = createParallelFetcher(compositingGraphic, layers);
+                for (int i = 0; i < layers.size(); i++) {
+                    Layer layer = layers.get(i);
                     try {
                         renderListeners.forEach(l -> l.layerStart(layer));
                     } catch (Exception e) {
@@ -915,7 +958,8 @@ public void paint(
                         try {
                             // extract the feature type stylers from the style object
                             // and process them
-                            processStylers(compositingGraphic, layer, layerId);
+                            LayerFetch fetch = fetcher != null ? fetcher.take(i) : null;
+                            processStylers(compositingGraphic, layer, layerId, fetch);
                         } catch (Throwable t) {
                             fireErrorEvent(t);
                         }
@@ -942,6 +986,10 @@ public void paint(
             }
         } finally {
             try {
+                // release the features fetched ahead and not painted (e.g., rendering stopped)
+                if (fetcher != null) {
+                    fetcher.dispose();
+                }
                 // clean up generated map contents (in finally block to ensure it's done regardless
                 // of how we got here
                 if (compositingGroups != null) {
@@ -962,6 +1010,9 @@ public void paint(
                     painterFuture.cancel(true);
                     fireErrorEvent(e);
                 } finally {
+                    if (tiledPainter != null) {
+                        tiledPainter.dispose();
+                    }
                     if (localPool) {
                         localThreadPool.shutdown();
                     }
@@ -1771,6 +1822,28 @@ private double getAdvancedProjectionDensificationTolerance() {
         return ((Double) result).doubleValue();
     }
 
+    /**
+     * Returns the number of layers whose features are fetched concurrently. See {@link
+     * #PARALLEL_FETCH_KEY} description for a full explanation.
+     */
+    private int getParallelFetchLayers() {
+        if (rendererHints == null) return PARALLEL_FETCH_DEFAULT;
+        Object result = rendererHints.get(PARALLEL_FETCH_KEY);
+        if (result == null) return PARALLEL_FETCH_DEFAULT;
+        return ((Number) result).intValue();
+    }
+
+    /**
+     * Returns the size of the tiles used for tiled painting, or zero if disabled. See {@link
+     * #TILED_PAINTING_KEY} description for a full explanation.
+     */
+    private int getTiledPaintingSize() {
+        if (rendererHints == null) return TILED_PAINTING_DEFAULT;
+        Object result = rendererHints.get(TILED_PAINTING_KEY);
+        if (result == null) return TILED_PAINTING_DEFAULT;
+        return ((Number) result).intValue();
+    }
+
     /** Checks if advanced projection wrapping heuristic should be enabled. */
     private boolean isWrappingHeuristicEnabled() {
         if (rendererHints == null) return true;
@@ -2232,9 +2305,32 @@ public int getMaxBackBufferMemory(int width, int height) {
      * @param graphics Target graphics for rendering
      * @param layer The layer being styled
      * @param layerId Handle used to identify the layer in the {@link LabelCache}
+     * @param fetch The features fetched ahead for this layer, or null if they have to be fetched
+     *     here
      */
-    private void processStylers(final Graphics2D graphics, final Layer layer, String layerId)
+    private void processStylers(
+            final Graphics2D graphics, final Layer layer, String layerId, LayerFetch fetch)
             throws Exception {
+        if (fetch != null) {
+            // the fetch was already prepared by the parallel fetcher, just paint it
+            List<FetchedFeatures> fetched = fetch.get();
+            try {
+                for (FetchedFeatures ff : fetched) {
+                    drawFeatures(
+                            graphics,
+                            layerId,
+                            fetch.schema,
+                            ff.features,
+                            ff.takeIterator(),
+                            fetch.lfts.size(),
+                            ff.lfts);
+                }
+            } finally {
+                fetched.forEach(ff -> ff.close());
+            }
+            return;
+        }
+
         // /////////////////////////////////////////////////////////////////////
         //
         // Preparing feature information and styles
@@ -2268,36 +2364,58 @@ private void processStylers(final Graphics2D graphics, final Layer layer, String
                 continue;
             }
 
-            // optimize filters for in memory sequential execution
-            // step one, collect duplicated filters and expressions
-            RepeatedFilterVisitor repeatedVisitor = new RepeatedFilterVisitor();
-            uniformLfts.stream()
-                    .flatMap(fts -> Arrays.stream(fts.ruleList))
-                    .filter(r -> !r.isElseFilter() && r.getFilter() != null)
-                    .forEach(r -> r.getFilter().accept(repeatedVisitor, null));
-            Set<Object> repeatedObjects = repeatedVisitor.getRepeatedObjects();
-            // step two, memoize the repeated ones and convert simple features access to indexed
-            if (schema instanceof SimpleFeatureType || !repeatedObjects.isEmpty()) {
-                MemoryFilterOptimizer filterOptimizer =
-                        new MemoryFilterOptimizer(features.getSchema(), repeatedObjects);
-                for (LiteFeatureTypeStyle fts : uniformLfts) {
-                    for (int i = 0; i < fts.ruleList.length; i++) {
-                        Rule rule = fts.ruleList[i];
-                        DuplicatingStyleVisitor optimizingStyleVisitor =
-                                new DuplicatingStyleVisitor(
-                                        STYLE_FACTORY, filterFactory, filterOptimizer);
-                        rule.accept(optimizingStyleVisitor);
-                        fts.ruleList[i] = (Rule) optimizingStyleVisitor.getCopy();
-                    }
+            drawFeatures(graphics, layerId, schema, features, null, lfts.size(), uniformLfts);
+        }
+    }
+
+    /**
+     * Paints the features of a group of feature type styles sharing the same feature production
+     *
+     * @param graphics Target graphics for rendering
+     * @param layerId Handle used to identify the layer in the {@link LabelCache}
+     * @param schema The layer feature source schema
+     * @param features The features to be painted
+     * @param iterator An already open iterator over the features, or null
+     * @param layerStyles The total number of feature type styles active in the layer
+     * @param uniformLfts The feature type styles to be applied
+     */
+    private void drawFeatures(
+            final Graphics2D graphics,
+            String layerId,
+            FeatureType schema,
+            FeatureCollection features,
+            FeatureIterator<?> iterator,
+            int layerStyles,
+            List<LiteFeatureTypeStyle> uniformLfts) {
+        // optimize filters for in memory sequential execution
+        // step one, collect duplicated filters and expressions
+        RepeatedFilterVisitor repeatedVisitor = new RepeatedFilterVisitor();
+        uniformLfts.stream()
+                .flatMap(fts -> Arrays.stream(fts.ruleList))
+                .filter(r -> !r.isElseFilter() && r.getFilter() != null)
+                .forEach(r -> r.getFilter().accept(repeatedVisitor, null));
+        Set<Object> repeatedObjects = repeatedVisitor.getRepeatedObjects();
+        // step two, memoize the repeated ones and convert simple features access to indexed
+        if (schema instanceof SimpleFeatureType || !repeatedObjects.isEmpty()) {
+            MemoryFilterOptimizer filterOptimizer =
+                    new MemoryFilterOptimizer(features.getSchema(), repeatedObjects);
+            for (LiteFeatureTypeStyle fts : uniformLfts) {
+                for (int i = 0; i < fts.ruleList.length; i++) {
+                    Rule rule = fts.ruleList[i];
+                    DuplicatingStyleVisitor optimizingStyleVisitor =
+                            new DuplicatingStyleVisitor(
+                                    STYLE_FACTORY, filterFactory, filterOptimizer);
+                    rule.accept(optimizingStyleVisitor);
+                    fts.ruleList[i] = (Rule) optimizingStyleVisitor.getCopy();
                 }
             }
+        }
 
-            // finally, perform rendering
-            if (isOptimizedFTSRenderingEnabled() && lfts.size() > 1) {
-                drawOptimized(graphics, layerId, features, uniformLfts);
-            } else {
-                drawPlain(graphics, layerId, features, uniformLfts);
-            }
+        // finally, perform rendering
+        if (isOptimizedFTSRenderingEnabled() && layerStyles > 1) {
+            drawOptimized(graphics, layerId, features, iterator, uniformLfts);
+        } else {
+            drawPlain(graphics, layerId, features, iterator, uniformLfts);
         }
     }
 
@@ -2657,11 +2775,15 @@ private void drawPlain(
             final Graphics2D graphics,
             String layerId,
             FeatureCollection<?, ?> features,
+            FeatureIterator<?> iterator,
             final List<LiteFeatureTypeStyle> lfts) {
 
         // for each lite feature type style, scan the whole collection and draw
         for (LiteFeatureTypeStyle liteFeatureTypeStyle : lfts) {
-            try (FeatureIterator<?> featureIterator = features.features()) {
+            // the first scan can use the iterator opened ahead, if any
+            FeatureIterator<?> opened = iterator != null ? iterator : features.features();
+            iterator = null;
+            try (FeatureIterator<?> featureIterator = opened) {
                 if (featureIterator == null) {
                     return; // nothing to do
                 }
@@ -2669,6 +2791,7 @@ private void drawPlain(
                 RenderableFeature rf = createRenderableFeature(layerId, cloningRequired);
                 ProjectionHandler handler =
                         checkForReprojection(features, rf, lfts, liteFeatureTypeStyle);
+                liteFeatureTypeStyle.compileRuleFilters(features.getSchema());
                 // loop exit condition tested inside try catch
                 // make sure we test hasNext() outside of the try/cath that follows, as that
                 // one is there to make sure a single feature error does not ruin the rendering
@@ -2711,13 +2834,18 @@ private void drawOptimized(
             final Graphics2D graphics,
             String layerId,
             FeatureCollection features,
+            FeatureIterator<?> prefetched,
             final List<LiteFeatureTypeStyle> lfts) {
 
-        try (FeatureIterator<?> iterator = features.features()) {
+        FeatureIterator<?> opened = prefetched != null ? prefetched : features.features();
+        try (FeatureIterator<?> iterator = opened) {
             if (iterator == null) return; // nothing to do
 
             boolean cloningRequired = isCloningRequired(lfts);
             RenderableFeature rf = createRenderableFeature(layerId, cloningRequired);
+            for (LiteFeatureTypeStyle liteFeatureTypeStyle : lfts) {
+                liteFeatureTypeStyle.compileRuleFilters(features.getSchema());
+            }
             // loop exit condition tested inside try catch
             // make sure we test hasNext() outside of the try/cath that follows, as that
             // one is there to make sure a single feature error does not ruin the rendering
@@ -2895,9 +3023,9 @@ void processFeature(
             Graphics2D graphics = fts.graphics;
             // applicable rules
             int paintCommands = 0;
-            for (Rule value : ruleList) {
-                r = value;
-                filter = r.getFilter();
+            for (int i = 0; i < ruleList.length; i++) {
+                r = ruleList[i];
+                filter = fts.getRuleFilter(i);
 
                 if (filter == null || filter.evaluate(rf.feature)) {
                     doElse = false;
@@ -3723,15 +3851,20 @@ void execute() {
                 ((DelayedBackbufferGraphic) graphic).init();
             }
 
+            execute(graphic);
+        }
+
+        /** Paints the shape on the specified graphics, instead of the request one */
+        void execute(Graphics2D target) {
             try {
                 Shape oldClip = null;
                 if (clipShape != null) {
-                    oldClip = graphic.getClip();
-                    graphic.setClip(clipShape);
+                    oldClip = target.getClip();
+                    target.setClip(clipShape);
                 }
-                painter.paint(graphic, shape, style, scale, labelObstacle);
+                painter.paint(target, shape, style, scale, labelObstacle);
                 if (clipShape != null) {
-                    graphic.setClip(oldClip);
+                    target.setClip(oldClip);
                 }
             } catch (Throwable t) {
                 fireErrorEvent(t);
@@ -4066,6 +4199,450 @@ void execute() {
         }
     }
 
+    /**
+     * Builds the fetcher querying ahead the features of the given layers, or returns null if
+     * parallel fetching is not enabled
+     */
+    private ParallelFeatureFetcher createParallelFetcher(Graphics2D graphics, List<Layer> layers) {
+        int parallelism = getParallelFetchLayers();
+        if (parallelism < 2 || layers.size() < 2) {
+            return null;
+        }
+        return new ParallelFeatureFetcher(graphics, layers, parallelism);
+    }
+
+    /**
+     * Runs the queries of the layers in a compositing group concurrently, keeping at most a
+     * configurable number of layers in flight, starting from the one being painted. The fetch of
+     * each layer is run on the renderer thread pool, or by the painting thread itself if the pool
+     * did not get to it yet, so a busy pool cannot cause a deadlock.
+     */
+    class ParallelFeatureFetcher {
+        Graphics2D graphics;
+        List<Layer> layers;
+        LayerFetch[] fetches;
+        int parallelism;
+        int scheduled;
+        ExecutorService executor;
+        boolean localExecutor;
+
+        public ParallelFeatureFetcher(Graphics2D graphics, List<Layer> layers, int parallelism) {
+            this.graphics = graphics;
+            this.layers = layers;
+            this.parallelism = parallelism;
+            this.fetches = new LayerFetch[layers.size()];
+            this.executor = threadPool;
+            if (executor == null) {
+                executor = Executors.newFixedThreadPool(parallelism - 1);
+                localExecutor = true;
+            }
+        }
+
+        /**
+         * Returns the fetch for the layer at the given position, or null if the layer features have
+         * to be fetched sequentially, and schedules the following ones
+         */
+        public LayerFetch take(int index) {
+            int last = Math.min(index + parallelism, layers.size());
+            for (; scheduled < last; scheduled++) {
+                if (scheduled >= index) {
+                    fetches[scheduled] = schedule(layers.get(scheduled));
+                }
+            }
+            LayerFetch result = fetches[index];
+            fetches[index] = null;
+            return result;
+        }
+
+        private LayerFetch schedule(Layer layer) {
+            if (!layer.isVisible()
+                    || layer instanceof DirectLayer
+                    || layer instanceof ZGroupLayer
+                    || layer.getFeatureSource() == null
+                    || renderingStopRequested) {
+                return null;
+            }
+            try {
+                FeatureType schema = layer.getFeatureSource().getSchema();
+                ArrayList<LiteFeatureTypeStyle> lfts =
+                        createLiteFeatureTypeStyles(
+                                layer, graphics, isOptimizedFTSRenderingEnabled());
+                LayerFetch fetch = new LayerFetch(layer, schema, lfts);
+                executor.execute(fetch.task);
+                return fetch;
+            } catch (Exception e) {
+                // let the sequential code path handle and report the failure
+                LOGGER.log(Level.FINE, "Failed to schedule parallel fetch, falling back", e);
+                return null;
+            }
+        }
+
+        /** Releases all the fetches that have not been painted */
+        public void dispose() {
+            for (int i = 0; i < fetches.length; i++) {
+                if (fetches[i] != null) {
+                    fetches[i].dispose();
+                    fetches[i] = null;
+                }
+            }
+            if (localExecutor) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /** Fetches the features for all the feature type styles of a layer */
+    class LayerFetch implements Callable<List<FetchedFeatures>> {
+        Layer layer;
+        FeatureType schema;
+        List<LiteFeatureTypeStyle> lfts;
+        FutureTask<List<FetchedFeatures>> task;
+        List<FetchedFeatures> fetched;
+        boolean disposed;
+
+        public LayerFetch(Layer layer, FeatureType schema, List<LiteFeatureTypeStyle> lfts) {
+            this.layer = layer;
+            this.schema = schema;
+            this.lfts = lfts;
+            this.task = new FutureTask<>(this);
+        }
+
+        @Override
+        public List<FetchedFeatures> call() throws Exception {
+            List<FetchedFeatures> result = new ArrayList<>();
+            if (!lfts.isEmpty()) {
+                try {
+                    for (List<LiteFeatureTypeStyle> uniformLfts :
+                            classifyByFeatureProduction(lfts)) {
+                        if (renderingStopRequested) {
+                            break;
+                        }
+                        FeatureCollection features = getFeatures(layer, schema, uniformLfts);
+                        if (features != null) {
+                            // opening the iterator is what actually runs the query
+                            result.add(
+                                    new FetchedFeatures(
+                                            uniformLfts, features, features.features()));
+                        }
+                    }
+                } catch (Exception e) {
+                    result.forEach(ff -> ff.close());
+                    throw e;
+                }
+            }
+            synchronized (this) {
+                if (disposed) {
+                    result.forEach(ff -> ff.close());
+                } else {
+                    fetched = result;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns the fetched features, running the fetch in the calling thread if the pool did not
+         * start it yet. The caller becomes responsible for closing them.
+         */
+        public List<FetchedFeatures> get() throws Exception {
+            // no-op if the pool already started or completed the task
+            task.run();
+            try {
+                List<FetchedFeatures> result = task.get();
+                synchronized (this) {
+                    fetched = null;
+                }
+                return result;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        /** Cancels the fetch, closing the iterators it might have already opened */
+        public void dispose() {
+            task.cancel(false);
+            synchronized (this) {
+                disposed = true;
+                if (fetched != null) {
+                    fetched.forEach(ff -> ff.close());
+                    fetched = null;
+                }
+            }
+        }
+    }
+
+    /** The features, and the open iterator on them, for a group of feature type styles */
+    static class FetchedFeatures {
+        List<LiteFeatureTypeStyle> lfts;
+        FeatureCollection features;
+        FeatureIterator<?> iterator;
+
+        public FetchedFeatures(
+                List<LiteFeatureTypeStyle> lfts,
+                FeatureCollection features,
+                FeatureIterator<?> iterator) {
+            this.lfts = lfts;
+            this.features = features;
+            this.iterator = iterator;
+        }
+
+        /** Hands over the iterator to the caller, that becomes responsible for closing it */
+        FeatureIterator<?> takeIterator() {
+            FeatureIterator<?> result = iterator;
+            iterator = null;
+            return result;
+        }
+
+        void close() {
+            if (iterator != null) {
+                iterator.close();
+                iterator = null;
+            }
+        }
+    }
+
+    /**
+     * Builds the tiled painter for the given graphics, or returns null if tiled painting is not
+     * enabled, or cannot be used
+     */
+    private TiledPainter createTiledPainter(Graphics2D graphics, Rectangle paintArea) {
+        int tileSize = getTiledPaintingSize();
+        int transformType = graphics.getTransform().getType();
+        if (tileSize <= 0
+                || (paintArea.width <= tileSize && paintArea.height <= tileSize)
+                || (transformType != AffineTransform.TYPE_IDENTITY
+                        && transformType != AffineTransform.TYPE_TRANSLATION)) {
+            return null;
+        }
+        return new TiledPainter(graphics, paintArea, tileSize);
+    }
+
+    /**
+     * Paints the shapes targeting the main graphics on a grid of tile images, each tile being
+     * painted by a separate task on the renderer thread pool. Paint requests are accumulated in
+     * batches, the tiles are merged back on the main graphics whenever a request needs to work
+     * against it directly (e.g. rasters, back buffer merges) and at the end of the rendering, so
+     * that the painting order is preserved.
+     *
+     * <p>The tiles cover the paint area in device space. Their graphics reproduce the transform and
+     * clip of the main graphics, which are expected to stay the same during the rendering.
+     */
+    class TiledPainter {
+        /** Number of shapes painted in parallel on the tiles in a single step */
+        static final int BATCH_SIZE = 1024;
+
+        Graphics2D graphics;
+        AffineTransform transform;
+        List<PaintTile> tiles = new ArrayList<>();
+        List<RenderingRequest> batch = new ArrayList<>();
+        List<Rectangle2D> batchBounds = new ArrayList<>();
+        int batchShapes;
+        ExecutorService executor;
+        boolean localExecutor;
+
+        public TiledPainter(Graphics2D graphics, Rectangle paintArea, int tileSize) {
+            this.graphics = graphics;
+            this.transform = graphics.getTransform();
+            Shape clip = graphics.getClip();
+            Rectangle deviceArea = transform.createTransformedShape(paintArea).getBounds();
+            for (int y = deviceArea.y; y < deviceArea.getMaxY(); y += tileSize) {
+                for (int x = deviceArea.x; x < deviceArea.getMaxX(); x += tileSize) {
+                    Rectangle bounds = new Rectangle(x, y, tileSize, tileSize);
+                    tiles.add(
+                            new PaintTile(
+                                    graphics, bounds.intersection(deviceArea), transform, clip));
+                }
+            }
+            this.executor = threadPool;
+            if (executor == null) {
+                int threads = Math.min(tiles.size(), Runtime.getRuntime().availableProcessors());
+                executor = Executors.newFixedThreadPool(threads);
+                localExecutor = true;
+            }
+        }
+
+        /** Executes the request, either by deferring it to the tiles, or directly */
+        public void execute(RenderingRequest r) {
+            if (r instanceof PaintShapeRequest) {
+                PaintShapeRequest psr = (PaintShapeRequest) r;
+                if (psr.graphic != graphics) {
+                    // back buffers, do not interact with the main graphics until merged
+                    r.execute();
+                    return;
+                } else if (!psr.labelObstacle) {
+                    batch.add(r);
+                    batchBounds.add(getPaintBounds(psr));
+                    if (++batchShapes >= BATCH_SIZE) {
+                        paintBatch();
+                    }
+                    return;
+                }
+            } else if (r instanceof FeatureRenderedRequest
+                    || r instanceof RenderTimeStatisticsRequest) {
+                // just events, keep them in order with the painting
+                batch.add(r);
+                batchBounds.add(null);
+                return;
+            }
+
+            // the request needs to work against the main graphics, with all the previous
+            // shapes painted on it (or it needs to alter the label cache, like obstacles do)
+            flush();
+            r.execute();
+        }
+
+        /**
+         * Returns the area affected by painting the request shape in device space, or null if it
+         * cannot be determined (e.g., point symbols, graphic strokes)
+         */
+        Rectangle2D getPaintBounds(PaintShapeRequest psr) {
+            if (!(psr.style instanceof LineStyle2D) || psr.style instanceof PointStyle2D) {
+                return null;
+            }
+            LineStyle2D ls = (LineStyle2D) psr.style;
+            double margin = Math.abs(ls.getPerpendicularOffset()) + 1;
+            if (ls.getGraphicStroke() != null) {
+                return null;
+            } else if (ls.getStroke() instanceof BasicStroke) {
+                BasicStroke stroke = (BasicStroke) ls.getStroke();
+                margin += stroke.getLineWidth() * Math.max(1, stroke.getMiterLimit()) / 2;
+            } else if (ls.getStroke() != null) {
+                return null;
+            }
+            Rectangle2D bounds = psr.shape.getBounds2D();
+            bounds.setRect(
+                    bounds.getMinX() - margin + transform.getTranslateX(),
+                    bounds.getMinY() - margin + transform.getTranslateY(),
+                    bounds.getWidth() + margin * 2,
+                    bounds.getHeight() + margin * 2);
+            return bounds;
+        }
+
+        /** Paints the current batch of shapes on the tiles, in parallel */
+        void paintBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (batchShapes > 0) {
+                List<FutureTask<Void>> tasks = new ArrayList<>();
+                for (PaintTile tile : tiles) {
+                    FutureTask<Void> task =
+                            new FutureTask<>(() -> tile.paint(batch, batchBounds), null);
+                    tasks.add(task);
+                    executor.execute(task);
+                }
+                for (FutureTask<Void> task : tasks) {
+                    // run inline the tasks the pool did not start yet
+                    task.run();
+                    try {
+                        task.get();
+                    } catch (InterruptedException | ExecutionException e) {
+                        fireErrorEvent(e);
+                    }
+                }
+            }
+            for (RenderingRequest r : batch) {
+                if (!(r instanceof PaintShapeRequest)) {
+                    r.execute();
+                }
+            }
+            batch.clear();
+            batchBounds.clear();
+            batchShapes = 0;
+        }
+
+        /** Paints the pending shapes and merges the tiles on the main graphics */
+        public void flush() {
+            paintBatch();
+            for (PaintTile tile : tiles) {
+                tile.merge(graphics);
+            }
+        }
+
+        public void dispose() {
+            for (PaintTile tile : tiles) {
+                tile.dispose();
+            }
+            if (localExecutor) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * A tile of the area being painted, backed by its own image and graphics. The bounds are in
+     * device space.
+     */
+    class PaintTile {
+        Graphics2D main;
+        Rectangle bounds;
+        AffineTransform transform;
+        Shape clip;
+        BufferedImage image;
+        Graphics2D graphics;
+        boolean dirty;
+
+        public PaintTile(
+                Graphics2D main, Rectangle bounds, AffineTransform transform, Shape clip) {
+            this.main = main;
+            this.bounds = bounds;
+            this.transform = transform;
+            this.clip = clip;
+        }
+
+        /** Paints the shapes of the batch touching this tile */
+        void paint(List<RenderingRequest> batch, List<Rectangle2D> batchBounds) {
+            for (int i = 0; i < batch.size(); i++) {
+                RenderingRequest r = batch.get(i);
+                Rectangle2D paintBounds = batchBounds.get(i);
+                if (!(r instanceof PaintShapeRequest)
+                        || (paintBounds != null && !paintBounds.intersects(bounds))) {
+                    continue;
+                }
+                if (graphics == null) {
+                    image =
+                            new BufferedImage(
+                                    bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB_PRE);
+                    graphics = image.createGraphics();
+                    graphics.setRenderingHints(main.getRenderingHints());
+                    // same transform and clip as the main graphics, offset to the tile origin
+                    graphics.translate(-bounds.x, -bounds.y);
+                    graphics.transform(transform);
+                    graphics.setClip(clip);
+                }
+                ((PaintShapeRequest) r).execute(graphics);
+                dirty = true;
+            }
+        }
+
+        /** Draws the tile contents on the target graphics, and clears it */
+        void merge(Graphics2D target) {
+            if (!dirty) {
+                return;
+            }
+            Composite composite = target.getComposite();
+            AffineTransform targetTransform = target.getTransform();
+            target.setComposite(AlphaComposite.SrcOver);
+            target.setTransform(new AffineTransform());
+            target.drawImage(image, bounds.x, bounds.y, null);
+            target.setTransform(targetTransform);
+            target.setComposite(composite);
+            Arrays.fill(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0);
+            dirty = false;
+        }
+
+        void dispose() {
+            if (graphics != null) {
+                graphics.dispose();
+                graphics = null;
+                image = null;
+            }
+        }
+    }
+
     /**
      * The secondary thread that actually issues the paint requests against the graphic object
      *
@@ -4074,11 +4651,17 @@ void execute() {
     class PainterThread implements Runnable {
         BlockingQueue<RenderingRequest> requests;
         Thread thread;
+        TiledPainter tiledPainter;
 
         public PainterThread(BlockingQueue<RenderingRequest> requests) {
             this.requests = requests;
         }
 
+        public PainterThread(BlockingQueue<RenderingRequest> requests, TiledPainter tiledPainter) {
+            this.requests = requests;
+            this.tiledPainter = tiledPainter;
+        }
+
         public void interrupt() {
             if (thread != null) {
                 thread.interrupt();
@@ -4099,8 +4682,13 @@ public void run() {
 
                     for (RenderingRequest r : localRequests) {
                         if (r instanceof EndRequest || renderingStopRequested) {
+                            if (tiledPainter != null && !renderingStopRequested) {
+                                tiledPainter.flush();
+                            }
                             done = true;
                             break;
+                        } else if (tiledPainter != null) {
+                            tiledPainter.execute(r);
                         } else {
                             r.execute();
                         }
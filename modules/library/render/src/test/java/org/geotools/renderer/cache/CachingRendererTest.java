@@ -0,0 +1,311 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.renderer.lite.RendererUtilities;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.geotools.styling.StyleBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachingRendererTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    MemoryDataStore store;
+
+    SimpleFeatureStore squares;
+
+    MapContent content;
+
+    ReferencedEnvelope world = new ReferencedEnvelope(0, 10, 0, 10, DefaultGeographicCRS.WGS84);
+
+    @Before
+    public void setup() throws Exception {
+        SimpleFeatureType type =
+                DataUtilities.createType("squares", "geom:Polygon:srid=4326,name:String");
+        store = new MemoryDataStore(type);
+        squares = (SimpleFeatureStore) store.getFeatureSource("squares");
+        squares.addFeatures(
+                DataUtilities.collection(
+                        DataUtilities.createFeature(
+                                type, "s1=POLYGON((1 1, 1 3, 3 3, 3 1, 1 1))|first")));
+
+        StyleBuilder sb = new StyleBuilder();
+        content = new MapContent();
+        content.addLayer(
+                new FeatureLayer(
+                        squares,
+                        sb.createStyle(sb.createPolygonSymbolizer(Color.BLACK, Color.RED, 1))));
+    }
+
+    @After
+    public void cleanup() {
+        content.dispose();
+        store.dispose();
+    }
+
+    private RenderedTileKey key(ReferencedEnvelope envelope, int size) {
+        Rectangle area = new Rectangle(size, size);
+        return RenderedTileKey.build(
+                content, envelope, area, RendererUtilities.worldToScreenTransform(envelope, area));
+    }
+
+    private BufferedImage paint(CachingRenderer renderer, ReferencedEnvelope envelope) {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        renderer.paint(graphics, new Rectangle(100, 100), envelope);
+        graphics.dispose();
+        return image;
+    }
+
+    @Test
+    public void testKeyEquality() {
+        assertEquals(key(world, 100), key(world, 100));
+        assertEquals(key(world, 100).hashCode(), key(world, 100).hashCode());
+        assertEquals(false, key(world, 100).equals(key(world, 200)));
+        ReferencedEnvelope other = new ReferencedEnvelope(0, 5, 0, 5, DefaultGeographicCRS.WGS84);
+        assertEquals(false, key(world, 100).equals(key(other, 100)));
+        assertEquals(true, key(world, 100).dependsOn(squares));
+    }
+
+    @Test
+    public void testLRUEviction() {
+        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        MemoryRenderedTileCache cache = new MemoryRenderedTileCache(2, Long.MAX_VALUE);
+        RenderedTileKey k1 = key(world, 10);
+        RenderedTileKey k2 = key(world, 20);
+        RenderedTileKey k3 = key(world, 30);
+        cache.put(k1, image);
+        cache.put(k2, image);
+        // access k1, making k2 the least recently used
+        assertSame(image, cache.get(k1));
+        cache.put(k3, image);
+        assertNull(cache.get(k2));
+        assertNotNull(cache.get(k1));
+        assertNotNull(cache.get(k3));
+
+        RenderedTileCacheStatistics stats = cache.getStatistics();
+        assertEquals(3, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(2, stats.getEntries());
+        assertEquals(2 * 10 * 10 * 4, stats.getBytes());
+    }
+
+    @Test
+    public void testMemoryEviction() {
+        // room for a single 10x10 ARGB image
+        MemoryRenderedTileCache cache = new MemoryRenderedTileCache(100, 500);
+        cache.put(key(world, 10), new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
+        cache.put(key(world, 20), new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
+        assertNull(cache.get(key(world, 10)));
+        assertNotNull(cache.get(key(world, 20)));
+        // too big to be cached at all
+        cache.put(key(world, 30), new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB));
+        assertNull(cache.get(key(world, 30)));
+        assertEquals(1, cache.getStatistics().getEntries());
+    }
+
+    @Test
+    public void testSpill() throws Exception {
+        MemoryRenderedTileCache cache = new MemoryRenderedTileCache(1, Long.MAX_VALUE);
+        cache.setSpillDirectory(folder.getRoot(), Long.MAX_VALUE);
+        BufferedImage red = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        red.setRGB(5, 5, Color.RED.getRGB());
+        cache.put(key(world, 10), red);
+        cache.put(key(world, 20), new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
+        assertEquals(1, folder.getRoot().list().length);
+
+        // read back from disk, the other one gets spilled in turn
+        BufferedImage image = cache.get(key(world, 10));
+        assertNotNull(image);
+        assertEquals(Color.RED.getRGB(), image.getRGB(5, 5));
+        assertEquals(1, folder.getRoot().list().length);
+        assertNotNull(cache.get(key(world, 20)));
+
+        cache.clear();
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    /** Threads sharing a small spilling cache always get back the image they put */
+    @Test(timeout = 60000)
+    public void testConcurrentSpill() throws Exception {
+        MemoryRenderedTileCache cache = new MemoryRenderedTileCache(2, Long.MAX_VALUE);
+        cache.setSpillDirectory(folder.getRoot(), Long.MAX_VALUE);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int rgb = Color.getHSBColor(t / (float) threads, 1, 1).getRGB();
+                RenderedTileKey key = key(world, 10 + t);
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    BufferedImage image =
+                                            new BufferedImage(
+                                                    10, 10, BufferedImage.TYPE_INT_ARGB);
+                                    image.setRGB(5, 5, rgb);
+                                    for (int i = 0; i < 50; i++) {
+                                        cache.put(key, image);
+                                        BufferedImage cached = cache.get(key);
+                                        if (cached != null) {
+                                            assertEquals(rgb, cached.getRGB(5, 5));
+                                        }
+                                    }
+                                    return null;
+                                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(threads, cache.getStatistics().getEntries());
+
+        cache.clear();
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testInvalidateBounds() {
+        MemoryRenderedTileCache cache = new MemoryRenderedTileCache(100, Long.MAX_VALUE);
+        ReferencedEnvelope left = new ReferencedEnvelope(0, 5, 0, 5, DefaultGeographicCRS.WGS84);
+        ReferencedEnvelope right =
+                new ReferencedEnvelope(100, 105, 0, 5, DefaultGeographicCRS.WGS84);
+        cache.put(key(left, 10), new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
+        cache.put(key(right, 10), new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
+
+        // another source, nothing happens
+        cache.invalidate(new Object(), null);
+        assertEquals(2, cache.getStatistics().getEntries());
+
+        // touches only the left one
+        cache.invalidate(squares, new ReferencedEnvelope(1, 2, 1, 2, DefaultGeographicCRS.WGS84));
+        assertNull(cache.get(key(left, 10)));
+        assertNotNull(cache.get(key(right, 10)));
+        assertEquals(1, cache.getStatistics().getInvalidations());
+
+        // unknown bounds, everything goes
+        cache.invalidate(squares, null);
+        assertEquals(0, cache.getStatistics().getEntries());
+    }
+
+    @Test
+    public void testRenderAndInvalidateOnChange() throws Exception {
+        MemoryRenderedTileCache cache = new MemoryRenderedTileCache(100, Long.MAX_VALUE);
+        StreamingRenderer delegate = new StreamingRenderer();
+        delegate.setMapContent(content);
+        CachingRenderer renderer = new CachingRenderer(delegate, cache);
+
+        BufferedImage first = paint(renderer, world);
+        assertEquals(Color.RED.getRGB(), first.getRGB(20, 80));
+        assertEquals(1, cache.getStatistics().getMisses());
+
+        BufferedImage second = paint(renderer, world);
+        assertEquals(Color.RED.getRGB(), second.getRGB(20, 80));
+        assertEquals(1, cache.getStatistics().getHits());
+
+        // modify the data, the cached image must go
+        SimpleFeatureType type = squares.getSchema();
+        squares.addFeatures(
+                DataUtilities.collection(
+                        DataUtilities.createFeature(
+                                type, "s2=POLYGON((6 6, 6 8, 8 8, 8 6, 6 6))|second")));
+        assertEquals(0, cache.getStatistics().getEntries());
+
+        BufferedImage third = paint(renderer, world);
+        assertEquals(Color.RED.getRGB(), third.getRGB(70, 30));
+        assertEquals(2, cache.getStatistics().getMisses());
+    }
+
+    @Test
+    public void testEditDuringRendering() throws Exception {
+        MemoryRenderedTileCache cache = new MemoryRenderedTileCache(100, Long.MAX_VALUE);
+        SimpleFeatureType type = squares.getSchema();
+        AtomicBoolean edited = new AtomicBoolean();
+        // modifies the data once the old features have been drawn, before the image is cached
+        StreamingRenderer delegate =
+                new StreamingRenderer() {
+                    @Override
+                    public void paint(
+                            Graphics2D graphics,
+                            Rectangle paintArea,
+                            ReferencedEnvelope mapArea,
+                            AffineTransform worldToScreen) {
+                        super.paint(graphics, paintArea, mapArea, worldToScreen);
+                        if (edited.compareAndSet(false, true)) {
+                            try {
+                                squares.addFeatures(
+                                        DataUtilities.collection(
+                                                DataUtilities.createFeature(
+                                                        type,
+                                                        "s2=POLYGON((6 6, 6 8, 8 8, 8 6, 6 6))"
+                                                                + "|second")));
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        }
+                    }
+                };
+        delegate.setMapContent(content);
+        CachingRenderer renderer = new CachingRenderer(delegate, cache);
+
+        // first render of the tile, the edit must be noticed even if nothing was cached before
+        BufferedImage first = paint(renderer, world);
+        assertTrue(edited.get());
+        assertEquals(0, first.getRGB(70, 30));
+        assertEquals(0, cache.getStatistics().getEntries());
+
+        // not served from the cache, the new feature shows up
+        BufferedImage second = paint(renderer, world);
+        assertEquals(Color.RED.getRGB(), second.getRGB(70, 30));
+        assertEquals(0, cache.getStatistics().getHits());
+        assertEquals(2, cache.getStatistics().getMisses());
+        assertEquals(1, cache.getStatistics().getEntries());
+    }
+}
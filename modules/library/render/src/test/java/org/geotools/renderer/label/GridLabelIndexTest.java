@@ -0,0 +1,89 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.label;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public class GridLabelIndexTest {
+
+    @Test
+    public void testOverlap() {
+        GridLabelIndex index = new GridLabelIndex(new Rectangle(0, 0, 256, 256), 16);
+        index.addLabel(null, new Rectangle2D.Double(10, 10, 50, 10));
+        assertEquals(1, index.size());
+
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(30, 15, 10, 10), 0));
+        // touching counts as a conflict
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(60, 10, 10, 10), 0));
+        assertFalse(index.labelsWithinDistance(new Rectangle2D.Double(70, 10, 10, 10), 0));
+        // within distance
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(70, 10, 10, 10), 10));
+        assertFalse(index.labelsWithinDistance(new Rectangle2D.Double(70, 10, 10, 10), 9));
+        // negative distance disables the check
+        assertFalse(index.labelsWithinDistance(new Rectangle2D.Double(30, 15, 10, 10), -1));
+    }
+
+    @Test
+    public void testOutsideArea() {
+        GridLabelIndex index = new GridLabelIndex(new Rectangle(0, 0, 256, 256));
+        index.reserveArea(
+                Arrays.asList(
+                        new Rectangle2D.Double(-100, -100, 20, 20),
+                        new Rectangle2D.Double(1000, 50, 20, 20)));
+        assertEquals(2, index.size());
+
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(-90, -90, 5, 5), 0));
+        assertFalse(index.labelsWithinDistance(new Rectangle2D.Double(-50, -50, 5, 5), 0));
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(990, 40, 10, 10), 0));
+        assertFalse(index.labelsWithinDistance(new Rectangle2D.Double(900, 40, 10, 10), 0));
+        // spanning the whole area
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(-200, 0, 2000, 60), 0));
+    }
+
+    @Test
+    public void testSameAsQuadtree() {
+        Rectangle area = new Rectangle(0, 0, 1024, 768);
+        GridLabelIndex grid = new GridLabelIndex(area, 32);
+        LabelIndex quadtree = new LabelIndex();
+        Random random = new Random(0);
+        for (int i = 0; i < 2000; i++) {
+            Rectangle2D bounds = randomBounds(random);
+            double distance = random.nextInt(10) - 1;
+            boolean expected = quadtree.labelsWithinDistance(bounds, distance);
+            boolean actual = grid.labelsWithinDistance(bounds, distance);
+            assertEquals(bounds + " " + distance, expected, actual);
+            if (!expected) {
+                grid.addLabel(null, bounds);
+                quadtree.addLabel(null, bounds);
+            }
+        }
+    }
+
+    private Rectangle2D randomBounds(Random random) {
+        double x = random.nextDouble() * 1200 - 100;
+        double y = random.nextDouble() * 900 - 100;
+        return new Rectangle2D.Double(x, y, random.nextDouble() * 120, random.nextDouble() * 30);
+    }
+}
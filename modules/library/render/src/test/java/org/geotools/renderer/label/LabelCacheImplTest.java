@@ -24,6 +24,7 @@
 import org.geotools.api.style.TextSymbolizer;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.geometry.jts.GeometryClipper;
 import org.geotools.geometry.jts.LiteShape2;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.geotools.renderer.RenderListener;
@@ -33,7 +34,10 @@
 import org.geotools.util.NumberRange;
 import org.junit.Before;
 import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
 import org.mockito.Mockito;
@@ -329,6 +333,49 @@ public void testFollowLineAutoWrap() throws Exception {
         assertEquals(0, item.getAutoWrap());
     }
 
+    @Test
+    public void testParallelRepresentativeLocations() throws Exception {
+        TextSymbolizer ts = sb.createTextSymbolizer(Color.BLACK, (Font) null, "name");
+        Geometry point = geometry("POINT(5 5)");
+        Geometry outside = geometry("POINT(500 500)");
+        List<Geometry> geometries = Arrays.asList(L1, L2, L3, point, outside);
+        for (int i = 0; i < geometries.size(); i++) {
+            SimpleFeature f = createFeature("label" + i, geometries.get(i));
+            cache.put(
+                    LAYER_ID,
+                    ts,
+                    f,
+                    new LiteShape2((Geometry) f.getDefaultGeometry(), null, null, false),
+                    ALL_SCALES);
+        }
+        Rectangle displayArea = new Rectangle(0, 0, 25, 25);
+        cache.clipper = new GeometryClipper(new Envelope(0, 25, 0, 25));
+        List<LabelCacheItem> items = cache.getActiveLabels();
+        cache.computeRepresentativeLocations(items, displayArea);
+
+        // same results as the sequential computation
+        for (LabelCacheItem item : items) {
+            Geometry g = item.getGeometry();
+            if (g instanceof Point) {
+                Point expected =
+                        cache.getPointSetRepresentativeLocation(
+                                item.getGeoms(), displayArea, item.isPartialsEnabled());
+                assertEquals(
+                        expected != null ? expected : LabelCacheImpl.NO_LOCATION,
+                        item.representativeLocation);
+            } else {
+                List<LineString> expected =
+                        cache.getLineSetRepresentativeLocation(
+                                item.getGeoms(),
+                                displayArea,
+                                item.removeGroupOverlaps(),
+                                item.isPartialsEnabled());
+                assertEquals(expected, item.representativeLocation);
+            }
+        }
+        assertEquals(LabelCacheImpl.NO_LOCATION, items.get(4).representativeLocation);
+    }
+
     private SimpleFeature createFeature(String label, Geometry geom) {
         fb.add(label);
         fb.add(geom);
@@ -1,16 +1,33 @@
 package org.geotools.renderer.lite;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
 import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.style.Style;
 import org.geotools.coverage.grid.GridCoverage2D;
 import org.geotools.coverage.grid.GridCoverageFactory;
 import org.geotools.data.property.PropertyDataStore;
+import org.geotools.data.property.PropertyFeatureSource;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.map.FeatureLayer;
 import org.geotools.map.GridCoverageLayer;
@@ -61,4 +78,242 @@ public void testRasterOpacity() throws Exception {
         assertEquals(0, pixel[2]);
         assertEquals(255, pixel[3]);
     }
+
+    @Test(timeout = 60000)
+    public void testParallelFetch() throws Exception {
+        File property = new File(TestData.getResource(this, "buildings.properties").toURI());
+        PropertyDataStore ds = new PropertyDataStore(property.getParentFile());
+        ConcurrentReadersDataStore concurrent =
+                new ConcurrentReadersDataStore(property.getParentFile());
+        ReferencedEnvelope bounds =
+                new ReferencedEnvelope(0, 10, 0, 10, DefaultGeographicCRS.WGS84);
+
+        MapContent sequentialMap = parallelFetchMap(ds);
+        MapContent parallelMap = parallelFetchMap(concurrent);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            StreamingRenderer renderer = new StreamingRenderer();
+            renderer.setMapContent(sequentialMap);
+            CountingRenderListener sequentialCounter = new CountingRenderListener();
+            BufferedImage expected =
+                    RendererBaseTest.renderImage(renderer, bounds, sequentialCounter);
+
+            renderer = new StreamingRenderer();
+            renderer.setMapContent(parallelMap);
+            renderer.setThreadPool(pool);
+            renderer.setRendererHints(
+                    Collections.singletonMap(StreamingRenderer.PARALLEL_FETCH_KEY, 3));
+            CountingRenderListener parallelCounter = new CountingRenderListener();
+            BufferedImage actual = RendererBaseTest.renderImage(renderer, bounds, parallelCounter);
+
+            // the readers wait for each other, so this only holds if they were open at once
+            assertTrue(concurrent.getMaxOpen() >= 2);
+            assertEquals(0, parallelCounter.errors);
+            assertEquals(sequentialCounter.features, parallelCounter.features);
+            assertArrayEquals(
+                    ((DataBufferInt) expected.getRaster().getDataBuffer()).getData(),
+                    ((DataBufferInt) actual.getRaster().getDataBuffer()).getData());
+        } finally {
+            pool.shutdown();
+            sequentialMap.dispose();
+            parallelMap.dispose();
+        }
+    }
+
+    /** Overlapping layers with different colors, the z-order must be preserved */
+    private MapContent parallelFetchMap(PropertyDataStore ds) throws IOException {
+        StyleBuilder sb = new StyleBuilder();
+        MapContent mc = new MapContent();
+        Color[] colors = {Color.GRAY, Color.RED, Color.BLUE, Color.GREEN};
+        for (Color color : colors) {
+            Style style = sb.createStyle(sb.createPolygonSymbolizer(null, sb.createFill(color)));
+            mc.addLayer(new FeatureLayer(ds.getFeatureSource("buildings"), style));
+        }
+        mc.addLayer(
+                new FeatureLayer(
+                        ds.getFeatureSource("line"),
+                        sb.createStyle(sb.createLineSymbolizer(Color.BLACK, 3))));
+        return mc;
+    }
+
+    /**
+     * A property store whose readers wait, up to a timeout, for another reader to be open at the
+     * same time, and record the maximum number of readers open at once.
+     */
+    static class ConcurrentReadersDataStore extends PropertyDataStore {
+        static final long TIMEOUT = 10000;
+
+        int open;
+
+        int maxOpen;
+
+        boolean timedOut;
+
+        ConcurrentReadersDataStore(File dir) {
+            super(dir);
+        }
+
+        @Override
+        protected ContentFeatureSource createFeatureSource(ContentEntry entry) {
+            return new PropertyFeatureSource(entry, Query.ALL) {
+                @Override
+                protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(
+                        Query query) throws IOException {
+                    readerOpened();
+                    try {
+                        return new ClosingReader(super.getReaderInternal(query));
+                    } catch (IOException | RuntimeException e) {
+                        readerClosed();
+                        throw e;
+                    }
+                }
+            };
+        }
+
+        synchronized void readerOpened() throws IOException {
+            open++;
+            maxOpen = Math.max(maxOpen, open);
+            notifyAll();
+            long deadline = System.currentTimeMillis() + TIMEOUT;
+            try {
+                while (maxOpen < 2 && !timedOut) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        // stop waiting, the test will fail on the recorded count
+                        timedOut = true;
+                    } else {
+                        wait(remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+
+        synchronized void readerClosed() {
+            open--;
+        }
+
+        synchronized int getMaxOpen() {
+            return maxOpen;
+        }
+
+        /** Tracks the reader close */
+        class ClosingReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+            FeatureReader<SimpleFeatureType, SimpleFeature> delegate;
+
+            ClosingReader(FeatureReader<SimpleFeatureType, SimpleFeature> delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public SimpleFeatureType getFeatureType() {
+                return delegate.getFeatureType();
+            }
+
+            @Override
+            public SimpleFeature next() throws IOException {
+                return delegate.next();
+            }
+
+            @Override
+            public boolean hasNext() throws IOException {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    delegate.close();
+                } finally {
+                    readerClosed();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTiledPainting() throws Exception {
+        File property = new File(TestData.getResource(this, "buildings.properties").toURI());
+        PropertyDataStore ds = new PropertyDataStore(property.getParentFile());
+        ReferencedEnvelope bounds =
+                new ReferencedEnvelope(0, 10, 0, 10, DefaultGeographicCRS.WGS84);
+
+        StyleBuilder sb = new StyleBuilder();
+        MapContent mc = new MapContent();
+        mc.addLayer(
+                new FeatureLayer(
+                        ds.getFeatureSource("buildings"),
+                        sb.createStyle(
+                                sb.createPolygonSymbolizer(
+                                        sb.createStroke(Color.BLACK, 5),
+                                        sb.createFill(Color.GRAY, 0.5)))));
+        mc.addLayer(
+                new FeatureLayer(
+                        ds.getFeatureSource("line"),
+                        sb.createStyle(sb.createLineSymbolizer(Color.RED, 8))));
+        mc.addLayer(
+                new FeatureLayer(
+                        ds.getFeatureSource("point"),
+                        sb.createStyle(sb.createPointSymbolizer(sb.createGraphic()))));
+
+        StreamingRenderer renderer = new StreamingRenderer();
+        renderer.setMapContent(mc);
+        CountingRenderListener plainCounter = new CountingRenderListener();
+        BufferedImage expected = RendererBaseTest.renderImage(renderer, bounds, plainCounter);
+
+        try {
+            renderer = new StreamingRenderer();
+            renderer.setMapContent(mc);
+            renderer.setRendererHints(
+                    Collections.singletonMap(StreamingRenderer.TILED_PAINTING_KEY, 64));
+            CountingRenderListener tiledCounter = new CountingRenderListener();
+            BufferedImage actual = RendererBaseTest.renderImage(renderer, bounds, tiledCounter);
+
+            assertEquals(0, tiledCounter.errors);
+            assertEquals(plainCounter.features, tiledCounter.features);
+            assertSimilar(expected, actual);
+
+            // a translated target graphics is painted the same, and only within the paint area
+            renderer = new StreamingRenderer();
+            renderer.setMapContent(mc);
+            expected = renderTranslated(renderer, bounds);
+            renderer = new StreamingRenderer();
+            renderer.setMapContent(mc);
+            renderer.setRendererHints(
+                    Collections.singletonMap(StreamingRenderer.TILED_PAINTING_KEY, 64));
+            actual = renderTranslated(renderer, bounds);
+            assertSimilar(expected, actual);
+            assertEquals(Color.WHITE.getRGB(), actual.getRGB(40, 200));
+            assertEquals(Color.WHITE.getRGB(), actual.getRGB(200, 340));
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    /** Paints a 300x300 map on a larger image, through a translated graphics */
+    private BufferedImage renderTranslated(StreamingRenderer renderer, ReferencedEnvelope bounds) {
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 400, 400);
+        graphics.translate(50, 30);
+        renderer.paint(graphics, new Rectangle(300, 300), bounds);
+        graphics.dispose();
+        return image;
+    }
+
+    /** Tiles are composited on the target, allow for rounding differences */
+    private void assertSimilar(BufferedImage expected, BufferedImage actual) {
+        int[] expectedPixels = ((DataBufferInt) expected.getRaster().getDataBuffer()).getData();
+        int[] actualPixels = ((DataBufferInt) actual.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < expectedPixels.length; i++) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                int e = (expectedPixels[i] >> shift) & 0xFF;
+                int a = (actualPixels[i] >> shift) & 0xFF;
+                assertTrue("Difference at pixel " + i, Math.abs(e - a) <= 2);
+            }
+        }
+    }
 }
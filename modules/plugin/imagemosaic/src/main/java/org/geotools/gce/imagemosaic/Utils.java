@@ -397,6 +397,12 @@ public static class Prop {
 
         public static final String QUERY_CACHE_MAX_FEATURES = "QueryCacheMaxFeatures";
 
+        /**
+         * Whether to keep a persistent, memory mapped index of the granules next to the mosaic
+         * files, allowing fast startup and domain computation on large catalogs
+         */
+        public static final String PERSISTENT_INDEX = "PersistentIndex";
+
         public static final String COLLECT_RAT = "CollectAttributeTables";
     }
 
@@ -84,6 +84,11 @@ public static GranuleCatalog createGranuleCatalog(
                 throw new IllegalArgumentException(
                         "Cannot perform in complete memory caching of granules when having multiple coverages");
             catalog = new STRTreeGranuleCatalog(params, gtCatalog, hints);
+        } else if (Boolean.TRUE.equals(
+                Converters.convert(params.get(Utils.Prop.PERSISTENT_INDEX), Boolean.class))) {
+            catalog =
+                    new CachingDataStoreGranuleCatalog(
+                            new PersistentIndexGranuleCatalog(params, gtCatalog));
         } else {
             Integer maxAge =
                     Converters.convert(params.get(Utils.Prop.QUERY_CACHE_MAX_AGE), Integer.class);
@@ -0,0 +1,574 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.catalog;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import org.geotools.util.NIOUtilities;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A packed R-tree over compact granule records, stored in a file that is memory mapped and searched
+ * in place. Each record only holds the granule location, its bounds and, optionally, its time and
+ * elevation, so that opening the index does not require loading any feature.
+ *
+ * <p>The tree indexes four dimensions: x, y, time (as milliseconds since the epoch) and elevation.
+ * Records without time or elevation get an empty range on that dimension, so that they are only
+ * matched by searches not constraining it. The records are sorted along a Hilbert curve of their
+ * bounds centers, and the upper levels are stored bottom up after them, the last entry being the
+ * root.
+ *
+ * <p>The file starts with a header made of a magic number, the format version, the number of
+ * records, the node size, the string references of the time and elevation attribute names (-1 when
+ * missing), the position of the string area, the number of levels and the index of the first entry
+ * of each level (plus the total number of entries). Each entry is made of the minimum and maximum
+ * of the four dimensions (eight doubles) and an integer, which for leaves is the reference of the
+ * location in the string area, and for the other levels the index of the first child entry.
+ * Strings are stored as their UTF-8 length followed by the UTF-8 bytes.
+ */
+class GranuleIndex implements Closeable {
+
+    /** The magic number at the start of the file ("GTGI") */
+    static final int MAGIC = 0x47544749;
+
+    /** The file format version */
+    static final int VERSION = 1;
+
+    /** Indexed dimensions: x, y, time and elevation */
+    static final int DIMENSIONS = 4;
+
+    static final int TIME = 2;
+
+    static final int ELEVATION = 3;
+
+    /** The size of a tree entry, in bytes */
+    static final int ENTRY_SIZE = 2 * DIMENSIONS * Double.BYTES + Integer.BYTES;
+
+    /** The default maximum number of children of a node */
+    static final int DEFAULT_NODE_SIZE = 16;
+
+    private static final int HILBERT_MAX = (1 << 16) - 1;
+
+    /** A compact granule record */
+    static class Record {
+
+        final String location;
+
+        final double minX;
+
+        final double minY;
+
+        final double maxX;
+
+        final double maxY;
+
+        /** Milliseconds since the epoch, NaN if missing */
+        final double time;
+
+        /** NaN if missing */
+        final double elevation;
+
+        Record(String location, Envelope bounds, double time, double elevation) {
+            this(
+                    location,
+                    bounds.getMinX(),
+                    bounds.getMinY(),
+                    bounds.getMaxX(),
+                    bounds.getMaxY(),
+                    time,
+                    elevation);
+        }
+
+        Record(
+                String location,
+                double minX,
+                double minY,
+                double maxX,
+                double maxY,
+                double time,
+                double elevation) {
+            this.location = location;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.time = time;
+            this.elevation = elevation;
+        }
+
+        /** Returns true if the record falls in the given search ranges */
+        boolean matches(double[] min, double[] max) {
+            return minX <= max[0]
+                    && maxX >= min[0]
+                    && minY <= max[1]
+                    && maxY >= min[1]
+                    && matches(time, min[TIME], max[TIME])
+                    && matches(elevation, min[ELEVATION], max[ELEVATION]);
+        }
+
+        private static boolean matches(double value, double min, double max) {
+            if (Double.isNaN(value)) {
+                // missing values only match unconstrained searches
+                return min == Double.NEGATIVE_INFINITY && max == Double.POSITIVE_INFINITY;
+            }
+            return value >= min && value <= max;
+        }
+
+        Envelope getEnvelope() {
+            return new Envelope(minX, maxX, minY, maxY);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Record)) {
+                return false;
+            }
+            Record other = (Record) obj;
+            return Objects.equals(location, other.location)
+                    && Double.compare(minX, other.minX) == 0
+                    && Double.compare(minY, other.minY) == 0
+                    && Double.compare(maxX, other.maxX) == 0
+                    && Double.compare(maxY, other.maxY) == 0
+                    && Double.compare(time, other.time) == 0
+                    && Double.compare(elevation, other.elevation) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, minX, minY, maxX, maxY, time, elevation);
+        }
+
+        @Override
+        public String toString() {
+            return "Record[" + location + ", " + getEnvelope() + "]";
+        }
+    }
+
+    private ByteBuffer buffer;
+
+    private final int count;
+
+    private final int nodeSize;
+
+    private final String timeAttribute;
+
+    private final String elevationAttribute;
+
+    private final int stringsPosition;
+
+    /** Index of the first entry of each level, leaves first, plus the total number of entries */
+    private final int[] levelStarts;
+
+    /** Position of the first entry in the buffer */
+    private final int entriesPosition;
+
+    GranuleIndex(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < 8 * Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a granule index file");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported granule index version " + version);
+        }
+        count = buffer.getInt(8);
+        nodeSize = buffer.getInt(12);
+        int timeRef = buffer.getInt(16);
+        int elevationRef = buffer.getInt(20);
+        stringsPosition = buffer.getInt(24);
+        int levels = buffer.getInt(28);
+        levelStarts = new int[levels + 1];
+        for (int i = 0; i <= levels; i++) {
+            levelStarts[i] = buffer.getInt(32 + i * Integer.BYTES);
+        }
+        entriesPosition = 32 + levelStarts.length * Integer.BYTES;
+        if (stringsPosition < entriesPosition + (long) levelStarts[levels] * ENTRY_SIZE
+                || stringsPosition > buffer.limit()) {
+            throw new IOException("Truncated granule index file");
+        }
+        timeAttribute = timeRef >= 0 ? getString(timeRef) : null;
+        elevationAttribute = elevationRef >= 0 ? getString(elevationRef) : null;
+    }
+
+    /**
+     * Opens the given index file, memory mapping it.
+     *
+     * @param file The index file
+     * @return The index, to be closed once done
+     */
+    static GranuleIndex open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Granule index file too large: " + file);
+            }
+            return new GranuleIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /** Returns the number of records in the index */
+    int getCount() {
+        return count;
+    }
+
+    /** Returns the name of the indexed time attribute, or null if time is not indexed */
+    String getTimeAttribute() {
+        return timeAttribute;
+    }
+
+    /** Returns the name of the indexed elevation attribute, or null if elevation is not indexed */
+    String getElevationAttribute() {
+        return elevationAttribute;
+    }
+
+    /** Returns the bounds of all the records in the index, a null envelope if there is none */
+    Envelope getBounds() {
+        if (count == 0) {
+            return new Envelope();
+        }
+        int root = entriesPosition + (levelStarts[levelStarts.length - 1] - 1) * ENTRY_SIZE;
+        return new Envelope(
+                buffer.getDouble(root),
+                buffer.getDouble(root + DIMENSIONS * Double.BYTES),
+                buffer.getDouble(root + Double.BYTES),
+                buffer.getDouble(root + (DIMENSIONS + 1) * Double.BYTES));
+    }
+
+    /** Returns the record at the given position, in the index order */
+    Record getRecord(int index) {
+        final ByteBuffer buffer = checkBuffer();
+        int position = entriesPosition + index * ENTRY_SIZE;
+        int max = position + DIMENSIONS * Double.BYTES;
+        double time = buffer.getDouble(position + TIME * Double.BYTES);
+        double elevation = buffer.getDouble(position + ELEVATION * Double.BYTES);
+        return new Record(
+                getString(buffer.getInt(position + 2 * DIMENSIONS * Double.BYTES)),
+                buffer.getDouble(position),
+                buffer.getDouble(position + Double.BYTES),
+                buffer.getDouble(max),
+                buffer.getDouble(max + Double.BYTES),
+                Double.isInfinite(time) ? Double.NaN : time,
+                Double.isInfinite(elevation) ? Double.NaN : elevation);
+    }
+
+    /**
+     * Visits the positions of the records falling in the given search ranges, until the visitor
+     * returns false. This method can be called concurrently.
+     *
+     * @param min The minimum of each dimension, negative infinity when unconstrained
+     * @param max The maximum of each dimension, positive infinity when unconstrained
+     * @param visitor Receives the matching positions, returns false to stop the search
+     * @return false if the search was stopped by the visitor
+     */
+    boolean query(double[] min, double[] max, IntPredicate visitor) {
+        final ByteBuffer buffer = checkBuffer();
+        if (count == 0) {
+            return true;
+        }
+        int levels = levelStarts.length - 1;
+        // stack of (level, first entry, end entry) triplets
+        int[] stack = new int[3 * 16];
+        int top = 0;
+        stack[top++] = levels - 1;
+        stack[top++] = levelStarts[levels - 1];
+        stack[top++] = levelStarts[levels];
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+            int level = stack[--top];
+            for (int i = start; i < end; i++) {
+                if (!intersects(buffer, entriesPosition + i * ENTRY_SIZE, min, max)) {
+                    continue;
+                }
+                if (level == 0) {
+                    if (!visitor.test(i)) {
+                        return false;
+                    }
+                } else {
+                    int child =
+                            buffer.getInt(
+                                    entriesPosition
+                                            + i * ENTRY_SIZE
+                                            + 2 * DIMENSIONS * Double.BYTES);
+                    if (top + 3 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = level - 1;
+                    stack[top++] = child;
+                    stack[top++] = Math.min(child + nodeSize, levelStarts[level]);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean intersects(ByteBuffer buffer, int position, double[] min, double[] max) {
+        for (int d = 0; d < DIMENSIONS; d++) {
+            double entryMin = buffer.getDouble(position + d * Double.BYTES);
+            double entryMax = buffer.getDouble(position + (DIMENSIONS + d) * Double.BYTES);
+            boolean unconstrained =
+                    min[d] == Double.NEGATIVE_INFINITY && max[d] == Double.POSITIVE_INFINITY;
+            // empty ranges are missing values, only matched by unconstrained searches
+            if (!unconstrained && (entryMin > max[d] || entryMax < min[d])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String getString(int ref) {
+        final ByteBuffer buffer = checkBuffer();
+        int position = stringsPosition + ref;
+        int length = buffer.getInt(position);
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(position + Integer.BYTES);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer checkBuffer() {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("The granule index has been closed");
+        }
+        return buffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            NIOUtilities.clean(buffer, true);
+            buffer = null;
+        }
+    }
+
+    /**
+     * Sorts the records along the Hilbert curve and writes the index to the given file.
+     *
+     * @param file The target file, overwritten if existing
+     * @param records The records to index
+     * @param timeAttribute The name of the time attribute, or null if time is not indexed
+     * @param elevationAttribute The name of the elevation attribute, or null if not indexed
+     * @param nodeSize The maximum number of children of a node
+     */
+    static void write(
+            File file,
+            List<Record> records,
+            String timeAttribute,
+            String elevationAttribute,
+            int nodeSize)
+            throws IOException {
+        if (nodeSize < 2) {
+            throw new IllegalArgumentException("The node size must be at least 2");
+        }
+        final int size = records.size();
+
+        // sort along the Hilbert curve of the bounds centers
+        Envelope extent = new Envelope();
+        for (Record r : records) {
+            extent.expandToInclude(r.minX, r.minY);
+            extent.expandToInclude(r.maxX, r.maxY);
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            Record r = records.get(i);
+            int x = gridCoordinate((r.minX + r.maxX) / 2, extent.getMinX(), extent.getWidth());
+            int y = gridCoordinate((r.minY + r.maxY) / 2, extent.getMinY(), extent.getHeight());
+            // flipping the sign bit makes the signed sort follow the unsigned Hilbert order
+            keys[i] = ((long) (hilbert(x, y) ^ Integer.MIN_VALUE) << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+
+        // compute the level layout, leaves first, up to a single root entry
+        List<Integer> levelSizes = new ArrayList<>();
+        for (int n = size; n > 0; n = (n == 1) ? 0 : (n + nodeSize - 1) / nodeSize) {
+            levelSizes.add(n);
+        }
+        int levels = levelSizes.size();
+        int[] levelStarts = new int[levels + 1];
+        for (int i = 0; i < levels; i++) {
+            levelStarts[i + 1] = levelStarts[i] + levelSizes.get(i);
+        }
+
+        // encode the strings, attribute names first
+        List<byte[]> strings = new ArrayList<>(size + 2);
+        int[] refs = new int[size];
+        int stringsSize = 0;
+        int timeRef = -1;
+        int elevationRef = -1;
+        if (timeAttribute != null) {
+            timeRef = stringsSize;
+            stringsSize += addString(strings, timeAttribute);
+        }
+        if (elevationAttribute != null) {
+            elevationRef = stringsSize;
+            stringsSize += addString(strings, elevationAttribute);
+        }
+        for (int i = 0; i < size; i++) {
+            refs[i] = stringsSize;
+            stringsSize += addString(strings, records.get((int) keys[i]).location);
+        }
+
+        int entriesPosition = 32 + (levels + 1) * Integer.BYTES;
+        long stringsPosition = entriesPosition + (long) levelStarts[levels] * ENTRY_SIZE;
+        long fileSize = stringsPosition + stringsSize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Too many granules for a single granule index file");
+        }
+
+        try (FileChannel channel =
+                FileChannel.open(
+                        file.toPath(),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            try {
+                buffer.putInt(MAGIC);
+                buffer.putInt(VERSION);
+                buffer.putInt(size);
+                buffer.putInt(nodeSize);
+                buffer.putInt(timeRef);
+                buffer.putInt(elevationRef);
+                buffer.putInt((int) stringsPosition);
+                buffer.putInt(levels);
+                for (int start : levelStarts) {
+                    buffer.putInt(start);
+                }
+
+                // the leaves
+                for (int i = 0; i < size; i++) {
+                    Record r = records.get((int) keys[i]);
+                    int position = entriesPosition + i * ENTRY_SIZE;
+                    buffer.putDouble(position, r.minX);
+                    buffer.putDouble(position + 8, r.minY);
+                    buffer.putDouble(position + 16, lower(r.time));
+                    buffer.putDouble(position + 24, lower(r.elevation));
+                    buffer.putDouble(position + 32, r.maxX);
+                    buffer.putDouble(position + 40, r.maxY);
+                    buffer.putDouble(position + 48, upper(r.time));
+                    buffer.putDouble(position + 56, upper(r.elevation));
+                    buffer.putInt(position + 64, refs[i]);
+                }
+
+                // the upper levels, each entry covering up to nodeSize entries of the level below
+                for (int level = 1; level < levels; level++) {
+                    int childStart = levelStarts[level - 1];
+                    int childEnd = levelStarts[level];
+                    for (int i = levelStarts[level]; i < levelStarts[level + 1]; i++) {
+                        int child = childStart + (i - levelStarts[level]) * nodeSize;
+                        int last = Math.min(child + nodeSize, childEnd);
+                        double[] min = new double[DIMENSIONS];
+                        double[] max = new double[DIMENSIONS];
+                        Arrays.fill(min, Double.POSITIVE_INFINITY);
+                        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+                        for (int c = child; c < last; c++) {
+                            int position = entriesPosition + c * ENTRY_SIZE;
+                            for (int d = 0; d < DIMENSIONS; d++) {
+                                min[d] = Math.min(min[d], buffer.getDouble(position + d * 8));
+                                max[d] =
+                                        Math.max(
+                                                max[d],
+                                                buffer.getDouble(position + (DIMENSIONS + d) * 8));
+                            }
+                        }
+                        int position = entriesPosition + i * ENTRY_SIZE;
+                        for (int d = 0; d < DIMENSIONS; d++) {
+                            buffer.putDouble(position + d * 8, min[d]);
+                            buffer.putDouble(position + (DIMENSIONS + d) * 8, max[d]);
+                        }
+                        buffer.putInt(position + 64, child);
+                    }
+                }
+
+                // the strings
+                buffer.position((int) stringsPosition);
+                for (byte[] bytes : strings) {
+                    buffer.putInt(bytes.length);
+                    buffer.put(bytes);
+                }
+                buffer.force();
+            } finally {
+                NIOUtilities.clean(buffer, true);
+            }
+        }
+    }
+
+    private static int addString(List<byte[]> strings, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings.add(bytes);
+        return Integer.BYTES + bytes.length;
+    }
+
+    /** Missing values are stored as empty ranges, which do not affect the parent ranges */
+    private static double lower(double value) {
+        return Double.isNaN(value) ? Double.POSITIVE_INFINITY : value;
+    }
+
+    private static double upper(double value) {
+        return Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
+    }
+
+    private static int gridCoordinate(double value, double min, double span) {
+        if (!(span > 0)) {
+            return 0;
+        }
+        double scaled = (value - min) / span * HILBERT_MAX;
+        // NaN values end up at 0
+        return (int) Math.max(0, Math.min(HILBERT_MAX, scaled));
+    }
+
+    /**
+     * Returns the distance of the given cell along a Hilbert curve filling a 65536 x 65536 grid, as
+     * an unsigned 32 bits integer.
+     */
+    static int hilbert(int x, int y) {
+        int d = 0;
+        for (int s = 1 << 15; s > 0; s >>>= 1) {
+            int rx = (x & s) != 0 ? 1 : 0;
+            int ry = (y & s) != 0 ? 1 : 0;
+            // overflows are fine, the result is an unsigned value
+            d += s * s * ((3 * rx) ^ ry);
+            // rotate the quadrant
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = HILBERT_MAX - x;
+                    y = HILBERT_MAX - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+}
@@ -0,0 +1,1010 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.catalog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsGreaterThan;
+import org.geotools.api.filter.PropertyIsGreaterThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsLessThan;
+import org.geotools.api.filter.PropertyIsLessThanOrEqualTo;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.geometry.BoundingBox;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.feature.visitor.FeatureCalc;
+import org.geotools.feature.visitor.MaxVisitor;
+import org.geotools.feature.visitor.MinVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
+import org.geotools.gce.imagemosaic.Utils;
+import org.geotools.gce.imagemosaic.catalog.GranuleIndex.Record;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.CRS;
+import org.geotools.util.Converters;
+import org.geotools.util.URLs;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A granule catalog keeping a persistent, memory mapped index of the granules next to the mosaic
+ * files, see {@link GranuleIndex}. Unlike {@link STRTreeGranuleCatalog} the index does not hold the
+ * granule features, and is opened without reading the wrapped store, so startup time and heap usage
+ * do not grow with the number of granules.
+ *
+ * <p>The index answers bounds, counts and time/elevation domain requests, and allows to skip the
+ * store altogether when a query cannot match any granule. Queries that do match granules are still
+ * run against the wrapped catalog, which returns the actual features.
+ *
+ * <p>Harvesting updates the index incrementally: added and removed granules are appended to a
+ * journal file, replayed when opening the index, and merged back into the index once it grows
+ * large enough. Changes made in a transaction are recorded when the transaction commits. The index
+ * is rebuilt from the wrapped store if missing, unreadable, or holding a different number of
+ * granules than the store (e.g., when the store has been modified by other means).
+ *
+ * <p>The time and elevation attributes to index are configured with the {@link
+ * Utils.Prop#TIME_ATTRIBUTE} and {@link Utils.Prop#ELEVATION_ATTRIBUTE} catalog parameters.
+ */
+public class PersistentIndexGranuleCatalog extends DelegatingGranuleCatalog {
+
+    static final Logger LOGGER = Logging.getLogger(PersistentIndexGranuleCatalog.class);
+
+    /** Extension of the index files, named after the type they index */
+    static final String INDEX_EXTENSION = ".gidx";
+
+    /** Extension of the journal files, listing the changes not yet merged in the index */
+    static final String JOURNAL_EXTENSION = ".gidx.log";
+
+    /**
+     * Minimum number of journal entries triggering a merge in the index, larger indexes merge when
+     * the journal reaches a quarter of their size
+     */
+    static final int COMPACTION_THRESHOLD = 1024;
+
+    private static final byte ADD = 1;
+
+    private static final byte REMOVE = 2;
+
+    /** A granule addition or removal, to be applied to the index of a type */
+    static class Change {
+        final boolean add;
+
+        final Record record;
+
+        Change(boolean add, Record record) {
+            this.add = add;
+            this.record = record;
+        }
+    }
+
+    /** Collects the changes made in a transaction, applying them on commit */
+    class PendingChanges implements Transaction.State {
+
+        Map<String, List<Change>> changes = new LinkedHashMap<>();
+
+        synchronized void add(String typeName, List<Change> typeChanges) {
+            changes.computeIfAbsent(typeName, k -> new ArrayList<>()).addAll(typeChanges);
+        }
+
+        @Override
+        public void setTransaction(Transaction transaction) {
+            if (transaction == null) {
+                clear();
+            }
+        }
+
+        @Override
+        public void addAuthorization(String AuthID) throws IOException {
+            // nothing to do
+        }
+
+        @Override
+        public void commit() throws IOException {
+            Map<String, List<Change>> committed;
+            synchronized (this) {
+                committed = changes;
+                changes = new LinkedHashMap<>();
+            }
+            for (Map.Entry<String, List<Change>> entry : committed.entrySet()) {
+                apply(entry.getKey(), entry.getValue());
+            }
+        }
+
+        @Override
+        public void rollback() throws IOException {
+            clear();
+        }
+
+        private synchronized void clear() {
+            changes.clear();
+        }
+    }
+
+    /** The index of a single type, the base index file plus the changes listed in the journal */
+    class TypeIndex {
+
+        final String typeName;
+
+        final File indexFile;
+
+        final File journalFile;
+
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        GranuleIndex base;
+
+        /** Positions of the base records removed after the index was written */
+        BitSet deleted = new BitSet();
+
+        /** Records added after the index was written */
+        List<Record> added = new ArrayList<>();
+
+        int journalEntries;
+
+        /** The bounds of the live records, computed on demand */
+        Envelope bounds;
+
+        TypeIndex(String typeName) {
+            this.typeName = typeName;
+            this.indexFile = new File(directory, typeName + INDEX_EXTENSION);
+            this.journalFile = new File(directory, typeName + JOURNAL_EXTENSION);
+        }
+
+        /** Opens the index, building it from the wrapped store if missing or out of date */
+        void open() throws IOException {
+            if (indexFile.exists()) {
+                try {
+                    base = GranuleIndex.open(indexFile);
+                    if (Objects.equals(base.getTimeAttribute(), timeAttribute)
+                            && Objects.equals(base.getElevationAttribute(), elevationAttribute)) {
+                        boolean complete = replayJournal();
+                        if (getCount() == adaptee.getGranulesCount(new Query(typeName))) {
+                            if (!complete) {
+                                // drop the partial journal entry before appending new ones
+                                compact();
+                            }
+                            return;
+                        }
+                    }
+                    LOGGER.info("Granule index " + indexFile + " is out of date, rebuilding it");
+                } catch (IOException e) {
+                    LOGGER.log(
+                            Level.WARNING,
+                            "Could not read granule index " + indexFile + ", rebuilding it",
+                            e);
+                }
+                close();
+            }
+
+            // build from the wrapped store
+            List<Record> records = new ArrayList<>();
+            String locationAttribute = getLocationAttribute(typeName);
+            try (SimpleFeatureIterator it =
+                    adaptee.getGranules(new Query(typeName)).features()) {
+                while (it.hasNext()) {
+                    records.add(toRecord(it.next(), locationAttribute));
+                }
+            }
+            writeBase(records);
+        }
+
+        /**
+         * Applies the journal entries to the in memory changes
+         *
+         * @return false if the journal ends with a partial entry
+         */
+        private boolean replayJournal() throws IOException {
+            if (!journalFile.exists()) {
+                return true;
+            }
+            try (DataInputStream in =
+                    new DataInputStream(
+                            new BufferedInputStream(new FileInputStream(journalFile)))) {
+                while (true) {
+                    int op = in.read();
+                    if (op == -1) {
+                        return true;
+                    }
+                    try {
+                        Record record = readRecord(in);
+                        if (op == ADD) {
+                            add(record);
+                        } else if (op == REMOVE) {
+                            remove(record);
+                        } else {
+                            throw new IOException("Invalid journal entry type " + op);
+                        }
+                        journalEntries++;
+                    } catch (EOFException e) {
+                        // an interrupted write, the entry was not committed
+                        return false;
+                    }
+                }
+            }
+        }
+
+        private void add(Record record) {
+            added.add(record);
+        }
+
+        private void remove(Record record) {
+            // most recent additions first
+            for (int i = added.size() - 1; i >= 0; i--) {
+                if (added.get(i).equals(record)) {
+                    added.remove(i);
+                    return;
+                }
+            }
+            double[] min = {record.minX, record.minY, record.time, record.elevation};
+            double[] max = {record.maxX, record.maxY, record.time, record.elevation};
+            for (int d = GranuleIndex.TIME; d < GranuleIndex.DIMENSIONS; d++) {
+                if (Double.isNaN(min[d])) {
+                    min[d] = Double.NEGATIVE_INFINITY;
+                    max[d] = Double.POSITIVE_INFINITY;
+                }
+            }
+            boolean found =
+                    !base.query(
+                            min,
+                            max,
+                            i -> {
+                                if (!deleted.get(i) && base.getRecord(i).equals(record)) {
+                                    deleted.set(i);
+                                    return false;
+                                }
+                                return true;
+                            });
+            if (!found && LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Removed granule not found in the index: " + record);
+            }
+        }
+
+        /** Appends the changes to the journal, applies them, and merges them if needed */
+        void apply(List<Change> changes) throws IOException {
+            lock.writeLock().lock();
+            try {
+                checkOpen();
+                try (DataOutputStream out =
+                        new DataOutputStream(
+                                new BufferedOutputStream(
+                                        new FileOutputStream(journalFile, true)))) {
+                    for (Change change : changes) {
+                        out.writeByte(change.add ? ADD : REMOVE);
+                        writeRecord(out, change.record);
+                    }
+                }
+                for (Change change : changes) {
+                    if (change.add) {
+                        add(change.record);
+                    } else {
+                        remove(change.record);
+                    }
+                }
+                journalEntries += changes.size();
+                bounds = null;
+                if (journalEntries > Math.max(COMPACTION_THRESHOLD, base.getCount() / 4)) {
+                    compact();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /** Merges the changes in a new index file, and clears the journal */
+        private void compact() throws IOException {
+            List<Record> records = new ArrayList<>(getCount());
+            double[][] all = unconstrained();
+            forEach(all[0], all[1], records::add);
+            writeBase(records);
+        }
+
+        /** Writes the records in a new base index, replacing the current one and the journal */
+        private void writeBase(List<Record> records) throws IOException {
+            File temp = new File(directory, typeName + INDEX_EXTENSION + ".tmp");
+            GranuleIndex.write(
+                    temp,
+                    records,
+                    timeAttribute,
+                    elevationAttribute,
+                    GranuleIndex.DEFAULT_NODE_SIZE);
+            close();
+            Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(journalFile.toPath());
+            base = GranuleIndex.open(indexFile);
+        }
+
+        private void checkOpen() {
+            if (base == null) {
+                throw new IllegalStateException("The granule index has been closed");
+            }
+        }
+
+        /** Returns the number of live records */
+        int getCount() {
+            return base.getCount() - deleted.cardinality() + added.size();
+        }
+
+        /** Visits the live records in the given search ranges */
+        void forEach(double[] min, double[] max, Consumer<Record> consumer) {
+            lock.readLock().lock();
+            try {
+                checkOpen();
+                base.query(
+                        min,
+                        max,
+                        i -> {
+                            if (!deleted.get(i)) {
+                                consumer.accept(base.getRecord(i));
+                            }
+                            return true;
+                        });
+                for (Record record : added) {
+                    if (record.matches(min, max)) {
+                        consumer.accept(record);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /** Returns true if no live record falls in the given search ranges */
+        boolean isEmpty(double[] min, double[] max) {
+            lock.readLock().lock();
+            try {
+                checkOpen();
+                for (Record record : added) {
+                    if (record.matches(min, max)) {
+                        return false;
+                    }
+                }
+                return base.query(min, max, i -> deleted.get(i));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int getLiveCount() {
+            lock.readLock().lock();
+            try {
+                checkOpen();
+                return getCount();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /** Returns the bounds of the live records */
+        Envelope getBounds() {
+            lock.readLock().lock();
+            try {
+                checkOpen();
+                Envelope result = bounds;
+                if (result == null) {
+                    if (deleted.isEmpty()) {
+                        result = base.getBounds();
+                        for (Record record : added) {
+                            result.expandToInclude(record.getEnvelope());
+                        }
+                    } else {
+                        Envelope scanned = new Envelope();
+                        double[][] all = unconstrained();
+                        forEach(all[0], all[1], r -> scanned.expandToInclude(r.getEnvelope()));
+                        result = scanned;
+                    }
+                    bounds = result;
+                }
+                return new Envelope(result);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void close() {
+            if (base != null) {
+                try {
+                    base.close();
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Failed to close granule index " + indexFile, e);
+                }
+                base = null;
+            }
+            deleted.clear();
+            added.clear();
+            journalEntries = 0;
+            bounds = null;
+        }
+
+        void delete() throws IOException {
+            close();
+            Files.deleteIfExists(indexFile.toPath());
+            Files.deleteIfExists(journalFile.toPath());
+        }
+    }
+
+    /** The directory holding the index files, null if the mosaic is not on the file system */
+    private final File directory;
+
+    private final String timeAttribute;
+
+    private final String elevationAttribute;
+
+    private final Map<String, TypeIndex> indexes = new HashMap<>();
+
+    /** Types whose index could not be opened nor built, served by the wrapped catalog only */
+    private final Set<String> unindexed = new HashSet<>();
+
+    public PersistentIndexGranuleCatalog(
+            Properties params, AbstractGTDataStoreGranuleCatalog adaptee) {
+        super(adaptee);
+        this.directory = getIndexDirectory(adaptee.getParentLocation());
+        this.timeAttribute = getFirstAttribute(params, Utils.Prop.TIME_ATTRIBUTE);
+        this.elevationAttribute = getFirstAttribute(params, Utils.Prop.ELEVATION_ATTRIBUTE);
+        if (directory == null) {
+            LOGGER.warning(
+                    "The mosaic is not on the file system, the persistent granule index is disabled");
+        }
+    }
+
+    private static File getIndexDirectory(String parentLocation) {
+        if (parentLocation == null) {
+            return null;
+        }
+        try {
+            File directory = URLs.urlToFile(new URL(parentLocation));
+            return directory != null && directory.isDirectory() ? directory : null;
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /** Ranged attributes are configured as "start;end", only the start one is indexed */
+    private static String getFirstAttribute(Properties params, String key) {
+        Object value = params.get(key);
+        if (value == null || value.toString().trim().isEmpty()) {
+            return null;
+        }
+        return value.toString().split("[;,]")[0].trim();
+    }
+
+    private String getLocationAttribute(String typeName) {
+        CatalogConfigurationBean configuration = getConfigurations().getByTypeName(typeName);
+        if (configuration != null && configuration.getLocationAttribute() != null) {
+            return configuration.getLocationAttribute();
+        }
+        return Utils.DEFAULT_LOCATION_ATTRIBUTE;
+    }
+
+    private Record toRecord(SimpleFeature feature, String locationAttribute) {
+        Object location = feature.getAttribute(locationAttribute);
+        Geometry geometry = (Geometry) feature.getDefaultGeometry();
+        Envelope bounds = geometry != null ? geometry.getEnvelopeInternal() : new Envelope();
+        return new Record(
+                location != null ? location.toString() : "",
+                bounds,
+                toTime(timeAttribute != null ? feature.getAttribute(timeAttribute) : null),
+                toElevation(
+                        elevationAttribute != null
+                                ? feature.getAttribute(elevationAttribute)
+                                : null));
+    }
+
+    private static double toTime(Object value) {
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else if (value != null) {
+            Date date = Converters.convert(value, Date.class);
+            if (date != null) {
+                return date.getTime();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static double toElevation(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value != null) {
+            Double converted = Converters.convert(value, Double.class);
+            if (converted != null) {
+                return converted;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static void writeRecord(DataOutputStream out, Record record) throws IOException {
+        out.writeUTF(record.location);
+        out.writeDouble(record.minX);
+        out.writeDouble(record.minY);
+        out.writeDouble(record.maxX);
+        out.writeDouble(record.maxY);
+        out.writeDouble(record.time);
+        out.writeDouble(record.elevation);
+    }
+
+    private static Record readRecord(DataInputStream in) throws IOException {
+        return new Record(
+                in.readUTF(),
+                in.readDouble(),
+                in.readDouble(),
+                in.readDouble(),
+                in.readDouble(),
+                in.readDouble(),
+                in.readDouble());
+    }
+
+    private static double[][] unconstrained() {
+        double[] min = new double[GranuleIndex.DIMENSIONS];
+        double[] max = new double[GranuleIndex.DIMENSIONS];
+        Arrays.fill(min, Double.NEGATIVE_INFINITY);
+        Arrays.fill(max, Double.POSITIVE_INFINITY);
+        return new double[][] {min, max};
+    }
+
+    /**
+     * Returns the index of the given type, opening or building it on first access, or null if the
+     * type cannot be indexed
+     */
+    synchronized TypeIndex getIndex(String typeName) {
+        if (directory == null || typeName == null || unindexed.contains(typeName)) {
+            return null;
+        }
+        TypeIndex index = indexes.get(typeName);
+        if (index == null) {
+            index = new TypeIndex(typeName);
+            try {
+                index.open();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(
+                        Level.WARNING,
+                        "Could not open nor build the granule index for "
+                                + typeName
+                                + ", falling back on the wrapped catalog",
+                        e);
+                index.close();
+                unindexed.add(typeName);
+                return null;
+            }
+            indexes.put(typeName, index);
+        }
+        return index;
+    }
+
+    /** Drops the index of the given type, it will be rebuilt on next access */
+    private synchronized void invalidate(String typeName) {
+        TypeIndex index = indexes.remove(typeName);
+        try {
+            if (index != null) {
+                index.lock.writeLock().lock();
+                try {
+                    index.delete();
+                } finally {
+                    index.lock.writeLock().unlock();
+                }
+            } else if (directory != null && typeName != null) {
+                new TypeIndex(typeName).delete();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to remove the granule index for " + typeName, e);
+        }
+    }
+
+    private void apply(String typeName, List<Change> changes) throws IOException {
+        TypeIndex index;
+        synchronized (this) {
+            index = indexes.get(typeName);
+        }
+        // indexes not opened yet will check against the store when opened
+        if (index != null && !changes.isEmpty()) {
+            try {
+                index.apply(changes);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(
+                        Level.WARNING,
+                        "Failed to update the granule index for " + typeName + ", dropping it",
+                        e);
+                invalidate(typeName);
+            }
+        }
+    }
+
+    /** Applies the changes right away in auto commit mode, or when the transaction commits */
+    private void record(String typeName, List<Change> changes, Transaction transaction)
+            throws IOException {
+        if (transaction == null || transaction == Transaction.AUTO_COMMIT) {
+            apply(typeName, changes);
+        } else {
+            PendingChanges pending;
+            synchronized (transaction) {
+                pending = (PendingChanges) transaction.getState(this);
+                if (pending == null) {
+                    pending = new PendingChanges();
+                    transaction.putState(this, pending);
+                }
+            }
+            pending.add(typeName, changes);
+        }
+    }
+
+    /**
+     * Returns the search ranges matching the filter, or null if the filter cannot be translated.
+     * Only the bounds and the top level time and elevation comparisons are taken into account, the
+     * ranges can match more granules than the filter, but never less.
+     */
+    private double[][] getSearchRanges(Filter filter, SimpleFeatureType schema) {
+        double[][] ranges = unconstrained();
+        if (filter == null || filter == Filter.INCLUDE) {
+            return ranges;
+        }
+        Envelope envelope =
+                (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, null);
+        if (envelope != null && !envelope.isNull()) {
+            if (envelope instanceof ReferencedEnvelope) {
+                CoordinateReferenceSystem crs =
+                        ((ReferencedEnvelope) envelope).getCoordinateReferenceSystem();
+                CoordinateReferenceSystem nativeCRS = schema.getCoordinateReferenceSystem();
+                if (crs != null
+                        && nativeCRS != null
+                        && !CRS.equalsIgnoreMetadata(crs, nativeCRS)) {
+                    // the filter is not in the index coordinates
+                    return null;
+                }
+            }
+            ranges[0][0] = envelope.getMinX();
+            ranges[0][1] = envelope.getMinY();
+            ranges[1][0] = envelope.getMaxX();
+            ranges[1][1] = envelope.getMaxY();
+        }
+        List<Filter> children =
+                filter instanceof And
+                        ? ((And) filter).getChildren()
+                        : Collections.singletonList(filter);
+        for (Filter child : children) {
+            narrow(child, timeAttribute, GranuleIndex.TIME, ranges);
+            narrow(child, elevationAttribute, GranuleIndex.ELEVATION, ranges);
+        }
+        return ranges;
+    }
+
+    /** Narrows the range of a dimension based on a comparison of its attribute with literals */
+    private void narrow(Filter filter, String attribute, int dimension, double[][] ranges) {
+        if (attribute == null) {
+            return;
+        }
+        double lower = Double.NEGATIVE_INFINITY;
+        double upper = Double.POSITIVE_INFINITY;
+        if (filter instanceof PropertyIsBetween) {
+            PropertyIsBetween between = (PropertyIsBetween) filter;
+            if (!isAttribute(between.getExpression(), attribute)) {
+                return;
+            }
+            lower = toValue(between.getLowerBoundary(), dimension, Double.NEGATIVE_INFINITY);
+            upper = toValue(between.getUpperBoundary(), dimension, Double.POSITIVE_INFINITY);
+        } else if (filter instanceof BinaryComparisonOperator) {
+            BinaryComparisonOperator comparison = (BinaryComparisonOperator) filter;
+            if (!isAttribute(comparison.getExpression1(), attribute)) {
+                return;
+            }
+            Expression literal = comparison.getExpression2();
+            // strict comparisons are treated as inclusive, the ranges can be larger than needed
+            if (filter instanceof PropertyIsEqualTo) {
+                lower = toValue(literal, dimension, Double.NEGATIVE_INFINITY);
+                upper = toValue(literal, dimension, Double.POSITIVE_INFINITY);
+            } else if (filter instanceof PropertyIsGreaterThan
+                    || filter instanceof PropertyIsGreaterThanOrEqualTo) {
+                lower = toValue(literal, dimension, Double.NEGATIVE_INFINITY);
+            } else if (filter instanceof PropertyIsLessThan
+                    || filter instanceof PropertyIsLessThanOrEqualTo) {
+                upper = toValue(literal, dimension, Double.POSITIVE_INFINITY);
+            }
+        }
+        ranges[0][dimension] = Math.max(ranges[0][dimension], lower);
+        ranges[1][dimension] = Math.min(ranges[1][dimension], upper);
+    }
+
+    private static boolean isAttribute(Expression expression, String attribute) {
+        return expression instanceof PropertyName
+                && attribute.equals(((PropertyName) expression).getPropertyName());
+    }
+
+    private static double toValue(Expression expression, int dimension, double fallback) {
+        if (!(expression instanceof Literal)) {
+            return fallback;
+        }
+        Object value = ((Literal) expression).getValue();
+        double result = dimension == GranuleIndex.TIME ? toTime(value) : toElevation(value);
+        return Double.isNaN(result) ? fallback : result;
+    }
+
+    /** Returns true if the index proves that the query cannot match any granule */
+    private boolean isEmpty(Query q) throws IOException {
+        TypeIndex index = getIndex(q.getTypeName());
+        if (index == null) {
+            return false;
+        }
+        double[][] ranges = getSearchRanges(q.getFilter(), adaptee.getType(q.getTypeName()));
+        return ranges != null && index.isEmpty(ranges[0], ranges[1]);
+    }
+
+    @Override
+    public SimpleFeatureCollection getGranules(Query q) throws IOException {
+        return getGranules(q, Transaction.AUTO_COMMIT);
+    }
+
+    @Override
+    public SimpleFeatureCollection getGranules(Query q, Transaction t) throws IOException {
+        // uncommitted changes are only visible in the store
+        if ((t == null || t == Transaction.AUTO_COMMIT) && isEmpty(q)) {
+            SimpleFeatureType schema = adaptee.getType(q.getTypeName());
+            if (q.getPropertyNames() != null) {
+                schema = SimpleFeatureTypeBuilder.retype(schema, q.getPropertyNames());
+            }
+            return new ListFeatureCollection(schema);
+        }
+        return adaptee.getGranules(q, t);
+    }
+
+    @Override
+    public void getGranuleDescriptors(Query q, GranuleCatalogVisitor visitor) throws IOException {
+        if (isEmpty(q)) {
+            return;
+        }
+        adaptee.getGranuleDescriptors(q, visitor);
+    }
+
+    @Override
+    public int getGranulesCount(Query q) throws IOException {
+        TypeIndex index = getIndex(q.getTypeName());
+        if (index != null) {
+            Filter filter = q.getFilter();
+            if ((filter == null || filter == Filter.INCLUDE)
+                    && q.isMaxFeaturesUnlimited()
+                    && (q.getStartIndex() == null || q.getStartIndex() == 0)) {
+                return index.getLiveCount();
+            } else if (isEmpty(q)) {
+                return 0;
+            }
+        }
+        return adaptee.getGranulesCount(q);
+    }
+
+    @Override
+    public BoundingBox getBounds(String typeName) {
+        TypeIndex index = getIndex(typeName);
+        if (index != null) {
+            try {
+                SimpleFeatureType schema = adaptee.getType(typeName);
+                return new ReferencedEnvelope(
+                        index.getBounds(), schema.getCoordinateReferenceSystem());
+            } catch (IOException e) {
+                LOGGER.log(Level.FINER, e.getMessage(), e);
+            }
+        }
+        return adaptee.getBounds(typeName);
+    }
+
+    @Override
+    public void computeAggregateFunction(Query q, FeatureCalc function) throws IOException {
+        TypeIndex index = getIndex(q.getTypeName());
+        String attribute = getAggregatedAttribute(function);
+        Filter filter = q.getFilter();
+        if (index == null
+                || attribute == null
+                || (filter != null && filter != Filter.INCLUDE)
+                || !q.isMaxFeaturesUnlimited()
+                || (q.getStartIndex() != null && q.getStartIndex() != 0)) {
+            adaptee.computeAggregateFunction(q, function);
+            return;
+        }
+
+        // feed the visitor with features holding just the indexed value
+        SimpleFeatureType schema = adaptee.getType(q.getTypeName());
+        AttributeDescriptor descriptor = schema.getDescriptor(attribute);
+        if (descriptor == null) {
+            adaptee.computeAggregateFunction(q, function);
+            return;
+        }
+        Class<?> binding = descriptor.getType().getBinding();
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName(schema.getName());
+        tb.add(attribute, binding);
+        SimpleFeatureType valueType = tb.buildFeatureType();
+        boolean time = attribute.equals(timeAttribute);
+        double[][] all = unconstrained();
+        index.forEach(
+                all[0],
+                all[1],
+                r -> {
+                    double value = time ? r.time : r.elevation;
+                    if (!Double.isNaN(value)) {
+                        Object converted =
+                                time
+                                        ? Converters.convert(new Date((long) value), binding)
+                                        : Converters.convert(value, binding);
+                        function.visit(
+                                SimpleFeatureBuilder.build(
+                                        valueType, new Object[] {converted}, null));
+                    }
+                });
+    }
+
+    /**
+     * Returns the indexed attribute aggregated by the function, or null if the function cannot be
+     * computed out of the index
+     */
+    private String getAggregatedAttribute(FeatureCalc function) {
+        Expression expression;
+        if (function instanceof MinVisitor) {
+            expression = ((MinVisitor) function).getExpression();
+        } else if (function instanceof MaxVisitor) {
+            expression = ((MaxVisitor) function).getExpression();
+        } else if (function instanceof UniqueVisitor
+                && !((UniqueVisitor) function).hasLimits()
+                && ((UniqueVisitor) function).getExpressions().size() == 1) {
+            expression = ((UniqueVisitor) function).getExpression();
+        } else {
+            return null;
+        }
+        if (!(expression instanceof PropertyName)) {
+            return null;
+        }
+        String name = ((PropertyName) expression).getPropertyName();
+        return name.equals(timeAttribute) || name.equals(elevationAttribute) ? name : null;
+    }
+
+    @Override
+    public void addGranule(String typeName, SimpleFeature granule, Transaction transaction)
+            throws IOException {
+        addGranules(typeName, Collections.singleton(granule), transaction);
+    }
+
+    @Override
+    public void addGranules(
+            String typeName, Collection<SimpleFeature> granules, Transaction transaction)
+            throws IOException {
+        adaptee.addGranules(typeName, granules, transaction);
+        String locationAttribute = getLocationAttribute(typeName);
+        List<Change> changes = new ArrayList<>(granules.size());
+        for (SimpleFeature granule : granules) {
+            changes.add(new Change(true, toRecord(granule, locationAttribute)));
+        }
+        record(typeName, changes, transaction);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int removeGranules(Query query) {
+        return removeGranules(query, Transaction.AUTO_COMMIT);
+    }
+
+    @Override
+    public int removeGranules(Query query, Transaction transaction) {
+        String typeName = query.getTypeName();
+        // collect the records of the granules about to be removed
+        List<Change> changes = null;
+        if (getIndex(typeName) != null) {
+            changes = new ArrayList<>();
+            String locationAttribute = getLocationAttribute(typeName);
+            try (SimpleFeatureIterator it =
+                    adaptee.getGranules(query, transaction).features()) {
+                while (it.hasNext()) {
+                    changes.add(new Change(false, toRecord(it.next(), locationAttribute)));
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(
+                        Level.WARNING,
+                        "Could not collect the granules being removed, dropping the granule index",
+                        e);
+                changes = null;
+                invalidate(typeName);
+            }
+        }
+
+        int removed = adaptee.removeGranules(query, transaction);
+        if (removed > 0 && changes != null) {
+            try {
+                record(typeName, changes, transaction);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to update the granule index", e);
+                invalidate(typeName);
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void removeType(String typeName) throws IOException {
+        invalidate(typeName);
+        adaptee.removeType(typeName);
+    }
+
+    @Override
+    public void drop() throws IOException {
+        List<String> typeNames;
+        synchronized (this) {
+            typeNames = new ArrayList<>(indexes.keySet());
+        }
+        for (String typeName : typeNames) {
+            invalidate(typeName);
+        }
+        adaptee.drop();
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (this) {
+            for (TypeIndex index : indexes.values()) {
+                index.lock.writeLock().lock();
+                try {
+                    index.close();
+                } finally {
+                    index.lock.writeLock().unlock();
+                }
+            }
+            indexes.clear();
+        }
+        super.dispose();
+    }
+}
@@ -669,6 +669,7 @@ private static Indexer createIndexer(Properties props, ParametersType params) {
         addProperty(Utils.Prop.MAX_INIT_TILES, props, parameters);
         addProperty(Utils.Prop.QUERY_CACHE_MAX_AGE, props, parameters);
         addProperty(Utils.Prop.QUERY_CACHE_MAX_FEATURES, props, parameters);
+        addProperty(Utils.Prop.PERSISTENT_INDEX, props, parameters);
 
         return indexer;
     }
@@ -0,0 +1,74 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.cog;
+
+import it.geosolutions.imageioimpl.plugins.cog.HttpRangeReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
+/**
+ * An HTTP range reader that routes tile reads through the shared {@link RangeReadScheduler}, which
+ * coalesces nearby tile ranges and fetches them concurrently over pooled connections, and that
+ * serves headers out of the shared {@link CogHeaderCache}.
+ *
+ * <p>It can be enabled on a COG mosaic by setting the <code>CogRangeReader</code> property to the
+ * name of this class.
+ */
+public class CoalescingRangeReader extends HttpRangeReader {
+
+    private final URI target;
+
+    private final int initialHeaderLength;
+
+    /** Whether this reader already returned a header */
+    private boolean headerRead;
+
+    public CoalescingRangeReader(URI uri, int headerLength) {
+        super(uri, headerLength);
+        this.target = uri;
+        this.initialHeaderLength = headerLength;
+    }
+
+    @Override
+    public byte[] readHeader() {
+        CogHeaderCache cache = CogHeaderCache.getDefault();
+        // a second header read on the same reader means a longer header is needed, don't
+        // serve it from the cache
+        if (!headerRead) {
+            headerRead = true;
+            byte[] header = cache.get(target, initialHeaderLength);
+            if (header != null) {
+                return header;
+            }
+        }
+        byte[] header = super.readHeader();
+        if (header != null) {
+            cache.put(target, header);
+        }
+        return header;
+    }
+
+    @Override
+    public byte[][] read(long[]... ranges) {
+        try {
+            return RangeReadScheduler.getDefault().read(target, ranges);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.cog;
+
+import java.net.URI;
+import java.util.Arrays;
+import org.geotools.util.SoftValueHashMap;
+
+/**
+ * Cache of the header bytes (the TIFF header and the IFDs it contains) of remote COG granules,
+ * shared among all the readers, so that repeated requests against the same granules do not need
+ * to fetch them again. The most recently used headers are kept with hard references, the others
+ * are released under memory pressure.
+ */
+public class CogHeaderCache {
+
+    public static final String SIZE_KEY = "org.geotools.imagemosaic.cog.headercache.size";
+
+    static final int DEFAULT_SIZE = 256;
+
+    private static final CogHeaderCache DEFAULT =
+            new CogHeaderCache(Integer.getInteger(SIZE_KEY, DEFAULT_SIZE));
+
+    private final SoftValueHashMap<String, byte[]> headers;
+
+    /** Returns the cache shared by all the COG readers */
+    public static CogHeaderCache getDefault() {
+        return DEFAULT;
+    }
+
+    /** @param size the number of headers to be held with hard references */
+    public CogHeaderCache(int size) {
+        this.headers = new SoftValueHashMap<>(size);
+    }
+
+    /**
+     * Returns the first <code>length</code> bytes of the cached header of the specified resource,
+     * or null if not available, or if the cached header is shorter than the requested length.
+     */
+    public byte[] get(URI uri, int length) {
+        byte[] header = headers.get(uri.toString());
+        if (header == null || header.length < length) {
+            return null;
+        }
+        return Arrays.copyOf(header, length);
+    }
+
+    /** Caches the header of the specified resource, unless a longer one is already available. */
+    public void put(URI uri, byte[] header) {
+        headers.merge(
+                uri.toString(),
+                header.clone(),
+                (previous, current) -> previous.length >= current.length ? previous : current);
+    }
+
+    /** Removes the header of the specified resource from the cache */
+    public void remove(URI uri) {
+        headers.remove(uri.toString());
+    }
+
+    /** Empties the cache */
+    public void clear() {
+        headers.clear();
+    }
+}
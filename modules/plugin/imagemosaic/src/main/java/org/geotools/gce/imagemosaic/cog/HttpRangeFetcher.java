@@ -0,0 +1,125 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.cog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * {@link RangeReadScheduler.RangeFetcher} based on {@link HttpURLConnection}. Response bodies are
+ * always fully consumed and closed, so that the underlying connections go back to the JDK
+ * keep-alive pool and get reused by the following requests to the same host. Credentials found in
+ * the user info part of the URI are sent as basic authentication.
+ */
+public class HttpRangeFetcher implements RangeReadScheduler.RangeFetcher {
+
+    static final int DEFAULT_TIMEOUT = 30000;
+
+    private final int timeout;
+
+    public HttpRangeFetcher() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    /** @param timeout the connect and read timeout, in milliseconds */
+    public HttpRangeFetcher(int timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public byte[] fetch(URI uri, long start, long end) throws IOException {
+        HttpURLConnection connection =
+                (HttpURLConnection) stripUserInfo(uri).toURL().openConnection();
+        connection.setConnectTimeout(timeout);
+        connection.setReadTimeout(timeout);
+        connection.setRequestProperty("Range", "bytes=" + start + "-" + end);
+        String userInfo = uri.getRawUserInfo();
+        if (userInfo != null) {
+            String credentials =
+                    Base64.getEncoder()
+                            .encodeToString(
+                                    URLDecoder.decode(userInfo, StandardCharsets.UTF_8)
+                                            .getBytes(StandardCharsets.UTF_8));
+            connection.setRequestProperty("Authorization", "Basic " + credentials);
+        }
+
+        int code = connection.getResponseCode();
+        if (code == HttpURLConnection.HTTP_PARTIAL) {
+            try (InputStream is = connection.getInputStream()) {
+                return is.readAllBytes();
+            }
+        } else if (code == HttpURLConnection.HTTP_OK) {
+            // the server does not support ranges and sent back the whole resource
+            try (InputStream is = connection.getInputStream()) {
+                byte[] bytes = is.readAllBytes();
+                if (start >= bytes.length) {
+                    return new byte[0];
+                }
+                return Arrays.copyOfRange(
+                        bytes, (int) start, (int) Math.min(end + 1, bytes.length));
+            }
+        } else if (code == 416) {
+            // range not satisfiable, the resource ends before the requested start
+            drain(connection.getErrorStream());
+            return new byte[0];
+        }
+        drain(connection.getErrorStream());
+        throw new IOException(
+                "Unexpected response "
+                        + code
+                        + " reading bytes "
+                        + start
+                        + "-"
+                        + end
+                        + " of "
+                        + stripUserInfo(uri));
+    }
+
+    /** Consumes the error body, allowing the connection to be reused */
+    private void drain(InputStream is) throws IOException {
+        if (is != null) {
+            try (InputStream stream = is) {
+                stream.readAllBytes();
+            }
+        }
+    }
+
+    private URI stripUserInfo(URI uri) throws IOException {
+        if (uri.getRawUserInfo() == null) {
+            return uri;
+        }
+        try {
+            return new URI(
+                    uri.getScheme(),
+                    null,
+                    uri.getHost(),
+                    uri.getPort(),
+                    uri.getPath(),
+                    uri.getQuery(),
+                    uri.getFragment());
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+}
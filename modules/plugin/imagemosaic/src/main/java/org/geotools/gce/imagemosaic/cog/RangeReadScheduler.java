@@ -0,0 +1,314 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.cog;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Schedules byte range reads against remote resources. Ranges requested together are sorted and
+ * adjacent ones (separated by less than the current merge gap) are coalesced into a single
+ * request, the resulting requests are executed concurrently on a bounded pool, and the results are
+ * sliced back to the originally requested ranges.
+ *
+ * <p>The merge gap adapts to the observed link: it tracks the average latency of small requests
+ * and the average throughput of large ones, and uses their product, that is, the number of bytes
+ * that could have been transferred in the time spent on an extra round trip.
+ *
+ * <p>Ranges are expressed as <code>{start, end}</code> pairs, with <code>end</code> inclusive, as
+ * in the HTTP <code>Range</code> header.
+ */
+public class RangeReadScheduler {
+
+    static final Logger LOGGER = Logging.getLogger(RangeReadScheduler.class);
+
+    /** Fetches a single byte range from a resource */
+    public interface RangeFetcher {
+
+        /**
+         * Returns the bytes between <code>start</code> and <code>end</code> (inclusive). The
+         * returned array may be shorter than requested if the resource ends before <code>end
+         * </code>.
+         */
+        byte[] fetch(URI uri, long start, long end) throws IOException;
+    }
+
+    public static final String THREADS_KEY = "org.geotools.imagemosaic.cog.threads";
+
+    public static final String MIN_GAP_KEY = "org.geotools.imagemosaic.cog.mingap";
+
+    public static final String MAX_GAP_KEY = "org.geotools.imagemosaic.cog.maxgap";
+
+    public static final String MAX_REQUEST_KEY = "org.geotools.imagemosaic.cog.maxrequest";
+
+    static final int DEFAULT_THREADS = 16;
+
+    static final int DEFAULT_MIN_GAP = 16 * 1024;
+
+    static final int DEFAULT_MAX_GAP = 2 * 1024 * 1024;
+
+    static final int DEFAULT_MAX_REQUEST = 16 * 1024 * 1024;
+
+    /** Requests up to this size are assumed to be dominated by latency */
+    static final int LATENCY_SAMPLE_SIZE = 16 * 1024;
+
+    /** Requests of at least this size are assumed to be dominated by transfer time */
+    static final int THROUGHPUT_SAMPLE_SIZE = 256 * 1024;
+
+    /** Weight of a new sample in the moving averages */
+    static final double SAMPLE_WEIGHT = 0.2;
+
+    private static RangeReadScheduler DEFAULT;
+
+    private final RangeFetcher fetcher;
+
+    private final ExecutorService executor;
+
+    private final long minGap;
+
+    private final long maxGap;
+
+    private final long maxRequest;
+
+    /** Moving average of the latency of small requests, in milliseconds, or -1 if unknown */
+    private double latency = -1;
+
+    /** Moving average of the throughput of large requests, in bytes per millisecond */
+    private double throughput = -1;
+
+    /** Number of range requests actually sent to the fetcher */
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    /**
+     * Returns the scheduler shared by all the granules, fetching over HTTP and configured through
+     * system properties.
+     */
+    public static synchronized RangeReadScheduler getDefault() {
+        if (DEFAULT == null) {
+            DEFAULT =
+                    new RangeReadScheduler(
+                            new HttpRangeFetcher(),
+                            Integer.getInteger(THREADS_KEY, DEFAULT_THREADS),
+                            Integer.getInteger(MIN_GAP_KEY, DEFAULT_MIN_GAP),
+                            Integer.getInteger(MAX_GAP_KEY, DEFAULT_MAX_GAP),
+                            Integer.getInteger(MAX_REQUEST_KEY, DEFAULT_MAX_REQUEST));
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * Builds a new scheduler.
+     *
+     * @param fetcher the object performing the actual reads
+     * @param threads the maximum number of concurrent requests
+     * @param minGap the minimum distance, in bytes, below which two ranges are always merged
+     * @param maxGap the maximum distance, in bytes, above which two ranges are never merged
+     * @param maxRequest the maximum size of a merged request
+     */
+    public RangeReadScheduler(
+            RangeFetcher fetcher, int threads, long minGap, long maxGap, long maxRequest) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+        if (minGap < 0 || maxGap < minGap) {
+            throw new IllegalArgumentException(
+                    "Invalid merge gap limits: " + minGap + ", " + maxGap);
+        }
+        this.fetcher = fetcher;
+        this.minGap = minGap;
+        this.maxGap = maxGap;
+        this.maxRequest = maxRequest;
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool =
+                new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        r -> {
+                            Thread t =
+                                    new Thread(r, "cog-range-reader-" + count.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    /**
+     * Reads the specified ranges from the resource.
+     *
+     * @return one array per range, in the same order as the ranges
+     */
+    public byte[][] read(URI uri, long[]... ranges) throws IOException {
+        byte[][] result = new byte[ranges.length][];
+        if (ranges.length == 0) {
+            return result;
+        }
+        List<Request> requests = coalesce(ranges, getMergeGap(), maxRequest);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(
+                    "Reading "
+                            + ranges.length
+                            + " ranges from "
+                            + uri.getPath()
+                            + " with "
+                            + requests.size()
+                            + " requests");
+        }
+
+        // run the last request in the calling thread, it would be waiting anyways
+        List<Future<byte[]>> futures = new ArrayList<>(requests.size() - 1);
+        for (int i = 0; i < requests.size() - 1; i++) {
+            Request request = requests.get(i);
+            futures.add(executor.submit(() -> fetch(uri, request)));
+        }
+        Request last = requests.get(requests.size() - 1);
+        last.slice(fetch(uri, last), ranges, result);
+        for (int i = 0; i < futures.size(); i++) {
+            requests.get(i).slice(get(futures.get(i)), ranges, result);
+        }
+        return result;
+    }
+
+    private byte[] get(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading ranges", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private byte[] fetch(URI uri, Request request) throws IOException {
+        long start = System.nanoTime();
+        byte[] bytes = fetcher.fetch(uri, request.start, request.end);
+        requestCount.incrementAndGet();
+        sample(request.end - request.start + 1, (System.nanoTime() - start) / 1e6);
+        return bytes;
+    }
+
+    /** Updates the link estimates with the outcome of a request */
+    synchronized void sample(long size, double millis) {
+        if (size <= LATENCY_SAMPLE_SIZE) {
+            latency = latency < 0 ? millis : latency + SAMPLE_WEIGHT * (millis - latency);
+        } else if (size >= THROUGHPUT_SAMPLE_SIZE && millis > 0) {
+            double rate = size / millis;
+            throughput =
+                    throughput < 0 ? rate : throughput + SAMPLE_WEIGHT * (rate - throughput);
+        }
+    }
+
+    /** Returns the current merge gap, in bytes */
+    public synchronized long getMergeGap() {
+        if (latency < 0 || throughput < 0) {
+            return minGap;
+        }
+        long gap = (long) (latency * throughput);
+        return Math.max(minGap, Math.min(maxGap, gap));
+    }
+
+    /** Returns the number of requests sent so far */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /** Stops the scheduler threads */
+    public void dispose() {
+        executor.shutdown();
+    }
+
+    /**
+     * Merges the specified ranges into requests, coalescing the ranges that are less than gap
+     * bytes apart, as long as the merged request does not exceed maxRequest bytes.
+     */
+    static List<Request> coalesce(long[][] ranges, long gap, long maxRequest) {
+        Integer[] order = new Integer[ranges.length];
+        for (int i = 0; i < order.length; i++) {
+            long[] range = ranges[i];
+            if (range.length != 2 || range[0] < 0 || range[1] < range[0]) {
+                throw new IllegalArgumentException("Invalid range: " + Arrays.toString(range));
+            }
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> ranges[i][0]));
+
+        List<Request> requests = new ArrayList<>();
+        Request current = null;
+        for (int i : order) {
+            long[] range = ranges[i];
+            if (current != null
+                    && range[0] <= current.end + gap + 1
+                    && Math.max(current.end, range[1]) - current.start + 1 <= maxRequest) {
+                current.end = Math.max(current.end, range[1]);
+            } else {
+                current = new Request(range[0], range[1]);
+                requests.add(current);
+            }
+            current.members.add(i);
+        }
+        return requests;
+    }
+
+    /** A request resulting from the merge of one or more ranges */
+    static class Request {
+        final long start;
+
+        long end;
+
+        final List<Integer> members = new ArrayList<>();
+
+        Request(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /** Copies the bytes of the member ranges out of the request bytes */
+        void slice(byte[] bytes, long[][] ranges, byte[][] result) {
+            for (int i : members) {
+                long[] range = ranges[i];
+                int offset = (int) (range[0] - start);
+                int length = (int) Math.min(range[1] - range[0] + 1, bytes.length - offset);
+                result[i] =
+                        length > 0
+                                ? Arrays.copyOfRange(bytes, offset, offset + length)
+                                : new byte[0];
+            }
+        }
+    }
+}
@@ -162,6 +162,7 @@
 import org.geotools.gce.imagemosaic.catalog.CachingDataStoreGranuleCatalog;
 import org.geotools.gce.imagemosaic.catalog.GranuleCatalog;
 import org.geotools.gce.imagemosaic.catalog.LockingGranuleCatalog;
+import org.geotools.gce.imagemosaic.catalog.PersistentIndexGranuleCatalog;
 import org.geotools.gce.imagemosaic.catalog.QueryCacheGranuleCatalog;
 import org.geotools.gce.imagemosaic.catalog.index.Indexer;
 import org.geotools.gce.imagemosaic.catalog.index.IndexerUtils;
@@ -5939,6 +5940,85 @@ public void testMultiLocationCached() throws Exception {
         ImageAssert.assertEquals(grayNonCached, grayCached, 0);
     }
 
+    /** The persistent granule index should cause no differences, and follow catalog updates */
+    @Test
+    public void testMultiLocationPersistentIndex() throws Exception {
+        // copy the data and get the reader
+        File directory =
+                setupTestDirectory(
+                        this, TestData.url(this, "coverage_multilocation"), "multilocation_gidx");
+        Properties prop = new Properties();
+        prop.put("url", URLs.fileToUrl(new File(directory, "multilocation.shp")).toExternalForm());
+        prop.put("SPI", ShapefileDataStoreFactory.class.getName());
+        try (FileOutputStream fos =
+                new FileOutputStream(new File(directory, "datastore.properties"))) {
+            prop.store(fos, null);
+        }
+
+        // immediate read, avoids need for disposing images and sticks them in memory
+        ParameterValue<Boolean> imageRead = ImageMosaicFormat.USE_JAI_IMAGEREAD.createValue();
+        imageRead.setValue(false);
+        GeneralParameterValue[] params = {imageRead};
+
+        ImageMosaicReader reader = getReader(directory);
+        RenderedImage rgbNonIndexed = reader.read("rgb", params).getRenderedImage();
+        RenderedImage grayNonIndexed = reader.read("gray", params).getRenderedImage();
+        reader.dispose();
+
+        // enable the index
+        prop.put(Prop.PERSISTENT_INDEX, "true");
+        try (FileOutputStream fos =
+                new FileOutputStream(new File(directory, "datastore.properties"))) {
+            prop.store(fos, null);
+        }
+        reader = getReader(directory);
+        ImageAssert.assertEquals(rgbNonIndexed, reader.read("rgb", params).getRenderedImage(), 0);
+        ImageAssert.assertEquals(
+                grayNonIndexed, reader.read("gray", params).getRenderedImage(), 0);
+
+        // drill into the catalog wrappers, verify that we are using the persistent index
+        GranuleCatalog catalog = reader.rasterManagers.get("rgb").getGranuleCatalog();
+        assertThat(catalog, CoreMatchers.instanceOf(LockingGranuleCatalog.class));
+        catalog = ((LockingGranuleCatalog) catalog).getAdaptee();
+        assertThat(catalog, CoreMatchers.instanceOf(CachingDataStoreGranuleCatalog.class));
+        catalog = ((CachingDataStoreGranuleCatalog) catalog).getAdaptee();
+        assertThat(catalog, CoreMatchers.instanceOf(PersistentIndexGranuleCatalog.class));
+        String typeName = reader.rasterManagers.get("rgb").getTypeName();
+        assertTrue(new File(directory, typeName + ".gidx").exists());
+
+        // counts and empty areas are answered by the index
+        Query all = new Query(typeName);
+        assertEquals(1, catalog.getGranulesCount(all));
+        ReferencedEnvelope bounds = ReferencedEnvelope.reference(catalog.getBounds(typeName));
+        Query outside = new Query(typeName);
+        outside.setFilter(
+                FF.bbox(
+                        FF.property(catalog.getType(typeName).getGeometryDescriptor().getName()),
+                        bounds.getMaxX() + 10,
+                        bounds.getMaxY() + 10,
+                        bounds.getMaxX() + 20,
+                        bounds.getMaxY() + 20,
+                        null));
+        assertEquals(0, catalog.getGranules(outside).size());
+        assertEquals(0, catalog.getGranulesCount(outside));
+
+        // removals and additions go through the journal
+        List<SimpleFeature> granules = DataUtilities.list(catalog.getGranules(all));
+        assertEquals(1, catalog.removeGranules(all, Transaction.AUTO_COMMIT));
+        assertEquals(0, catalog.getGranulesCount(all));
+        assertTrue(new File(directory, typeName + ".gidx.log").exists());
+        catalog.addGranules(typeName, granules, Transaction.AUTO_COMMIT);
+        assertEquals(1, catalog.getGranulesCount(all));
+        assertEquals(bounds, ReferencedEnvelope.reference(catalog.getBounds(typeName)));
+        reader.dispose();
+
+        // the index and its journal are reused on reopen
+        reader = getReader(directory);
+        ImageAssert.assertEquals(rgbNonIndexed, reader.read("rgb", params).getRenderedImage(), 0);
+        assertEquals(1, reader.rasterManagers.get("rgb").getGranuleCatalog().getGranulesCount(all));
+        reader.dispose();
+    }
+
     @Test
     public void testAlphaOverlap() throws Exception {
         URL alphaOverlap = TestData.url(this, "alpha-overlap/");
@@ -0,0 +1,348 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.jdbc.BulkLoader;
+import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.io.WKBWriter;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Bulk loads rows using the binary format of the PostgreSQL COPY protocol. Geometries are encoded
+ * as EWKB, the other values with the binary representation of their column type, which is why only
+ * the types listed in {@link #SUPPORTED_TYPES} can be loaded.
+ */
+class CopyBulkLoader implements BulkLoader {
+
+    /** The native column types this loader can encode */
+    static final Set<String> SUPPORTED_TYPES =
+            new HashSet<>(
+                    Arrays.asList(
+                            "geometry",
+                            "bool",
+                            "int2",
+                            "int4",
+                            "int8",
+                            "float4",
+                            "float8",
+                            "numeric",
+                            "text",
+                            "varchar",
+                            "bpchar",
+                            "json",
+                            "jsonb",
+                            "uuid",
+                            "bytea",
+                            "date",
+                            "timestamp",
+                            "timestamptz"));
+
+    /** The native types used for primary key columns, which do not have a descriptor */
+    static final Map<Class<?>, String> KEY_TYPES = new HashMap<>();
+
+    static {
+        KEY_TYPES.put(Short.class, "int2");
+        KEY_TYPES.put(Integer.class, "int4");
+        KEY_TYPES.put(Long.class, "int8");
+        KEY_TYPES.put(BigInteger.class, "numeric");
+        KEY_TYPES.put(BigDecimal.class, "numeric");
+        KEY_TYPES.put(String.class, "text");
+        KEY_TYPES.put(UUID.class, "uuid");
+    }
+
+    static final byte[] SIGNATURE = {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0
+    };
+
+    /** The PostgreSQL epoch, 2000-01-01, for date and time values */
+    static final LocalDateTime PG_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    static final long PG_EPOCH_DAYS = PG_EPOCH.toLocalDate().toEpochDay();
+
+    static final long PG_EPOCH_SECONDS = 946684800L;
+
+    /** Size of the buffer sent to the server in one go */
+    static final int BUFFER_SIZE = 1024 * 1024;
+
+    final CopyIn copyIn;
+
+    final int columns;
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE + 64 * 1024);
+
+    final DataOutputStream out = new DataOutputStream(bytes);
+
+    int column;
+
+    CopyBulkLoader(CopyIn copyIn, int columns) throws IOException {
+        this.copyIn = copyIn;
+        this.columns = columns;
+        out.write(SIGNATURE);
+        // flags and header extension length
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    /** Returns the native type of the column backing the attribute */
+    static String getNativeType(AttributeDescriptor att) {
+        Object typeName = att.getUserData().get(JDBCDataStore.JDBC_NATIVE_TYPENAME);
+        return typeName == null ? null : typeName.toString().toLowerCase();
+    }
+
+    @Override
+    public void startRow() throws IOException {
+        out.writeShort(columns);
+        column = 0;
+    }
+
+    @Override
+    public void setValue(Object value, Class<?> binding, AttributeDescriptor att)
+            throws IOException {
+        column++;
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        String type = att != null ? getNativeType(att) : KEY_TYPES.get(binding);
+        if (type == null) {
+            throw new IOException("Cannot bulk load values of type " + binding.getName());
+        }
+        switch (type) {
+            case "bool":
+                out.writeInt(1);
+                out.writeByte(convert(value, Boolean.class) ? 1 : 0);
+                break;
+            case "int2":
+                out.writeInt(2);
+                out.writeShort(convert(value, Number.class).shortValue());
+                break;
+            case "int4":
+                out.writeInt(4);
+                out.writeInt(convert(value, Number.class).intValue());
+                break;
+            case "int8":
+                out.writeInt(8);
+                out.writeLong(convert(value, Number.class).longValue());
+                break;
+            case "float4":
+                out.writeInt(4);
+                out.writeFloat(convert(value, Number.class).floatValue());
+                break;
+            case "float8":
+                out.writeInt(8);
+                out.writeDouble(convert(value, Number.class).doubleValue());
+                break;
+            case "numeric":
+                writeNumeric(convert(value, BigDecimal.class));
+                break;
+            case "text":
+            case "varchar":
+            case "bpchar":
+            case "json":
+                writeBytes(convert(value, String.class).getBytes(StandardCharsets.UTF_8));
+                break;
+            case "jsonb":
+                {
+                    // jsonb binary format is a version number followed by the text
+                    byte[] text = convert(value, String.class).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(text.length + 1);
+                    out.writeByte(1);
+                    out.write(text);
+                    break;
+                }
+            case "uuid":
+                {
+                    UUID uuid = convert(value, UUID.class);
+                    out.writeInt(16);
+                    out.writeLong(uuid.getMostSignificantBits());
+                    out.writeLong(uuid.getLeastSignificantBits());
+                    break;
+                }
+            case "bytea":
+                writeBytes(convert(value, byte[].class));
+                break;
+            case "date":
+                out.writeInt(4);
+                out.writeInt(
+                        (int)
+                                (convert(value, Date.class).toLocalDate().toEpochDay()
+                                        - PG_EPOCH_DAYS));
+                break;
+            case "timestamp":
+                {
+                    // local date time, same as setTimestamp without calendar
+                    LocalDateTime time = convert(value, Timestamp.class).toLocalDateTime();
+                    out.writeInt(8);
+                    out.writeLong(ChronoUnit.MICROS.between(PG_EPOCH, time));
+                    break;
+                }
+            case "timestamptz":
+                {
+                    Instant instant = convert(value, Timestamp.class).toInstant();
+                    out.writeInt(8);
+                    out.writeLong(
+                            (instant.getEpochSecond() - PG_EPOCH_SECONDS) * 1_000_000L
+                                    + instant.getNano() / 1000);
+                    break;
+                }
+            default:
+                throw new IOException("Cannot bulk load values in a column of type " + type);
+        }
+    }
+
+    private <T> T convert(Object value, Class<T> target) throws IOException {
+        T converted = Converters.convert(value, target);
+        if (converted == null) {
+            throw new IOException(
+                    "Could not convert "
+                            + value
+                            + " to "
+                            + target.getSimpleName()
+                            + " for bulk load");
+        }
+        return converted;
+    }
+
+    private void writeBytes(byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    /**
+     * Writes a numeric in the PostgreSQL binary format: number of base 10000 digits, weight of the
+     * first digit, sign, display scale, then the digits.
+     */
+    void writeNumeric(BigDecimal value) throws IOException {
+        if (value.scale() < 0) {
+            value = value.setScale(0);
+        }
+        int scale = value.scale();
+        String plain = value.abs().toPlainString();
+        int dot = plain.indexOf('.');
+        String integer = dot < 0 ? plain : plain.substring(0, dot);
+        String fraction = dot < 0 ? "" : plain.substring(dot + 1);
+        // pad to groups of 4 decimal digits, left for the integer part, right for the fraction
+        int integerGroups = (integer.length() + 3) / 4;
+        StringBuilder digits = new StringBuilder();
+        for (int i = integer.length(); i < integerGroups * 4; i++) {
+            digits.append('0');
+        }
+        digits.append(integer).append(fraction);
+        while (digits.length() % 4 != 0) {
+            digits.append('0');
+        }
+        short[] groups = new short[digits.length() / 4];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = Short.parseShort(digits.substring(i * 4, i * 4 + 4));
+        }
+        // strip leading and trailing zero groups, adjusting the weight
+        int first = 0;
+        while (first < groups.length && groups[first] == 0) {
+            first++;
+        }
+        int last = groups.length;
+        while (last > first && groups[last - 1] == 0) {
+            last--;
+        }
+        int count = last - first;
+        int weight = count == 0 ? 0 : integerGroups - 1 - first;
+        out.writeInt(8 + count * 2);
+        out.writeShort(count);
+        out.writeShort(weight);
+        out.writeShort(value.signum() < 0 ? 0x4000 : 0);
+        out.writeShort(scale);
+        for (int i = first; i < last; i++) {
+            out.writeShort(groups[i]);
+        }
+    }
+
+    @Override
+    public void setGeometryValue(Geometry g, int dimension, int srid, AttributeDescriptor att)
+            throws IOException {
+        column++;
+        if (g == null) {
+            out.writeInt(-1);
+            return;
+        }
+        if (g instanceof LinearRing) {
+            // postgis does not handle linear rings, convert to just a line string
+            g = g.getFactory().createLineString(((LinearRing) g).getCoordinateSequence());
+        }
+        if (srid > 0 && g.getSRID() != srid) {
+            g = g.copy();
+            g.setSRID(srid);
+        }
+        // EWKB, the binary representation of the geometry type
+        writeBytes(new WKBWriter(dimension, true).write(g));
+    }
+
+    @Override
+    public void endRow() throws IOException {
+        if (column != columns) {
+            throw new IOException("Expected " + columns + " values in the row, got " + column);
+        }
+        if (bytes.size() >= BUFFER_SIZE) {
+            send();
+        }
+    }
+
+    private void send() throws IOException {
+        try {
+            copyIn.writeToCopy(bytes.toByteArray(), 0, bytes.size());
+        } catch (SQLException e) {
+            throw new IOException("Bulk load failed", e);
+        }
+        bytes.reset();
+    }
+
+    @Override
+    public long finish() throws IOException, SQLException {
+        // file trailer
+        out.writeShort(-1);
+        send();
+        return copyIn.endCopy();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+}
@@ -293,6 +293,10 @@ void visitComparisonSpatialOperator(
 
         // if geography case, sanitize geometry first
         if (isCurrentGeography()) {
+            // the encoding depends on the geometry value, cannot be reused for other values
+            if (delegate instanceof PreparedFilterToSQL) {
+                ((PreparedFilterToSQL) delegate).setReusable(false);
+            }
             geometry = clipToWorld(geometry);
             if (isWorld(geometry)) {
                 // nothing to filter in this case
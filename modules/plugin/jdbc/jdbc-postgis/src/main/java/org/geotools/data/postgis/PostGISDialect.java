@@ -32,6 +32,7 @@
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,8 +58,11 @@
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.WKTWriter2;
 import org.geotools.jdbc.BasicSQLDialect;
+import org.geotools.jdbc.BulkLoader;
 import org.geotools.jdbc.ColumnMetadata;
 import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.jdbc.PrimaryKey;
+import org.geotools.jdbc.PrimaryKeyColumn;
 import org.geotools.referencing.CRS;
 import org.geotools.util.Version;
 import org.geotools.util.factory.Hints;
@@ -76,6 +80,7 @@
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
 import org.locationtech.jts.io.WKTWriter;
+import org.postgresql.copy.CopyIn;
 import org.postgresql.jdbc.PgConnection;
 
 public class PostGISDialect extends BasicSQLDialect {
@@ -194,6 +199,8 @@ public PostGISDialect(JDBCDataStore dataStore) {
 
     boolean topologyPreserved = false;
 
+    boolean bulkInsertEnabled = false;
+
     // checkStandardConformingStrings will set this based on database configuration
     boolean escapeBackslash = true;
 
@@ -254,6 +261,15 @@ public void setSimplifyEnabled(boolean simplifyEnabled) {
         this.simplifyEnabled = simplifyEnabled;
     }
 
+    public boolean isBulkInsertEnabled() {
+        return bulkInsertEnabled;
+    }
+
+    /** @see PostgisNGDataStoreFactory#BULK_INSERT */
+    public void setBulkInsertEnabled(boolean bulkInsertEnabled) {
+        this.bulkInsertEnabled = bulkInsertEnabled;
+    }
+
     public boolean isTopologyPreserved() {
         return topologyPreserved;
     }
@@ -1029,6 +1045,117 @@ public String encodeNextSequenceValue(String schemaName, String sequenceName) {
         return "nextval('" + sequenceName + "')";
     }
 
+    @Override
+    public void initializeStreaming(Statement st, Connection cx) throws SQLException {
+        // the driver reads from a server side cursor (portal) in fetch size batches only for
+        // forward only results, outside of auto commit mode (see isAutoCommitQuery)
+        st.setFetchDirection(ResultSet.FETCH_FORWARD);
+    }
+
+    @Override
+    public List<Object> getNextSequenceValues(
+            String schemaName, String sequenceName, int count, Connection cx) throws SQLException {
+        List<Object> result = new ArrayList<>(count);
+        try (Statement st = cx.createStatement()) {
+            String sql =
+                    "SELECT "
+                            + encodeNextSequenceValue(schemaName, sequenceName)
+                            + " FROM generate_series(1, "
+                            + count
+                            + ")";
+
+            dataStore.getLogger().fine(sql);
+            try (ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) {
+                    result.add(rs.getLong(1));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Object> getNextAutoGeneratedValues(
+            String schemaName, String tableName, String columnName, int count, Connection cx)
+            throws SQLException {
+        // identity columns generated always reject explicit values, COPY cannot be used
+        if (isGeneratedAlways(schemaName, tableName, columnName, cx)) {
+            return null;
+        }
+        String sequenceName = getSequenceForColumn(schemaName, tableName, columnName, cx);
+        if (sequenceName == null) {
+            return null;
+        }
+        return getNextSequenceValues(schemaName, sequenceName, count, cx);
+    }
+
+    /** Returns true if the column is an identity column declared as GENERATED ALWAYS */
+    boolean isGeneratedAlways(String schemaName, String tableName, String columnName, Connection cx)
+            throws SQLException {
+        boolean hasSchema = schemaName != null && !schemaName.isEmpty();
+        String sql =
+                "SELECT identity_generation FROM information_schema.columns"
+                        + " WHERE table_schema = "
+                        + (hasSchema ? "?" : "current_schema()")
+                        + " AND table_name = ? AND column_name = ?";
+        dataStore.getLogger().fine(sql);
+        try (PreparedStatement ps = cx.prepareStatement(sql)) {
+            int i = 1;
+            if (hasSchema) {
+                ps.setString(i++, schemaName);
+            }
+            ps.setString(i++, tableName);
+            ps.setString(i, columnName);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && "ALWAYS".equalsIgnoreCase(rs.getString(1));
+            }
+        }
+    }
+
+    @Override
+    public boolean isBulkInsertSupported(SimpleFeatureType featureType, PrimaryKey key) {
+        if (!bulkInsertEnabled) {
+            return false;
+        }
+        Set<String> keyColumns = new HashSet<>();
+        for (PrimaryKeyColumn col : key.getColumns()) {
+            if (!CopyBulkLoader.KEY_TYPES.containsKey(col.getType())) {
+                return false;
+            }
+            keyColumns.add(col.getName());
+        }
+        for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
+            if (!keyColumns.contains(att.getLocalName())
+                    && !CopyBulkLoader.SUPPORTED_TYPES.contains(
+                            CopyBulkLoader.getNativeType(att))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.CloseResource") // the connection is not ours to close
+    public BulkLoader createBulkLoader(
+            SimpleFeatureType featureType, List<String> columns, Connection cx)
+            throws SQLException, IOException {
+        StringBuffer sql = new StringBuffer("COPY ");
+        dataStore.encodeTableName(featureType.getTypeName(), sql, null);
+        sql.append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            encodeColumnName(null, columns.get(i), sql);
+        }
+        sql.append(") FROM STDIN (FORMAT binary)");
+
+        dataStore.getLogger().fine(sql.toString());
+        PgConnection pgConnection = unwrapConnection(cx, PgConnection.class);
+        CopyIn copyIn = pgConnection.getCopyAPI().copyIn(sql.toString());
+        return new CopyBulkLoader(copyIn, columns.size());
+    }
+
     @Override
     public boolean lookupGeneratedValuesPostInsert() {
         return true;
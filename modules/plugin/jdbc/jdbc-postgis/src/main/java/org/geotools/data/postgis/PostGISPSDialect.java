@@ -21,17 +21,21 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.AttributeDescriptor;
 import org.geotools.api.feature.type.GeometryDescriptor;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.jdbc.BulkLoader;
 import org.geotools.jdbc.ColumnMetadata;
 import org.geotools.jdbc.JDBCDataStore;
 import org.geotools.jdbc.PreparedFilterToSQL;
 import org.geotools.jdbc.PreparedStatementSQLDialect;
+import org.geotools.jdbc.PrimaryKey;
 import org.geotools.util.factory.Hints;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
@@ -171,6 +175,36 @@ public String getSequenceForColumn(
         return delegate.getSequenceForColumn(schemaName, tableName, columnName, cx);
     }
 
+    @Override
+    public void initializeStreaming(Statement st, Connection cx) throws SQLException {
+        delegate.initializeStreaming(st, cx);
+    }
+
+    @Override
+    public List<Object> getNextSequenceValues(
+            String schemaName, String sequenceName, int count, Connection cx) throws SQLException {
+        return delegate.getNextSequenceValues(schemaName, sequenceName, count, cx);
+    }
+
+    @Override
+    public List<Object> getNextAutoGeneratedValues(
+            String schemaName, String tableName, String columnName, int count, Connection cx)
+            throws SQLException {
+        return delegate.getNextAutoGeneratedValues(schemaName, tableName, columnName, count, cx);
+    }
+
+    @Override
+    public boolean isBulkInsertSupported(SimpleFeatureType featureType, PrimaryKey key) {
+        return delegate.isBulkInsertSupported(featureType, key);
+    }
+
+    @Override
+    public BulkLoader createBulkLoader(
+            SimpleFeatureType featureType, List<String> columns, Connection cx)
+            throws SQLException, IOException {
+        return delegate.createBulkLoader(featureType, columns, cx);
+    }
+
     public boolean isLooseBBOXEnabled() {
         return delegate.isLooseBBOXEnabled();
     }
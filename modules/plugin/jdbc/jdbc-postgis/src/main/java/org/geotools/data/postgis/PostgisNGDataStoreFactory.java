@@ -142,6 +142,27 @@ public class PostgisNGDataStoreFactory extends JDBCDataStoreFactory {
                     SimplificationMethod.FAST,
                     new KVP(Param.OPTIONS, Arrays.asList(SimplificationMethod.values())));
 
+    /**
+     * Enables bulk loading of features using the COPY protocol. The features are sent in chunks of
+     * {@link #BATCH_INSERT_SIZE} features, defaulting to {@link #BULK_INSERT_BATCH_SIZE} when that
+     * parameter is not set.
+     */
+    public static final Param BULK_INSERT =
+            new Param(
+                    "Bulk insert",
+                    Boolean.class,
+                    "Use binary COPY to insert features, much faster than INSERT statements when "
+                            + "loading large amounts of data. Each COPY sends 'Batch insert size' "
+                            + "features, 10000 if not set. Tables with column types that cannot "
+                            + "be bulk loaded, or keys that cannot be computed before insert, "
+                            + "use INSERT",
+                    false,
+                    Boolean.FALSE,
+                    new KVP(Param.LEVEL, "advanced"));
+
+    /** The batch insert size used by bulk insert, if not explicitly set */
+    public static final int BULK_INSERT_BATCH_SIZE = 10000;
+
     public static final Param SSL_MODE =
             new Param(
                     "SSL mode",
@@ -236,6 +257,13 @@ protected JDBCDataStore createDataStoreInternal(JDBCDataStore dataStore, Map<Str
         Boolean encodeFunctions = (Boolean) ENCODE_FUNCTIONS.lookUp(params);
         dialect.setFunctionEncodingEnabled(encodeFunctions == null || encodeFunctions);
 
+        // bulk insert, the writers buffer as many features as the batch insert size
+        Boolean bulkInsert = (Boolean) BULK_INSERT.lookUp(params);
+        dialect.setBulkInsertEnabled(Boolean.TRUE.equals(bulkInsert));
+        if (Boolean.TRUE.equals(bulkInsert) && BATCH_INSERT_SIZE.lookUp(params) == null) {
+            dataStore.setBatchInsertSize(BULK_INSERT_BATCH_SIZE);
+        }
+
         // setup the ps dialect if need be
         Boolean usePs = (Boolean) PREPARED_STATEMENTS.lookUp(params);
         if (Boolean.TRUE.equals(usePs)) {
@@ -288,6 +316,7 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(ENCODE_FUNCTIONS.key, ENCODE_FUNCTIONS);
         parameters.put(SIMPLIFY.key, SIMPLIFY);
         parameters.put(SIMPLIFICATION_METHOD.key, SIMPLIFICATION_METHOD);
+        parameters.put(BULK_INSERT.key, BULK_INSERT);
         parameters.put(CREATE_DB_IF_MISSING.key, CREATE_DB_IF_MISSING);
         parameters.put(CREATE_PARAMS.key, CREATE_PARAMS);
     }
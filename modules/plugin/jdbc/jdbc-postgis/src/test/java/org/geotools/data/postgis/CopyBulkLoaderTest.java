@@ -0,0 +1,55 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import org.junit.Test;
+
+public class CopyBulkLoaderTest {
+
+    @Test
+    public void testNumeric() throws Exception {
+        // ndigits, weight, sign, dscale, digits
+        assertNumeric("0", 0, 0, 0, 0);
+        assertNumeric("12.5", 2, 0, 0, 1, 12, 5000);
+        assertNumeric("-12.5", 2, 0, 0x4000, 1, 12, 5000);
+        assertNumeric("123456789", 3, 2, 0, 0, 1, 2345, 6789);
+        assertNumeric("0.0001", 1, -1, 0, 4, 1);
+        assertNumeric("100000000", 1, 2, 0, 0, 1);
+        assertNumeric("1E+3", 1, 0, 0, 0, 1000);
+        assertNumeric("10000.00", 1, 1, 0, 2, 1);
+    }
+
+    private void assertNumeric(String value, int... expected) throws IOException {
+        CopyBulkLoader loader = new CopyBulkLoader(null, 1);
+        loader.bytes.reset();
+        loader.writeNumeric(new BigDecimal(value));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(bos);
+        dos.writeInt(expected.length * 2);
+        for (int e : expected) {
+            dos.writeShort(e);
+        }
+        assertArrayEquals(value, bos.toByteArray(), loader.bytes.toByteArray());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.identity.FeatureId;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.jdbc.JDBCFeatureStoreOnlineTest;
+import org.geotools.jdbc.JDBCTestSetup;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/** Runs the feature store tests with bulk insert enabled, plus a larger load */
+public class PostGISBulkInsertOnlineTest extends JDBCFeatureStoreOnlineTest {
+
+    @Override
+    protected JDBCTestSetup createTestSetup() {
+        return new PostGISBulkInsertTestSetup();
+    }
+
+    @Test
+    public void testBulkLoad() throws Exception {
+        SimpleFeatureType type = dataStore.getSchema(tname("ft1"));
+        SimpleFeatureBuilder b = new SimpleFeatureBuilder(type);
+        GeometryFactory gf = new GeometryFactory();
+        List<SimpleFeature> features = new ArrayList<>();
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            b.set(aname("geometry"), gf.createPoint(new Coordinate(i, i)));
+            b.set(aname("intProperty"), i);
+            b.set(aname("doubleProperty"), i + 0.5);
+            b.set(aname("stringProperty"), "bulk" + i);
+            features.add(b.buildFeature(null));
+        }
+
+        try (Transaction t = new DefaultTransaction()) {
+            SimpleFeatureStore store =
+                    (SimpleFeatureStore) dataStore.getFeatureSource(tname("ft1"));
+            store.setTransaction(t);
+            List<FeatureId> fids = store.addFeatures(DataUtilities.collection(features));
+            assertEquals(count, fids.size());
+            for (FeatureId fid : fids) {
+                assertTrue(fid.getID().startsWith(tname("ft1") + "."));
+            }
+            // not visible outside of the transaction until commit
+            assertEquals(3, dataStore.getFeatureSource(tname("ft1")).getCount(Query.ALL));
+            t.commit();
+        }
+        assertEquals(count + 3, dataStore.getFeatureSource(tname("ft1")).getCount(Query.ALL));
+    }
+
+    @Test
+    public void testIdentityGeneratedAlways() throws Exception {
+        PostGISBulkInsertTestSetup bulkSetup = (PostGISBulkInsertTestSetup) setup;
+        bulkSetup.createIdentityTable();
+        try {
+            SimpleFeatureType type = dataStore.getSchema(tname("bulk_identity"));
+            SimpleFeatureBuilder b = new SimpleFeatureBuilder(type);
+            List<SimpleFeature> features = new ArrayList<>();
+            int count = 10;
+            for (int i = 0; i < count; i++) {
+                b.set(aname("name"), "identity" + i);
+                b.set(aname("value"), i);
+                features.add(b.buildFeature(null));
+            }
+
+            // the keys cannot be set by COPY, the features are inserted regularly
+            SimpleFeatureStore store =
+                    (SimpleFeatureStore) dataStore.getFeatureSource(tname("bulk_identity"));
+            List<FeatureId> fids = store.addFeatures(DataUtilities.collection(features));
+            assertEquals(count, fids.size());
+            for (FeatureId fid : fids) {
+                assertTrue(fid.getID().startsWith(tname("bulk_identity") + "."));
+            }
+            assertEquals(count, store.getCount(Query.ALL));
+        } finally {
+            bulkSetup.dropIdentityTable();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import org.geotools.jdbc.JDBCDataStore;
+
+/** Sets up a data store loading features with binary COPY */
+public class PostGISBulkInsertTestSetup extends PostGISTestSetup {
+
+    @Override
+    protected void setUpDataStore(JDBCDataStore dataStore) {
+        super.setUpDataStore(dataStore);
+
+        ((PostGISDialect) dataStore.getSQLDialect()).setBulkInsertEnabled(true);
+        dataStore.setBatchInsertSize(100);
+    }
+
+    /** Creates a table whose primary key is an identity column generated always */
+    protected void createIdentityTable() throws Exception {
+        dropIdentityTable();
+        run(
+                "CREATE TABLE \"bulk_identity\"("
+                        + "\"id\" integer GENERATED ALWAYS AS IDENTITY PRIMARY KEY, "
+                        + "\"name\" varchar, \"value\" integer)");
+    }
+
+    protected void dropIdentityTable() throws Exception {
+        runSafe("DROP TABLE \"bulk_identity\"");
+    }
+}
@@ -18,6 +18,7 @@
 
 import static java.util.Map.entry;
 
+import com.microsoft.sqlserver.jdbc.ISQLServerStatement;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -1038,4 +1039,13 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
             return null;
         }
     }
+
+    @Override
+    public void initializeStreaming(Statement st, Connection cx) throws SQLException {
+        // make sure the driver reads the rows as the result set is scrolled, instead of
+        // buffering the full response in memory
+        if (st.isWrapperFor(ISQLServerStatement.class)) {
+            st.unwrap(ISQLServerStatement.class).setResponseBuffering("adaptive");
+        }
+    }
 }
@@ -17,6 +17,7 @@
 package org.geotools.data.shapefile;
 
 import static org.geotools.data.shapefile.files.ShpFileType.FIX;
+import static org.geotools.data.shapefile.files.ShpFileType.HRX;
 import static org.geotools.data.shapefile.files.ShpFileType.QIX;
 import static org.geotools.data.shapefile.files.ShpFileType.SHP;
 import static org.geotools.data.shapefile.files.ShpFileType.SHX;
@@ -43,6 +44,7 @@
 import org.geotools.data.shapefile.index.Data;
 import org.geotools.data.shapefile.index.DataDefinition;
 import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.data.shapefile.index.hilbert.HilbertRTree;
 import org.geotools.data.shapefile.index.quadtree.QuadTree;
 import org.geotools.data.shapefile.index.quadtree.StoreException;
 import org.geotools.data.shapefile.index.quadtree.fs.FileSystemIndexStore;
@@ -69,6 +71,9 @@ class IndexManager {
 
     CachedQuadTree cachedTree;
 
+    /** The Hilbert R-tree, kept memory mapped across queries */
+    SharedHilbertTree hilbertTree;
+
     ShapefileDataStore store;
 
     /** Used to lock the files when doing accesses to check indexes and the like */
@@ -115,9 +120,10 @@ public boolean createSpatialIndex(boolean force) {
             return false;
         }
         try {
-            if (isIndexStale(QIX) || force) {
-                // get a write lock on the .qix, waiting for other index builds
-                final URL treeURL = shpFiles.acquireWrite(QIX, writer);
+            final ShpFileType indexType = store.getSpatialIndexType();
+            if (isIndexStale(indexType) || force) {
+                // get a write lock on the index, waiting for other index builds
+                final URL treeURL = shpFiles.acquireWrite(indexType, writer);
                 try {
                     // check again, may force be false and another thread just have created it
                     if (isIndexStale(treeURL) || force) {
@@ -136,9 +142,12 @@ public boolean createSpatialIndex(boolean force) {
 
     protected void doCreateSpatialIndex() throws Exception {
         ShapefileDataStoreFactory.LOGGER.fine("Creating spatial index for " + shpFiles.get(SHP));
+        // unmap the index being replaced
+        disposeHilbertTree();
 
         ShapeFileIndexer indexer = new ShapeFileIndexer();
         indexer.setShapeFileName(shpFiles);
+        indexer.setIndexType(store.getSpatialIndexType());
         indexer.index(false, new NullProgressListener());
     }
 
@@ -196,7 +205,7 @@ boolean isIndexUseable(ShpFileType indexType) {
 
     /** Returns true if the index file is available */
     boolean isSpatialIndexAvailable() {
-        return shpFiles.isLocal() && shpFiles.exists(QIX);
+        return shpFiles.isLocal() && shpFiles.exists(store.getSpatialIndexType());
     }
 
     /**
@@ -312,6 +321,10 @@ protected CloseableIterator<Data> querySpatialIndex(Envelope bbox)
         // check if the spatial index needs recreating
         createSpatialIndex(false);
 
+        if (store.getSpatialIndexType() == HRX) {
+            return queryHilbertTree(bbox);
+        }
+
         if (cachedTree == null) {
             boolean canCache = false;
             URL treeURL = shpFiles.acquireRead(QIX, writer);
@@ -392,7 +405,113 @@ protected QuadTree openQuadTree() throws StoreException {
         }
     }
 
+    /** Queries the packed Hilbert R-tree, returns null if the whole file needs to be read */
+    CloseableIterator<Data> queryHilbertTree(Envelope bbox) throws DataSourceException {
+        SharedHilbertTree shared = null;
+        try {
+            shared = acquireHilbertTree();
+            if (shared == null || bbox.contains(shared.tree.getBounds())) {
+                return null;
+            }
+            // the matches are collected upfront, the iterator does not need the tree
+            return shared.tree.search(bbox, false);
+        } catch (IOException e) {
+            throw new DataSourceException("Error querying the Hilbert R-tree", e);
+        } finally {
+            if (shared != null) {
+                releaseHilbertTree(shared);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached Hilbert R-tree, opening it if missing or if the index file changed since
+     * it was opened. The tree must be released once done.
+     *
+     * @return The tree, or null if not available
+     */
+    SharedHilbertTree acquireHilbertTree() throws IOException {
+        if (!shpFiles.isLocal()) {
+            return null;
+        }
+        URL treeURL = shpFiles.acquireRead(HRX, writer);
+        try {
+            File treeFile = URLs.urlToFile(treeURL);
+            long lastModified = treeFile.lastModified();
+            long length = treeFile.length();
+            synchronized (this) {
+                if (hilbertTree != null
+                        && (hilbertTree.lastModified != lastModified
+                                || hilbertTree.length != length)) {
+                    disposeHilbertTree();
+                }
+                if (hilbertTree == null) {
+                    if (!treeFile.exists() || length == 0) {
+                        return null;
+                    }
+                    hilbertTree =
+                            new SharedHilbertTree(
+                                    HilbertRTree.open(treeFile), lastModified, length);
+                }
+                hilbertTree.users++;
+                return hilbertTree;
+            }
+        } finally {
+            shpFiles.unlockRead(treeURL, writer);
+        }
+    }
+
+    /** Releases a tree returned by {@link #acquireHilbertTree()} */
+    synchronized void releaseHilbertTree(SharedHilbertTree shared) {
+        shared.users--;
+        if (shared.disposed && shared.users == 0) {
+            shared.close();
+        }
+    }
+
+    /** Drops the cached Hilbert R-tree, unmapping it as soon as no query is using it */
+    synchronized void disposeHilbertTree() {
+        if (hilbertTree != null) {
+            hilbertTree.disposed = true;
+            if (hilbertTree.users == 0) {
+                hilbertTree.close();
+            }
+            hilbertTree = null;
+        }
+    }
+
+    /**
+     * A memory mapped Hilbert R-tree shared by the queries, along with the index file stats used
+     * to detect rebuilds, and the number of queries using it
+     */
+    static class SharedHilbertTree {
+        final HilbertRTree tree;
+
+        final long lastModified;
+
+        final long length;
+
+        int users;
+
+        boolean disposed;
+
+        SharedHilbertTree(HilbertRTree tree, long lastModified, long length) {
+            this.tree = tree;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        void close() {
+            try {
+                tree.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Failed to close the Hilbert R-tree", e);
+            }
+        }
+    }
+
     public void dispose() {
         this.cachedTree = null;
+        disposeHilbertTree();
     }
 }
@@ -111,6 +111,7 @@ public void close() throws IOException {
                 }
 
                 deleteFile(ShpFileType.QIX);
+                deleteFile(ShpFileType.HRX);
             }
         } catch (Throwable e) {
             ShapefileDataStoreFactory.LOGGER.log(Level.WARNING, "Error creating Spatial index", e);
@@ -0,0 +1,310 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Reads ranges of shapefile records in parallel, each range being decoded by a separate task, with
+ * its own file readers, and handing over features through a bounded queue.
+ *
+ * <p>When not ordered features are returned in the order they are decoded, otherwise the ranges are
+ * returned one after the other, following the record order of the file.
+ *
+ * <p>The executor is expected to be bounded and to reject the tasks it cannot start right away.
+ * Rejected ranges are read by the consuming thread itself, when reached in ordered mode, or
+ * whenever no decoded feature is waiting otherwise, so that a busy executor never blocks a read.
+ */
+class PartitionedShapefileFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    static final Logger LOGGER = Logging.getLogger(PartitionedShapefileFeatureReader.class);
+
+    /** Number of features buffered for each range */
+    static final int QUEUE_SIZE = 512;
+
+    /** Marks the end of a range */
+    static final Object END = new Object();
+
+    ShapefileFeatureSource source;
+
+    SimpleFeatureType featureType;
+
+    Query query;
+
+    int[] bounds;
+
+    boolean ordered;
+
+    /** One queue per range when ordered, a shared queue otherwise */
+    List<BlockingQueue<Object>> queues = new ArrayList<>();
+
+    /** The ranges the executor did not accept, to be read by the consumer */
+    boolean[] deferred;
+
+    /** The first range that might be deferred, when not ordered */
+    int nextDeferred;
+
+    /** Reads a deferred range in the consumer thread */
+    FeatureReader<SimpleFeatureType, SimpleFeature> inline;
+
+    /** The queue being consumed, when ordered */
+    int current;
+
+    /** Ranges not fully read yet */
+    int running;
+
+    SimpleFeature next;
+
+    volatile boolean closed;
+
+    /**
+     * Starts reading the ranges
+     *
+     * @param executor - runs the range reads
+     * @param source - provides the range readers, see {@link
+     *     ShapefileFeatureSource#getRangeReader(Query, int, int)}
+     * @param featureType - the type of the features returned
+     * @param query - the query to run on each range
+     * @param bounds - the range bounds, range i going from bounds[i] included to bounds[i + 1]
+     *     excluded
+     * @param ordered - whether to return the ranges in file order
+     */
+    PartitionedShapefileFeatureReader(
+            ExecutorService executor,
+            ShapefileFeatureSource source,
+            SimpleFeatureType featureType,
+            Query query,
+            int[] bounds,
+            boolean ordered) {
+        this.source = source;
+        this.featureType = featureType;
+        this.query = query;
+        this.bounds = bounds;
+        this.ordered = ordered;
+        int ranges = bounds.length - 1;
+        this.running = ranges;
+        this.deferred = new boolean[ranges];
+        if (ordered) {
+            for (int i = 0; i < ranges; i++) {
+                queues.add(new ArrayBlockingQueue<>(QUEUE_SIZE));
+            }
+        } else {
+            queues.add(new ArrayBlockingQueue<>(QUEUE_SIZE * ranges));
+        }
+
+        for (int i = 0; i < ranges; i++) {
+            int start = bounds[i];
+            int end = bounds[i + 1];
+            BlockingQueue<Object> queue = queues.get(ordered ? i : 0);
+            try {
+                executor.execute(() -> readRange(source, query, start, end, queue));
+            } catch (RejectedExecutionException e) {
+                deferred[i] = true;
+            }
+        }
+    }
+
+    void readRange(
+            ShapefileFeatureSource source,
+            Query query,
+            int start,
+            int end,
+            BlockingQueue<Object> queue) {
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                source.getRangeReader(query, start, end)) {
+            while (!closed && reader.hasNext()) {
+                if (!put(queue, reader.next())) {
+                    return;
+                }
+            }
+            put(queue, END);
+        } catch (Throwable t) { // NOSONAR
+            // the error ends the range, the consumer accounts for it as it would for END
+            if (!closed) {
+                put(queue, t);
+            } else {
+                LOGGER.log(Level.FINE, "Error reading record range after close", t);
+            }
+        }
+    }
+
+    /** Puts the item in the queue, giving up if the reader gets closed meanwhile */
+    private boolean put(BlockingQueue<Object> queue, Object item) {
+        try {
+            while (!closed) {
+                if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (closed) {
+            return false;
+        }
+        while (next == null && running > 0) {
+            if (inline != null) {
+                readInline();
+                continue;
+            }
+
+            BlockingQueue<Object> queue = queues.get(ordered ? current : 0);
+            if (ordered && deferred[current]) {
+                startInline(current);
+                continue;
+            }
+            Object item = null;
+            if (!ordered) {
+                item = queue.poll();
+                if (item == null && startDeferred()) {
+                    continue;
+                }
+            }
+            if (item == null) {
+                item = take(queue);
+            }
+
+            if (item == END) {
+                rangeDone();
+            } else if (item instanceof Throwable) {
+                // a failed range is over, a consumer going on after the error must not wait on it
+                rangeDone();
+                throw toIOException((Throwable) item);
+            } else {
+                next = (SimpleFeature) item;
+            }
+        }
+        return next != null;
+    }
+
+    /** Starts reading the next deferred range inline, if any, when not ordered */
+    private boolean startDeferred() throws IOException {
+        while (nextDeferred < deferred.length && !deferred[nextDeferred]) {
+            nextDeferred++;
+        }
+        if (nextDeferred == deferred.length) {
+            return false;
+        }
+        startInline(nextDeferred++);
+        return true;
+    }
+
+    private void startInline(int range) throws IOException {
+        try {
+            inline = source.getRangeReader(query, bounds[range], bounds[range + 1]);
+        } catch (IOException | RuntimeException e) {
+            rangeDone();
+            throw e;
+        }
+    }
+
+    /** Reads the next feature of the inline range, moving to the next range at its end */
+    private void readInline() throws IOException {
+        try {
+            if (inline.hasNext()) {
+                next = inline.next();
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            closeInline();
+            rangeDone();
+            throw e;
+        }
+        closeInline();
+        rangeDone();
+    }
+
+    private void closeInline() {
+        try {
+            inline.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error closing record range reader", e);
+        }
+        inline = null;
+    }
+
+    private void rangeDone() {
+        running--;
+        current++;
+    }
+
+    private Object take(BlockingQueue<Object> queue) throws IOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for shapefile records");
+        }
+    }
+
+    private static IOException toIOException(Throwable t) {
+        if (t instanceof IOException) {
+            return (IOException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IOException("Failed to read record range", t);
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more features");
+        }
+        SimpleFeature result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // the range tasks notice the flag, stop reading and close their own readers
+        closed = true;
+        for (BlockingQueue<Object> queue : queues) {
+            queue.clear();
+        }
+        if (inline != null) {
+            closeInline();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import java.io.IOException;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.shapefile.dbf.DbaseFileReader.Row;
+import org.geotools.data.shapefile.dbf.IndexedDbaseFileReader;
+import org.geotools.data.shapefile.fid.IndexedFidReader;
+import org.geotools.data.shapefile.shp.IndexFile;
+import org.geotools.data.shapefile.shp.ShapefileReader;
+import org.geotools.data.shapefile.shp.ShapefileReader.Record;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A shapefile feature reader reading only the records in a range of positions, locating them with
+ * the .shx file offsets. Used to decode separate portions of a shapefile concurrently.
+ */
+class RangeShapefileFeatureReader extends ShapefileFeatureReader {
+
+    IndexFile shx;
+
+    /** Position of the next record to read, zero based */
+    int position;
+
+    /** Position past the last record to read */
+    int end;
+
+    /**
+     * Create the range reader
+     *
+     * @param schema - the schema that we are going to read.
+     * @param shp - the shape reader, opened for random access, required
+     * @param dbf - the dbf file reader, opened for random access. May be null, in this case no
+     *     attributes will be read from the dbf file
+     * @param shx - the index file providing the record offsets, required
+     * @param start - position of the first record to read, zero based
+     * @param end - position past the last record to read
+     */
+    public RangeShapefileFeatureReader(
+            SimpleFeatureType schema,
+            ShapefileReader shp,
+            IndexedDbaseFileReader dbf,
+            IndexedFidReader fidReader,
+            IndexFile shx,
+            int start,
+            int end)
+            throws IOException {
+        super(schema, shp, dbf, fidReader);
+        this.shx = shx;
+        this.position = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        while (nextFeature == null && position < end) {
+            int current = position++;
+            shp.goTo(shx.getOffsetInBytes(current));
+            Record record = shp.nextRecord();
+
+            // read the geometry, so that we can decide if this row is to be skipped or not
+            Geometry geometry = getGeometry(record);
+            if (geometry == SKIP) {
+                continue;
+            }
+
+            // read the dbf only if the geometry was not skipped, rows match records by position
+            Row row;
+            if (dbf != null) {
+                ((IndexedDbaseFileReader) dbf).goTo(current + 1);
+                row = dbf.readRow();
+                if (row.isDeleted()) {
+                    continue;
+                }
+            } else {
+                row = null;
+            }
+
+            nextFeature = buildFeature(record.number, geometry, row, record.envelope());
+        }
+
+        return nextFeature != null;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.UseTryWithResources") // resources are fields
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (shx != null) {
+                shx.close();
+            }
+            shx = null;
+        }
+    }
+}
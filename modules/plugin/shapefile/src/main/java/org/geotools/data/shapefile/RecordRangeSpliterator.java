@@ -0,0 +1,154 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * A spliterator over a range of shapefile records, splitting in halves of the range, each half
+ * reading its records with its own file readers, opened on the first advance. Allows to decode a
+ * shapefile in parallel with a parallel stream, the encounter order being the record order.
+ *
+ * <p>Each spliterator closes its readers once its range is exhausted, the readers left open by an
+ * early termination are closed by {@link Readers#close()}.
+ */
+class RecordRangeSpliterator implements Spliterator<SimpleFeature> {
+
+    /** Ranges smaller than this are not split further */
+    static final int MIN_RANGE = 1024;
+
+    /** Tracks the readers opened by a spliterator and all its splits */
+    static class Readers implements Closeable {
+
+        Collection<FeatureReader<SimpleFeatureType, SimpleFeature>> open = new HashSet<>();
+
+        synchronized void add(FeatureReader<SimpleFeatureType, SimpleFeature> reader) {
+            open.add(reader);
+        }
+
+        synchronized void remove(FeatureReader<SimpleFeatureType, SimpleFeature> reader) {
+            open.remove(reader);
+        }
+
+        @Override
+        public void close() throws IOException {
+            List<FeatureReader<SimpleFeatureType, SimpleFeature>> readers;
+            synchronized (this) {
+                readers = new ArrayList<>(open);
+                open.clear();
+            }
+            IOException error = null;
+            for (FeatureReader<SimpleFeatureType, SimpleFeature> reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    if (error == null) {
+                        error = e;
+                    } else {
+                        error.addSuppressed(e);
+                    }
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    ShapefileFeatureSource source;
+
+    Query query;
+
+    Readers readers;
+
+    /** Position of the first record not handed over to a reader or a split yet, zero based */
+    int start;
+
+    /** Position past the last record of the range */
+    int end;
+
+    FeatureReader<SimpleFeatureType, SimpleFeature> reader;
+
+    RecordRangeSpliterator(
+            ShapefileFeatureSource source, Query query, Readers readers, int start, int end) {
+        this.source = source;
+        this.query = query;
+        this.readers = readers;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super SimpleFeature> action) {
+        try {
+            if (reader == null) {
+                if (start >= end) {
+                    return false;
+                }
+                reader = source.getRangeReader(query, start, end);
+                readers.add(reader);
+                start = end;
+            }
+            if (reader.hasNext()) {
+                action.accept(reader.next());
+                return true;
+            }
+            readers.remove(reader);
+            reader.close();
+            reader = null;
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Spliterator<SimpleFeature> trySplit() {
+        // once reading started the range cannot be split anymore
+        if (reader != null || end - start < 2 * MIN_RANGE) {
+            return null;
+        }
+        int mid = (start + end) >>> 1;
+        Spliterator<SimpleFeature> prefix =
+                new RecordRangeSpliterator(source, query, readers, start, mid);
+        start = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // filters and deleted rows might make the actual count smaller
+        return reader != null ? 0 : end - start;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
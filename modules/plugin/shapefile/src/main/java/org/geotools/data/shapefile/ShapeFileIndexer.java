@@ -36,6 +36,7 @@
 import org.geotools.data.shapefile.files.StorageFile;
 import org.geotools.data.shapefile.index.LockTimeoutException;
 import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.data.shapefile.index.hilbert.HilbertRTreeBuilder;
 import org.geotools.data.shapefile.index.quadtree.Node;
 import org.geotools.data.shapefile.index.quadtree.QuadTree;
 import org.geotools.data.shapefile.index.quadtree.StoreException;
@@ -64,6 +65,7 @@ class ShapeFileIndexer implements FileWriter {
 
     private String byteOrder;
     private ShpFiles shpFiles;
+    private ShpFileType indexType = ShpFileType.QIX;
 
     public static void main(String[] args) throws IOException {
         if ((args.length < 1) || (((args.length - 1) % 2) != 0)) {
@@ -76,9 +78,10 @@ public static void main(String[] args) throws IOException {
 
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals("-t")) {
-                // idx.setIdxType(IndexType.valueOf(args[++i]));
-                // just skip it for backwards compatibility
-                i++;
+                // anything but HRX builds a quadtree, for backwards compatibility
+                if ("HRX".equalsIgnoreCase(args[++i])) {
+                    idx.setIndexType(ShpFileType.HRX);
+                }
             } else if (args[i].equals("-M")) {
                 idx.setMax(Integer.parseInt(args[++i]));
             } else if (args[i].equals("-s")) {
@@ -113,7 +116,7 @@ public static void main(String[] args) throws IOException {
     private static void usage() {
         System.out.println(
                 "Usage: ShapeFileIndexer "
-                        + "-t <QIX> "
+                        + "-t <QIX | HRX> "
                         + "[-M <max tree depth>] "
                         + "[-b <byte order NL | NM>] "
                         + "<shape file>"
@@ -122,7 +125,7 @@ private static void usage() {
         System.out.println();
 
         System.out.println("Options:");
-        System.out.println("\t-t Index type: RTREE or QUADTREE");
+        System.out.println("\t-t Index type: QIX (quadtree) or HRX (packed Hilbert R-tree)");
         System.out.println();
         System.out.println("Following options apllies only to QUADTREE:");
         System.out.println("\t-b byte order to use: NL = LSB; " + "NM = MSB (default)");
@@ -147,16 +150,19 @@ public int index(boolean verbose, /*unused*/ ProgressListener listener)
         int cnt = 0;
 
         // Temporary file for building...
-        StorageFile storage = shpFiles.getStorageFile(ShpFileType.QIX);
+        StorageFile storage = shpFiles.getStorageFile(indexType);
         File treeFile = storage.getFile();
-        if (maxDepth == -1) {
+        if (indexType == ShpFileType.QIX && maxDepth == -1) {
             maxDepth = computeMaxDepth();
         }
 
         try (ShapefileReader reader =
                 new ShapefileReader(shpFiles, true, false, new GeometryFactory())) {
-
-            cnt = this.buildQuadTree(reader, treeFile, verbose);
+            if (indexType == ShpFileType.HRX) {
+                cnt = this.buildHilbertTree(reader, treeFile, verbose);
+            } else {
+                cnt = this.buildQuadTree(reader, treeFile, verbose);
+            }
         }
 
         // Final index file
@@ -241,6 +247,36 @@ private int buildQuadTree(ShapefileReader reader, File file, boolean verbose)
         return cnt;
     }
 
+    private int buildHilbertTree(ShapefileReader reader, File file, boolean verbose)
+            throws IOException {
+        LOGGER.fine("Building Hilbert R-tree spatial index for file " + file.getAbsolutePath());
+
+        int cnt = 0;
+        try (IndexFile shpIndex = new IndexFile(shpFiles, false);
+                // the records bounds are read back in Hilbert order when writing the tree
+                BoundsReader boundsHelper = createBoundsReader(reader, shpIndex)) {
+            HilbertRTreeBuilder builder =
+                    new HilbertRTreeBuilder(shpIndex.getRecordCount(), getBounds(reader));
+            builder.setNodeSize(Math.max(2, leafSize));
+            Envelope env = new Envelope();
+            while (reader.hasNext()) {
+                Record rec = reader.nextRecord();
+                env.init(rec.minX, rec.maxX, rec.minY, rec.maxY);
+                int recno = cnt++;
+                builder.add(recno, rec.offset(), env);
+                boundsHelper.insert(recno, env);
+
+                if (verbose && ((cnt % 1_000) == 0)) {
+                    System.out.print('.');
+                }
+            }
+            if (verbose) System.out.println("Storing the tree...");
+            builder.write(file, boundsHelper::read);
+            if (verbose) System.out.println("done");
+        }
+        return cnt;
+    }
+
     private Envelope getBounds(ShapefileReader reader) {
         ShapefileHeader header = reader.getHeader();
         Envelope bounds = new Envelope(header.minX(), header.maxX(), header.minY(), header.maxY());
@@ -392,6 +428,17 @@ public void setShapeFileName(ShpFiles shpFiles) {
         this.shpFiles = shpFiles;
     }
 
+    /**
+     * Sets the type of index to build, either {@link ShpFileType#QIX} (the default) or {@link
+     * ShpFileType#HRX}
+     */
+    public void setIndexType(ShpFileType indexType) {
+        if (indexType != ShpFileType.QIX && indexType != ShpFileType.HRX) {
+            throw new IllegalArgumentException("Not a spatial index type: " + indexType);
+        }
+        this.indexType = indexType;
+    }
+
     /** @param byteOrder The byteOrder to set. */
     public void setByteOrder(String byteOrder) {
         this.byteOrder = byteOrder;
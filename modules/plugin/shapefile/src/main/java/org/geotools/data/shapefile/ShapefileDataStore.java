@@ -33,7 +33,13 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
+import java.util.stream.Stream;
 import org.geotools.api.data.DataSourceException;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.FeatureWriter;
@@ -59,6 +65,7 @@
 import org.geotools.feature.FeatureTypes;
 import org.geotools.feature.NameImpl;
 import org.geotools.referencing.wkt.Formattable;
+import org.geotools.util.factory.Hints;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
@@ -83,6 +90,29 @@ public class ShapefileDataStore extends ContentDataStore implements FileDataStor
     public static final TimeZone DEFAULT_TIMEZONE =
             (TimeZone) ShapefileDataStoreFactory.DBFTIMEZONE.getDefaultValue();
 
+    /**
+     * Query hint, an Integer, asking to read the features with as many parallel tasks, each one
+     * decoding a range of records located by the .shx file offsets. Only honored for reads not
+     * driven by an index, and not using a screen map. The features are returned in the order they
+     * are decoded, unless the query specifies a sort or paging, in which case the ranges are
+     * returned one after the other, in file order. The number of ranges is capped by {@link
+     * #MAX_PARTITIONS_KEY}.
+     */
+    public static final Hints.Key PARTITIONS = new Hints.Key(Integer.class);
+
+    /**
+     * System property setting the maximum number of ranges of a partitioned read, which is also the
+     * maximum number of threads decoding them for a data store. Defaults to the number of
+     * available processors.
+     */
+    public static final String MAX_PARTITIONS_KEY = "org.geotools.shapefile.maxPartitions";
+
+    static final int MAX_PARTITIONS =
+            Math.max(
+                    1,
+                    Integer.getInteger(
+                            MAX_PARTITIONS_KEY, Runtime.getRuntime().availableProcessors()));
+
     /**
      * When true, the stack trace that got a lock that wasn't released is recorded and then printed
      * out when warning the user about this.
@@ -107,6 +137,8 @@ public class ShapefileDataStore extends ContentDataStore implements FileDataStor
 
     boolean indexCreationEnabled = true;
 
+    ShpFileType spatialIndexType = ShpFileType.QIX;
+
     boolean fidIndexed = true;
 
     IndexManager indexManager;
@@ -119,6 +151,9 @@ public class ShapefileDataStore extends ContentDataStore implements FileDataStor
 
     private boolean tryCPGFile = false;
 
+    /** Runs the range reads of partitioned reads, see {@link #PARTITIONS} */
+    private ExecutorService partitionExecutor;
+
     public ShapefileDataStore(URL url) {
         this(url, ShpFiles.DEFAULT_SKIP_SCAN);
     }
@@ -151,6 +186,24 @@ protected ContentFeatureSource createFeatureSource(ContentEntry entry) throws IO
         return getFeatureSource();
     }
 
+    /**
+     * Returns a stream of the features matching the query, reading the records by ranges located by
+     * the .shx file offsets. A parallel stream decodes separate ranges concurrently, each with its
+     * own file handles, while preserving the record order as the encounter order. Without a .shx
+     * file the stream is backed by a regular reader and cannot be split.
+     *
+     * <p>The stream must be closed to release the files. Transaction state is not considered, and
+     * the query cannot specify sorting, paging or reprojection, use the stream operations instead.
+     *
+     * @param query the query to run
+     * @param parallel whether to return a parallel stream
+     */
+    public Stream<SimpleFeature> getFeatureStream(Query query, boolean parallel)
+            throws IOException {
+        ContentEntry entry = ensureEntry(getTypeName());
+        return new ShapefileFeatureSource(entry, shpFiles).getFeatureStream(query, parallel);
+    }
+
     @Override
     public ContentFeatureSource getFeatureSource() throws IOException {
         ContentEntry entry = ensureEntry(getTypeName());
@@ -426,9 +479,46 @@ public void forceSchemaCRS(CoordinateReferenceSystem crs) throws IOException {
         entries.clear();
     }
 
+    /**
+     * Returns the executor running the range reads of partitioned reads, creating it on demand. It
+     * runs at most {@link #MAX_PARTITIONS} tasks and rejects the others, which are then read by the
+     * consumer thread.
+     */
+    synchronized ExecutorService getPartitionExecutor() {
+        if (partitionExecutor == null) {
+            AtomicInteger count = new AtomicInteger();
+            partitionExecutor =
+                    new ThreadPoolExecutor(
+                            0,
+                            MAX_PARTITIONS,
+                            60,
+                            TimeUnit.SECONDS,
+                            new SynchronousQueue<>(),
+                            r -> {
+                                Thread t =
+                                        new Thread(
+                                                r,
+                                                "gt-shapefile-partition-"
+                                                        + count.incrementAndGet());
+                                t.setDaemon(true);
+                                return t;
+                            });
+        }
+        return partitionExecutor;
+    }
+
     @Override
     public void dispose() {
         super.dispose();
+        synchronized (this) {
+            if (partitionExecutor != null) {
+                partitionExecutor.shutdownNow();
+                partitionExecutor = null;
+            }
+        }
+        if (indexManager != null) {
+            indexManager.dispose();
+        }
         if (shpFiles != null) {
             shpFiles.dispose();
             shpFiles = null;
@@ -505,6 +595,25 @@ public FeatureWriter<SimpleFeatureType, SimpleFeature> getFeatureWriterAppend(
         return getFeatureWriterAppend(getTypeName().getLocalPart(), transaction);
     }
 
+    /** Returns the type of spatial index used, {@link ShpFileType#QIX} by default */
+    public ShpFileType getSpatialIndexType() {
+        return spatialIndexType;
+    }
+
+    /**
+     * Sets the type of spatial index to use, and to create if missing: either the {@link
+     * ShpFileType#QIX} quadtree (default) or the {@link ShpFileType#HRX} packed Hilbert R-tree. The
+     * latter is balanced regardless of the data distribution, and returns the matching records in
+     * file order, making it a better fit for large clustered datasets.
+     */
+    public void setSpatialIndexType(ShpFileType spatialIndexType) {
+        if (spatialIndexType != ShpFileType.QIX && spatialIndexType != ShpFileType.HRX) {
+            throw new IllegalArgumentException("Not a spatial index type: " + spatialIndexType);
+        }
+        this.spatialIndexType = spatialIndexType;
+        indexManager.dispose();
+    }
+
     public boolean isIndexCreationEnabled() {
         return indexCreationEnabled;
     }
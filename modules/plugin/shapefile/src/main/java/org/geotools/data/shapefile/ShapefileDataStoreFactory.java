@@ -36,6 +36,7 @@
 import org.geotools.api.data.FilteringFileStoreFactory;
 import org.geotools.data.DataUtilities;
 import org.geotools.data.directory.DirectoryDataStore;
+import org.geotools.data.shapefile.files.ShpFileType;
 import org.geotools.data.shapefile.files.ShpFiles;
 import org.geotools.util.KVP;
 import org.geotools.util.URLs;
@@ -188,6 +189,23 @@ public String text(Object value) {
                     true,
                     new KVP(Param.LEVEL, "advanced"));
 
+    /**
+     * Optional - type of spatial index, either the "qix" quadtree or the "hrx" packed Hilbert
+     * R-tree
+     */
+    public static final Param SPATIAL_INDEX_TYPE =
+            new Param(
+                    "spatial index type",
+                    String.class,
+                    "type of spatial index, qix (quadtree) or hrx (packed Hilbert R-tree)",
+                    false,
+                    "qix",
+                    new KVP(
+                            Param.LEVEL,
+                            "advanced",
+                            Param.OPTIONS,
+                            Arrays.asList(new String[] {"qix", "hrx"})));
+
     /** Optional - skip the scan for alternative shapefile extensions (i.e. .SHP, .shp.XML, ...) */
     public static final Param SKIP_SCAN =
             new Param(
@@ -215,6 +233,7 @@ public Param[] getParametersInfo() {
             NAMESPACEP,
             ENABLE_SPATIAL_INDEX,
             CREATE_SPATIAL_INDEX,
+            SPATIAL_INDEX_TYPE,
             DBFCHARSET,
             DBFTIMEZONE,
             MEMORY_MAPPED,
@@ -245,6 +264,7 @@ public DataStore createDataStore(Map<String, ?> params) throws IOException {
         TimeZone dbfTimeZone = lookup(DBFTIMEZONE, params, TimeZone.class);
         Boolean isCreateSpatialIndex = lookup(CREATE_SPATIAL_INDEX, params, Boolean.class);
         Boolean skipScan = lookup(SKIP_SCAN, params, Boolean.class);
+        String spatialIndexType = lookup(SPATIAL_INDEX_TYPE, params, String.class);
         Boolean isEnableSpatialIndex = (Boolean) ENABLE_SPATIAL_INDEX.lookUp(params);
         if (isEnableSpatialIndex == null) {
             // should not be needed as default is TRUE
@@ -280,6 +300,9 @@ public DataStore createDataStore(Map<String, ?> params) throws IOException {
             store.setTimeZone(dbfTimeZone);
             store.setIndexed(enableIndex);
             store.setIndexCreationEnabled(createIndex);
+            if ("hrx".equalsIgnoreCase(spatialIndexType)) {
+                store.setSpatialIndexType(ShpFileType.HRX);
+            }
             return store;
         }
     }
@@ -17,6 +17,7 @@
 package org.geotools.data.shapefile;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -137,6 +138,12 @@ public ShapefileFeatureReader(
                     }
                 }
             }
+
+            // when reading a subset of the fields, have the dbf reader skip the others
+            int[] projection = Arrays.stream(dbfindexes).filter(idx -> idx >= 0).toArray();
+            if (projection.length < head.getNumFields()) {
+                dbf.setProjection(projection);
+            }
         }
     }
 
@@ -29,8 +29,12 @@
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.geotools.api.data.CloseableIterator;
 import org.geotools.api.data.DataSourceException;
 import org.geotools.api.data.FeatureReader;
@@ -46,6 +50,7 @@
 import org.geotools.api.filter.Id;
 import org.geotools.api.filter.expression.Expression;
 import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.filter.spatial.BBOX;
 import org.geotools.api.filter.spatial.Beyond;
 import org.geotools.api.filter.spatial.Contains;
@@ -61,6 +66,7 @@
 import org.geotools.data.ReTypeFeatureReader;
 import org.geotools.data.shapefile.dbf.DbaseFileHeader;
 import org.geotools.data.shapefile.dbf.DbaseFileReader;
+import org.geotools.data.shapefile.dbf.IndexedDbaseFileReader;
 import org.geotools.data.shapefile.fid.IndexedFidReader;
 import org.geotools.data.shapefile.files.FileReader;
 import org.geotools.data.shapefile.files.ShpFileType;
@@ -75,6 +81,7 @@
 import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.data.util.ScreenMap;
 import org.geotools.feature.AttributeTypeBuilder;
+import org.geotools.feature.FeatureReaderIterator;
 import org.geotools.feature.FeatureTypes;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.feature.type.BasicFeatureTypes;
@@ -201,6 +208,7 @@ public ShapefileFeatureSource(ContentEntry entry, ShpFiles shpFiles) {
         hints.add(Hints.JTS_COORDINATE_SEQUENCE_FACTORY);
         hints.add(Hints.GEOMETRY_DISTANCE);
         hints.add(Hints.SCREENMAP);
+        hints.add(ShapefileDataStore.PARTITIONS);
         this.hints = Collections.unmodifiableSet(hints);
     }
 
@@ -288,13 +296,7 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         GeometryFactory geometryFactory = getGeometryFactory(q);
 
         // grab the target bbox, if any
-        Envelope bbox = new ReferencedEnvelope();
-        if (q != null && q.getFilter() != null) {
-            bbox = (Envelope) q.getFilter().accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, bbox);
-            if (bbox == null) {
-                bbox = new ReferencedEnvelope();
-            }
-        }
+        Envelope bbox = getTargetBBox(q);
 
         // see if we can use indexing to speedup the data access
         Filter filter = q != null ? q.getFilter() : null;
@@ -336,6 +338,19 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
             return new EmptyFeatureReader<>(resultSchema);
         }
 
+        // parallel read of record ranges, if requested and possible
+        Integer partitions =
+                q != null && q.getHints() != null
+                        ? (Integer) q.getHints().get(ShapefileDataStore.PARTITIONS)
+                        : null;
+        if (goodRecs == null && partitions != null && partitions > 1) {
+            FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                    getPartitionedReader(q, resultSchema, partitions);
+            if (reader != null) {
+                return reader;
+            }
+        }
+
         // get the .fix file reader, if we have a .fix file
         @SuppressWarnings("PMD.CloseResource") // wrapped and returned
         IndexedFidReader fidReader = null;
@@ -379,6 +394,28 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         } else {
             reader = new ShapefileFeatureReader(readSchema, shapeReader, dbfReader, fidReader);
         }
+        return setupReader(reader, q, bbox, resultSchema);
+    }
+
+    /** Returns the bounds of the query filter, eventually null, used to skip over records */
+    private Envelope getTargetBBox(Query q) {
+        Envelope bbox = new ReferencedEnvelope();
+        if (q != null && q.getFilter() != null) {
+            bbox = (Envelope) q.getFilter().accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, bbox);
+            if (bbox == null) {
+                bbox = new ReferencedEnvelope();
+            }
+        }
+        return bbox;
+    }
+
+    /**
+     * Sets up the filter, target bbox and generalization hints of the reader, and retypes it to the
+     * result schema if needed
+     */
+    private FeatureReader<SimpleFeatureType, SimpleFeature> setupReader(
+            ShapefileFeatureReader reader, Query q, Envelope bbox, SimpleFeatureType resultSchema) {
+        Filter filter = q != null ? q.getFilter() : null;
         if (filter != null && !Filter.INCLUDE.equals(filter)) {
             reader.setFilter(filter);
         }
@@ -398,19 +435,153 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
                 reader.setScreenMap((ScreenMap) hints.get(Hints.SCREENMAP));
 
                 if (Boolean.TRUE.equals(hints.get(Hints.FEATURE_2D))) {
-                    shapeReader.setFlatGeometry(true);
+                    reader.shp.setFlatGeometry(true);
                 }
             }
         }
 
         // do the retyping
-        if (!FeatureTypes.equals(readSchema, resultSchema)) {
+        if (!FeatureTypes.equals(reader.getFeatureType(), resultSchema)) {
             return new ReTypeFeatureReader(reader, resultSchema);
         } else {
             return reader;
         }
     }
 
+    /**
+     * Returns a reader decoding ranges of records in parallel, or null if the shapefile cannot be
+     * read by ranges, or the query needs a shared screen map.
+     */
+    private FeatureReader<SimpleFeatureType, SimpleFeature> getPartitionedReader(
+            Query q, SimpleFeatureType resultSchema, int partitions) throws IOException {
+        if (q.getHints().get(Hints.SCREENMAP) != null) {
+            return null;
+        }
+        int count = getRangeRecordCount();
+        int ranges = Math.min(Math.min(partitions, ShapefileDataStore.MAX_PARTITIONS), count);
+        if (ranges < 2) {
+            return null;
+        }
+        int[] bounds = new int[ranges + 1];
+        for (int i = 0; i <= ranges; i++) {
+            bounds[i] = (int) ((long) count * i / ranges);
+        }
+
+        // paging and sorting need a stable order, the ranges are returned in file order then
+        SortBy[] sortBy = q.getSortBy();
+        boolean ordered =
+                (sortBy != null && sortBy.length > 0)
+                        || (q.getStartIndex() != null && q.getStartIndex() > 0)
+                        || !q.isMaxFeaturesUnlimited();
+        return new PartitionedShapefileFeatureReader(
+                getDataStore().getPartitionExecutor(), this, resultSchema, q, bounds, ordered);
+    }
+
+    /**
+     * Returns the number of records, or -1 if the records cannot be read by range, that is, when
+     * the shapefile is not local or the .shx file is missing
+     */
+    private int getRangeRecordCount() throws IOException {
+        if (!shpFiles.isLocal() || !shpFiles.exists(ShpFileType.SHP)) {
+            return -1;
+        }
+        try (IndexFile shx = getDataStore().shpManager.openIndexFile()) {
+            return shx != null ? shx.getRecordCount() : -1;
+        }
+    }
+
+    /**
+     * Returns a reader of the features matching the query among the records in the given range of
+     * positions, located by the .shx file offsets. The reader uses its own file handles, so that
+     * separate ranges can be read concurrently.
+     *
+     * @param q the query, its sorting and paging are not applied
+     * @param start position of the first record, zero based
+     * @param end position past the last record
+     */
+    FeatureReader<SimpleFeatureType, SimpleFeature> getRangeReader(Query q, int start, int end)
+            throws IOException {
+        SimpleFeatureType resultSchema = getResultSchema(q);
+        SimpleFeatureType readSchema = getReadSchema(q);
+        ShapefileSetManager shpManager = getDataStore().shpManager;
+
+        IndexFile shx = null;
+        IndexedFidReader fidReader = null;
+        ShapefileReader shapeReader = null;
+        DbaseFileReader dbfReader = null;
+        ShapefileFeatureReader reader = null;
+        try {
+            shx = shpManager.openIndexFile();
+            if (shx == null) {
+                throw new IOException("Cannot read records by range without a .shx file");
+            }
+            if (getDataStore().isFidIndexed() && getDataStore().indexManager.hasFidIndex(false)) {
+                fidReader = new IndexedFidReader(shpFiles);
+            }
+            shapeReader = shpManager.openShapeReader(getGeometryFactory(q), true);
+            List<AttributeDescriptor> attributes = readSchema.getAttributeDescriptors();
+            if (!attributes.isEmpty()
+                    && (attributes.size() != 1 || readSchema.getGeometryDescriptor() == null)) {
+                dbfReader = shpManager.openDbfReader(true);
+            }
+            reader =
+                    new RangeShapefileFeatureReader(
+                            readSchema,
+                            shapeReader,
+                            (IndexedDbaseFileReader) dbfReader,
+                            fidReader,
+                            shx,
+                            start,
+                            end);
+        } finally {
+            if (reader == null) {
+                closeQuietly(shx, fidReader, shapeReader, dbfReader);
+            }
+        }
+        return setupReader(reader, q, getTargetBBox(q), resultSchema);
+    }
+
+    private static void closeQuietly(AutoCloseable... closeables) {
+        for (AutoCloseable closeable : closeables) {
+            try {
+                if (closeable != null) {
+                    closeable.close();
+                }
+            } catch (Exception e) {
+                // do nothing
+            }
+        }
+    }
+
+    /** See {@link ShapefileDataStore#getFeatureStream(Query, boolean)} */
+    Stream<SimpleFeature> getFeatureStream(Query query, boolean parallel) throws IOException {
+        if ((query.getSortBy() != null && query.getSortBy().length > 0)
+                || query.getStartIndex() != null
+                || !query.isMaxFeaturesUnlimited()
+                || query.getCoordinateSystem() != null
+                || query.getCoordinateSystemReproject() != null) {
+            throw new IllegalArgumentException(
+                    "Feature streams do not support sorting, paging and reprojection");
+        }
+        query = resolvePropertyNames(joinQuery(query));
+
+        int count = getRangeRecordCount();
+        if (count < 0) {
+            FeatureReaderIterator<SimpleFeature> iterator =
+                    new FeatureReaderIterator<>(getReaderInternal(query));
+            return StreamSupport.stream(
+                            Spliterators.spliteratorUnknownSize(
+                                    iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                            parallel)
+                    .onClose(iterator::close);
+        }
+
+        RecordRangeSpliterator.Readers readers = new RecordRangeSpliterator.Readers();
+        return StreamSupport.stream(
+                        new RecordRangeSpliterator(this, query, readers, 0, count), parallel)
+                .onClose(() -> closeQuietly(readers));
+    }
+
     SimpleFeatureType getResultSchema(Query q) {
         if (q.getPropertyNames() == null) {
             return getSchema();
@@ -32,6 +32,7 @@
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -132,6 +133,30 @@ public boolean isDeleted() {
 
     private final long MILLISECS_PER_DAY = 24 * 60 * 60 * 1000;
 
+    /** The fields copied by {@link #read()}, or {@code null} for all of them. */
+    private int[] projection;
+
+    /** For each field, whether it is in the {@link #projection}. */
+    private boolean[] projected;
+
+    /** Position in the buffer of the first field of the current record. */
+    private int recordPosition;
+
+    /** The buffer holding the current record, used to check it is still available. */
+    private ByteBuffer recordBuffer;
+
+    /** Recently decoded strings, shared among all the character fields. */
+    private final StringCache strings = new StringCache();
+
+    /** Returned by {@link #parseNumber} when the field can not be parsed without a String. */
+    static final Object UNPARSED = new Object();
+
+    /** The powers of ten that can be represented exactly as a double. */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+        1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
     /**
      * Creates a new instance of DBaseFileReader
      *
@@ -308,6 +333,43 @@ public DbaseFileHeader getHeader() {
         return header;
     }
 
+    /**
+     * Restricts the fields read from now on to the given ones. {@link #read()} then copies only the
+     * bytes of those fields out of the buffer, and {@link #readEntry(Object[], int)} decodes only
+     * those fields, leaving the other array elements to {@code null}. Fields outside of the
+     * projection can still be read with {@link #readField(int)} or {@link Row#read(int)}, at a
+     * slightly higher cost.
+     *
+     * @param fields The zero based indexes of the fields to read, or {@code null} to read all of
+     *     them.
+     * @throws IllegalArgumentException If one of the indexes is not a valid field number.
+     */
+    public void setProjection(final int[] fields) {
+        if (fields == null) {
+            projection = null;
+            projected = null;
+            return;
+        }
+        final boolean[] selected = new boolean[header.getNumFields()];
+        for (int field : fields) {
+            if (field < 0 || field >= selected.length) {
+                throw new IllegalArgumentException("Invalid field number: " + field);
+            }
+            selected[field] = true;
+        }
+        projection = fields.clone();
+        projected = selected;
+    }
+
+    /**
+     * Returns the fields read by this reader, as set by {@link #setProjection(int[])}.
+     *
+     * @return The zero based indexes of the fields to read, or {@code null} for all of them.
+     */
+    public int[] getProjection() {
+        return projection == null ? null : projection.clone();
+    }
+
     /**
      * Clean up all resources associated with this reader.<B>Highly recomended.</B>
      *
@@ -405,10 +467,16 @@ public Object[] readEntry(final Object[] entry, final int offset) throws IOExcep
         }
 
         // retrieve the record length
-        final int numFields = header.getNumFields();
-
-        for (int j = 0; j < numFields; j++) {
-            entry[j + offset] = readObject(fieldOffsets[j], j);
+        if (projection == null) {
+            final int numFields = header.getNumFields();
+            for (int j = 0; j < numFields; j++) {
+                entry[j + offset] = readObject(fieldOffsets[j], j);
+            }
+        } else {
+            Arrays.fill(entry, offset, offset + header.getNumFields(), null);
+            for (int j : projection) {
+                entry[j + offset] = readObject(fieldOffsets[j], j);
+            }
         }
 
         return entry;
@@ -451,9 +519,19 @@ public void read() throws IOException {
             final char deleted = (char) buffer.get();
             row.deleted = deleted == '*';
 
-            ((Buffer) buffer).limit(buffer.position() + header.getRecordLength() - 1);
-            buffer.get(bytes); // SK: There is a side-effect here!!!
-            ((Buffer) buffer).limit(buffer.capacity());
+            if (projection == null) {
+                ((Buffer) buffer).limit(buffer.position() + header.getRecordLength() - 1);
+                buffer.get(bytes); // SK: There is a side-effect here!!!
+                ((Buffer) buffer).limit(buffer.capacity());
+            } else {
+                // copy only the projected fields, the others are copied on demand
+                recordPosition = buffer.position();
+                recordBuffer = buffer;
+                for (int field : projection) {
+                    copyField(field);
+                }
+                ((Buffer) buffer).position(recordPosition + header.getRecordLength() - 1);
+            }
 
             foundRecord = true;
         }
@@ -472,7 +550,22 @@ public Object[] readEntry(final Object[] entry) throws IOException {
         return readEntry(entry, 0);
     }
 
+    /** Copies the bytes of the given field of the current record from the buffer. */
+    private void copyField(final int fieldNum) {
+        ((Buffer) buffer).position(recordPosition + fieldOffsets[fieldNum]);
+        buffer.get(bytes, fieldOffsets[fieldNum], fieldLengths[fieldNum]);
+    }
+
     private Object readObject(final int fieldOffset, final int fieldNum) throws IOException {
+        if (projected != null && !projected[fieldNum] && recordBuffer != null) {
+            // not copied by read(), get it from the buffer if the record is still there
+            if (recordBuffer != buffer) {
+                throw new IOException("The current record is no longer available");
+            }
+            final int position = buffer.position();
+            copyField(fieldNum);
+            ((Buffer) buffer).position(position);
+        }
         final char type = fieldTypes[fieldNum];
         final int fieldLen = fieldLengths[fieldNum];
         Object object = null;
@@ -506,13 +599,19 @@ private Object readObject(final int fieldOffset, final int fieldNum) throws IOEx
                 case 'C':
                     // if the string begins with a null terminator, the value is null
                     if (bytes[fieldOffset] != '\0') {
-                        // remember we need to skip trailing and leading spaces
-                        if (oneBytePerChar) {
-                            object = fastParse(bytes, fieldOffset, fieldLen).trim();
-                        } else {
-                            object =
-                                    new String(bytes, fieldOffset, fieldLen, stringCharset.name())
-                                            .trim();
+                        object = strings.get(bytes, fieldOffset, fieldLen);
+                        if (object == null) {
+                            // remember we need to skip trailing and leading spaces
+                            final String string;
+                            if (oneBytePerChar) {
+                                string = fastParse(bytes, fieldOffset, fieldLen).trim();
+                            } else {
+                                string =
+                                        new String(bytes, fieldOffset, fieldLen, stringCharset)
+                                                .trim();
+                            }
+                            strings.put(bytes, fieldOffset, fieldLen, string);
+                            object = string;
                         }
                     }
                     break;
@@ -523,12 +622,9 @@ private Object readObject(final int fieldOffset, final int fieldNum) throws IOEx
                     for (int i = 0; i < 8; i++) {
                         if (bytes[fieldOffset + i] != '0') {
                             try {
-                                String tempString = fastParse(bytes, fieldOffset, 4);
-                                final int tempYear = Integer.parseInt(tempString);
-                                tempString = fastParse(bytes, fieldOffset + 4, 2);
-                                final int tempMonth = Integer.parseInt(tempString) - 1;
-                                tempString = fastParse(bytes, fieldOffset + 6, 2);
-                                final int tempDay = Integer.parseInt(tempString);
+                                final int tempYear = parseDigits(bytes, fieldOffset, 4);
+                                final int tempMonth = parseDigits(bytes, fieldOffset + 4, 2) - 1;
+                                final int tempDay = parseDigits(bytes, fieldOffset + 6, 2);
                                 calendar.clear();
                                 calendar.set(Calendar.YEAR, tempYear);
                                 calendar.set(Calendar.MONTH, tempMonth);
@@ -580,6 +676,16 @@ private Object readObject(final int fieldOffset, final int fieldNum) throws IOEx
                     if (bytes[fieldOffset] == '*') {
                         break;
                     } else {
+                        object =
+                                parseNumber(
+                                        bytes,
+                                        fieldOffset,
+                                        fieldLen,
+                                        header.getFieldClass(fieldNum));
+                        if (object != UNPARSED) {
+                            break;
+                        }
+                        object = null;
                         final String string = fastParse(bytes, fieldOffset, fieldLen).trim();
                         Class<?> clazz = header.getFieldClass(fieldNum);
                         if (clazz == Integer.class) {
@@ -606,6 +712,10 @@ private Object readObject(final int fieldOffset, final int fieldNum) throws IOEx
                 case 'f':
                 case 'F':
                     if (bytes[fieldOffset] != '*') {
+                        object = parseNumber(bytes, fieldOffset, fieldLen, Double.class);
+                        if (object != UNPARSED) {
+                            break;
+                        }
                         try {
                             object = Double.parseDouble(fastParse(bytes, fieldOffset, fieldLen));
                         } catch (final NumberFormatException e) {
@@ -621,6 +731,84 @@ private Object readObject(final int fieldOffset, final int fieldNum) throws IOEx
         return object;
     }
 
+    /**
+     * Parses a number made of an optional sign, digits and an optional decimal separator directly
+     * from the bytes, without creating a String. Integral values are returned as {@link Integer} or
+     * {@link Long} depending on {@code type} and on their magnitude, other values as {@link
+     * Double}. Blank fields return {@code null}.
+     *
+     * @return The number, or {@link #UNPARSED} if the field content is not in the simple form
+     *     handled here (exponents, too many digits...), in which case the caller shall fall back on
+     *     the JDK parsers.
+     */
+    static Object parseNumber(
+            final byte[] bytes, final int fieldOffset, final int fieldLen, final Class<?> type) {
+        int start = fieldOffset;
+        int end = fieldOffset + fieldLen;
+        while (start < end && bytes[start] == ' ') start++;
+        while (end > start && (bytes[end - 1] == ' ' || bytes[end - 1] == '\0')) end--;
+        if (start == end) {
+            return null;
+        }
+        boolean negative = false;
+        if (bytes[start] == '-' || bytes[start] == '+') {
+            negative = bytes[start] == '-';
+            start++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (int i = start; i < end; i++) {
+            final byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                // 18 digits always fit in a long
+                if (++digits > 18) {
+                    return UNPARSED;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (b == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                return UNPARSED;
+            }
+        }
+        if (digits == 0) {
+            return UNPARSED;
+        }
+        if (decimals < 0 && (type == Integer.class || type == Long.class)) {
+            final long value = negative ? -mantissa : mantissa;
+            if (type == Integer.class && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return Integer.valueOf((int) value);
+            }
+            return Long.valueOf(value);
+        }
+        // the division is correctly rounded only if both operands are exact doubles
+        if (mantissa > (1L << 53) || decimals >= POWERS_OF_TEN.length) {
+            return UNPARSED;
+        }
+        double value = mantissa;
+        if (decimals > 0) {
+            value /= POWERS_OF_TEN[decimals];
+        }
+        return negative ? -value : value;
+    }
+
+    /** Parses the given number of ASCII digits, as used in date fields. */
+    private static int parseDigits(final byte[] bytes, final int offset, final int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not a digit: " + (char) bytes[i]);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
     /**
      * Performs a faster byte[] to String conversion under the assumption the content is represented
      * with one byte per char
@@ -653,4 +841,50 @@ public static void main(final String[] args) throws Exception {
     public String id() {
         return getClass().getName();
     }
+
+    /**
+     * A small cache of the strings recently decoded, keyed by their raw bytes, so that the values
+     * repeated in a column (codes, categories...) are decoded only once and shared.
+     */
+    static final class StringCache {
+        /** The number of entries, must be a power of two. */
+        private static final int SIZE = 1024;
+
+        /** Longer fields are not cached, they are unlikely to be repeated. */
+        static final int MAX_LENGTH = 64;
+
+        private final byte[][] keys = new byte[SIZE][];
+
+        private final String[] values = new String[SIZE];
+
+        /** Returns the cached string for the given bytes, or {@code null} if none. */
+        String get(final byte[] bytes, final int offset, final int length) {
+            if (length > MAX_LENGTH) {
+                return null;
+            }
+            final int slot = slot(bytes, offset, length);
+            final byte[] key = keys[slot];
+            if (key != null && Arrays.equals(key, 0, key.length, bytes, offset, offset + length)) {
+                return values[slot];
+            }
+            return null;
+        }
+
+        /** Caches the string decoded from the given bytes, replacing any previous entry. */
+        void put(final byte[] bytes, final int offset, final int length, final String value) {
+            if (length <= MAX_LENGTH) {
+                final int slot = slot(bytes, offset, length);
+                keys[slot] = Arrays.copyOfRange(bytes, offset, offset + length);
+                values[slot] = value;
+            }
+        }
+
+        private static int slot(final byte[] bytes, final int offset, final int length) {
+            int hash = 1;
+            for (int i = offset; i < offset + length; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            return (hash ^ (hash >>> 16)) & (SIZE - 1);
+        }
+    }
 }
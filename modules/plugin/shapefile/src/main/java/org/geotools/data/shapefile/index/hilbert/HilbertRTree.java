@@ -0,0 +1,273 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.hilbert;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.DataDefinition;
+import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.util.NIOUtilities;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A packed R-tree over the records of a shapefile, with the records sorted along a Hilbert curve.
+ * The tree is stored in a {@code .hrx} file written by {@link HilbertRTreeBuilder}, which is memory
+ * mapped and searched in place.
+ *
+ * <p>The file starts with a header made of a magic number, the format version, the number of
+ * records, the node size, the number of levels and the index of the first entry of each level (plus
+ * the total number of entries). The entries follow, each one made of a bounding box (four doubles)
+ * and two integers:
+ *
+ * <ul>
+ *   <li>for the leaf level, the zero based record number and the record offset in the {@code .shp}
+ *       file, in bytes
+ *   <li>for the other levels, the index of the first child entry, the children being the following
+ *       {@code nodeSize} entries, or less at the end of the level
+ * </ul>
+ *
+ * Levels are stored bottom up, the last entry being the root. Searches return the matching records
+ * in file order, so that reading them results in a mostly sequential scan of the {@code .shp} file.
+ */
+public class HilbertRTree implements Closeable {
+
+    /** The magic number at the start of the file ("GTHR") */
+    static final int MAGIC = 0x47544852;
+
+    /** The file format version */
+    static final int VERSION = 1;
+
+    /** The size of a tree entry, in bytes */
+    static final int ENTRY_SIZE = 4 * Double.BYTES + 2 * Integer.BYTES;
+
+    static final DataDefinition DATA_DEFINITION = new DataDefinition("US-ASCII");
+
+    static {
+        DATA_DEFINITION.addField(Integer.class);
+        DATA_DEFINITION.addField(Long.class);
+    }
+
+    private ByteBuffer buffer;
+
+    private final int count;
+
+    private final int nodeSize;
+
+    /** Index of the first entry of each level, leaves first, plus the total number of entries */
+    private final int[] levelStarts;
+
+    /** Position of the first entry in the buffer */
+    private final int entriesPosition;
+
+    HilbertRTree(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.remaining() < 5 * Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a Hilbert R-tree index file");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported Hilbert R-tree index version " + version);
+        }
+        count = buffer.getInt(8);
+        nodeSize = buffer.getInt(12);
+        int levels = buffer.getInt(16);
+        levelStarts = new int[levels + 1];
+        for (int i = 0; i <= levels; i++) {
+            levelStarts[i] = buffer.getInt(20 + i * Integer.BYTES);
+        }
+        entriesPosition = 20 + levelStarts.length * Integer.BYTES;
+        long expected = entriesPosition + (long) levelStarts[levels] * ENTRY_SIZE;
+        if (buffer.limit() < expected) {
+            throw new IOException("Truncated Hilbert R-tree index file");
+        }
+    }
+
+    /**
+     * Opens the given index file, memory mapping it.
+     *
+     * @param file The {@code .hrx} file
+     * @return The tree, to be closed once done
+     */
+    public static HilbertRTree open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Hilbert R-tree index file too large: " + file);
+            }
+            return new HilbertRTree(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /** Returns the number of records in the tree */
+    public int getCount() {
+        return count;
+    }
+
+    /** Returns the maximum number of children of a node */
+    public int getNodeSize() {
+        return nodeSize;
+    }
+
+    /** Returns the bounds of all the records in the tree, a null envelope if there is none */
+    public Envelope getBounds() {
+        if (count == 0) {
+            return new Envelope();
+        }
+        int root = entriesPosition + (levelStarts[levelStarts.length - 1] - 1) * ENTRY_SIZE;
+        return new Envelope(
+                buffer.getDouble(root),
+                buffer.getDouble(root + 16),
+                buffer.getDouble(root + 8),
+                buffer.getDouble(root + 24));
+    }
+
+    /**
+     * Returns the zero based numbers of the records whose bounds intersect the given envelope,
+     * sorted in file order. This method can be called concurrently.
+     */
+    public int[] query(Envelope bbox) {
+        long[] hits = search(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY());
+        int[] records = new int[hits.length];
+        for (int i = 0; i < hits.length; i++) {
+            records[i] = (int) (hits[i] >>> 32);
+        }
+        return records;
+    }
+
+    /**
+     * Searches the records whose bounds intersect the given envelope. The results are returned in
+     * file order, with the same layout as the quadtree index: the one based record number and the
+     * record offset in bytes. Closing the iterator closes this tree too.
+     */
+    public CloseableIterator<Data> search(Envelope bbox) {
+        return search(bbox, true);
+    }
+
+    /**
+     * Searches the records whose bounds intersect the given envelope, like {@link
+     * #search(Envelope)}. The matches are collected before returning, so the iterator does not
+     * access the tree, which can be closed independently when {@code closeTree} is false.
+     *
+     * @param bbox The search area
+     * @param closeTree Whether closing the iterator closes this tree too
+     */
+    public CloseableIterator<Data> search(Envelope bbox, boolean closeTree) {
+        final long[] hits = search(bbox.getMinX(), bbox.getMinY(), bbox.getMaxX(), bbox.getMaxY());
+        return new CloseableIterator<>() {
+            int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < hits.length;
+            }
+
+            @Override
+            public Data next() {
+                if (index >= hits.length) {
+                    throw new NoSuchElementException("No more elements available");
+                }
+                long hit = hits[index++];
+                Data data = new Data(DATA_DEFINITION);
+                try {
+                    data.addValue(Integer.valueOf((int) (hit >>> 32) + 1));
+                    data.addValue(Long.valueOf(hit & 0xFFFFFFFFL));
+                } catch (TreeException e) {
+                    throw new RuntimeException(e);
+                }
+                return data;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closeTree) {
+                    HilbertRTree.this.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the matching leaf entries, as the record number in the upper 32 bits and the offset
+     * in the lower ones, so that sorting them sorts by record number.
+     */
+    private long[] search(double minX, double minY, double maxX, double maxY) {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            throw new IllegalStateException("The index has been closed");
+        }
+        int levels = levelStarts.length - 1;
+        if (count == 0) {
+            return new long[0];
+        }
+        long[] hits = new long[16];
+        int size = 0;
+        // stack of (level, first entry, end entry) triplets
+        int[] stack = new int[3 * 16];
+        int top = 0;
+        stack[top++] = levels - 1;
+        stack[top++] = levelStarts[levels - 1];
+        stack[top++] = levelStarts[levels];
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+            int level = stack[--top];
+            for (int i = start; i < end; i++) {
+                int position = entriesPosition + i * ENTRY_SIZE;
+                if (buffer.getDouble(position) > maxX
+                        || buffer.getDouble(position + 8) > maxY
+                        || buffer.getDouble(position + 16) < minX
+                        || buffer.getDouble(position + 24) < minY) {
+                    continue;
+                }
+                if (level == 0) {
+                    if (size == hits.length) {
+                        hits = Arrays.copyOf(hits, size * 2);
+                    }
+                    hits[size++] =
+                            ((long) buffer.getInt(position + 32) << 32)
+                                    | (buffer.getInt(position + 36) & 0xFFFFFFFFL);
+                } else {
+                    int child = buffer.getInt(position + 32);
+                    if (top + 3 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = level - 1;
+                    stack[top++] = child;
+                    stack[top++] = Math.min(child + nodeSize, levelStarts[level]);
+                }
+            }
+        }
+        hits = Arrays.copyOf(hits, size);
+        Arrays.sort(hits);
+        return hits;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            NIOUtilities.clean(buffer, true);
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.hilbert;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Bulk loads a {@link HilbertRTree}. The records are first {@link #add added} one at a time while
+ * scanning the shapefile, keeping only their position on the Hilbert curve and their offset, then
+ * the tree is {@link #write written} level by level, reading back the record bounds from a {@link
+ * BoundsSource} in Hilbert order.
+ *
+ * <p>The memory used while adding records is 12 bytes per record, plus the internal levels of the
+ * tree at write time, which are {@code nodeSize} times smaller than the number of records.
+ */
+public class HilbertRTreeBuilder {
+
+    /** Default maximum number of children of a node */
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    /** Maximum coordinate on each axis of the Hilbert curve grid */
+    private static final int HILBERT_MAX = (1 << 16) - 1;
+
+    /** Gives access to the bounds of the records added to the builder */
+    public interface BoundsSource {
+        /** Initializes the envelope to the bounds of the given zero based record */
+        void read(int record, Envelope env) throws IOException;
+    }
+
+    private final Envelope extent;
+
+    private final long[] keys;
+
+    private final int[] offsets;
+
+    private int size;
+
+    private int nodeSize = DEFAULT_NODE_SIZE;
+
+    /**
+     * Creates a builder.
+     *
+     * @param capacity The number of records that will be added
+     * @param extent The bounds of the whole shapefile, used to map the records on the Hilbert curve
+     */
+    public HilbertRTreeBuilder(int capacity, Envelope extent) {
+        this.extent = new Envelope(extent);
+        this.keys = new long[capacity];
+        this.offsets = new int[capacity];
+    }
+
+    /** Sets the maximum number of children of a node, {@link #DEFAULT_NODE_SIZE} by default */
+    public void setNodeSize(int nodeSize) {
+        if (nodeSize < 2) {
+            throw new IllegalArgumentException("Node size must be at least 2: " + nodeSize);
+        }
+        this.nodeSize = nodeSize;
+    }
+
+    /**
+     * Adds a record.
+     *
+     * @param record The zero based record number, between 0 and the capacity
+     * @param offset The offset of the record in the {@code .shp} file, in bytes
+     * @param env The record bounds
+     */
+    public void add(int record, int offset, Envelope env) {
+        if (size == keys.length) {
+            throw new IllegalStateException("The builder capacity has been exceeded");
+        }
+        int x =
+                gridCoordinate(
+                        (env.getMinX() + env.getMaxX()) / 2, extent.getMinX(), extent.getWidth());
+        int y =
+                gridCoordinate(
+                        (env.getMinY() + env.getMaxY()) / 2, extent.getMinY(), extent.getHeight());
+        // flipping the sign bit makes the signed sort follow the unsigned Hilbert order
+        keys[size++] = ((long) (hilbert(x, y) ^ Integer.MIN_VALUE) << 32) | record;
+        offsets[record] = offset;
+    }
+
+    private static int gridCoordinate(double value, double min, double span) {
+        if (!(span > 0)) {
+            return 0;
+        }
+        double scaled = (value - min) / span * HILBERT_MAX;
+        // NaN values end up at 0
+        return (int) Math.max(0, Math.min(HILBERT_MAX, scaled));
+    }
+
+    /**
+     * Returns the distance of the given cell along a Hilbert curve filling a 65536 x 65536 grid, as
+     * an unsigned 32 bits integer.
+     */
+    static int hilbert(int x, int y) {
+        int d = 0;
+        for (int s = 1 << 15; s > 0; s >>>= 1) {
+            int rx = (x & s) != 0 ? 1 : 0;
+            int ry = (y & s) != 0 ? 1 : 0;
+            // overflows are fine, the result is an unsigned value
+            d += s * s * ((3 * rx) ^ ry);
+            // rotate the quadrant
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = HILBERT_MAX - x;
+                    y = HILBERT_MAX - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Sorts the records along the Hilbert curve and writes the tree to the given file.
+     *
+     * @param file The target file, overwritten if existing
+     * @param bounds The source of the bounds of the records added to this builder
+     */
+    public void write(File file, BoundsSource bounds) throws IOException {
+        final long[] keys = Arrays.copyOf(this.keys, size);
+        Arrays.parallelSort(keys);
+
+        // compute the level layout, leaves first, up to a single root entry
+        List<Integer> levelSizes = new ArrayList<>();
+        for (int n = size; n > 0; n = (n == 1) ? 0 : (n + nodeSize - 1) / nodeSize) {
+            levelSizes.add(n);
+        }
+        int levels = levelSizes.size();
+        int[] levelStarts = new int[levels + 1];
+        for (int i = 0; i < levels; i++) {
+            levelStarts[i + 1] = levelStarts[i] + levelSizes.get(i);
+        }
+
+        try (FileChannel channel =
+                FileChannel.open(
+                        file.toPath(),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HilbertRTree.ENTRY_SIZE * 2048);
+            buffer.putInt(HilbertRTree.MAGIC);
+            buffer.putInt(HilbertRTree.VERSION);
+            buffer.putInt(size);
+            buffer.putInt(nodeSize);
+            buffer.putInt(levels);
+            for (int start : levelStarts) {
+                buffer.putInt(start);
+            }
+
+            // leaves, collecting the bounds of their parents
+            double[] parentBounds = new double[levels > 1 ? 4 * levelSizes.get(1) : 0];
+            int[] parentChildren = new int[parentBounds.length / 4];
+            double[] box = new double[4];
+            Envelope env = new Envelope();
+            for (int i = 0; i < size; i++) {
+                int record = (int) keys[i];
+                bounds.read(record, env);
+                if (env.isNull()) {
+                    // an inverted box, never matched by searches
+                    box[0] = box[1] = Double.POSITIVE_INFINITY;
+                    box[2] = box[3] = Double.NEGATIVE_INFINITY;
+                } else {
+                    box[0] = env.getMinX();
+                    box[1] = env.getMinY();
+                    box[2] = env.getMaxX();
+                    box[3] = env.getMaxY();
+                }
+                buffer = flushIfFull(channel, buffer);
+                putEntry(buffer, box, 0, record, offsets[record]);
+                if (parentChildren.length > 0) {
+                    accumulate(parentBounds, parentChildren, i, box, 0, i);
+                }
+            }
+
+            // upper levels, from the bounds collected in memory
+            for (int level = 1; level < levels; level++) {
+                double[] levelBounds = parentBounds;
+                int[] levelChildren = parentChildren;
+                parentBounds = new double[level + 1 < levels ? 4 * levelSizes.get(level + 1) : 0];
+                parentChildren = new int[parentBounds.length / 4];
+                for (int i = 0; i < levelChildren.length; i++) {
+                    buffer = flushIfFull(channel, buffer);
+                    putEntry(buffer, levelBounds, 4 * i, levelChildren[i], 0);
+                    if (parentChildren.length > 0) {
+                        accumulate(
+                                parentBounds,
+                                parentChildren,
+                                i,
+                                levelBounds,
+                                4 * i,
+                                levelStarts[level] + i);
+                    }
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Expands the bounds of the parent of the i-th entry of a level to include it, recording the
+     * entry as the first child of the parent when appropriate.
+     */
+    private void accumulate(
+            double[] parentBounds,
+            int[] parentChildren,
+            int i,
+            double[] box,
+            int offset,
+            int entry) {
+        int parent = i / nodeSize;
+        int p = 4 * parent;
+        if (i % nodeSize == 0) {
+            parentChildren[parent] = entry;
+            System.arraycopy(box, offset, parentBounds, p, 4);
+        } else {
+            parentBounds[p] = min(parentBounds[p], box[offset]);
+            parentBounds[p + 1] = min(parentBounds[p + 1], box[offset + 1]);
+            parentBounds[p + 2] = max(parentBounds[p + 2], box[offset + 2]);
+            parentBounds[p + 3] = max(parentBounds[p + 3], box[offset + 3]);
+        }
+    }
+
+    /** Minimum ignoring NaN values, so that invalid record bounds do not spread to the parents */
+    private static double min(double a, double b) {
+        return (b < a || Double.isNaN(a)) ? b : a;
+    }
+
+    /** Maximum ignoring NaN values, so that invalid record bounds do not spread to the parents */
+    private static double max(double a, double b) {
+        return (b > a || Double.isNaN(a)) ? b : a;
+    }
+
+    private static void putEntry(ByteBuffer buffer, double[] box, int offset, int a, int b) {
+        buffer.putDouble(box[offset]);
+        buffer.putDouble(box[offset + 1]);
+        buffer.putDouble(box[offset + 2]);
+        buffer.putDouble(box[offset + 3]);
+        buffer.putInt(a);
+        buffer.putInt(b);
+    }
+
+    private static ByteBuffer flushIfFull(FileChannel channel, ByteBuffer buffer)
+            throws IOException {
+        if (buffer.remaining() < HilbertRTree.ENTRY_SIZE) {
+            flush(channel, buffer);
+            buffer.clear();
+        }
+        return buffer;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
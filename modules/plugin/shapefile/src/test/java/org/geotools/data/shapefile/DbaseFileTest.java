@@ -16,6 +16,7 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
 import java.io.File;
@@ -261,4 +262,49 @@ public void testVeryLongStrings() throws Exception {
         assertEquals("\u0412A cat ", formattedString);
         assertEquals(8, formattedString.getBytes().length);
     }
+
+    @Test
+    public void testProjection() throws Exception {
+        int[] projection = {4, 0, 100};
+        for (boolean mapped : new boolean[] {false, true}) {
+            try (DbaseFileReader full =
+                            new DbaseFileReader(
+                                    shpFiles, mapped, ShapefileDataStore.DEFAULT_STRING_CHARSET);
+                    DbaseFileReader projected =
+                            new DbaseFileReader(
+                                    shpFiles, mapped, ShapefileDataStore.DEFAULT_STRING_CHARSET)) {
+                projected.setProjection(projection);
+                int numFields = full.getHeader().getNumFields();
+                while (full.hasNext()) {
+                    Object[] expected = full.readEntry();
+                    Object[] actual = projected.readEntry();
+                    for (int i = 0; i < numFields; i++) {
+                        if (i == 4 || i == 0 || i == 100) {
+                            assertEquals(expected[i], actual[i]);
+                        } else {
+                            assertNull(actual[i]);
+                        }
+                    }
+                }
+                assertEquals(full.hasNext(), projected.hasNext());
+            }
+        }
+    }
+
+    @Test
+    public void testProjectionRow() throws Exception {
+        try (DbaseFileReader projected =
+                new DbaseFileReader(shpFiles, true, ShapefileDataStore.DEFAULT_STRING_CHARSET)) {
+            projected.setProjection(new int[] {4});
+            Object[] attrs = new Object[dbf.getHeader().getNumFields()];
+            while (dbf.hasNext()) {
+                dbf.readEntry(attrs);
+                DbaseFileReader.Row row = projected.readRow();
+                // fields outside of the projection are still readable from the row
+                for (int i = 0; i < attrs.length; i++) {
+                    assertEquals(attrs[i], row.read(i));
+                }
+            }
+        }
+    }
 }
@@ -21,6 +21,7 @@
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -52,8 +53,13 @@
 import java.util.TimeZone;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.io.FileUtils;
 import org.geotools.TestData;
+import org.geotools.api.data.CloseableIterator;
 import org.geotools.api.data.DataStore;
 import org.geotools.api.data.FeatureReader;
 import org.geotools.api.data.FeatureWriter;
@@ -71,14 +77,17 @@
 import org.geotools.api.filter.Id;
 import org.geotools.api.filter.identity.FeatureId;
 import org.geotools.api.filter.identity.Identifier;
+import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.geometry.BoundingBox;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.data.DataUtilities;
 import org.geotools.data.DefaultTransaction;
 import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.shapefile.files.ShpFileType;
+import org.geotools.data.shapefile.index.Data;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.DefaultFeatureCollection;
@@ -87,6 +96,7 @@
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.feature.type.BasicFeatureTypes;
+import org.geotools.feature.visitor.UniqueVisitor;
 import org.geotools.filter.IllegalFilterException;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
@@ -450,6 +460,250 @@ public void testCreateAndReadQIX() throws Exception {
         ds2.dispose();
     }
 
+    @Test
+    public void testCreateAndReadHRX() throws Exception {
+        File shpFile = copyShapefiles(STATE_POP);
+        URL url = shpFile.toURI().toURL();
+        File hrx = sibling(shpFile, ".hrx");
+        File qix = sibling(shpFile, ".qix");
+        hrx.delete();
+        qix.delete();
+
+        ShapefileDataStore ds = new ShapefileDataStore(url);
+        ds.setSpatialIndexType(ShpFileType.HRX);
+        ShapefileDataStore ds2 = new ShapefileDataStore(url);
+        ds2.setIndexed(false);
+
+        // reduce the bounds, thus making the store use the spatial index
+        ReferencedEnvelope bounds = ds.getFeatureSource().getBounds(Query.ALL);
+        double dx = bounds.getWidth() / 4;
+        double dy = bounds.getHeight() / 4;
+        ReferencedEnvelope queryBounds =
+                new ReferencedEnvelope(
+                        bounds.getMinX() + dx,
+                        bounds.getMaxX() - dx,
+                        bounds.getMinY() + dy,
+                        bounds.getMaxY() - dy,
+                        bounds.getCoordinateReferenceSystem());
+        performQueryComparison(ds, ds2, queryBounds);
+
+        assertTrue(hrx.exists());
+        assertFalse(qix.exists());
+        ds.dispose();
+        ds2.dispose();
+    }
+
+    @Test
+    public void testHRXCached() throws Exception {
+        File shpFile = copyShapefiles(STATE_POP);
+        URL url = shpFile.toURI().toURL();
+        sibling(shpFile, ".hrx").delete();
+
+        ShapefileDataStore ds = new ShapefileDataStore(url);
+        ds.setSpatialIndexType(ShpFileType.HRX);
+        ReferencedEnvelope bounds = ds.getFeatureSource().getBounds(Query.ALL);
+        Envelope queryBounds = new Envelope(bounds);
+        queryBounds.expandBy(-bounds.getWidth() / 4, -bounds.getHeight() / 4);
+
+        // the tree is opened once and reused across queries
+        try (CloseableIterator<Data> it = ds.indexManager.querySpatialIndex(queryBounds)) {
+            assertTrue(it.hasNext());
+        }
+        IndexManager.SharedHilbertTree tree = ds.indexManager.hilbertTree;
+        assertNotNull(tree);
+        try (CloseableIterator<Data> it = ds.indexManager.querySpatialIndex(queryBounds)) {
+            assertTrue(it.hasNext());
+        }
+        assertSame(tree, ds.indexManager.hilbertTree);
+        assertEquals(0, tree.users);
+
+        // rebuilding the index drops it
+        assertTrue(ds.indexManager.createSpatialIndex(true));
+        assertTrue(tree.disposed);
+        try (CloseableIterator<Data> it = ds.indexManager.querySpatialIndex(queryBounds)) {
+            assertTrue(it.hasNext());
+        }
+        assertNotSame(tree, ds.indexManager.hilbertTree);
+
+        ds.dispose();
+        assertNull(ds.indexManager.hilbertTree);
+    }
+
+    @Test
+    public void testPartitionedRead() throws Exception {
+        File shpFile = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = new ShapefileDataStore(shpFile.toURI().toURL());
+        ContentFeatureSource fs = ds.getFeatureSource();
+        List<String> expected = new ArrayList<>();
+        try (SimpleFeatureIterator it = fs.getFeatures().features()) {
+            while (it.hasNext()) {
+                expected.add(it.next().getID());
+            }
+        }
+
+        // unordered, features are returned as decoded
+        Query query = new Query(Query.ALL);
+        query.getHints().put(ShapefileDataStore.PARTITIONS, 4);
+        List<String> ids = new ArrayList<>();
+        try (SimpleFeatureIterator it = fs.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                ids.add(it.next().getID());
+            }
+        }
+        assertEquals(new TreeSet<>(expected), new TreeSet<>(ids));
+        assertEquals(expected.size(), ids.size());
+
+        // natural order returns the ranges in file order
+        query.setSortBy(SortBy.NATURAL_ORDER);
+        ids.clear();
+        try (SimpleFeatureIterator it = fs.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                ids.add(it.next().getID());
+            }
+        }
+        assertEquals(expected, ids);
+
+        // paging is applied on top of the ordered ranges
+        query.setStartIndex(10);
+        query.setMaxFeatures(20);
+        assertEquals(20, fs.getFeatures(query).size());
+        assertEquals(expected.get(10), DataUtilities.first(fs.getFeatures(query)).getID());
+
+        // and visitors go through the partitioned read as well
+        query = new Query(Query.ALL);
+        query.getHints().put(ShapefileDataStore.PARTITIONS, 4);
+        UniqueVisitor unique = new UniqueVisitor("STATE_NAME");
+        fs.getFeatures(query).accepts(unique, null);
+        assertEquals(expected.size(), unique.getUnique().size());
+
+        ds.dispose();
+    }
+
+    @Test(timeout = 60000)
+    public void testPartitionedReadBusyExecutorAndFailure() throws Exception {
+        File shpFile = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = new ShapefileDataStore(shpFile.toURI().toURL());
+        ContentEntry entry = new ContentEntry(ds, ds.getSchema().getName());
+        ShapefileFeatureSource fs = new ShapefileFeatureSource(entry, ds.shpFiles);
+        List<String> expected = new ArrayList<>();
+        try (SimpleFeatureIterator it = fs.getFeatures().features()) {
+            while (it.hasNext()) {
+                expected.add(it.next().getID());
+            }
+        }
+        int[] bounds = {0, 10, 20, expected.size()};
+
+        // an executor that cannot start any task, the consumer reads the ranges itself
+        ExecutorService busy = Executors.newSingleThreadExecutor();
+        busy.shutdown();
+        assertEquals(
+                expected,
+                readIds(
+                        new PartitionedShapefileFeatureReader(
+                                busy, fs, fs.getSchema(), Query.ALL, bounds, true)));
+        assertEquals(
+                new TreeSet<>(expected),
+                new TreeSet<>(
+                        readIds(
+                                new PartitionedShapefileFeatureReader(
+                                        busy, fs, fs.getSchema(), Query.ALL, bounds, false))));
+
+        // a failed range is reported, and the other ranges can still be read after it
+        ShapefileFeatureSource failing =
+                new ShapefileFeatureSource(entry, ds.shpFiles) {
+                    @Override
+                    FeatureReader<SimpleFeatureType, SimpleFeature> getRangeReader(
+                            Query q, int start, int end) throws IOException {
+                        if (start == 10) {
+                            throw new IOException("Failed range");
+                        }
+                        return super.getRangeReader(q, start, end);
+                    }
+                };
+        List<String> remaining = new ArrayList<>(expected);
+        remaining.subList(10, 20).clear();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (ExecutorService e : Arrays.asList(executor, busy)) {
+                assertEquals(
+                        remaining,
+                        readIds(
+                                new PartitionedShapefileFeatureReader(
+                                        e, failing, fs.getSchema(), Query.ALL, bounds, true)));
+                assertEquals(
+                        new TreeSet<>(remaining),
+                        new TreeSet<>(
+                                readIds(
+                                        new PartitionedShapefileFeatureReader(
+                                                e,
+                                                failing,
+                                                fs.getSchema(),
+                                                Query.ALL,
+                                                bounds,
+                                                false))));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ds.dispose();
+    }
+
+    /** Reads the feature ids, going on after read failures */
+    private List<String> readIds(FeatureReader<SimpleFeatureType, SimpleFeature> reader)
+            throws IOException {
+        List<String> ids = new ArrayList<>();
+        try (reader) {
+            while (true) {
+                try {
+                    if (!reader.hasNext()) {
+                        return ids;
+                    }
+                    ids.add(reader.next().getID());
+                } catch (IOException e) {
+                    assertEquals("Failed range", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFeatureStream() throws Exception {
+        File shpFile = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = new ShapefileDataStore(shpFile.toURI().toURL());
+        ContentFeatureSource fs = ds.getFeatureSource();
+        List<String> expected = new ArrayList<>();
+        try (SimpleFeatureIterator it = fs.getFeatures().features()) {
+            while (it.hasNext()) {
+                expected.add(it.next().getID());
+            }
+        }
+
+        try (Stream<SimpleFeature> features = ds.getFeatureStream(Query.ALL, true)) {
+            assertEquals(expected, features.map(SimpleFeature::getID).collect(Collectors.toList()));
+        }
+
+        Query query = new Query(Query.ALL);
+        query.setPropertyNames("STATE_NAME");
+        query.setFilter(ff.equals(ff.property("STATE_NAME"), ff.literal("Texas")));
+        try (Stream<SimpleFeature> features = ds.getFeatureStream(query, true)) {
+            List<SimpleFeature> texas = features.collect(Collectors.toList());
+            assertEquals(1, texas.size());
+            assertEquals(1, texas.get(0).getAttributeCount());
+        }
+
+        query = new Query(Query.ALL);
+        query.setMaxFeatures(1);
+        try {
+            ds.getFeatureStream(query, false);
+            fail("Paging should not be supported");
+        } catch (IllegalArgumentException e) {
+            // fine
+        }
+
+        ds.dispose();
+    }
+
     @Test
     public void testRemove() throws Exception {
         File shpFile = copyShapefiles(STATE_POP);
@@ -19,12 +19,17 @@
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 import org.junit.Test;
 
 public class DbaseFileReaderTest {
@@ -60,4 +65,39 @@ public void test() throws Exception {
             assertThat(records.get(98245L), nullValue()); // this fails with 0.0
         }
     }
+
+    @Test
+    public void testParseNumber() throws Exception {
+        assertEquals(12, parse("   12", Integer.class));
+        assertEquals(-12, parse("-12  ", Integer.class));
+        assertEquals(12, parse("+12", Integer.class));
+        assertEquals(3000000000L, parse("3000000000", Integer.class));
+        assertEquals(12L, parse("12", Long.class));
+        assertEquals(12.5, parse("12.5", Integer.class));
+        assertEquals(12.0, parse("12", Double.class));
+        assertEquals(-0.0, parse("-0.0", Double.class));
+        assertEquals(0.5, parse(".5", Double.class));
+        assertNull(parse("     ", Double.class));
+        // not handled, the JDK parsers take over
+        assertSame(DbaseFileReader.UNPARSED, parse("1e10", Double.class));
+        assertSame(DbaseFileReader.UNPARSED, parse("1234567890123456789", Long.class));
+        assertSame(DbaseFileReader.UNPARSED, parse("-", Double.class));
+
+        // the fast path must give the same doubles as Double.parseDouble
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            String value =
+                    BigDecimal.valueOf(random.nextLong() % 100000000000000L, i % 16)
+                            .toPlainString();
+            Object parsed = parse(value, Double.class);
+            if (parsed != DbaseFileReader.UNPARSED) {
+                assertEquals(value, Double.parseDouble(value), (Double) parsed, 0d);
+            }
+        }
+    }
+
+    private static Object parse(String value, Class<?> type) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        return DbaseFileReader.parseNumber(bytes, 0, bytes.length, type);
+    }
 }
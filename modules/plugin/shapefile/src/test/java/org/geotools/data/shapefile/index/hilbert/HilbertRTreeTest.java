@@ -0,0 +1,133 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2024, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.hilbert;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.data.shapefile.index.Data;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.jts.geom.Envelope;
+
+public class HilbertRTreeTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testHilbertCurve() {
+        // the curve fills the 4x4 corner first, moving to an adjacent cell at each step
+        int[][] cells = new int[16][];
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 4; y++) {
+                int d = HilbertRTreeBuilder.hilbert(x, y);
+                assertTrue(d >= 0 && d < 16);
+                cells[d] = new int[] {x, y};
+            }
+        }
+        for (int d = 1; d < 16; d++) {
+            int step =
+                    Math.abs(cells[d][0] - cells[d - 1][0])
+                            + Math.abs(cells[d][1] - cells[d - 1][1]);
+            assertEquals(1, step);
+        }
+    }
+
+    @Test
+    public void testSearch() throws Exception {
+        for (int count : new int[] {0, 1, 2, 15, 16, 17, 257, 5000}) {
+            assertSearch(count, 16);
+        }
+        assertSearch(1000, 2);
+    }
+
+    private void assertSearch(int count, int nodeSize) throws Exception {
+        Random random = new Random(count);
+        Envelope extent = new Envelope(0, 1000, 0, 1000);
+        List<Envelope> boxes = new ArrayList<>();
+        HilbertRTreeBuilder builder = new HilbertRTreeBuilder(count, extent);
+        builder.setNodeSize(nodeSize);
+        for (int i = 0; i < count; i++) {
+            double x = random.nextDouble() * 990;
+            double y = random.nextDouble() * 990;
+            Envelope box = new Envelope(x, x + random.nextDouble() * 10, y, y + 10);
+            if (i % 100 == 7) {
+                // null shapes
+                box = new Envelope();
+            }
+            boxes.add(box);
+            builder.add(i, i * 100, box);
+        }
+        File file = folder.newFile();
+        builder.write(file, (record, env) -> env.init(boxes.get(record)));
+
+        try (HilbertRTree tree = HilbertRTree.open(file)) {
+            assertEquals(count, tree.getCount());
+            Envelope bounds = new Envelope();
+            boxes.forEach(bounds::expandToInclude);
+            assertEquals(bounds, tree.getBounds());
+            for (int q = 0; q < 50; q++) {
+                double x = random.nextDouble() * 1000;
+                double y = random.nextDouble() * 1000;
+                Envelope query = new Envelope(x, x + random.nextDouble() * 100, y, y + 50);
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    if (boxes.get(i).intersects(query)) {
+                        expected.add(i);
+                    }
+                }
+                int[] actual = tree.query(query);
+                assertArrayEquals(expected.stream().mapToInt(i -> i).toArray(), actual);
+            }
+        }
+    }
+
+    @Test
+    public void testSearchIterator() throws Exception {
+        HilbertRTreeBuilder builder = new HilbertRTreeBuilder(3, new Envelope(0, 10, 0, 10));
+        Envelope[] boxes = {
+            new Envelope(8, 9, 8, 9), new Envelope(0, 1, 0, 1), new Envelope(0.5, 2, 0.5, 2)
+        };
+        for (int i = 0; i < boxes.length; i++) {
+            builder.add(i, 100 + i * 50, boxes[i]);
+        }
+        File file = folder.newFile();
+        builder.write(file, (record, env) -> env.init(boxes[record]));
+
+        HilbertRTree tree = HilbertRTree.open(file);
+        try (CloseableIterator<Data> it = tree.search(new Envelope(0, 1.5, 0, 1.5))) {
+            // one based record numbers and offsets, in file order
+            assertTrue(it.hasNext());
+            Data data = it.next();
+            assertEquals(2, data.getValue(0));
+            assertEquals(150L, data.getValue(1));
+            assertTrue(it.hasNext());
+            data = it.next();
+            assertEquals(3, data.getValue(0));
+            assertEquals(200L, data.getValue(1));
+            assertFalse(it.hasNext());
+        }
+    }
+}
@@ -15,11 +15,17 @@
 
 package org.geotools.gml.stream;
 
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
 import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.ENTITY_REFERENCE;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
 import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +41,7 @@
 import org.geotools.referencing.CRS;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
@@ -62,6 +69,14 @@ public class XmlStreamGeometryReader {
 
     private String gmlNamespace;
 
+    private final Map<String, CoordinateReferenceSystem> crsCache = new HashMap<>();
+
+    /** Reusable buffer for the text of the coordinate elements */
+    private final StringBuilder text = new StringBuilder();
+
+    /** Reusable buffer for the ordinates parsed out of the coordinate elements */
+    private double[] ordinates = new double[64];
+
     /**
      * Create a new instance of the XML Stream Geometry Reader.
      *
@@ -678,7 +693,7 @@ private LinearRing parseLinearRing(final int dimension, CoordinateReferenceSyste
         reader.require(START_ELEMENT, this.gmlNamespace, GML.LinearRing);
 
         crs = crs(crs);
-        Coordinate[] lineCoords = parseLineStringInternal(dimension, crs);
+        CoordinateSequence lineCoords = parseLineStringInternal(dimension, crs);
 
         reader.require(END_ELEMENT, this.gmlNamespace, GML.LinearRing);
 
@@ -706,7 +721,7 @@ private LineString parseLineString(
         reader.require(START_ELEMENT, this.gmlNamespace, lineStringElement);
 
         crs = crs(crs);
-        Coordinate[] coordinates = parseLineStringInternal(dimension, crs);
+        CoordinateSequence coordinates = parseLineStringInternal(dimension, crs);
 
         reader.require(END_ELEMENT, this.gmlNamespace, lineStringElement);
 
@@ -715,35 +730,33 @@ private LineString parseLineString(
         return geom;
     }
 
-    private Coordinate[] parseLineStringInternal(int dimension, CoordinateReferenceSystem crs)
-            throws XMLStreamException, IOException {
+    private CoordinateSequence parseLineStringInternal(
+            int dimension, CoordinateReferenceSystem crs) throws XMLStreamException, IOException {
 
         final String lineElementName = reader.getLocalName();
 
         reader.nextTag();
-        Coordinate[] lineCoords;
+        CoordinateSequence lineCoords;
 
         final String coordsName = reader.getLocalName();
         String tagName = reader.getLocalName();
         if (GML.pos.equals(coordsName)) {
-            Coordinate[] point;
             List<Coordinate> coords = new ArrayList<>();
             int eventType;
             do {
-                point = parseCoordList(dimension, crs);
-                coords.add(point[0]);
+                coords.add(parseCoordSequence(dimension, crs).getCoordinate(0));
                 reader.nextTag();
                 tagName = reader.getLocalName();
                 eventType = reader.getEventType();
             } while (eventType == START_ELEMENT && GML.pos.equals(tagName));
 
-            lineCoords = coords.toArray(new Coordinate[0]);
+            lineCoords = createSequence(coords.toArray(new Coordinate[0]));
 
         } else if (GML.posList.equals(coordsName)) {
-            lineCoords = parseCoordList(dimension, crs);
+            lineCoords = parseCoordSequence(dimension, crs);
             reader.nextTag();
         } else if (GML.coordinates.equals(coordsName)) {
-            lineCoords = parseCoordinates(dimension, crs);
+            lineCoords = createSequence(parseCoordinates(dimension, crs));
             reader.nextTag();
         } else if (GML.coord.equals(coordsName)) {
             Coordinate point;
@@ -757,7 +770,7 @@ private Coordinate[] parseLineStringInternal(int dimension, CoordinateReferenceS
                 eventType = reader.getEventType();
             } while (eventType == START_ELEMENT && GML.coord.equals(tagName));
 
-            lineCoords = coords.toArray(new Coordinate[0]);
+            lineCoords = createSequence(coords.toArray(new Coordinate[0]));
         } else {
             throw new IllegalStateException(
                     "Expected posList or pos inside LinearRing: " + tagName);
@@ -814,7 +827,7 @@ private LineString parseArc(int dimension, CoordinateReferenceSystem crs)
 
         crs = crs(crs);
 
-        Coordinate[] coordinates = parseLineStringInternal(dimension, crs);
+        CoordinateSequence coordinates = parseLineStringInternal(dimension, crs);
 
         reader.require(END_ELEMENT, this.gmlNamespace, GML.Arc);
 
@@ -837,8 +850,7 @@ private Point parsePoint(int dimension, CoordinateReferenceSystem crs)
         Coordinate point;
         final String name = reader.getLocalName();
         if (GML.pos.equals(name)) {
-            Coordinate[] coords = parseCoordList(dimension, crs);
-            point = coords[0];
+            point = parseCoordSequence(dimension, crs).getCoordinate(0);
             reader.nextTag();
         } else if (GML.coordinates.equals(name)) {
             Coordinate[] coords = parseCoordinates(dimension, crs);
@@ -888,6 +900,16 @@ private CoordinateReferenceSystem crs(CoordinateReferenceSystem defaultValue)
         if (srsName == null) {
             return defaultValue;
         }
+        CoordinateReferenceSystem crs = crsCache.get(srsName);
+        if (crs == null) {
+            crs = decodeCrs(srsName);
+            crsCache.put(srsName, crs);
+        }
+        return crs;
+    }
+
+    private CoordinateReferenceSystem decodeCrs(String srsName)
+            throws NoSuchAuthorityCodeException, FactoryException {
         // boolean forceXY = false;
         // forceXY=true breaks axis flipping handling
         if (srsName.startsWith("http://") && srsName.indexOf('#') != -1) {
@@ -905,12 +927,90 @@ private int crsDimension(final int defaultValue) {
         return Integer.parseInt(srsDimension);
     }
 
-    private Coordinate[] parseCoordList(int dimension, CoordinateReferenceSystem crs)
-            throws XMLStreamException, IOException {
+    /**
+     * Parses the current pos or posList element straight into a coordinate sequence, going through
+     * the reusable text and ordinate buffers instead of splitting the text in strings.
+     */
+    private CoordinateSequence parseCoordSequence(int dimension, CoordinateReferenceSystem crs)
+            throws XMLStreamException {
         // we might be on a posList tag with srsDimension defined
         dimension = crsDimension(dimension);
-        String rawTextValue = reader.getElementText();
-        return toCoordList(rawTextValue, dimension, crs);
+        final int ordinatesLength = parseOrdinates(readElementText());
+        if (ordinatesLength % dimension != 0) {
+            throw new IllegalArgumentException(
+                    "Number of ordinates ("
+                            + ordinatesLength
+                            + ") does not match crs dimension: "
+                            + dimension);
+        }
+        boolean invertXY = this.checkInvertAxisNeededCache(crs);
+        final int nCoords = ordinatesLength / dimension;
+        // same dimension as the sequences built out of coordinate arrays, with a NaN z in 2D
+        CoordinateSequence sequence = geomFac.getCoordinateSequenceFactory().create(nCoords, 3);
+        for (int i = 0, o = 0; i < nCoords; i++, o += dimension) {
+            sequence.setOrdinate(i, 0, invertXY ? ordinates[o + 1] : ordinates[o]);
+            sequence.setOrdinate(i, 1, invertXY ? ordinates[o] : ordinates[o + 1]);
+            sequence.setOrdinate(i, 2, dimension > 2 ? ordinates[o + 2] : Double.NaN);
+        }
+        return sequence;
+    }
+
+    private CoordinateSequence createSequence(Coordinate[] coordinates) {
+        return geomFac.getCoordinateSequenceFactory().create(coordinates);
+    }
+
+    /**
+     * Reads the text of the current element in the reusable text buffer, leaving the reader on the
+     * end element, like {@link XMLStreamReader#getElementText()} does
+     */
+    private StringBuilder readElementText() throws XMLStreamException {
+        text.setLength(0);
+        int eventType = reader.next();
+        while (eventType != END_ELEMENT) {
+            if (eventType == CHARACTERS || eventType == CDATA || eventType == SPACE) {
+                text.append(
+                        reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            } else if (eventType == ENTITY_REFERENCE) {
+                text.append(reader.getText());
+            } else if (eventType == START_ELEMENT) {
+                throw new XMLStreamException(
+                        "Unexpected element " + reader.getLocalName() + " in coordinates",
+                        reader.getLocation());
+            } else if (eventType == END_DOCUMENT) {
+                throw new XMLStreamException(
+                        "Unexpected end of document while reading coordinates",
+                        reader.getLocation());
+            }
+            // comments and processing instructions are skipped
+            eventType = reader.next();
+        }
+        return text;
+    }
+
+    /**
+     * Parses the white space separated ordinates in the text into the reusable ordinates buffer,
+     * returning how many were found
+     */
+    private int parseOrdinates(StringBuilder text) {
+        final int length = text.length();
+        int count = 0;
+        int i = 0;
+        while (true) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                return count;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (count == ordinates.length) {
+                ordinates = Arrays.copyOf(ordinates, count * 2);
+            }
+            ordinates[count++] = Double.parseDouble(text.substring(start, i));
+        }
     }
 
     private Coordinate[] parseCoordinates(int dimension, CoordinateReferenceSystem crs)
@@ -959,49 +1059,6 @@ private boolean checkInvertAxisNeededCache(final CoordinateReferenceSystem crs)
         return invert;
     }
 
-    private Coordinate[] toCoordList(
-            String rawTextValue, final int dimension, CoordinateReferenceSystem crs) {
-        rawTextValue = rawTextValue.trim();
-        rawTextValue = rawTextValue.replaceAll("\n", " ");
-        rawTextValue = rawTextValue.replaceAll("\r", " ");
-        String[] split = rawTextValue.trim().split(" +");
-        final int ordinatesLength = split.length;
-        if (ordinatesLength % dimension != 0) {
-            throw new IllegalArgumentException(
-                    "Number of ordinates ("
-                            + ordinatesLength
-                            + ") does not match crs dimension: "
-                            + dimension);
-        }
-        boolean invertXY = this.checkInvertAxisNeededCache(crs);
-        final int nCoords = ordinatesLength / dimension;
-        Coordinate[] coords = new Coordinate[nCoords];
-        Coordinate coord;
-        int currCoordIdx = 0;
-        double x, y, z;
-        for (int i = 0; i < ordinatesLength; i += dimension) {
-            x = Double.parseDouble(split[i]);
-            y = Double.parseDouble(split[i + 1]);
-            if (dimension > 2) {
-                z = Double.parseDouble(split[i + 2]);
-                if (invertXY) {
-                    coord = new Coordinate(y, x, z);
-                } else {
-                    coord = new Coordinate(x, y, z);
-                }
-            } else {
-                if (invertXY) {
-                    coord = new Coordinate(y, x);
-                } else {
-                    coord = new Coordinate(x, y);
-                }
-            }
-            coords[currCoordIdx] = coord;
-            currCoordIdx++;
-        }
-        return coords;
-    }
-
     private Coordinate[] toCoordList(
             String rawTextValue,
             final String decimalSeparator,
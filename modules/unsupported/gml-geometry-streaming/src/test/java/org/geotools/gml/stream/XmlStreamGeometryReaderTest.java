@@ -29,9 +29,13 @@
 import org.geotools.api.referencing.FactoryException;
 import org.junit.Test;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
 
 public class XmlStreamGeometryReaderTest {
     @Test
@@ -82,4 +86,54 @@ public void testZ() throws XMLStreamException, FactoryException, IOException {
         assertEquals(c.y, 2, 0);
         assertEquals(c.z, 3, 0);
     }
+
+    @Test
+    public void testPosList() throws Exception {
+        String gml =
+                "<gml:LineString xmlns:gml=\"http://www.opengis.net/gml/3.2\">"
+                        + "<gml:posList>\n\t1 2  3.5\r\n<!-- comment -->4 "
+                        + "<![CDATA[5 6]]>\n</gml:posList>"
+                        + "</gml:LineString>";
+        LineString line = (LineString) read(gml, new GeometryFactory());
+        CoordinateSequence cs = line.getCoordinateSequence();
+        assertEquals(3, cs.size());
+        assertEquals(new Coordinate(1, 2), cs.getCoordinate(0));
+        assertEquals(new Coordinate(3.5, 4), cs.getCoordinate(1));
+        assertEquals(new Coordinate(5, 6), cs.getCoordinate(2));
+        assertTrue(Double.isNaN(cs.getCoordinate(0).getZ()));
+    }
+
+    @Test
+    public void testPosList3DPacked() throws Exception {
+        String gml =
+                "<gml:LineString xmlns:gml=\"http://www.opengis.net/gml\">"
+                        + "<gml:posList srsDimension=\"3\">1 2 3 4 5 6</gml:posList>"
+                        + "</gml:LineString>";
+        GeometryFactory gf = new GeometryFactory(PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+        LineString line = (LineString) read(gml, gf);
+        CoordinateSequence cs = line.getCoordinateSequence();
+        assertTrue(cs instanceof PackedCoordinateSequence);
+        assertEquals(2, cs.size());
+        assertEquals(3, cs.getOrdinate(0, 2), 0);
+        assertEquals(4, cs.getOrdinate(1, 0), 0);
+        assertEquals(6, cs.getOrdinate(1, 2), 0);
+    }
+
+    @Test
+    public void testPosListInvalidDimension() throws Exception {
+        String gml =
+                "<gml:LineString xmlns:gml=\"http://www.opengis.net/gml\">"
+                        + "<gml:posList>1 2 3</gml:posList>"
+                        + "</gml:LineString>";
+        assertThrows(IllegalArgumentException.class, () -> read(gml, new GeometryFactory()));
+    }
+
+    private Geometry read(String gml, GeometryFactory gf) throws Exception {
+        XMLInputFactory f = XMLInputFactory.newInstance();
+        f.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        XMLStreamReader r = f.createXMLStreamReader(new StringReader(gml));
+        XmlStreamGeometryReader geometryReader = new XmlStreamGeometryReader(r, gf);
+        r.nextTag();
+        return geometryReader.readGeometry();
+    }
 }
@@ -127,7 +127,7 @@ public T lookUp(final Map params) throws IOException {
     }
 
     /** Access with {@link WFSDataStoreFactory#getParametersInfo()  */
-    private static final WFSFactoryParam<?>[] parametersInfo = new WFSFactoryParam[24];
+    private static final WFSFactoryParam<?>[] parametersInfo = new WFSFactoryParam[25];
 
     private static final int GMLComplianceLevel = 2;
 
@@ -594,6 +594,25 @@ public T lookUp(final Map params) throws IOException {
                         new WFSFactoryParam<>(name, Map.class, title, description, null, "program");
     }
 
+    /**
+     * Optional {@code Boolean} parse simple feature GetFeature responses with the streaming GML
+     * parser, instead of the XML bindings based one
+     */
+    public static final WFSFactoryParam<Boolean> USE_STREAMING_GML_PARSER;
+
+    static {
+        String name = "WFSDataStoreFactory:USE_STREAMING_GML_PARSER";
+        String title = "Use streaming GML parser";
+        String description =
+                "Parses simple feature GetFeature responses with a streaming parser that does not"
+                        + " use the XML bindings. WFS 1.x responses are always parsed this way,"
+                        + " this enables it for WFS 2.0 and GML 3.2 too.";
+        parametersInfo[24] =
+                USE_STREAMING_GML_PARSER =
+                        new WFSFactoryParam<>(
+                                name, Boolean.class, title, description, false, "advanced");
+    }
+
     /**
      * Checks whether {@code params} contains a valid set of parameters to connect to a WFS.
      *
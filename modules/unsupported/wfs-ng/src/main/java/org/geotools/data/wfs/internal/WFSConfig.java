@@ -34,6 +34,7 @@
 import static org.geotools.data.wfs.impl.WFSDataAccessFactory.TRY_GZIP;
 import static org.geotools.data.wfs.impl.WFSDataAccessFactory.USERNAME;
 import static org.geotools.data.wfs.impl.WFSDataAccessFactory.USE_HTTP_CONNECTION_POOLING;
+import static org.geotools.data.wfs.impl.WFSDataAccessFactory.USE_STREAMING_GML_PARSER;
 import static org.geotools.data.wfs.impl.WFSDataAccessFactory.WFS_STRATEGY;
 
 import java.io.IOException;
@@ -99,6 +100,8 @@ public class WFSConfig {
 
     protected Map<String, String> additionalHeaders;
 
+    protected boolean useStreamingGmlParser;
+
     public static enum PreferredHttpMethod {
         AUTO,
         HTTP_GET,
@@ -124,6 +127,7 @@ public WFSConfig() {
         entityResolver = (EntityResolver) ENTITY_RESOLVER.getDefaultValue();
         useHttpConnectionPooling = (Boolean) USE_HTTP_CONNECTION_POOLING.getDefaultValue();
         maxConnectionPoolSize = (Integer) MAX_CONNECTION_POOL_SIZE.getDefaultValue();
+        useStreamingGmlParser = (Boolean) USE_STREAMING_GML_PARSER.getDefaultValue();
     }
 
     public static WFSConfig fromParams(Map<?, ?> params) throws IOException {
@@ -169,6 +173,7 @@ public static WFSConfig fromParams(Map<?, ?> params) throws IOException {
         config.entityResolver = ENTITY_RESOLVER.lookUp(params);
         config.useHttpConnectionPooling = USE_HTTP_CONNECTION_POOLING.lookUp(params);
         config.maxConnectionPoolSize = MAX_CONNECTION_POOL_SIZE.lookUp(params);
+        config.useStreamingGmlParser = USE_STREAMING_GML_PARSER.lookUp(params);
 
         config.additionalHeaders = extractAdditionalHeaders(params);
         return config;
@@ -303,6 +308,11 @@ public boolean isUseHttpConnectionPooling() {
         return useHttpConnectionPooling;
     }
 
+    /** @return if simple features should be parsed with the streaming parser for all versions */
+    public boolean isUseStreamingGmlParser() {
+        return useStreamingGmlParser;
+    }
+
     /**
      * @return the size of the connection pool, if {@link #isUseHttpConnectionPooling()} is <code>
      *     true</code>
@@ -89,6 +89,10 @@ public boolean canProcess(final WFSRequest request, final String contentType) {
         if (!(getRequestedType((GetFeatureRequest) request) instanceof SimpleFeatureType)) {
             return false;
         }
+        // handled by the streaming parser instead
+        if (GmlGetFeatureResponseParserFactory.isStreamingParserEnabled(request)) {
+            return false;
+        }
         return true;
     }
 
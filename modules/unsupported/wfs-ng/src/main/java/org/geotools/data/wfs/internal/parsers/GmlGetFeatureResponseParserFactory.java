@@ -25,14 +25,19 @@
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.FeatureType;
+import org.geotools.data.wfs.impl.WFSDataAccessFactory;
 import org.geotools.data.wfs.internal.GetFeatureRequest;
 import org.geotools.data.wfs.internal.GetParser;
 import org.geotools.data.wfs.internal.Versions;
+import org.geotools.data.wfs.internal.WFSRequest;
 
 /**
- * A WFS response parser factory for GetFeature requests in GML output formats.
+ * A WFS response parser factory for GetFeature requests in GML output formats, using the streaming
+ * {@link XmlSimpleFeatureParser}.
  *
- * <p>Supports only GML 2 and GML 3.1
+ * <p>Supports GML 2 and GML 3.1 for WFS 1.x. WFS 2.0 and GML 3.2 are supported too, but only when
+ * enabled with {@link WFSDataAccessFactory#USE_STREAMING_GML_PARSER}, otherwise they are handled
+ * by {@link GetFeatureResponseParserFactory}
  *
  * <p>
  */
@@ -61,12 +66,35 @@ public class GmlGetFeatureResponseParserFactory extends AbstractGetFeatureRespon
                             // format
                             "GML2", //
                             "text/xml; subtype=gml/2.1.2", //
-                            "application/xml" //
+                            "application/xml", //
+                            "text/xml; subtype=gml/3.2", //
+                            "application/gml+xml; version=3.2", //
+                            "gml32" //
                             ));
 
     private static final List<String> SUPPORTED_VERSIONS =
             Collections.unmodifiableList(
-                    Arrays.asList(Versions.v1_0_0.toString(), Versions.v1_1_0.toString()));
+                    Arrays.asList(
+                            Versions.v1_0_0.toString(),
+                            Versions.v1_1_0.toString(),
+                            Versions.v2_0_0.toString()));
+
+    @Override
+    public boolean canProcess(final WFSRequest request, final String contentType) {
+        if (!super.canProcess(request, contentType)) {
+            return false;
+        }
+        if (Versions.v2_0_0.toString().equals(request.getStrategy().getVersion())) {
+            return isStreamingParserEnabled(request)
+                    && getRequestedType((GetFeatureRequest) request) instanceof SimpleFeatureType;
+        }
+        return true;
+    }
+
+    /** Returns true if the streaming parser has been enabled for WFS 2.0 requests too */
+    static boolean isStreamingParserEnabled(WFSRequest request) {
+        return request.getStrategy().getConfig().isUseStreamingGmlParser();
+    }
 
     @Override
     protected GetParser<SimpleFeature> parser(GetFeatureRequest request, InputStream in)
@@ -74,10 +102,7 @@ protected GetParser<SimpleFeature> parser(GetFeatureRequest request, InputStream
 
         final QName remoteFeatureName = request.getTypeName();
 
-        FeatureType queryType = request.getQueryType();
-        if (queryType == null) {
-            queryType = request.getFullType();
-        }
+        FeatureType queryType = getRequestedType(request);
         if (!(queryType instanceof SimpleFeatureType)) {
             throw new UnsupportedOperationException();
         }
@@ -48,7 +48,8 @@
 
 /**
  * A {@link GetParser<SimpleFeature>} implementation that uses plain xml pull to parse a GetFeature
- * response.
+ * response, driven by the target {@link SimpleFeatureType} rather than the XML bindings. Works
+ * with WFS 1.x/GML 2 and 3.1, as well as WFS 2.0/GML 3.2 responses.
  *
  * @author Gabriel Roldan (TOPP)
  * @version $Id$
@@ -59,6 +60,8 @@ public class XmlSimpleFeatureParser implements GetParser<SimpleFeature> {
 
     private static final Logger LOGGER = Loggers.RESPONSES;
 
+    private static final QName GML32_ID = org.geotools.gml3.v3_2.GML.id;
+
     private InputStream inputStream;
 
     private XMLStreamReader parser;
@@ -246,6 +249,11 @@ private String seekFeature() throws IOException, XMLStreamException {
                             parser.getAttributeValue(
                                     GML.id.getNamespaceURI(), GML.id.getLocalPart());
 
+                    if (featureId == null) {
+                        featureId =
+                                parser.getAttributeValue(
+                                        GML32_ID.getNamespaceURI(), GML32_ID.getLocalPart());
+                    }
                     if (featureId == null) {
                         featureId = parser.getAttributeValue(null, "fid");
                     }